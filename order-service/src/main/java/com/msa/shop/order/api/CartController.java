@@ -22,6 +22,15 @@ record CartItemResponse(Long productId, int quantity) {
     }
 }
 
+/** 장바구니 조회 한 줄. 상품 정보를 못 받으면 productName·unitPrice·lineTotal은 null, stockStatus=UNKNOWN. */
+record CartLineResponse(Long productId, int quantity, String productName, Integer unitPrice,
+                        Integer lineTotal, CartService.StockStatus stockStatus) {
+    static CartLineResponse from(CartService.CartLine line) {
+        return new CartLineResponse(line.productId(), line.quantity(), line.productName(), line.unitPrice(),
+                line.lineTotal(), line.stockStatus());
+    }
+}
+
 /**
  * 장바구니 API. JWT 또는 X-User-Id 필수.
  */
@@ -51,15 +60,15 @@ public class CartController {
         return jwtSupport.parseUserIdFromBearer(authorization);
     }
 
-    /** 장바구니 목록 조회. */
+    /** 장바구니 목록 조회. 상품명·단가·품목 금액·재고 상태 포함(product-service 일괄 조회 1회). */
     @GetMapping
-    public ResponseEntity<List<CartItemResponse>> getCart(
+    public ResponseEntity<List<CartLineResponse>> getCart(
             @RequestHeader(value = "X-User-Id", required = false) String xUserId,
             @RequestHeader(value = "Authorization", required = false) String authorization
     ) {
         Long userId = resolveUserId(xUserId, authorization);
-        List<CartItem> items = cartService.getCart(userId);
-        return ResponseEntity.ok(items.stream().map(CartItemResponse::from).toList());
+        List<CartService.CartLine> lines = cartService.getCart(userId);
+        return ResponseEntity.ok(lines.stream().map(CartLineResponse::from).toList());
     }
 
     /** 장바구니에 추가. 동일 상품이 있으면 수량 합산. 재고 부족 시 409. */
@@ -1,14 +1,20 @@
 package com.msa.shop.order.api;
 
+import com.msa.shop.order.application.AsyncOrderService;
 import com.msa.shop.order.application.CartService;
+import com.msa.shop.order.application.OrderHistoryProjection;
+import com.msa.shop.order.application.OrderIdempotencyService;
 import com.msa.shop.order.application.OrderService;
 import com.msa.shop.order.config.JwtSupport;
 import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderLine;
 import com.msa.shop.order.domain.OrderStatus;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /** POST /orders 요청 DTO. */
@@ -17,14 +23,22 @@ record CreateOrderRequest(Long productId, int quantity, String paymentMethod) {}
 /** POST /orders/from-cart 요청 DTO. paymentMethod 생략 시 CARD. */
 record FromCartRequest(String paymentMethod) {}
 
-/** 주문 API 응답 DTO. */
+/** 주문 품목 응답 DTO. */
+record OrderLineResponse(Long productId, int quantity, int unitPrice, int lineAmount) {
+    static OrderLineResponse from(OrderLine line) {
+        return new OrderLineResponse(line.getProductId(), line.getQuantity(), line.getUnitPrice(), line.getLineAmount());
+    }
+}
+
+/** 주문 API 응답 DTO. productId·quantity는 요약(첫 품목 상품, 전체 수량), 품목 상세는 lines. */
 record OrderResponse(
         Long id,
         Long userId,
         Long productId,
         int quantity,
         int totalAmount,
-        OrderStatus status
+        OrderStatus status,
+        List<OrderLineResponse> lines
 ) {
     static OrderResponse from(Order order) {
         return new OrderResponse(
@@ -33,27 +47,79 @@ record OrderResponse(
                 order.getProductId(),
                 order.getQuantity(),
                 order.getTotalAmount(),
-                order.getStatus()
+                order.getStatus(),
+                order.getLines().stream().map(OrderLineResponse::from).toList()
+        );
+    }
+}
+
+/** 주문 이력 품목 응답 DTO. productName은 주문 당시 상품명(모르면 null). */
+record OrderHistoryLineResponse(Long productId, String productName, int quantity, int unitPrice, int lineAmount) {
+    static OrderHistoryLineResponse from(OrderHistoryProjection.HistoryLine line) {
+        return new OrderHistoryLineResponse(line.productId(), line.productName(), line.quantity(), line.unitPrice(),
+                line.unitPrice() * line.quantity());
+    }
+}
+
+/** 내 주문 목록 응답 DTO. OrderResponse 필드 + 주문 당시 상품명·단가, 결제수단, 주문 시각. */
+record OrderHistoryResponse(
+        Long id,
+        Long userId,
+        Long productId,
+        String productName,
+        Integer unitPrice,
+        int quantity,
+        int totalAmount,
+        OrderStatus status,
+        String paymentMethod,
+        LocalDateTime createdAt,
+        List<OrderHistoryLineResponse> lines
+) {
+    static OrderHistoryResponse from(OrderHistoryProjection.OrderHistory order) {
+        return new OrderHistoryResponse(
+                order.id(),
+                order.userId(),
+                order.productId(),
+                order.productName(),
+                order.unitPrice(),
+                order.quantity(),
+                order.totalAmount(),
+                order.status(),
+                order.paymentMethod(),
+                order.createdAt(),
+                order.lines().stream().map(OrderHistoryLineResponse::from).toList()
         );
     }
 }
 
 /**
  * order-service HTTP API 진입점.
- * - 주문 생성(POST /orders), 단건 조회(GET /orders/{id}), 내 주문 목록(GET /orders/me).
+ * - 주문 생성(POST /orders), 비동기 접수(POST /orders/async), 단건 조회(GET /orders/{id}), 내 주문 목록(GET /orders/me).
  * - API Gateway 경유 시 X-User-Id 헤더 사용, 직접 호출 시 Authorization: Bearer {JWT} 검증.
  */
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
     private final OrderService orderService;
+    private final OrderHistoryProjection orderHistoryProjection;
+    private final AsyncOrderService asyncOrderService;
     private final CartService cartService;
+    private final OrderIdempotencyService orderIdempotencyService;
     private final JwtSupport jwtSupport;
 
-    public OrderController(OrderService orderService, CartService cartService, JwtSupport jwtSupport) {
+    public OrderController(OrderService orderService, OrderHistoryProjection orderHistoryProjection,
+                           AsyncOrderService asyncOrderService, CartService cartService,
+                           OrderIdempotencyService orderIdempotencyService, JwtSupport jwtSupport) {
         this.orderService = orderService;
+        this.orderHistoryProjection = orderHistoryProjection;
+        this.asyncOrderService = asyncOrderService;
         this.cartService = cartService;
+        this.orderIdempotencyService = orderIdempotencyService;
         this.jwtSupport = jwtSupport;
     }
 
@@ -62,49 +128,100 @@ public class OrderController {
      * - 재고 부족 → InsufficientStockException → 409
      * - 결제 실패 → PaymentFailedException → 402
      * - 토큰 오류 → InvalidTokenException → 401
+     * - Idempotency-Key 헤더가 있으면 같은 키 재요청은 하위 서비스 호출 없이 첫 주문으로 응답(Idempotent-Replayed: true)
      */
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
             @RequestHeader(value = "X-User-Id", required = false) String xUserId,
             @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody CreateOrderRequest request
     ) {
         Long userId = resolveUserId(xUserId, authorization);
-        Order order = orderService.createOrder(
+        String requestHash = OrderIdempotencyService.requestHash(
+                "orders", request.productId(), request.quantity(), request.paymentMethod());
+        OrderIdempotencyService.IdempotentOrder result = orderIdempotencyService.execute(
+                userId, idempotencyKey, requestHash, sagaId -> orderService.createOrder(
+                        sagaId,
+                        userId,
+                        request.productId(),
+                        request.quantity(),
+                        request.paymentMethod()
+                ));
+        return created(result);
+    }
+
+    /**
+     * 비동기 주문 접수. PENDING 주문을 저장하고 202 + Location(/orders/{id}) 반환, saga는 워커가 진행.
+     * - 진행 결과는 GET /orders/{id}의 status(PENDING → PAID/FAILED)로 확인
+     * - 요청 값 오류 → 400, 대기열 초과 → OrderQueueFullException → 503
+     */
+    @PostMapping("/async")
+    public ResponseEntity<OrderResponse> submitOrder(
+            @RequestHeader(value = "X-User-Id", required = false) String xUserId,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody CreateOrderRequest request
+    ) {
+        Long userId = resolveUserId(xUserId, authorization);
+        Order order = asyncOrderService.submit(
                 userId,
                 request.productId(),
                 request.quantity(),
                 request.paymentMethod()
-        );
-        return ResponseEntity.status(HttpStatus.CREATED).body(OrderResponse.from(order));
+        ).order();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/orders/" + order.getId()))
+                .body(OrderResponse.from(order));
     }
 
-    /** 내 주문 목록. createdAt 내림차순. */
+    /**
+     * 내 주문 목록. createdAt 내림차순, keyset 페이지(limit 기본 20, 최대 100).
+     * 다음 페이지가 있으면 X-Next-Cursor 헤더에 불투명 커서 → 다음 요청의 cursor 파라미터로 전달.
+     * 주문 이력 뷰(order_history_view)만 읽음 → 상품명까지 쿼리 1번, product-service 호출 없음.
+     */
     @GetMapping("/me")
-    public ResponseEntity<List<OrderResponse>> getMyOrders(
+    public ResponseEntity<List<OrderHistoryResponse>> getMyOrders(
             @RequestHeader(value = "X-User-Id", required = false) String xUserId,
-            @RequestHeader(value = "Authorization", required = false) String authorization
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
     ) {
         Long userId = resolveUserId(xUserId, authorization);
-        List<Order> orders = orderService.getOrdersByUser(userId);
-        return ResponseEntity.ok(orders.stream().map(OrderResponse::from).toList());
+        OrderHistoryProjection.HistoryPage page = orderHistoryProjection.getOrdersByUser(
+                userId, limit != null ? limit : OrderHistoryProjection.DEFAULT_PAGE_SIZE, cursor);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR, page.nextCursor());
+        }
+        return response.body(page.orders().stream().map(OrderHistoryResponse::from).toList());
     }
 
     /**
-     * 장바구니 전체로 주문 생성. 품목별로 주문 생성 후 장바구니 비움.
+     * 장바구니 전체로 주문 1건(품목 N건, 결제 1건) 생성 후 장바구니 비움.
      * /{id} 보다 위에 두어야 POST /orders/from-cart 가 GET /orders/{id} 에 걸리지 않음.
+     * Idempotency-Key 재요청은 장바구니가 이미 비었어도 첫 주문으로 응답.
      */
     @PostMapping("/from-cart")
-    public ResponseEntity<List<OrderResponse>> createOrdersFromCart(
+    public ResponseEntity<OrderResponse> createOrderFromCart(
             @RequestHeader(value = "X-User-Id", required = false) String xUserId,
             @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @RequestBody(required = false) FromCartRequest request
     ) {
         Long userId = resolveUserId(xUserId, authorization);
         String paymentMethod = request != null && request.paymentMethod() != null ? request.paymentMethod() : "CARD";
-        List<Order> orders = cartService.createOrdersFromCart(userId, paymentMethod);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(orders.stream().map(OrderResponse::from).toList());
+        OrderIdempotencyService.IdempotentOrder result = orderIdempotencyService.execute(
+                userId, idempotencyKey, OrderIdempotencyService.requestHash("from-cart", paymentMethod),
+                sagaId -> cartService.createOrderFromCart(sagaId, userId, paymentMethod));
+        return created(result);
+    }
+
+    private static ResponseEntity<OrderResponse> created(OrderIdempotencyService.IdempotentOrder result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body(OrderResponse.from(result.order()));
     }
 
     /** Gateway 경유 시 X-User-Id, 직접 호출 시 Authorization Bearer JWT. */
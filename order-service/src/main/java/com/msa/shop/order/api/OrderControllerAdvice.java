@@ -1,12 +1,16 @@
 package com.msa.shop.order.api;
 
+import com.msa.shop.order.application.IdempotencyKeyInProgressException;
+import com.msa.shop.order.application.IdempotencyKeyMismatchException;
 import com.msa.shop.order.application.InsufficientStockException;
 import com.msa.shop.order.application.InvalidTokenException;
 import com.msa.shop.order.application.OrderCannotBeCancelledException;
 import com.msa.shop.order.application.OrderNotFoundException;
+import com.msa.shop.order.application.OrderQueueFullException;
 import com.msa.shop.order.application.PaymentFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -58,6 +62,32 @@ public class OrderControllerAdvice {
                 .body(Map.of("error", "NOT_FOUND", "message", ex.getMessage()));
     }
 
+    /** 같은 Idempotency-Key 요청 처리 중(대기 시간 초과) → 409 CONFLICT + Retry-After */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "CONFLICT", "message", ex.getMessage()));
+    }
+
+    /** Idempotency-Key를 다른 요청에 재사용 → 422 UNPROCESSABLE_ENTITY */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex) {
+        return ResponseEntity
+                .status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(Map.of("error", "UNPROCESSABLE_ENTITY", "message", ex.getMessage()));
+    }
+
+    /** 비동기 주문 대기열 초과 → 503 SERVICE_UNAVAILABLE + Retry-After */
+    @ExceptionHandler(OrderQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleOrderQueueFull(OrderQueueFullException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "SERVICE_UNAVAILABLE", "message", ex.getMessage()));
+    }
+
     /** 토큰 없음/형식 오류 → 401 UNAUTHORIZED */
     @ExceptionHandler(InvalidTokenException.class)
     public ResponseEntity<Map<String, String>> handleInvalidToken(InvalidTokenException ex) {
@@ -0,0 +1,54 @@
+package com.msa.shop.order.api;
+
+import com.msa.shop.order.application.OrderHistoryProjection;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * /actuator/orderhistory: 주문 이력 뷰 재구성(운영용).
+ * - POST: orders 전체로 뷰 재구성을 백그라운드 스레드에서 시작. 이미 진행 중이면 새로 시작하지 않음.
+ * - GET: 진행 여부와 마지막 재구성 결과(처리 주문 수, 소요 시간, 오류).
+ */
+@Component
+@Endpoint(id = "orderhistory")
+public class OrderHistoryEndpoint {
+
+    private final OrderHistoryProjection orderHistoryProjection;
+    private volatile RebuildStatus last;
+
+    public OrderHistoryEndpoint(OrderHistoryProjection orderHistoryProjection) {
+        this.orderHistoryProjection = orderHistoryProjection;
+    }
+
+    @ReadOperation
+    public RebuildReport status() {
+        return new RebuildReport(orderHistoryProjection.isRebuilding(), last);
+    }
+
+    @WriteOperation
+    public RebuildReport rebuild() {
+        if (orderHistoryProjection.isRebuilding()) {
+            return new RebuildReport(true, last);
+        }
+        Thread worker = new Thread(() -> {
+            LocalDateTime startedAt = LocalDateTime.now();
+            try {
+                OrderHistoryProjection.RebuildResult result = orderHistoryProjection.rebuild();
+                last = new RebuildStatus(startedAt, result.orders(), result.elapsedMillis(), null);
+            } catch (RuntimeException ex) {
+                last = new RebuildStatus(startedAt, 0, 0, ex.getMessage());
+            }
+        }, "order-history-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+        return new RebuildReport(true, last);
+    }
+
+    public record RebuildReport(boolean rebuilding, RebuildStatus last) {}
+
+    public record RebuildStatus(LocalDateTime startedAt, long orders, long elapsedMillis, String error) {}
+}
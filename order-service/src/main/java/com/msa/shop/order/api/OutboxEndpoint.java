@@ -0,0 +1,70 @@
+package com.msa.shop.order.api;
+
+import com.msa.shop.order.domain.OutboxEvent;
+import com.msa.shop.order.domain.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * GET /actuator/outbox: Outbox 백로그 현황(운영용).
+ * - pending: 이벤트 타입별 PENDING 건수, oldestPendingAgeSeconds: 가장 오래된 PENDING 나이.
+ * - stuck: stuck-after 이상 처리되지 않은 PENDING + DEAD 이벤트(payload 포함). limit 기본 50, 최대 500.
+ * - payload에 userId 등이 들어 있으므로 management 포트는 게이트웨이로 노출하지 않음.
+ */
+@Component
+@Endpoint(id = "outbox")
+public class OutboxEndpoint {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Duration stuckAfter;
+
+    public OutboxEndpoint(
+            OutboxEventRepository outboxEventRepository,
+            @Value("${app.outbox.metrics.stuck-after:5m}") Duration stuckAfter
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.stuckAfter = stuckAfter;
+    }
+
+    @ReadOperation
+    public OutboxReport report(@Nullable Integer limit) {
+        int size = limit == null || limit <= 0 ? 50 : Math.min(limit, MAX_LIMIT);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Long> pending = new TreeMap<>();
+        outboxEventRepository.countPendingByEventType()
+                .forEach(row -> pending.put(row.getEventType(), row.getCount()));
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        List<StuckEvent> stuck = outboxEventRepository.findStuck(now.minus(stuckAfter), PageRequest.of(0, size))
+                .stream()
+                .map(event -> StuckEvent.from(event, now))
+                .toList();
+        return new OutboxReport(pending, oldest == null ? 0 : Duration.between(oldest, now).toSeconds(),
+                stuckAfter.toSeconds(), stuck);
+    }
+
+    public record OutboxReport(Map<String, Long> pending, long oldestPendingAgeSeconds,
+                               long stuckAfterSeconds, List<StuckEvent> stuck) {}
+
+    public record StuckEvent(Long id, String eventType, String status, int attempts, LocalDateTime createdAt,
+                             LocalDateTime nextAttemptAt, long ageSeconds, String lastError, String payload) {
+
+        static StuckEvent from(OutboxEvent event, LocalDateTime now) {
+            return new StuckEvent(event.getId(), event.getEventType(), event.getStatus().name(), event.getAttempts(),
+                    event.getCreatedAt(), event.getNextAttemptAt(), Duration.between(event.getCreatedAt(), now).toSeconds(),
+                    event.getLastError(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.msa.shop.order.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 주문 접수(POST /orders/async).
+ * - 요청 검증 후 PENDING 주문 + saga를 기록하고 바로 반환. saga 진행은 고정 크기 워커 풀(workers)이 대기열(queue-capacity)에서 꺼내 실행.
+ * - 대기열이 가득 차면 접수한 주문을 FAILED로 닫고 OrderQueueFullException(503).
+ * - 워커가 예외로 끝나거나 재시작으로 대기열이 유실되면 saga가 STARTED/RESERVED로 남아 OrderSagaRecovery가 보상(주문 FAILED).
+ * - 메트릭(HPA 지표): order.async.queue.depth, order.async.queue.time, order.async.workers.active,
+ *   order.async.workers.utilization, order.async.rejected, order.async.completed(outcome).
+ */
+@Component
+public class AsyncOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncOrderService.class);
+
+    private final OrderService orderService;
+    private final ThreadPoolExecutor workers;
+    private final Duration shutdownTimeout;
+
+    private final Timer queueTime;
+    private final Counter rejected;
+    private final Counter paid;
+    private final Counter failed;
+    private final Counter error;
+
+    public AsyncOrderService(
+            OrderService orderService,
+            MeterRegistry meterRegistry,
+            @Value("${app.order.async.workers:32}") int workerCount,
+            @Value("${app.order.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.order.async.shutdown-timeout:10s}") Duration shutdownTimeout
+    ) {
+        this.orderService = orderService;
+        this.shutdownTimeout = shutdownTimeout;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "order-async-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.queueTime = Timer.builder("order.async.queue.time")
+                .description("비동기 주문이 워커에 실리기까지 대기열에서 기다린 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("order.async.rejected")
+                .description("대기열 초과로 거절한 비동기 주문 수")
+                .register(meterRegistry);
+        this.paid = completed(meterRegistry, "paid");
+        this.failed = completed(meterRegistry, "failed");
+        this.error = completed(meterRegistry, "error");
+        Gauge.builder("order.async.queue.depth", workers, pool -> pool.getQueue().size())
+                .description("워커를 기다리는 비동기 주문 수")
+                .register(meterRegistry);
+        Gauge.builder("order.async.workers.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("saga를 진행 중인 워커 수")
+                .register(meterRegistry);
+        Gauge.builder("order.async.workers.utilization", workers,
+                        pool -> (double) pool.getActiveCount() / pool.getMaximumPoolSize())
+                .description("워커 사용률(0~1)")
+                .register(meterRegistry);
+    }
+
+    private static Counter completed(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("order.async.completed")
+                .description("워커가 처리를 끝낸 비동기 주문 수")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주문 접수. 검증 실패는 IllegalArgumentException(400), 대기열 초과는 OrderQueueFullException(503).
+     * @return PENDING 상태 주문(ID로 GET /orders/{id} 폴링)
+     */
+    public OrderService.PendingOrder submit(Long userId, Long productId, int quantity, String paymentMethod) {
+        if (productId == null) {
+            throw new IllegalArgumentException("productId가 필요합니다.");
+        }
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("quantity는 1 이상이어야 합니다.");
+        }
+        if (paymentMethod == null || paymentMethod.isBlank()) {
+            throw new IllegalArgumentException("paymentMethod가 필요합니다.");
+        }
+        OrderService.PendingOrder pending = orderService.submitOrder(userId, productId, quantity, paymentMethod);
+        long enqueuedAt = System.nanoTime();
+        try {
+            workers.execute(() -> process(pending, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            orderService.abandonOrder(pending, "비동기 주문 대기열 초과");
+            throw new OrderQueueFullException("주문 대기열이 가득 찼습니다. 잠시 후 다시 시도하세요.");
+        }
+        return pending;
+    }
+
+    private void process(OrderService.PendingOrder pending, long enqueuedAt) {
+        queueTime.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        try {
+            orderService.runOrderSaga(pending.saga(), pending.productId(), pending.quantity());
+            paid.increment();
+        } catch (InsufficientStockException | PaymentFailedException e) {
+            // saga FAILED/COMPENSATED 기록과 함께 주문도 FAILED로 전환됨
+            failed.increment();
+        } catch (Exception e) {
+            error.increment();
+            log.warn("비동기 주문 처리 실패 orderId={} sagaId={}. saga 복구가 이어서 처리",
+                    pending.order().getId(), pending.saga().getId(), e);
+        }
+    }
+
+    /** 종료 시 대기열에 남은 주문은 shutdown-timeout 동안 처리. 못 끝낸 주문은 saga 복구가 보상. */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("비동기 주문 워커 종료 대기 초과. 미처리 {}건은 saga 복구 대상", workers.getQueue().size());
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.Cart;
+import com.msa.shop.order.domain.CartItem;
+import com.msa.shop.order.domain.CartItemRepository;
+import com.msa.shop.order.domain.CartRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * cart_items(내구 저장) 쪽 장바구니 읽기·쓰기. CartStore 캐시 미스 적재, write-behind 반영, JpaCartStore에서 사용.
+ * - save / update: 현재 행과 비교해 바뀐 행만 UPDATE / INSERT / DELETE.
+ * - save는 carts.version보다 새 스냅샷만 반영. 여러 인스턴스의 반영이 순서 없이 커밋돼도 옛 스냅샷이 새 것을 덮지 않음.
+ */
+@Component
+public class CartPersistence {
+
+    private final CartItemRepository cartItemRepository;
+    private final CartRepository cartRepository;
+
+    public CartPersistence(CartItemRepository cartItemRepository, CartRepository cartRepository) {
+        this.cartItemRepository = cartItemRepository;
+        this.cartRepository = cartRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public SortedMap<Long, Integer> load(Long userId) {
+        SortedMap<Long, Integer> items = new TreeMap<>();
+        cartItemRepository.findByUserIdOrderByProductId(userId)
+                .forEach(item -> items.put(item.getProductId(), item.getQuantity()));
+        return items;
+    }
+
+    /** 캐시 적재용. 항목과 반영된 버전을 한 트랜잭션에서 읽음(헤더가 없으면 0). */
+    @Transactional(readOnly = true)
+    public CartSnapshot loadSnapshot(Long userId) {
+        long version = cartRepository.findById(userId).map(Cart::getVersion).orElse(0L);
+        return new CartSnapshot(version, load(userId));
+    }
+
+    /**
+     * 스냅샷으로 덮어쓰기(write-behind 반영). 이미 같거나 새 버전이 반영됐으면 건너뛰고 false.
+     * 버전 갱신이 헤더 행을 잠그므로 같은 사용자의 반영은 커밋 순서대로 직렬화.
+     */
+    @Transactional
+    public boolean save(Long userId, CartSnapshot snapshot) {
+        if (cartRepository.advanceVersion(userId, snapshot.version()) == 0) {
+            if (cartRepository.existsById(userId)) {
+                return false;
+            }
+            cartRepository.insert(userId, snapshot.version());
+        }
+        update(userId, items -> {
+            items.clear();
+            items.putAll(snapshot.items());
+        });
+        return true;
+    }
+
+    /** 현재 행을 읽어 change 적용 후 바뀐 행만 UPDATE / INSERT / DELETE. 한 트랜잭션. */
+    @Transactional
+    public void update(Long userId, Consumer<Map<Long, Integer>> change) {
+        List<CartItem> rows = cartItemRepository.findByUserIdOrderByProductId(userId);
+        Map<Long, Integer> remaining = new TreeMap<>();
+        rows.forEach(item -> remaining.put(item.getProductId(), item.getQuantity()));
+        change.accept(remaining);
+        List<CartItem> removed = new ArrayList<>();
+        for (CartItem item : rows) {
+            Integer quantity = remaining.remove(item.getProductId());
+            if (quantity == null) {
+                removed.add(item);
+            } else if (quantity != item.getQuantity()) {
+                item.setQuantity(quantity);
+            }
+        }
+        cartItemRepository.deleteAllInBatch(removed);
+        cartItemRepository.saveAll(remaining.entrySet().stream()
+                .map(entry -> new CartItem(userId, entry.getKey(), entry.getValue()))
+                .toList());
+    }
+}
@@ -1,112 +1,159 @@
 package com.msa.shop.order.application;
 
 import com.msa.shop.order.domain.CartItem;
-import com.msa.shop.order.domain.CartItemRepository;
 import com.msa.shop.order.domain.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 장바구니 CRUD. 상품 추가 시 product-service로 존재·재고 검증.
+ * - 읽기·쓰기는 CartStore(Redis 해시 또는 인메모리)만 사용, cart_items 반영은 CartWriteBehind가 나중에(write-behind).
+ * - 반환하는 CartItem은 응답용 값(영속 상태 아님). 조회(getCart)는 상품 정보를 붙인 CartLine.
  */
 @Service
 public class CartService {
 
-    private final CartItemRepository cartItemRepository;
+    private static final Logger log = LoggerFactory.getLogger(CartService.class);
+
+    private final CartStore cartStore;
     private final OrderService orderService;
+    private final ProductClient productClient;
 
-    public CartService(CartItemRepository cartItemRepository, OrderService orderService) {
-        this.cartItemRepository = cartItemRepository;
+    public CartService(
+            CartStore cartStore,
+            OrderService orderService,
+            ProductClient productClient
+    ) {
+        this.cartStore = cartStore;
         this.orderService = orderService;
+        this.productClient = productClient;
     }
 
     /**
      * 장바구니에 추가. 동일 상품이 있으면 수량 합산(재고 초과 시 InsufficientStockException).
      */
-    @Transactional
     public CartItem addItem(Long userId, Long productId, int quantity) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
         }
-        OrderService.ProductResponse product = orderService.getProduct(productId);
+        ProductClient.ProductResponse product = productClient.getProduct(productId);
         if (product.stockQuantity() < quantity) {
             throw new InsufficientStockException("재고 부족: 현재 " + product.stockQuantity() + "개");
         }
-        return cartItemRepository.findByUserIdAndProductId(userId, productId)
-                .map(existing -> {
-                    int newQty = existing.getQuantity() + quantity;
-                    if (product.stockQuantity() < newQty) {
-                        throw new InsufficientStockException("재고 부족: 최대 " + product.stockQuantity() + "개");
-                    }
-                    existing.setQuantity(newQty);
-                    return cartItemRepository.save(existing);
-                })
-                .orElseGet(() -> cartItemRepository.save(new CartItem(userId, productId, quantity)));
+        int newQty = cartStore.getQuantity(userId, productId) + quantity;
+        if (product.stockQuantity() < newQty) {
+            throw new InsufficientStockException("재고 부족: 최대 " + product.stockQuantity() + "개");
+        }
+        cartStore.put(userId, productId, newQty);
+        return new CartItem(userId, productId, newQty);
     }
 
     /**
      * 수량 변경. 0 이하면 삭제.
      */
-    @Transactional
     public CartItem updateQuantity(Long userId, Long productId, int quantity) {
         if (quantity <= 0) {
-            cartItemRepository.deleteByUserIdAndProductId(userId, productId);
+            cartStore.remove(userId, productId);
             return null;
         }
-        OrderService.ProductResponse product = orderService.getProduct(productId);
+        ProductClient.ProductResponse product = productClient.getProduct(productId);
         if (product.stockQuantity() < quantity) {
             throw new InsufficientStockException("재고 부족: 최대 " + product.stockQuantity() + "개");
         }
-        CartItem item = cartItemRepository.findByUserIdAndProductId(userId, productId)
-                .orElseThrow(() -> new OrderNotFoundException("장바구니에 해당 상품이 없습니다. productId=" + productId));
-        item.setQuantity(quantity);
-        return cartItemRepository.save(item);
+        if (cartStore.getQuantity(userId, productId) == 0) {
+            throw new OrderNotFoundException("장바구니에 해당 상품이 없습니다. productId=" + productId);
+        }
+        cartStore.put(userId, productId, quantity);
+        return new CartItem(userId, productId, quantity);
     }
 
-    @Transactional(readOnly = true)
-    public List<CartItem> getCart(Long userId) {
-        return cartItemRepository.findByUserIdOrderByProductId(userId);
+    /**
+     * 장바구니 조회. 상품명·단가·품목 금액·재고 상태를 GET /products/batch 한 번으로 채움.
+     * - product-service 호출 실패 시 수량만 담아 반환(stockStatus=UNKNOWN). 장바구니 조회는 막지 않음.
+     */
+    public List<CartLine> getCart(Long userId) {
+        SortedMap<Long, Integer> items = cartStore.getCart(userId);
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductClient.ProductResponse> products;
+        try {
+            products = productClient.getProducts(items.keySet()).stream()
+                    .collect(Collectors.toMap(ProductClient.ProductResponse::id, Function.identity(), (a, b) -> a));
+        } catch (RuntimeException ex) {
+            log.warn("장바구니 상품 정보 조회 실패, 수량만 반환. userId={}: {}", userId, ex.getMessage());
+            return items.entrySet().stream()
+                    .map(item -> new CartLine(item.getKey(), item.getValue(), null, null, null, StockStatus.UNKNOWN))
+                    .toList();
+        }
+        return items.entrySet().stream()
+                .map(item -> CartLine.of(item.getKey(), item.getValue(), products.get(item.getKey())))
+                .toList();
     }
 
-    @Transactional
     public void removeItem(Long userId, Long productId) {
-        cartItemRepository.deleteByUserIdAndProductId(userId, productId);
+        cartStore.remove(userId, productId);
     }
 
-    @Transactional
     public void clearCart(Long userId) {
-        cartItemRepository.deleteByUserId(userId);
+        cartStore.clear(userId);
     }
 
     /**
-     * 장바구니 전체로 주문 생성. 품목별로 주문 생성 후 장바구니 비우기.
+     * 장바구니 전체로 주문 1건 생성. 전 품목 일괄 홀드 + 결제 1건 + 품목 N건(OrderService.createOrder) 후 주문한 품목 삭제.
      * 장바구니가 비어 있으면 IllegalArgumentException.
-     * 중간에 재고 부족·결제 실패 시 예외 발생(이전까지 생성된 주문은 유지, 장바구니는 비우지 않음).
+     * 한 품목이라도 재고 부족·결제 실패면 주문은 생성되지 않고 장바구니도 그대로 유지.
+     * - 장바구니는 한 번에 읽은 스냅샷으로 주문. 주문 중 바뀐 품목(수량 변경·새 상품)은 삭제하지 않고 남김.
      */
-    @Transactional
-    public List<Order> createOrdersFromCart(Long userId, String paymentMethod) {
-        List<CartItem> items = cartItemRepository.findByUserIdOrderByProductId(userId);
-        if (items.isEmpty()) {
+    public Order createOrderFromCart(Long userId, String paymentMethod) {
+        return createOrderFromCart(UUID.randomUUID().toString(), userId, paymentMethod);
+    }
+
+    /** sagaId를 지정한 장바구니 주문. Idempotency-Key 요청용(OrderIdempotencyService가 키에 기록한 saga ID). */
+    public Order createOrderFromCart(String sagaId, Long userId, String paymentMethod) {
+        SortedMap<Long, Integer> snapshot = cartStore.getCart(userId);
+        if (snapshot.isEmpty()) {
             throw new IllegalArgumentException("장바구니가 비어 있습니다.");
         }
-        List<Order> orders = new ArrayList<>();
-        try {
-            for (CartItem item : items) {
-                orders.add(orderService.createOrder(
-                        userId,
-                        item.getProductId(),
-                        item.getQuantity(),
-                        paymentMethod != null ? paymentMethod : "CARD"
-                ));
+        List<ProductClient.StockLine> lines = snapshot.entrySet().stream()
+                .map(item -> new ProductClient.StockLine(item.getKey(), item.getValue()))
+                .toList();
+        Order order = orderService.createOrder(
+                sagaId,
+                userId,
+                lines,
+                paymentMethod != null ? paymentMethod : "CARD"
+        );
+        cartStore.removeOrdered(userId, snapshot);
+        return order;
+    }
+
+    /** 장바구니 재고 상태. UNAVAILABLE: 상품 없음(삭제·판매 중지), UNKNOWN: product-service 응답 없음. */
+    public enum StockStatus {
+        IN_STOCK, INSUFFICIENT, SOLD_OUT, UNAVAILABLE, UNKNOWN
+    }
+
+    /** 장바구니 한 줄(조회용). 상품 정보가 없으면 productName·unitPrice·lineTotal은 null. */
+    public record CartLine(Long productId, int quantity, String productName, Integer unitPrice,
+                           Integer lineTotal, StockStatus stockStatus) {
+
+        static CartLine of(Long productId, int quantity, ProductClient.ProductResponse product) {
+            if (product == null) {
+                return new CartLine(productId, quantity, null, null, null, StockStatus.UNAVAILABLE);
             }
-            cartItemRepository.deleteByUserId(userId);
-        } catch (RuntimeException e) {
-            // 일부만 주문 생성된 경우 장바구니는 그대로 두고 예외 전파
-            throw e;
+            StockStatus status = product.stockQuantity() <= 0 ? StockStatus.SOLD_OUT
+                    : product.stockQuantity() < quantity ? StockStatus.INSUFFICIENT
+                    : StockStatus.IN_STOCK;
+            return new CartLine(productId, quantity, product.name(), product.price(),
+                    product.price() * quantity, status);
         }
-        return orders;
     }
 }
@@ -0,0 +1,9 @@
+package com.msa.shop.order.application;
+
+import java.util.SortedMap;
+
+/**
+ * 버전이 붙은 장바구니 스냅샷. version은 캐시 쓰기마다 1씩 증가(적재 시 carts.version부터 시작).
+ * write-behind는 이 버전으로 반영 순서를 정함(CartPersistence.save).
+ */
+public record CartSnapshot(long version, SortedMap<Long, Integer> items) {}
@@ -0,0 +1,40 @@
+package com.msa.shop.order.application;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * 장바구니 저장소. 사용자별 (상품 ID → 수량) 맵.
+ * - 읽기·쓰기는 저장소(Redis 해시 또는 인메모리)에서 처리, cart_items는 CartWriteBehind가 나중에 반영(write-behind).
+ * - 캐시에 없는 장바구니는 첫 접근 시 cart_items에서 적재(CartPersistence.load). TTL 동안 접근이 없으면 캐시에서만 만료.
+ * - 변경 시 버전을 올리고 사용자를 dirty로 표시 → pollDirty로 꺼내 버전 붙은 스냅샷(peek)을 DB에 반영. 반영 실패 시 markDirty로 되돌림.
+ * - app.cart.store: memory(기본, 인스턴스 1개·테스트용) | redis(여러 인스턴스가 공유) | jpa(cart_items 직접, write-behind 없음).
+ */
+public interface CartStore {
+
+    /** 장바구니 전체를 한 시점의 스냅샷으로(상품 ID 오름차순). 비어 있으면 빈 맵. */
+    SortedMap<Long, Integer> getCart(Long userId);
+
+    /** 상품 수량. 없으면 0. */
+    int getQuantity(Long userId, Long productId);
+
+    void put(Long userId, Long productId, int quantity);
+
+    void remove(Long userId, Long productId);
+
+    void clear(Long userId);
+
+    /** checkout 후 정리: 주문한 수량 그대로인 항목만 삭제(주문 중 바뀐 항목은 유지). */
+    void removeOrdered(Long userId, Map<Long, Integer> ordered);
+
+    /** DB 반영 대기 사용자 최대 max명을 꺼냄(꺼낸 사용자는 dirty 해제). */
+    List<Long> pollDirty(int max);
+
+    void markDirty(Collection<Long> userIds);
+
+    /** 캐시에 있는 장바구니의 버전 붙은 스냅샷. 만료·미적재면 empty(= DB가 최신, 반영할 것 없음). */
+    Optional<CartSnapshot> peek(Long userId);
+}
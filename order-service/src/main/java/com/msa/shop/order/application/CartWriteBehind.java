@@ -0,0 +1,71 @@
+package com.msa.shop.order.application;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 장바구니 write-behind: CartStore에서 바뀐 장바구니를 flush-interval(ms)마다 cart_items에 반영.
+ * - dirty 사용자를 flush-batch-size명씩 꺼내 스냅샷 1번 읽고 사용자별 짧은 트랜잭션으로 저장(CartPersistence.save).
+ * - 인스턴스마다 flush가 돌아 같은 사용자의 반영이 순서 없이 커밋될 수 있음 → 스냅샷 버전이 DB보다 클 때만 반영.
+ * - 실패한 사용자는 이번 주기가 끝난 뒤 다시 dirty → 다음 주기에 재시도. 캐시에서 이미 만료된 장바구니는 DB가 최신이라 건너뜀.
+ * - 종료 시 남은 변경을 모두 반영(인메모리 저장소는 재시작하면 사라지므로).
+ */
+@Component
+public class CartWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(CartWriteBehind.class);
+
+    private final CartStore cartStore;
+    private final CartPersistence cartPersistence;
+    private final int batchSize;
+
+    public CartWriteBehind(
+            CartStore cartStore,
+            CartPersistence cartPersistence,
+            @Value("${app.cart.flush-batch-size:100}") int batchSize
+    ) {
+        this.cartStore = cartStore;
+        this.cartPersistence = cartPersistence;
+        this.batchSize = batchSize;
+    }
+
+    /** dirty 장바구니를 모두 반영. 반영한 사용자 수 반환. */
+    @Scheduled(fixedDelayString = "${app.cart.flush-interval:1000}")
+    public int flush() {
+        List<Long> failed = new ArrayList<>();
+        int flushed = 0;
+        try {
+            List<Long> userIds;
+            while (!(userIds = cartStore.pollDirty(batchSize)).isEmpty()) {
+                for (Long userId : userIds) {
+                    try {
+                        cartStore.peek(userId).ifPresent(snapshot -> cartPersistence.save(userId, snapshot));
+                        flushed++;
+                    } catch (RuntimeException ex) {
+                        failed.add(userId);
+                        log.warn("장바구니 반영 실패, 다음 주기에 재시도. userId={}: {}", userId, ex.getMessage());
+                    }
+                }
+            }
+        } finally {
+            cartStore.markDirty(failed);
+        }
+        return flushed;
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("종료 시 장바구니 반영 실패: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.msa.shop.order.application;
+
+/** 같은 Idempotency-Key 요청이 wait-timeout 안에 끝나지 않음. ControllerAdvice에서 409 CONFLICT로 변환. */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
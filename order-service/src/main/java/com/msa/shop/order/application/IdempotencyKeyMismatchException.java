@@ -0,0 +1,9 @@
+package com.msa.shop.order.application;
+
+/** 같은 Idempotency-Key를 다른 요청 본문에 재사용. ControllerAdvice에서 422 UNPROCESSABLE_ENTITY로 변환. */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
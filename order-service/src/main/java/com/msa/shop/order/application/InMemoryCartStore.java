@@ -0,0 +1,146 @@
+package com.msa.shop.order.application;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * 인스턴스 내 장바구니 저장소(app.cart.store=memory). 테스트·단일 인스턴스용.
+ * - 사용자별 불변 맵을 compute로 통째 교체(버전 +1) → getCart는 잠금 없이 일관된 스냅샷.
+ * - 인스턴스마다 따로 들고 있으므로 여러 인스턴스로 띄우면 redis 사용.
+ * - evictIdle: ttl 동안 접근 없고 DB 반영이 끝난 장바구니만 메모리에서 제거(다음 접근 시 DB에서 다시 적재).
+ */
+public class InMemoryCartStore implements CartStore {
+
+    private final CartPersistence cartPersistence;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Map<Long, Entry> carts = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    public InMemoryCartStore(CartPersistence cartPersistence, Duration ttl, Clock clock) {
+        this.cartPersistence = cartPersistence;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public SortedMap<Long, Integer> getCart(Long userId) {
+        return entry(userId).items();
+    }
+
+    @Override
+    public int getQuantity(Long userId, Long productId) {
+        return entry(userId).items().getOrDefault(productId, 0);
+    }
+
+    @Override
+    public void put(Long userId, Long productId, int quantity) {
+        update(userId, items -> {
+            items.put(productId, quantity);
+            return items;
+        });
+    }
+
+    @Override
+    public void remove(Long userId, Long productId) {
+        update(userId, items -> {
+            items.remove(productId);
+            return items;
+        });
+    }
+
+    @Override
+    public void clear(Long userId) {
+        update(userId, items -> new TreeMap<>());
+    }
+
+    @Override
+    public void removeOrdered(Long userId, Map<Long, Integer> ordered) {
+        update(userId, items -> {
+            ordered.forEach(items::remove); // 수량이 같을 때만 삭제
+            return items;
+        });
+    }
+
+    @Override
+    public List<Long> pollDirty(int max) {
+        List<Long> polled = new ArrayList<>();
+        Iterator<Long> it = dirty.iterator();
+        while (it.hasNext() && polled.size() < max) {
+            Long userId = it.next();
+            if (dirty.remove(userId)) {
+                polled.add(userId);
+            }
+        }
+        return polled;
+    }
+
+    @Override
+    public void markDirty(Collection<Long> userIds) {
+        dirty.addAll(userIds);
+    }
+
+    @Override
+    public Optional<CartSnapshot> peek(Long userId) {
+        return Optional.ofNullable(carts.get(userId)).map(entry -> new CartSnapshot(entry.version(), entry.items()));
+    }
+
+    /** ttl 동안 접근 없고 DB 반영 대기도 없는 장바구니 제거. 제거한 수 반환. */
+    @Scheduled(fixedDelayString = "${app.cart.evict-interval:60000}")
+    public int evictIdle() {
+        long cutoff = clock.millis() - ttl.toMillis();
+        int evicted = 0;
+        for (Map.Entry<Long, Entry> cart : carts.entrySet()) {
+            // 값까지 같을 때만 제거 → 확인 직후 바뀐 장바구니는 남김
+            if (cart.getValue().accessedAt() < cutoff && !dirty.contains(cart.getKey())
+                    && carts.remove(cart.getKey(), cart.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /** 접근 시각 갱신. 없으면 DB에서 적재(DB 조회는 compute 밖에서 → 다른 사용자 키를 막지 않음). */
+    private Entry entry(Long userId) {
+        long now = clock.millis();
+        Entry touched = carts.computeIfPresent(userId, (id, current) -> new Entry(current.items(), current.version(), now));
+        if (touched != null) {
+            return touched;
+        }
+        Entry loaded = loaded(cartPersistence.loadSnapshot(userId), now);
+        Entry existing = carts.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /** 복사본에 변경 적용 후 교체. 맵 교체 다음에 dirty 표시 → 반영 중 변경도 다음 주기에 다시 반영. */
+    private void update(Long userId, UnaryOperator<TreeMap<Long, Integer>> change) {
+        entry(userId);
+        long now = clock.millis();
+        carts.compute(userId, (id, current) -> {
+            Entry base = current == null ? loaded(cartPersistence.loadSnapshot(id), now) : current;
+            TreeMap<Long, Integer> items = new TreeMap<>(base.items());
+            return new Entry(Collections.unmodifiableSortedMap(change.apply(items)), base.version() + 1, now);
+        });
+        dirty.add(userId);
+    }
+
+    private static Entry loaded(CartSnapshot snapshot, long now) {
+        return new Entry(Collections.unmodifiableSortedMap(snapshot.items()), snapshot.version(), now);
+    }
+
+    private record Entry(SortedMap<Long, Integer> items, long version, long accessedAt) {}
+}
@@ -0,0 +1,66 @@
+package com.msa.shop.order.application;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+
+/**
+ * cart_items 직접 읽기·쓰기 저장소(app.cart.store=jpa). 캐시·write-behind 없음.
+ * Redis 없이 order-service를 여러 인스턴스로 띄울 때 사용(인메모리 저장소는 인스턴스마다 장바구니가 달라짐).
+ */
+public class JpaCartStore implements CartStore {
+
+    private final CartPersistence cartPersistence;
+
+    public JpaCartStore(CartPersistence cartPersistence) {
+        this.cartPersistence = cartPersistence;
+    }
+
+    @Override
+    public SortedMap<Long, Integer> getCart(Long userId) {
+        return Collections.unmodifiableSortedMap(cartPersistence.load(userId));
+    }
+
+    @Override
+    public int getQuantity(Long userId, Long productId) {
+        return cartPersistence.load(userId).getOrDefault(productId, 0);
+    }
+
+    @Override
+    public void put(Long userId, Long productId, int quantity) {
+        cartPersistence.update(userId, items -> items.put(productId, quantity));
+    }
+
+    @Override
+    public void remove(Long userId, Long productId) {
+        cartPersistence.update(userId, items -> items.remove(productId));
+    }
+
+    @Override
+    public void clear(Long userId) {
+        cartPersistence.update(userId, Map::clear);
+    }
+
+    @Override
+    public void removeOrdered(Long userId, Map<Long, Integer> ordered) {
+        cartPersistence.update(userId, items -> ordered.forEach(items::remove));
+    }
+
+    @Override
+    public List<Long> pollDirty(int max) {
+        return List.of();
+    }
+
+    @Override
+    public void markDirty(Collection<Long> userIds) {
+        // 바로 반영하므로 대기 없음
+    }
+
+    @Override
+    public Optional<CartSnapshot> peek(Long userId) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,242 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.config.RabbitMQConfig;
+import com.msa.shop.order.domain.OutboxEvent;
+import com.msa.shop.order.domain.OutboxEventRepository;
+import com.msa.shop.order.domain.OutboxStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 도메인 이벤트(ORDER_CREATED / ORDER_CANCELLED) Outbox → RabbitMQ order.events 릴레이.
+ * - 워커마다: 짧은 트랜잭션에서 SKIP LOCKED로 batch-size건 가져가 lease → 트랜잭션 밖에서 한 채널로 전부 발행 후
+ *   waitForConfirmsOrDie 1번(publisher confirm) → 확인된 배치를 UPDATE 1번으로 PROCESSED.
+ * - at-least-once: 확인 후 PROCESSED 기록 전에 죽으면 lease 만료 뒤 재발행. messageId(order-event-{id})로 소비자가 중복 제거.
+ * - 발행·확인 실패 시 배치 전체를 OutboxProcessor와 같은 지수 백오프로 재시도, max-attempts 도달 시 DEAD.
+ * - 이벤트 간 순서는 보장하지 않음(워커 병렬). 소비자는 payload의 status·occurredAt로 판단.
+ * - retention 지난 PROCESSED 행은 purge-batch-size씩 삭제.
+ */
+@Component
+public class OrderEventRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxMetrics metrics;
+
+    private final boolean enabled;
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration idleInterval;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration backoffInitial;
+    private final Duration backoffMax;
+    private final Duration retention;
+    private final int purgeBatchSize;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public OrderEventRelay(
+            OutboxEventRepository outboxEventRepository,
+            RabbitTemplate rabbitTemplate,
+            TransactionTemplate transactionTemplate,
+            OutboxMetrics metrics,
+            @Value("${app.outbox.order-events.enabled:true}") boolean enabled,
+            @Value("${app.outbox.order-events.workers:2}") int workerCount,
+            @Value("${app.outbox.order-events.batch-size:500}") int batchSize,
+            @Value("${app.outbox.order-events.confirm-timeout:5s}") Duration confirmTimeout,
+            @Value("${app.outbox.order-events.idle-interval:1s}") Duration idleInterval,
+            @Value("${app.outbox.order-events.retention:1d}") Duration retention,
+            @Value("${app.outbox.order-events.purge-batch-size:5000}") int purgeBatchSize,
+            @Value("${app.outbox.lease:1m}") Duration lease,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.backoff-initial:1s}") Duration backoffInitial,
+            @Value("${app.outbox.backoff-max:10m}") Duration backoffMax
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.idleInterval = idleInterval;
+        this.retention = retention;
+        this.purgeBatchSize = purgeBatchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitial = backoffInitial;
+        this.backoffMax = backoffMax;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::pollLoop, "order-event-relay-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(confirmTimeout.plus(idleInterval).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            int published;
+            try {
+                published = publishBatch();
+            } catch (Exception e) {
+                log.warn("주문 이벤트 가져오기 실패", e);
+                published = 0;
+            }
+            // 배치가 가득 찼으면 백로그가 남은 것 → 바로 다음 배치
+            if (published < batchSize) {
+                try {
+                    Thread.sleep(idleInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /** 한 배치 발행. 가져간 건수 반환. */
+    int publishBatch() {
+        List<OutboxEvent> claimed = claim();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        try {
+            metrics.publishBatch().record(() -> send(claimed));
+        } catch (Exception e) {
+            log.warn("주문 이벤트 발행 실패 count={}", claimed.size(), e);
+            retryLater(claimed, e);
+            return claimed.size();
+        }
+        List<Long> ids = claimed.stream().map(OutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.markProcessed(ids, LocalDateTime.now()));
+        claimed.forEach(event -> metrics.processed(event.getEventType()));
+        return claimed.size();
+    }
+
+    private List<OutboxEvent> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.findClaimable(
+                    OutboxService.ORDER_EVENT_TYPES, now, PageRequest.of(0, batchSize));
+            events.forEach(event -> event.lease(now.plus(lease)));
+            return events;
+        });
+    }
+
+    /** 한 채널에서 배치 전체 발행 후 confirm 1번 대기. nack·타임아웃이면 예외. */
+    private void send(List<OutboxEvent> events) {
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                operations.send(RabbitMQConfig.EXCHANGE_ORDER_EVENTS, routingKey(event.getEventType()), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setMessageId("order-event-" + event.getId());
+        properties.setType(event.getEventType());
+        properties.setTimestamp(Timestamp.valueOf(event.getCreatedAt()));
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private static String routingKey(String eventType) {
+        return switch (eventType) {
+            case OutboxService.EVENT_ORDER_CREATED -> RabbitMQConfig.ROUTING_KEY_ORDER_CREATED;
+            case OutboxService.EVENT_ORDER_CANCELLED -> RabbitMQConfig.ROUTING_KEY_ORDER_CANCELLED;
+            default -> throw new IllegalStateException("알 수 없는 주문 이벤트 타입: " + eventType);
+        };
+    }
+
+    private void retryLater(List<OutboxEvent> events, Exception cause) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : events) {
+            event.retryLater(now.plus(backoff(event.getAttempts() + 1)), maxAttempts, cause.toString());
+            if (event.getStatus() == OutboxStatus.DEAD) {
+                metrics.dead(event.getEventType());
+            } else {
+                metrics.retried(event.getEventType());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.saveAll(events));
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = backoffInitial.multipliedBy(1L << Math.min(attempt - 1, 30));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    /** 보존 기간 지난 PROCESSED 주문 이벤트 삭제. 배치가 가득 찬 동안 반복. */
+    @Scheduled(fixedDelayString = "${app.outbox.order-events.purge-interval:60000}")
+    public void purgeProcessed() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        int total = 0;
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(
+                    OutboxService.ORDER_EVENT_TYPES, before, purgeBatchSize));
+            total += deleted != null ? deleted : 0;
+        } while (deleted != null && deleted == purgeBatchSize);
+        if (total > 0) {
+            log.info("발행 완료 주문 이벤트 삭제 count={}", total);
+        }
+    }
+}
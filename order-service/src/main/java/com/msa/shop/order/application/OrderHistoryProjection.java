@@ -0,0 +1,243 @@
+package com.msa.shop.order.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderHistoryView;
+import com.msa.shop.order.domain.OrderHistoryViewRepository;
+import com.msa.shop.order.domain.OrderLine;
+import com.msa.shop.order.domain.OrderRepository;
+import com.msa.shop.order.domain.OrderSaga;
+import com.msa.shop.order.domain.OrderSagaRepository;
+import com.msa.shop.order.domain.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 이력 읽기 모델(order_history_view) 갱신·조회.
+ * - 쓰기: OrderService가 주문 행을 바꾸는 트랜잭션 안에서 호출(MANDATORY) → 주문과 뷰가 함께 커밋·롤백, 이벤트 지연 없음.
+ *   상품명은 홀드 응답(saga lines)에 실린 주문 당시 이름이라 조회 시 product-service를 부르지 않음.
+ * - 조회: getOrdersByUser가 뷰 테이블만 keyset 페이지로 읽음(쿼리 1번).
+ * - rebuild: orders를 id 순 chunk-size건씩 읽어 뷰 전체 재구성. 청크마다 짧은 트랜잭션, 상품명·결제수단은 saga → 기존 뷰 순으로 채움.
+ */
+@Service
+public class OrderHistoryProjection {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final OrderHistoryViewRepository orderHistoryViewRepository;
+    private final OrderRepository orderRepository;
+    private final OrderSagaRepository orderSagaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int rebuildChunkSize;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public OrderHistoryProjection(
+            OrderHistoryViewRepository orderHistoryViewRepository,
+            OrderRepository orderRepository,
+            OrderSagaRepository orderSagaRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.order.history.rebuild-chunk-size:1000}") int rebuildChunkSize
+    ) {
+        this.orderHistoryViewRepository = orderHistoryViewRepository;
+        this.orderRepository = orderRepository;
+        this.orderSagaRepository = orderSagaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+    /**
+     * 주문 현재 상태를 뷰에 반영(없으면 INSERT, 있으면 덮어쓰기). 접수(PENDING)·저장(PAID) 시 호출.
+     * productNames: 상품 ID → 주문 당시 상품명. 모르면 비어 있어도 됨(이름 null).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void project(Order order, String paymentMethod, Map<Long, String> productNames) {
+        OrderHistoryView view = orderHistoryViewRepository.findById(order.getId())
+                .orElseGet(() -> new OrderHistoryView(order.getId(), order.getUserId(), order.getCreatedAt()));
+        apply(view, order, paymentMethod, productNames);
+        orderHistoryViewRepository.save(view);
+    }
+
+    /** 상태만 바뀌는 경우(취소, PENDING → FAILED). 주문 쪽 조건부 UPDATE가 반영된 주문에 대해서만 호출. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(Collection<Long> orderIds, OrderStatus status) {
+        if (!orderIds.isEmpty()) {
+            orderHistoryViewRepository.updateStatus(orderIds, status, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 내 주문 목록 한 페이지(최신순). cursor 없으면 첫 페이지.
+     * - limit+1건을 읽어 다음 페이지 존재 여부 판단. 다음 페이지가 있을 때만 nextCursor.
+     * - 품목은 뷰 행의 lines JSON → 주문·품목 테이블을 읽지 않음.
+     */
+    @Transactional(readOnly = true)
+    public HistoryPage getOrdersByUser(Long userId, int limit, String cursor) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<OrderHistoryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderHistoryViewRepository.findPageByUserId(userId, page);
+        } else {
+            OrderCursor after = OrderCursor.decode(cursor);
+            rows = orderHistoryViewRepository.findPageByUserIdBefore(userId, after.createdAt(), after.id(), page);
+        }
+        boolean hasNext = rows.size() > limit;
+        List<OrderHistoryView> views = hasNext ? rows.subList(0, limit) : rows;
+        OrderHistoryView last = hasNext ? views.get(views.size() - 1) : null;
+        return new HistoryPage(views.stream().map(this::toHistory).toList(),
+                last == null ? null : new OrderCursor(last.getCreatedAt(), last.getOrderId()).encode());
+    }
+
+    /**
+     * orders 전체로 뷰 재구성. 이미 진행 중이면 IllegalStateException.
+     * - id 기준 keyset으로 chunk-size건씩 읽음 → 주문 수와 무관하게 메모리·트랜잭션 크기 일정.
+     * - 재구성 중에도 주문 쓰기는 뷰를 계속 갱신. 청크가 읽은 뒤 바뀐 상태를 덮어쓸 수 있으므로 트래픽이 적을 때 실행,
+     *   의심되면 한 번 더 실행(주문 행 기준이라 반복 실행해도 안전).
+     */
+    public RebuildResult rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("주문 이력 재구성이 이미 진행 중입니다.");
+        }
+        long startedAt = System.nanoTime();
+        AtomicLong lastId = new AtomicLong();
+        long rebuilt = 0;
+        try {
+            while (true) {
+                Integer count = transactionTemplate.execute(status -> rebuildChunk(lastId));
+                if (count == null || count == 0) {
+                    break;
+                }
+                rebuilt += count;
+            }
+            return new RebuildResult(rebuilt, (System.nanoTime() - startedAt) / 1_000_000);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    private int rebuildChunk(AtomicLong lastId) {
+        List<Long> ids = orderRepository.findIdsAfter(lastId.get(), PageRequest.of(0, rebuildChunkSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<Long, OrderSaga> sagas = orderSagaRepository.findByOrderIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderSaga::getOrderId, Function.identity(), (a, b) -> a));
+        Map<Long, OrderHistoryView> views = orderHistoryViewRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(OrderHistoryView::getOrderId, Function.identity()));
+        List<OrderHistoryView> rebuilt = orderRepository.findWithLinesByIdIn(ids).stream()
+                .map(order -> {
+                    OrderSaga saga = sagas.get(order.getId());
+                    OrderHistoryView existing = views.get(order.getId());
+                    OrderHistoryView view = existing != null ? existing
+                            : new OrderHistoryView(order.getId(), order.getUserId(), order.getCreatedAt());
+                    String paymentMethod = saga != null ? saga.getPaymentMethod()
+                            : existing != null ? existing.getPaymentMethod() : null;
+                    Map<Long, String> names = saga != null && saga.getLines() != null
+                            ? sagaProductNames(saga.getLines())
+                            : existing != null ? viewProductNames(existing.getLines()) : Map.of();
+                    apply(view, order, paymentMethod, names);
+                    return view;
+                })
+                .toList();
+        orderHistoryViewRepository.saveAll(rebuilt);
+        lastId.set(ids.get(ids.size() - 1));
+        return ids.size();
+    }
+
+    private void apply(OrderHistoryView view, Order order, String paymentMethod, Map<Long, String> productNames) {
+        List<HistoryLine> lines = order.getLines().stream()
+                .map(line -> HistoryLine.of(line, productNames.get(line.getProductId())))
+                .toList();
+        OrderLine first = order.getLines().isEmpty() ? null : order.getLines().get(0);
+        view.refresh(order.getStatus(), paymentMethod, order.getTotalAmount(), order.getProductId(),
+                productNames.get(order.getProductId()), first == null ? null : first.getUnitPrice(),
+                order.getQuantity(), Math.max(lines.size(), 1), writeLines(lines));
+    }
+
+    private OrderHistory toHistory(OrderHistoryView view) {
+        return new OrderHistory(view.getOrderId(), view.getUserId(), view.getProductId(), view.getProductName(),
+                view.getUnitPrice(), view.getQuantity(), view.getTotalAmount(), view.getStatus(),
+                view.getPaymentMethod(), view.getCreatedAt(), readLines(view.getLines()));
+    }
+
+    private Map<Long, String> sagaProductNames(String json) {
+        try {
+            List<OrderService.SagaLine> lines = objectMapper.readValue(json, new TypeReference<List<OrderService.SagaLine>>() {});
+            Map<Long, String> names = new HashMap<>();
+            lines.stream().filter(line -> line.productName() != null)
+                    .forEach(line -> names.put(line.productId(), line.productName()));
+            return names;
+        } catch (JsonProcessingException e) {
+            return Map.of();
+        }
+    }
+
+    private Map<Long, String> viewProductNames(String json) {
+        Map<Long, String> names = new HashMap<>();
+        readLines(json).stream().filter(line -> line.productName() != null)
+                .forEach(line -> names.put(line.productId(), line.productName()));
+        return names;
+    }
+
+    private String writeLines(List<HistoryLine> lines) {
+        try {
+            return objectMapper.writeValueAsString(lines);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이력 품목 직렬화 실패", e);
+        }
+    }
+
+    private List<HistoryLine> readLines(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<HistoryLine>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이력 품목 역직렬화 실패", e);
+        }
+    }
+
+    /** 주문 이력 한 건. productId·productName·quantity는 요약(첫 품목 상품, 전체 수량), 품목 상세는 lines. */
+    public record OrderHistory(Long id, Long userId, Long productId, String productName, Integer unitPrice,
+                               int quantity, int totalAmount, OrderStatus status, String paymentMethod,
+                               LocalDateTime createdAt, List<HistoryLine> lines) {}
+
+    /** 뷰 lines JSON 한 줄(주문 당시 상품명·단가). */
+    public record HistoryLine(Long productId, String productName, int quantity, int unitPrice) {
+
+        static HistoryLine of(OrderLine line, String productName) {
+            return new HistoryLine(line.getProductId(), productName, line.getQuantity(), line.getUnitPrice());
+        }
+    }
+
+    /** 주문 이력 페이지. nextCursor가 null이면 마지막 페이지. */
+    public record HistoryPage(List<OrderHistory> orders, String nextCursor) {}
+
+    /** 재구성 결과. */
+    public record RebuildResult(long orders, long elapsedMillis) {}
+}
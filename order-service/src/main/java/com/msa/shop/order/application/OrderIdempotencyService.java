@@ -0,0 +1,290 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderIdempotencyKey;
+import com.msa.shop.order.domain.OrderIdempotencyKeyRepository;
+import com.msa.shop.order.domain.OrderIdempotencyStatus;
+import com.msa.shop.order.domain.OrderRepository;
+import com.msa.shop.order.domain.OrderSaga;
+import com.msa.shop.order.domain.OrderSagaRepository;
+import com.msa.shop.order.domain.OrderSagaStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 주문 API Idempotency-Key 처리 (POST /orders, POST /orders/from-cart).
+ * - 첫 요청: (userId, key, sagaId) 행을 IN_PROGRESS로 INSERT해 선점 → 그 sagaId로 주문 생성 → COMPLETED + orderId 기록.
+ * - 요청 지문(requestHash): 정규화한 본문 필드의 SHA-256. 같은 키에 지문이 다르면 422(재생하지 않음).
+ * - 완료된 키: product/payment 호출 없이 저장된 주문으로 응답 재생.
+ * - 처리 중인 키: 키의 saga 상태로 판단.
+ *   SAVED → 그 주문 재생(complete 기록 실패분도 여기서 완료). FAILED·COMPENSATED 또는 saga 없이 선점이 만료 → 새 saga ID로 인수.
+ *   진행 중(STARTED·RESERVED·PAID) → 같은 인스턴스면 완료 신호를, 아니면 poll-interval 간격으로 DB를 보며 wait-timeout까지 대기 후 409.
+ * - 주문 생성 실패 시 종료가 확실한 경우(재고 부족·결제 실패, saga가 없거나 실패·보상 종료)만 키 해제 → 재시도는 처음부터.
+ *   그 밖의 오류(결제 후 보상 실패 등 saga가 복구 대기로 남음)는 키를 saga에 묶어 둠 → 재시도가 다시 결제하지 않음.
+ * - 스위퍼: 주문이 저장됐는데 IN_PROGRESS인 키는 완료 처리, 만료 키는 sweep-batch-size건씩 삭제(진행 중·저장된 saga의 키 제외).
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyService.class);
+
+    private final OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+    private final OrderRepository orderRepository;
+    private final OrderSagaRepository orderSagaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final int sweepBatchSize;
+
+    /** 이 인스턴스에서 처리 중인 키 → 완료 신호. 같은 인스턴스 대기자는 DB 폴링 없이 깨어남. */
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyService(
+            OrderIdempotencyKeyRepository orderIdempotencyKeyRepository,
+            OrderRepository orderRepository,
+            OrderSagaRepository orderSagaRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.order.idempotency.ttl:24h}") Duration ttl,
+            @Value("${app.order.idempotency.in-flight-timeout:1m}") Duration inFlightTimeout,
+            @Value("${app.order.idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${app.order.idempotency.poll-interval:100ms}") Duration pollInterval,
+            @Value("${app.order.idempotency.sweep-batch-size:1000}") int sweepBatchSize
+    ) {
+        this.orderIdempotencyKeyRepository = orderIdempotencyKeyRepository;
+        this.orderRepository = orderRepository;
+        this.orderSagaRepository = orderSagaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    /**
+     * 키가 없으면 그대로 실행. 있으면 선점한 요청만 action 실행, 나머지는 그 결과를 재생.
+     * @param requestHash 요청 본문 지문(requestHash(...)). 같은 키에 다른 본문이면 IdempotencyKeyMismatchException
+     * @param action saga ID를 받아 주문 생성. 반드시 그 ID로 saga를 시작해야 키와 saga가 연결됨
+     */
+    public IdempotentOrder execute(Long userId, String idempotencyKey, String requestHash, Function<String, Order> action) {
+        if (idempotencyKey == null) {
+            return new IdempotentOrder(action.apply(UUID.randomUUID().toString()), false);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > OrderIdempotencyKey.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key는 1~" + OrderIdempotencyKey.MAX_KEY_LENGTH + "자여야 합니다.");
+        }
+        String id = OrderIdempotencyKey.idOf(userId, idempotencyKey);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            String sagaId = UUID.randomUUID().toString();
+            if (tryAcquire(userId, idempotencyKey, requestHash, sagaId)) {
+                return new IdempotentOrder(runAsOwner(id, sagaId, action), false);
+            }
+            Optional<OrderIdempotencyKey> existing = orderIdempotencyKeyRepository.findById(id);
+            if (existing.isEmpty()) {
+                continue;  // 그 사이 해제·삭제됨 → 다시 선점 시도
+            }
+            OrderIdempotencyKey record = existing.get();
+            if (!requestHash.equals(record.getRequestHash())) {
+                throw new IdempotencyKeyMismatchException("다른 요청에 사용된 Idempotency-Key입니다.");
+            }
+            if (record.getStatus() == OrderIdempotencyStatus.COMPLETED) {
+                return new IdempotentOrder(replay(record.getOrderId()), true);
+            }
+            Optional<OrderSaga> saga = orderSagaRepository.findById(record.getSagaId());
+            if (saga.isPresent() && saga.get().getStep() == OrderSagaStep.SAVED) {
+                complete(id, saga.get().getOrderId());
+                return new IdempotentOrder(replay(saga.get().getOrderId()), true);
+            }
+            if (endedWithoutOrder(record, saga) && tryTakeOver(id, record.getSagaId(), requestHash, sagaId)) {
+                return new IdempotentOrder(runAsOwner(id, sagaId, action), false);
+            }
+            awaitInFlight(id, deadline);
+        }
+    }
+
+    private boolean tryAcquire(Long userId, String idempotencyKey, String requestHash, String sagaId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderIdempotencyKeyRepository.saveAndFlush(
+                    new OrderIdempotencyKey(userId, idempotencyKey, requestHash, sagaId,
+                            LocalDateTime.now().plus(inFlightTimeout))));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 키의 이전 saga가 주문 없이 끝났는지. 실패·보상 종료, 또는 saga 없이 선점이 만료(시작 전 장애)면 인수 가능.
+     * - saga가 진행 중이면 처리 중이거나 복구 대기(결제됐을 수 있음) → 인수하지 않음.
+     */
+    private static boolean endedWithoutOrder(OrderIdempotencyKey record, Optional<OrderSaga> saga) {
+        if (saga.isEmpty()) {
+            return record.getExpiresAt().isBefore(LocalDateTime.now());
+        }
+        OrderSagaStep step = saga.get().getStep();
+        return step == OrderSagaStep.FAILED || step == OrderSagaStep.COMPENSATED;
+    }
+
+    /** 이전 saga ID 조건으로 새 saga ID를 기록해 인수. 동시 인수는 한 요청만 성공. */
+    private boolean tryTakeOver(String id, String expectedSagaId, String requestHash, String sagaId) {
+        Integer updated = transactionTemplate.execute(status -> orderIdempotencyKeyRepository.takeOver(
+                id, expectedSagaId, requestHash, sagaId, LocalDateTime.now().plus(inFlightTimeout)));
+        return updated != null && updated == 1;
+    }
+
+    /**
+     * 요청 본문 지문. 필드를 "길이:값"(null은 "-")으로 이어 붙인 정규 문자열의 SHA-256 hex(64자).
+     * - 길이 접두라 값에 구분자가 들어 있어도 다른 필드 조합과 같은 문자열이 되지 않음.
+     */
+    public static String requestHash(Object... fields) {
+        StringBuilder canonical = new StringBuilder();
+        for (Object field : fields) {
+            if (field == null) {
+                canonical.append('-');
+            } else {
+                String value = field.toString();
+                canonical.append(value.length()).append(':').append(value);
+            }
+            canonical.append(';');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Order runAsOwner(String id, String sagaId, Function<String, Order> action) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        inFlight.put(id, done);
+        try {
+            Order order;
+            try {
+                order = action.apply(sagaId);
+            } catch (RuntimeException e) {
+                if (isTerminal(e, sagaId)) {
+                    release(id);
+                } else {
+                    log.warn("주문 saga 미종료, Idempotency-Key 유지 id={} sagaId={}", id, sagaId);
+                }
+                throw e;
+            }
+            complete(id, order.getId());
+            return order;
+        } finally {
+            inFlight.remove(id, done);
+            done.complete(null);
+        }
+    }
+
+    /**
+     * 실패한 주문 생성이 종료됐는지(재시도가 처음부터 다시 해도 되는지).
+     * - 재고 부족·결제 실패는 saga FAILED·COMPENSATED로 끝난 뒤 던짐.
+     * - 그 밖의 예외는 saga를 확인: 없거나(시작 전 실패) 실패·보상 종료면 종료. 진행 중이거나 조회 실패면 미종료.
+     */
+    private boolean isTerminal(RuntimeException e, String sagaId) {
+        if (e instanceof InsufficientStockException || e instanceof PaymentFailedException) {
+            return true;
+        }
+        try {
+            return orderSagaRepository.findById(sagaId)
+                    .map(saga -> saga.getStep() == OrderSagaStep.FAILED || saga.getStep() == OrderSagaStep.COMPENSATED)
+                    .orElse(true);
+        } catch (RuntimeException lookupFailure) {
+            return false;
+        }
+    }
+
+    /**
+     * COMPLETED + orderId 기록. 실패해도 주문은 이미 저장됐으므로 응답은 그대로.
+     * 키는 IN_PROGRESS로 남지만 saga가 SAVED라 재요청은 이 주문을 재생하고, 스위퍼가 완료 처리.
+     */
+    private void complete(String id, Long orderId) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    orderIdempotencyKeyRepository.complete(id, orderId, LocalDateTime.now().plus(ttl)));
+        } catch (RuntimeException e) {
+            log.warn("Idempotency-Key 완료 기록 실패 id={} orderId={}", id, orderId, e);
+        }
+    }
+
+    private void release(String id) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> orderIdempotencyKeyRepository.deleteById(id));
+        } catch (Exception e) {
+            // 해제 실패 시 saga 상태(실패·보상 종료)로 다른 요청이 인수
+            log.warn("Idempotency-Key 해제 실패 id={}", id, e);
+        }
+    }
+
+    private void awaitInFlight(String id, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new IdempotencyKeyInProgressException("같은 Idempotency-Key 요청이 처리 중입니다. 잠시 후 다시 시도하세요.");
+        }
+        CompletableFuture<Void> local = inFlight.get(id);
+        try {
+            if (local != null) {
+                local.get(remaining, TimeUnit.NANOSECONDS);
+            } else {
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, pollInterval.toNanos()));
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            // 루프에서 DB 상태를 다시 확인
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("같은 Idempotency-Key 요청 대기 중 인터럽트");
+        }
+    }
+
+    /** 완료된 키 응답 재생. 주문을 다시 읽으므로 이후 취소 등 현재 상태가 반영됨. */
+    private Order replay(Long orderId) {
+        return orderRepository.findWithLinesById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("주문을 찾을 수 없습니다. id=" + orderId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.order.idempotency.sweep-interval:60000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status ->
+                orderIdempotencyKeyRepository.completeSaved(now, now.plus(ttl)));
+        int total = 0;
+        Integer deleted;
+        do {
+            deleted = transactionTemplate.execute(status ->
+                    orderIdempotencyKeyRepository.deleteExpired(now, sweepBatchSize));
+            total += deleted != null ? deleted : 0;
+        } while (deleted != null && deleted == sweepBatchSize);
+        if (total > 0) {
+            log.info("만료 주문 멱등 키 삭제 count={}", total);
+        }
+    }
+
+    /** 멱등 처리 결과. replayed=true면 저장된 주문 재생(하위 서비스 호출 없음). */
+    public record IdempotentOrder(Order order, boolean replayed) {}
+}
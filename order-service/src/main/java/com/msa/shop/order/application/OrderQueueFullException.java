@@ -0,0 +1,9 @@
+package com.msa.shop.order.application;
+
+/** 비동기 주문 대기열 초과. ControllerAdvice에서 503 SERVICE_UNAVAILABLE로 변환. */
+public class OrderQueueFullException extends RuntimeException {
+
+    public OrderQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,73 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.OrderSaga;
+import com.msa.shop.order.domain.OrderSagaRepository;
+import com.msa.shop.order.domain.OrderSagaStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 중단된 주문 saga 복구 스케줄러.
+ * - 진행 중 단계(STARTED/RESERVED/PAID)에서 stale-after 이상 멈춘 saga를 batch-size씩 조회. 재시작 후 첫 주기에도 실행.
+ * - claim(version 조건부 UPDATE)으로 선점한 saga만 OrderService.recoverSaga로 재개 또는 보상.
+ * - 실패한 saga는 claim 시 updatedAt이 갱신되므로 stale-after 뒤에 다시 시도.
+ */
+@Component
+public class OrderSagaRecovery {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSagaRecovery.class);
+
+    private final OrderSagaRepository orderSagaRepository;
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration staleAfter;
+    private final int batchSize;
+
+    public OrderSagaRecovery(
+            OrderSagaRepository orderSagaRepository,
+            OrderService orderService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.order.saga.stale-after:2m}") Duration staleAfter,
+            @Value("${app.order.saga.recovery-batch-size:20}") int batchSize
+    ) {
+        this.orderSagaRepository = orderSagaRepository;
+        this.orderService = orderService;
+        this.transactionTemplate = transactionTemplate;
+        this.staleAfter = staleAfter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.order.saga.recovery-interval:30000}",
+            initialDelayString = "${app.order.saga.recovery-initial-delay:10000}"
+    )
+    public void recoverStaleSagas() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderSaga> stale = orderSagaRepository.findStale(
+                OrderSagaStep.IN_PROGRESS, now.minus(staleAfter), PageRequest.of(0, batchSize));
+        for (OrderSaga saga : stale) {
+            Integer claimed = transactionTemplate.execute(status ->
+                    orderSagaRepository.claim(saga.getId(), saga.getVersion(), now));
+            if (claimed == null || claimed == 0) {
+                continue;
+            }
+            try {
+                orderSagaRepository.findById(saga.getId()).ifPresent(orderService::recoverSaga);
+            } catch (InsufficientStockException e) {
+                // PAID 복구 중 홀드 만료 확인 → 결제 취소까지 끝난 정상 보상
+                log.info("주문 saga 보상 완료 sagaId={} reason={}", saga.getId(), e.getMessage());
+            } catch (Exception e) {
+                log.warn("주문 saga 복구 실패 sagaId={} step={}", saga.getId(), saga.getStep(), e);
+            }
+        }
+    }
+}
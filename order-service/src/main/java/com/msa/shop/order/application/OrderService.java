@@ -1,110 +1,320 @@
 package com.msa.shop.order.application;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderLine;
 import com.msa.shop.order.domain.OrderRepository;
+import com.msa.shop.order.domain.OrderSaga;
+import com.msa.shop.order.domain.OrderSagaRepository;
 import com.msa.shop.order.domain.OrderStatus;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * 주문 도메인 + 오케스트레이션.
- * - createOrder: product-service(가격·재고) → payment-service(결제) → 주문 저장.
- * - MSA에서는 서비스 간 REST 호출. 일부 실패 시 Retry/CircuitBreaker로 견고성 확보.
+ * - createOrder: product-service(가격·재고 홀드) → payment-service(결제) → 홀드 확정 → 주문 저장.
+ * - MSA에서는 서비스 간 REST 호출. 호출은 ProductClient/PaymentClient에 두어 Retry/CircuitBreaker 프록시 적용.
+ * - 주문 생성은 saga(order_sagas)로 단계를 기록. 원격 호출은 트랜잭션 밖, 단계 기록·주문 저장만 짧은 로컬 트랜잭션.
+ *   결제 지연·재시도 대기 중에도 DB 커넥션을 잡지 않음. 중단된 saga는 OrderSagaRecovery가 recoverSaga로 이어서 처리.
+ * - 비동기 접수(submitOrder)는 PENDING 주문을 먼저 저장, saga 완료 시 같은 주문을 PAID/FAILED로 전환.
+ * - 주문 행을 바꾸는 트랜잭션마다 OrderHistoryProjection으로 주문 이력 뷰도 함께 갱신(내 주문 목록은 뷰에서 조회).
  */
 @Service
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final RestTemplate restTemplate;
+    private final OrderSagaRepository orderSagaRepository;
+    private final ProductClient productClient;
+    private final PaymentClient paymentClient;
     private final OutboxService outboxService;
-    private final String productServiceBaseUrl;
-    private final String paymentServiceBaseUrl;
+    private final OrderHistoryProjection orderHistoryProjection;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     public OrderService(
             OrderRepository orderRepository,
-            RestTemplate restTemplate,
+            OrderSagaRepository orderSagaRepository,
+            ProductClient productClient,
+            PaymentClient paymentClient,
             OutboxService outboxService,
-            @Value("${product-service.base-url}") String productServiceBaseUrl,
-            @Value("${payment-service.base-url}") String paymentServiceBaseUrl
+            OrderHistoryProjection orderHistoryProjection,
+            TransactionTemplate transactionTemplate
     ) {
         this.orderRepository = orderRepository;
-        this.restTemplate = restTemplate;
+        this.orderSagaRepository = orderSagaRepository;
+        this.productClient = productClient;
+        this.paymentClient = paymentClient;
         this.outboxService = outboxService;
-        this.productServiceBaseUrl = productServiceBaseUrl;
-        this.paymentServiceBaseUrl = paymentServiceBaseUrl;
+        this.orderHistoryProjection = orderHistoryProjection;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
-     * 주문 생성 플로우 (동기 오케스트레이션).
-     * 1. product-service에서 가격 조회 → totalAmount = price * quantity
-     * 2. product-service 재고 예약 (실패 시 InsufficientStockException)
-     * 3. payment-service 결제 요청 (실패 시 PaymentFailedException)
-     * 4. 주문 저장 (PAID)
-     * - 2단계에서는 SAGA/보상 트랜잭션으로 "재고 예약 후 결제 실패" 등 일관성 이슈 다룸.
+     * 주문 생성 플로우 (saga).
+     * 1. saga 기록(STARTED). saga ID가 홀드·결제 멱등 키
+     * 2. product-service 재고 홀드 생성 + 단가 조회 한 번에 (실패 시 FAILED, InsufficientStockException) → RESERVED
+     * 3. payment-service 결제 요청 (실패 시 FAILED, PaymentFailedException. 홀드는 TTL 만료로 자동 복구) → PAID
+     * 4. 홀드 확정 (이미 만료됐으면 결제 취소 후 COMPENSATED, InsufficientStockException)
+     * 5. 주문 저장(PAID, 품목 1건) + SAVED를 한 트랜잭션으로
+     * - 상품 조회(GET /products/{id})를 따로 하지 않으므로 product-service 왕복은 홀드·확정 2회.
      */
-    @Transactional
     public Order createOrder(Long userId, Long productId, int quantity, String paymentMethod) {
-        ProductResponse product = getProduct(productId);
-        int totalAmount = product.price() * quantity;
+        return createOrder(UUID.randomUUID().toString(), userId, productId, quantity, paymentMethod);
+    }
+
+    /** sagaId를 지정한 주문 생성. Idempotency-Key 요청은 키에 기록한 saga ID로 실행(OrderIdempotencyService). */
+    public Order createOrder(String sagaId, Long userId, Long productId, int quantity, String paymentMethod) {
+        return runOrderSaga(orderSagaRepository.save(OrderSaga.start(sagaId, userId, paymentMethod)), productId, quantity);
+    }
+
+    /**
+     * 비동기 주문 접수. PENDING 주문 + saga(STARTED)를 한 트랜잭션으로 기록만 하고 반환.
+     * saga 진행(runOrderSaga)은 AsyncOrderService 워커가 담당. 완료 시 같은 주문이 PAID 또는 FAILED.
+     */
+    public PendingOrder submitOrder(Long userId, Long productId, int quantity, String paymentMethod) {
+        return transactionTemplate.execute(status -> {
+            Order order = orderRepository.save(Order.pending(userId, productId, quantity));
+            OrderSaga saga = orderSagaRepository.save(OrderSaga.startFor(order.getId(), userId, paymentMethod));
+            orderHistoryProjection.project(order, paymentMethod, Map.of());
+            return new PendingOrder(order, saga, productId, quantity);
+        });
+    }
+
+    /** 접수했지만 진행하지 못한 saga(대기열 초과 등) 종료. PENDING 주문은 FAILED. */
+    public void abandonOrder(PendingOrder pending, String reason) {
+        OrderSaga saga = pending.saga();
+        saga.failed(reason);
+        finishFailed(saga);
+    }
+
+    /** 단일 상품 saga 진행: 홀드 → 결제 → 확정 → 저장. 동기 createOrder와 비동기 워커가 공유. */
+    public Order runOrderSaga(OrderSaga saga, Long productId, int quantity) {
+        ProductClient.HoldStockResponse hold =
+                productClient.holdStock(saga.getUserId(), productId, quantity, saga.getId());
+        if (!hold.success()) {
+            saga.failed("재고 부족: " + hold.reason());
+            finishFailed(saga);
+            throw new InsufficientStockException("재고 부족: " + hold.reason());
+        }
+        List<SagaLine> lines = List.of(new SagaLine(productId, quantity, hold.unitPrice(), hold.productName()));
+        saga.reserved(hold.reservationId(), null, writeLines(lines), hold.unitPrice() * quantity);
+        return payAndComplete(orderSagaRepository.save(saga));
+    }
+
+    /**
+     * 여러 품목 주문 (장바구니 checkout).
+     * 1. product-service 일괄 홀드(reserve-batch) 1회: 전 품목 all-or-nothing + 상품별 단가. 그룹 ID = saga ID
+     * 2. 품목 합계로 결제 1회
+     * 3. 홀드 그룹 확정 1회 (만료됐으면 결제 취소 후 InsufficientStockException)
+     * 4. 주문 1건 + 품목 N건 저장(품목 INSERT는 JDBC 배치). 실패 시 Outbox 보상 이벤트 1건
+     * - 품목 수와 무관하게 외부 호출 3회, 주문·결제 각 1건. 단계 기록은 단일 상품 createOrder와 동일.
+     */
+    public Order createOrder(Long userId, List<ProductClient.StockLine> lines, String paymentMethod) {
+        return createOrder(UUID.randomUUID().toString(), userId, lines, paymentMethod);
+    }
+
+    public Order createOrder(String sagaId, Long userId, List<ProductClient.StockLine> lines, String paymentMethod) {
+        OrderSaga saga = orderSagaRepository.save(OrderSaga.start(sagaId, userId, paymentMethod));
 
-        // 1) 재고 예약
-        ReserveStockResponse stockResponse = reserveStock(userId, productId, quantity);
-        if (!stockResponse.success()) {
-            throw new InsufficientStockException("재고 부족: " + stockResponse.reason());
+        ProductClient.BatchHoldResponse hold = productClient.reserveBatch(userId, lines, saga.getId());
+        if (!hold.success()) {
+            saga.failed("재고 부족: " + hold.reason());
+            finishFailed(saga);
+            throw new InsufficientStockException("재고 부족: " + hold.reason() + " productId=" + hold.failedProductId());
         }
+        List<SagaLine> held = hold.lines().stream()
+                .map(line -> new SagaLine(line.productId(), line.quantity(), line.unitPrice(), line.productName()))
+                .toList();
+        int totalAmount = held.stream().mapToInt(line -> line.unitPrice() * line.quantity()).sum();
+        saga.reserved(null, hold.groupId(), writeLines(held), totalAmount);
+        return payAndComplete(orderSagaRepository.save(saga));
+    }
+
+    /** RESERVED → 결제 → PAID → 확정·저장. 결제 호출 예외는 그대로 전파(saga는 RESERVED로 남아 복구가 보상). */
+    private Order payAndComplete(OrderSaga saga) {
+        PaymentClient.PaymentResponse paymentResponse = paymentClient.requestPayment(
+                saga.getUserId(), saga.getTotalAmount(), saga.getPaymentMethod(), saga.getId());
+        if (!paymentResponse.success()) {
+            saga.failed("결제 실패: " + paymentResponse.reason());
+            finishFailed(saga);
+            throw new PaymentFailedException("결제 실패: " + paymentResponse.reason());
+        }
+        saga.paid(paymentResponse.paymentId());
+        saga = orderSagaRepository.save(saga);
 
-        // 2) 결제 요청 + 실패 시 보상(SAGA 보상 트랜잭션: 재고 복구)
-        Long paymentId = null;
+        ConfirmResult confirmed;
         try {
-            PaymentResponse paymentResponse = requestPayment(userId, totalAmount, paymentMethod);
-            if (!paymentResponse.success()) {
-                safelyReleaseStock(userId, productId, quantity);
-                throw new PaymentFailedException("결제 실패: " + paymentResponse.reason());
-            }
-            paymentId = paymentResponse.paymentId();
+            confirmed = confirmHold(saga);
         } catch (RuntimeException ex) {
-            safelyReleaseStock(userId, productId, quantity);
+            // 확정 여부를 알 수 없음: 홀드 해제 → 결제 취소 순으로 되돌림. 중간에 실패하면 PAID로 남아 복구가 이어서 처리
+            compensatePaid(saga, "홀드 확정 호출 실패");
             throw ex;
         }
+        return saveConfirmed(saga, confirmed);
+    }
 
-        // 3) 주문 저장. 실패 시 Outbox에 보상 이벤트 기록 → 스케줄러가 결제 취소·재고 복구 수행
-        Order order = new Order(userId, productId, quantity, totalAmount, OrderStatus.PAID, paymentId);
+    /**
+     * PAID 이후: 확정 결과에 따라 결제 취소(만료) 또는 주문 저장.
+     * - 주문 INSERT와 saga SAVED, ORDER_CREATED Outbox 이벤트, 주문 이력 뷰는 한 트랜잭션 → 복구가 주문을 두 번 저장하지 않고 이벤트도 유실·중복 없음.
+     * - 저장 실패 시 Outbox 보상 이벤트 + saga COMPENSATED를 한 트랜잭션으로. 이것도 실패하면 PAID로 남아 복구가 저장 재시도.
+     */
+    private Order saveConfirmed(OrderSaga saga, ConfirmResult confirmed) {
+        if (!confirmed.success()) {
+            paymentClient.cancelPayment(saga.getPaymentId());
+            saga.compensated("재고 예약 만료: " + confirmed.reason());
+            finishFailed(saga);
+            throw new InsufficientStockException("재고 예약 만료: " + confirmed.reason());
+        }
+        List<SagaLine> lines = readLines(saga.getLines());
+        List<OrderLine> orderLines = lines.stream()
+                .map(line -> new OrderLine(line.productId(), line.quantity(), line.unitPrice()))
+                .toList();
+        OrderSaga paid = saga;
         try {
-            return orderRepository.save(order);
-        } catch (Exception ex) {
-            if (paymentId != null) {
-                outboxService.publishOrderSaveFailed(paymentId, userId, productId, quantity);
+            return transactionTemplate.execute(status -> {
+                Order saved = paid.getOrderId() == null
+                        ? orderRepository.save(new Order(paid.getUserId(), orderLines, OrderStatus.PAID, paid.getPaymentId()))
+                        : completePending(paid.getOrderId(), orderLines, paid.getPaymentId());
+                outboxService.publishOrderCreated(saved);
+                orderHistoryProjection.project(saved, paid.getPaymentMethod(), productNames(lines));
+                paid.saved(saved.getId());
+                orderSagaRepository.save(paid);
+                return saved;
+            });
+        } catch (RuntimeException ex) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    publishSaveFailed(paid, lines);
+                    paid.compensated("주문 저장 실패: " + ex.getMessage());
+                    orderSagaRepository.save(paid);
+                    if (paid.getOrderId() != null) {
+                        failPending(paid.getOrderId());
+                    }
+                });
+            } catch (RuntimeException ignored) {
+                // DB 장애 지속: saga PAID 유지 → 복구가 저장 재시도
             }
             throw ex;
         }
     }
 
-    @Transactional(readOnly = true)
-    public Order getOrder(Long id) {
-        return orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException("주문을 찾을 수 없습니다. id=" + id));
+    /** 비동기 접수 주문(PENDING)을 PAID로. 관리 상태라 커밋 시 UPDATE + 품목 INSERT. */
+    private Order completePending(Long orderId, List<OrderLine> lines, Long paymentId) {
+        Order order = orderRepository.findWithLinesById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("주문을 찾을 수 없습니다. id=" + orderId));
+        order.complete(lines, paymentId);
+        return order;
+    }
+
+    /** 실패·보상 종료 기록. 비동기 접수 주문이면 같은 트랜잭션에서 PENDING → FAILED. */
+    private void finishFailed(OrderSaga saga) {
+        if (saga.getOrderId() == null) {
+            orderSagaRepository.save(saga);
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            orderSagaRepository.save(saga);
+            failPending(saga.getOrderId());
+        });
+    }
+
+    /** PENDING → FAILED. 실제로 바뀐 경우에만 주문 이력 뷰 반영(이미 PAID면 그대로). */
+    private void failPending(Long orderId) {
+        if (orderRepository.failPending(orderId) > 0) {
+            orderHistoryProjection.onStatusChanged(List.of(orderId), OrderStatus.FAILED);
+        }
+    }
+
+    private void publishSaveFailed(OrderSaga saga, List<SagaLine> lines) {
+        if (lines.size() == 1) {
+            SagaLine line = lines.get(0);
+            outboxService.publishOrderSaveFailed(saga.getPaymentId(), saga.getUserId(), line.productId(), line.quantity());
+        } else {
+            outboxService.publishCheckoutSaveFailed(saga.getPaymentId(), saga.getUserId(), lines.stream()
+                    .map(line -> new ProductClient.StockLine(line.productId(), line.quantity()))
+                    .toList());
+        }
+    }
+
+    /** 홀드 확정(단일 홀드 또는 그룹). 이미 확정이면 성공(재시도·복구 안전). */
+    private ConfirmResult confirmHold(OrderSaga saga) {
+        if (saga.getHoldGroupId() != null) {
+            ProductClient.BatchHoldResponse confirmed = productClient.confirmHoldGroup(saga.getHoldGroupId());
+            return new ConfirmResult(confirmed.success(), confirmed.reason());
+        }
+        ProductClient.HoldStockResponse confirmed = productClient.confirmHold(saga.getReservationId());
+        return new ConfirmResult(confirmed.success(), confirmed.reason());
+    }
+
+    private void releaseHold(OrderSaga saga) {
+        if (saga.getHoldGroupId() != null) {
+            productClient.releaseHoldGroup(saga.getHoldGroupId());
+        } else if (saga.getReservationId() != null) {
+            productClient.releaseHold(saga.getReservationId());
+        }
+    }
+
+    /** 홀드 해제 후 결제 취소. 해제가 먼저여야 결제만 취소된 채 복구가 확정·저장하는 일이 없음. */
+    private void compensatePaid(OrderSaga saga, String reason) {
+        try {
+            releaseHold(saga);
+            paymentClient.cancelPayment(saga.getPaymentId());
+            saga.compensated(reason);
+            finishFailed(saga);
+        } catch (Exception ignored) {
+            // PAID 유지 → OrderSagaRecovery가 확정 재시도(해제됐으면 만료 응답 → 결제 취소)
+        }
+    }
+
+    /**
+     * 중단된 saga 복구. OrderSagaRecovery가 선점(claim)한 saga만 전달.
+     * - STARTED: 홀드 결과를 모름. 일괄 홀드는 그룹(=saga ID) 해제, 단일 홀드는 TTL 만료로 복구 → COMPENSATED.
+     * - RESERVED: 결제 결과를 모름. 멱등 키로 결제 취소(결제 없으면 무시) 후 홀드 해제 → COMPENSATED.
+     * - PAID: 결제 완료. 확정(멱등) 후 주문 저장까지 이어서 진행 → SAVED. 만료면 결제 취소 → COMPENSATED.
+     * - 호출 실패 시 예외 전파, 단계는 그대로라 다음 복구 주기에 재시도.
+     */
+    public void recoverSaga(OrderSaga saga) {
+        switch (saga.getStep()) {
+            case STARTED -> {
+                safelyReleaseHoldGroup(saga.getId());
+                saga.compensated("복구: 재고 홀드 전 중단");
+                finishFailed(saga);
+            }
+            case RESERVED -> {
+                paymentClient.cancelPaymentByKey(saga.getId());
+                releaseHold(saga);
+                saga.compensated("복구: 결제 전 중단");
+                finishFailed(saga);
+            }
+            case PAID -> saveConfirmed(saga, confirmHold(saga));
+            default -> {
+                // 종료 단계: 처리할 것 없음
+            }
+        }
     }
 
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByUser(Long userId) {
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public Order getOrder(Long id) {
+        return orderRepository.findWithLinesById(id)
+                .orElseThrow(() -> new OrderNotFoundException("주문을 찾을 수 없습니다. id=" + id));
     }
 
     /**
      * 주문 취소. PAID 상태만 취소 가능.
-     * 1) 결제 취소 (payment-service) 2) 재고 복구 (product-service) 3) 주문 상태 CANCELLED
+     * 1) 결제 취소 (payment-service) 2) 품목별 재고 복구 (product-service) 3) 주문 상태 CANCELLED
+     * - 원격 호출은 트랜잭션 밖. 상태 변경만 짧은 트랜잭션(PAID 조건부 UPDATE + ORDER_CANCELLED Outbox 이벤트 + 주문 이력 뷰). 재고 복구는 주문별 멱등 키라 중복 취소에도 안전.
+     * - 품목 도입 전 장바구니 주문은 상품별 주문이 결제 1건을 공유하므로(부분 환불 없음) 같은 paymentId의 주문을 함께 취소.
      */
-    @Transactional
     public Order cancelOrder(Long orderId, Long userId) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithLinesById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("주문을 찾을 수 없습니다. id=" + orderId));
         if (!order.getUserId().equals(userId)) {
             throw new OrderNotFoundException("주문을 찾을 수 없습니다. id=" + orderId);
@@ -118,103 +328,89 @@ public class OrderService {
         }
 
         try {
-            cancelPayment(order.getPaymentId());
+            paymentClient.cancelPayment(order.getPaymentId());
         } catch (Exception ex) {
             throw new OrderCannotBeCancelledException("결제 취소 실패: " + ex.getMessage());
         }
-        safelyReleaseStock(order.getUserId(), order.getProductId(), order.getQuantity());
+        List<Order> paidTogether = orderRepository.findByPaymentId(order.getPaymentId()).stream()
+                .filter(each -> each.getStatus() == OrderStatus.PAID)
+                .toList();
+        for (Order each : paidTogether) {
+            releaseStock(each);
+            each.cancel();
+        }
+        List<Long> ids = paidTogether.stream().map(Order::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (orderRepository.cancelPaid(ids) > 0) {
+                paidTogether.forEach(outboxService::publishOrderCancelled);
+                orderHistoryProjection.onStatusChanged(ids, OrderStatus.CANCELLED);
+            }
+        });
         order.cancel();
-        return orderRepository.save(order);
-    }
-
-    /** payment-service POST /payments/{id}/cancel 호출. */
-    @Retry(name = "paymentService")
-    @CircuitBreaker(name = "paymentService")
-    void cancelPayment(Long paymentId) {
-        String url = paymentServiceBaseUrl + "/payments/" + paymentId + "/cancel";
-        restTemplate.postForEntity(url, null, Void.class);
+        return order;
     }
 
-    /**
-     * product-service GET /products/{id} 호출.
-     * - @Retry: 실패 시 재시도 (application.yml maxAttempts, waitDuration).
-     * - @CircuitBreaker: 연속 실패 시 회로 열어 과부하 방지 (slidingWindowSize, failureRateThreshold 등).
-     * - CartService 등에서 상품 검증용으로도 사용.
-     */
-    @Retry(name = "productService")
-    @CircuitBreaker(name = "productService")
-    public ProductResponse getProduct(Long productId) {
-        String url = productServiceBaseUrl + "/products/" + productId;
-        ResponseEntity<ProductResponse> response =
-                restTemplate.getForEntity(url, ProductResponse.class);
-        return response.getBody();
-    }
-
-    /** product-service POST /internal/stocks/reserve. 재고 예약/차감. */
-    @Retry(name = "productService")
-    @CircuitBreaker(name = "productService")
-    ReserveStockResponse reserveStock(Long userId, Long productId, int quantity) {
-        String url = productServiceBaseUrl + "/internal/stocks/reserve";
-        Map<String, Object> body = Map.of(
-                "userId", userId,
-                "productId", productId,
-                "quantity", quantity
-        );
-        ResponseEntity<ReserveStockResponse> response =
-                restTemplate.postForEntity(url, body, ReserveStockResponse.class);
-        return response.getBody();
-    }
-
-    /**
-     * product-service POST /internal/stocks/release.
-     * - 재고 예약 후 결제 실패/오류 시 재고를 다시 복구하는 보상 트랜잭션.
-     */
-    @Retry(name = "productService")
-    @CircuitBreaker(name = "productService")
-    void releaseStock(Long userId, Long productId, int quantity) {
-        String url = productServiceBaseUrl + "/internal/stocks/release";
-        Map<String, Object> body = Map.of(
-                "userId", userId,
-                "productId", productId,
-                "quantity", quantity
-        );
-        // 응답 body는 따로 사용하지 않으므로 성공 여부만 신뢰
-        restTemplate.postForEntity(url, body, Void.class);
+    /** 품목별 재고 복구. 품목 없는 주문(품목 도입 전)은 요약 컬럼(productId, quantity)으로 복구. */
+    private void releaseStock(Order order) {
+        if (order.getLines().isEmpty()) {
+            safelyReleaseStock(order.getUserId(), order.getProductId(), order.getQuantity(),
+                    "order-" + order.getId() + "-release");
+            return;
+        }
+        for (OrderLine line : order.getLines()) {
+            safelyReleaseStock(order.getUserId(), line.getProductId(), line.getQuantity(),
+                    "order-" + order.getId() + "-release-" + line.getProductId());
+        }
     }
 
     /**
      * 보상 트랜잭션 실행 시, 보상 자체가 실패하더라도 원래 예외를 숨기지 않기 위해
      * try/catch 로 감싼 안전한 래퍼 메서드.
      */
-    private void safelyReleaseStock(Long userId, Long productId, int quantity) {
+    private void safelyReleaseStock(Long userId, Long productId, int quantity, String idempotencyKey) {
         try {
-            releaseStock(userId, productId, quantity);
+            productClient.releaseStock(userId, productId, quantity, idempotencyKey);
         } catch (Exception ignored) {
             // 로그를 붙이고 싶다면 여기에서 처리 (예: logger.warn(...))
         }
     }
 
-    /** payment-service POST /payments. 결제 요청. */
-    @Retry(name = "paymentService")
-    @CircuitBreaker(name = "paymentService")
-    PaymentResponse requestPayment(Long userId, int amount, String paymentMethod) {
-        String url = paymentServiceBaseUrl + "/payments";
-        Map<String, Object> body = Map.of(
-                "userId", userId,
-                "amount", amount,
-                "paymentMethod", paymentMethod
-        );
-        ResponseEntity<PaymentResponse> response =
-                restTemplate.postForEntity(url, body, PaymentResponse.class);
-        return response.getBody();
+    private void safelyReleaseHoldGroup(String groupId) {
+        try {
+            productClient.releaseHoldGroup(groupId);
+        } catch (Exception ignored) {
+            // 그룹이 없거나(단일 홀드·홀드 전 중단) 해제 실패해도 홀드는 TTL 만료 시 복구됨
+        }
+    }
+
+    private static Map<Long, String> productNames(List<SagaLine> lines) {
+        Map<Long, String> names = new HashMap<>();
+        lines.stream().filter(line -> line.productName() != null)
+                .forEach(line -> names.put(line.productId(), line.productName()));
+        return names;
+    }
+
+    private String writeLines(List<SagaLine> lines) {
+        try {
+            return objectMapper.writeValueAsString(lines);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 품목 직렬화 실패", e);
+        }
+    }
+
+    private List<SagaLine> readLines(String json) {
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<SagaLine>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 품목 역직렬화 실패", e);
+        }
     }
 
-    /** product-service 응답 DTO (내부 전용). */
-    public record ProductResponse(Long id, String name, int price, int stockQuantity) {}
+    /** 비동기 접수 결과. 워커가 saga와 요청 상품·수량으로 runOrderSaga 실행. */
+    public record PendingOrder(Order order, OrderSaga saga, Long productId, int quantity) {}
 
-    /** 재고 예약 API 응답. success=false면 "재고 부족" 등. */
-    public record ReserveStockResponse(boolean success, String reason, int remainingStock) {}
+    /** saga에 기록하는 품목(홀드 시점 단가·상품명). productName은 도입 전 saga면 null. */
+    record SagaLine(Long productId, int quantity, int unitPrice, String productName) {}
 
-    /** 결제 API 응답. success=false면 "결제 실패" 등. */
-    public record PaymentResponse(boolean success, Long paymentId, String reason) {}
+    private record ConfirmResult(boolean success, String reason) {}
 }
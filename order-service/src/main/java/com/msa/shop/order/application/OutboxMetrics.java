@@ -0,0 +1,123 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox 백로그·처리량 메트릭.
+ * - outbox.pending(eventType): PENDING 건수. outbox.pending.oldest.age: 가장 오래된 PENDING 이벤트 나이(초).
+ *   스크레이프마다 DB를 치지 않도록 refresh-interval마다 집계해 캐시. 모든 레플리카가 같은 값을 내므로 대시보드는 max로 집계.
+ * - outbox.events(eventType, outcome=processed|retried|dead): 릴레이 처리 결과. rate()로 초당 처리·실패 수.
+ * - outbox.compensation(eventType, step=payment-cancel|stock-release): 보상 단계별 지연.
+ * - outbox.publish.batch: 주문 이벤트 배치 발행 + 브로커 확인까지 걸린 시간.
+ */
+@Component
+public class OutboxMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxMetrics.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> pendingByType = new ConcurrentHashMap<>();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    public OutboxMetrics(OutboxEventRepository outboxEventRepository, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.meterRegistry = meterRegistry;
+        pendingGauge(OutboxService.EVENT_ORDER_SAVE_FAILED);
+        pendingGauge(OutboxService.EVENT_CHECKOUT_SAVE_FAILED);
+        pendingGauge(OutboxService.EVENT_ORDER_CREATED);
+        pendingGauge(OutboxService.EVENT_ORDER_CANCELLED);
+        Gauge.builder("outbox.pending.oldest.age", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("가장 오래된 PENDING Outbox 이벤트의 나이")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    private AtomicLong pendingGauge(String eventType) {
+        return pendingByType.computeIfAbsent(eventType, type -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("outbox.pending", value, AtomicLong::get)
+                    .description("처리를 기다리는 Outbox 이벤트 수")
+                    .tag("eventType", type)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    /** PENDING 집계 갱신. 없어진 타입은 0으로. */
+    @Scheduled(fixedDelayString = "${app.outbox.metrics.refresh-interval:10000}")
+    public void refresh() {
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            outboxEventRepository.countPendingByEventType()
+                    .forEach(row -> counts.put(row.getEventType(), row.getCount()));
+            pendingByType.forEach((type, value) -> value.set(counts.getOrDefault(type, 0L)));
+            counts.forEach((type, count) -> pendingGauge(type).set(count));
+            LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+            oldestPendingAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+        } catch (Exception e) {
+            log.warn("Outbox 메트릭 집계 실패", e);
+        }
+    }
+
+    public void processed(String eventType) {
+        processed(eventType, 1);
+    }
+
+    public void processed(String eventType, long count) {
+        events(eventType, "processed").increment(count);
+    }
+
+    public void retried(String eventType) {
+        events(eventType, "retried").increment();
+    }
+
+    public void dead(String eventType) {
+        events(eventType, "dead").increment();
+    }
+
+    private Counter events(String eventType, String outcome) {
+        return Counter.builder("outbox.events")
+                .description("릴레이가 처리한 Outbox 이벤트 수")
+                .tags("eventType", eventType, "outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public Timer publishBatch() {
+        return Timer.builder("outbox.publish.batch")
+                .description("주문 이벤트 배치 발행 후 publisher confirm까지 소요 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Timer paymentCancel(String eventType) {
+        return compensation(eventType, "payment-cancel");
+    }
+
+    public Timer stockRelease(String eventType) {
+        return compensation(eventType, "stock-release");
+    }
+
+    private Timer compensation(String eventType, String step) {
+        return Timer.builder("outbox.compensation")
+                .description("Outbox 보상 단계별 소요 시간")
+                .tags("eventType", eventType, "step", step)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -8,63 +8,188 @@ import com.msa.shop.order.domain.OutboxStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpMethod;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 /**
- * Outbox 이벤트 소비: PENDING 보상 이벤트를 주기적으로 읽어 결제 취소·재고 복구 실행.
+ * Outbox 보상 릴레이: PENDING 보상 이벤트(COMPENSATION_EVENT_TYPES)를 워커 스레드들이 병렬로 가져가 결제 취소·재고 복구 실행.
  * - ORDER_SAVE_FAILED: payload의 paymentId로 결제 취소, userId/productId/quantity로 재고 복구.
+ * - CHECKOUT_SAVE_FAILED: 장바구니 일괄 주문. 결제 1건 취소 후 lines의 상품별 재고 복구.
+ * - 호출은 ProductClient/PaymentClient 경유(주문 API와 같은 커넥션 풀·타임아웃·Retry/CircuitBreaker).
+ * - 가져가기(claim): 짧은 트랜잭션에서 SKIP LOCKED로 batch-size건 잠금 → nextAttemptAt을 lease만큼 밀고 커밋.
+ *   원격 호출은 트랜잭션 밖. 결과 기록도 이벤트별 짧은 트랜잭션. 워커가 죽으면 lease 뒤 다른 워커가 다시 가져감.
+ * - 실패: attempts 증가, backoff-initial × 2^(attempts-1)(최대 backoff-max) 뒤 재시도. max-attempts 도달 시 DEAD.
+ * - 적응형 폴링: 가져간 이벤트가 있으면 바로 다음 배치, 없으면 idle-interval 대기.
+ * - 보상은 멱등(결제 취소는 이미 취소면 변화 없음, 재고 복구는 이벤트 단위 멱등 키)이라 lease 만료로 중복 실행돼도 안전.
+ * - 처리 결과·단계별 지연은 OutboxMetrics로 기록.
  */
 @Component
-public class OutboxProcessor {
+public class OutboxProcessor implements SmartLifecycle {
 
     private static final Logger log = LoggerFactory.getLogger(OutboxProcessor.class);
 
     private final OutboxEventRepository outboxEventRepository;
-    private final RestTemplate restTemplate;
-    private final String productServiceBaseUrl;
-    private final String paymentServiceBaseUrl;
+    private final ProductClient productClient;
+    private final PaymentClient paymentClient;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxMetrics metrics;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final boolean enabled;
+    private final int workerCount;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoffInitial;
+    private final Duration backoffMax;
+    private final Duration lease;
+    private final Duration idleInterval;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
     public OutboxProcessor(
             OutboxEventRepository outboxEventRepository,
-            RestTemplate restTemplate,
-            @Value("${product-service.base-url}") String productServiceBaseUrl,
-            @Value("${payment-service.base-url}") String paymentServiceBaseUrl
+            ProductClient productClient,
+            PaymentClient paymentClient,
+            TransactionTemplate transactionTemplate,
+            OutboxMetrics metrics,
+            @Value("${app.outbox.enabled:true}") boolean enabled,
+            @Value("${app.outbox.workers:4}") int workerCount,
+            @Value("${app.outbox.batch-size:20}") int batchSize,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.backoff-initial:1s}") Duration backoffInitial,
+            @Value("${app.outbox.backoff-max:10m}") Duration backoffMax,
+            @Value("${app.outbox.lease:1m}") Duration lease,
+            @Value("${app.outbox.idle-interval:5s}") Duration idleInterval
     ) {
         this.outboxEventRepository = outboxEventRepository;
-        this.restTemplate = restTemplate;
-        this.productServiceBaseUrl = productServiceBaseUrl;
-        this.paymentServiceBaseUrl = paymentServiceBaseUrl;
+        this.productClient = productClient;
+        this.paymentClient = paymentClient;
+        this.transactionTemplate = transactionTemplate;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitial = backoffInitial;
+        this.backoffMax = backoffMax;
+        this.lease = lease;
+        this.idleInterval = idleInterval;
     }
 
-    @Scheduled(fixedDelayString = "${app.outbox.process-interval:5000}")
-    @Transactional
-    public void processPendingEvents() {
-        List<OutboxEvent> pending = outboxEventRepository.findTop20ByStatusOrderByCreatedAtAsc(OutboxStatus.PENDING);
-        for (OutboxEvent event : pending) {
-            if (!OutboxService.EVENT_ORDER_SAVE_FAILED.equals(event.getEventType())) {
-                continue;
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::pollLoop, "outbox-relay-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(idleInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        while (running) {
+            int processed;
             try {
-                compensateOrderSaveFailed(event.getPayload());
-                event.markProcessed();
-                outboxEventRepository.save(event);
+                processed = processBatch();
             } catch (Exception e) {
-                log.warn("Outbox 보상 실패 eventId={} payload={}", event.getId(), event.getPayload(), e);
-                event.markFailed();
-                outboxEventRepository.save(event);
+                log.warn("Outbox 이벤트 가져오기 실패", e);
+                processed = 0;
+            }
+            if (processed == 0) {
+                try {
+                    Thread.sleep(idleInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
             }
         }
     }
 
-    private void compensateOrderSaveFailed(String payload) throws Exception {
+    /** 한 배치 가져와 처리. 가져간 건수 반환(0이면 백로그 없음). */
+    int processBatch() {
+        List<OutboxEvent> claimed = claim();
+        for (OutboxEvent event : claimed) {
+            process(event);
+        }
+        return claimed.size();
+    }
+
+    private List<OutboxEvent> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.findClaimable(
+                    OutboxService.COMPENSATION_EVENT_TYPES, now, PageRequest.of(0, batchSize));
+            events.forEach(event -> event.lease(now.plus(lease)));
+            return events;
+        });
+    }
+
+    private void process(OutboxEvent event) {
+        String eventType = event.getEventType();
+        try {
+            if (OutboxService.EVENT_CHECKOUT_SAVE_FAILED.equals(eventType)) {
+                compensateCheckoutSaveFailed(event.getId(), event.getPayload());
+            } else if (OutboxService.EVENT_ORDER_SAVE_FAILED.equals(eventType)) {
+                compensateOrderSaveFailed(event.getId(), event.getPayload());
+            } else {
+                throw new IllegalStateException("알 수 없는 Outbox 이벤트 타입: " + eventType);
+            }
+            event.markProcessed();
+            metrics.processed(eventType);
+        } catch (Exception e) {
+            event.retryLater(LocalDateTime.now().plus(backoff(event.getAttempts() + 1)), maxAttempts, e.toString());
+            if (event.getStatus() == OutboxStatus.DEAD) {
+                metrics.dead(eventType);
+            } else {
+                metrics.retried(eventType);
+            }
+            log.warn("Outbox 보상 실패 eventId={} attempts={} status={}",
+                    event.getId(), event.getAttempts(), event.getStatus(), e);
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.save(event));
+    }
+
+    /** attempt번째 실패 후 대기: backoff-initial × 2^(attempt-1), 최대 backoff-max. */
+    Duration backoff(int attempt) {
+        long multiplier = 1L << Math.min(attempt - 1, 30);
+        Duration delay = backoffInitial.multipliedBy(multiplier);
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private void compensateOrderSaveFailed(Long eventId, String payload) throws Exception {
         JsonNode node = objectMapper.readTree(payload);
         long paymentId = node.get("paymentId").asLong();
         long userId = node.get("userId").asLong();
@@ -72,12 +197,27 @@ public class OutboxProcessor {
         int quantity = node.get("quantity").asInt();
 
         // 1) 결제 취소
-        String cancelUrl = paymentServiceBaseUrl + "/payments/" + paymentId + "/cancel";
-        restTemplate.exchange(cancelUrl, HttpMethod.POST, null, Void.class);
+        metrics.paymentCancel(OutboxService.EVENT_ORDER_SAVE_FAILED).record(() -> paymentClient.cancelPayment(paymentId));
 
-        // 2) 재고 복구
-        String releaseUrl = productServiceBaseUrl + "/internal/stocks/release";
-        Map<String, Object> body = Map.of("userId", userId, "productId", productId, "quantity", quantity);
-        restTemplate.postForEntity(releaseUrl, body, Void.class);
+        // 2) 재고 복구. 이벤트 단위 멱등 키 → 재처리돼도 한 번만 복구
+        metrics.stockRelease(OutboxService.EVENT_ORDER_SAVE_FAILED).record(() ->
+                productClient.releaseStock(userId, productId, quantity, "outbox-" + eventId + "-release"));
+    }
+
+    private void compensateCheckoutSaveFailed(Long eventId, String payload) throws Exception {
+        JsonNode node = objectMapper.readTree(payload);
+        long paymentId = node.get("paymentId").asLong();
+        long userId = node.get("userId").asLong();
+
+        metrics.paymentCancel(OutboxService.EVENT_CHECKOUT_SAVE_FAILED).record(() -> paymentClient.cancelPayment(paymentId));
+
+        JsonNode lines = node.get("lines");
+        metrics.stockRelease(OutboxService.EVENT_CHECKOUT_SAVE_FAILED).record(() -> {
+            for (JsonNode line : lines) {
+                long productId = line.get("productId").asLong();
+                productClient.releaseStock(userId, productId, line.get("quantity").asInt(),
+                        "outbox-" + eventId + "-release-" + productId);
+            }
+        });
     }
 }
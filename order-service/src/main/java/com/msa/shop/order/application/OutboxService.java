@@ -1,32 +1,54 @@
 package com.msa.shop.order.application;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.msa.shop.order.domain.Order;
 import com.msa.shop.order.domain.OutboxEvent;
 import com.msa.shop.order.domain.OutboxEventRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Outbox 이벤트 발행.
- * - REQUIRES_NEW: 주문 저장 TX가 실패해도 보상 이벤트만 별도 TX로 커밋.
- * - "결제 성공 후 주문 저장 실패" 시 이벤트를 남기면 스케줄러가 결제 취소·재고 복구 수행.
+ * - 보상 이벤트: "결제 성공 후 주문 저장 실패" 시 이벤트를 남기면 OutboxProcessor 릴레이가 결제 취소·재고 복구 수행.
+ *   호출자 트랜잭션에 참여: 주문 saga의 COMPENSATED 기록과 같은 트랜잭션으로 커밋(둘 중 하나만 남지 않음).
+ * - 도메인 이벤트: ORDER_CREATED / ORDER_CANCELLED. 주문 행 변경과 같은 트랜잭션 필수(MANDATORY).
+ *   OrderEventRelay가 RabbitMQ order.events로 발행.
  */
 @Service
 public class OutboxService {
 
     public static final String EVENT_ORDER_SAVE_FAILED = "ORDER_SAVE_FAILED";
+    public static final String EVENT_CHECKOUT_SAVE_FAILED = "CHECKOUT_SAVE_FAILED";
+    public static final String EVENT_ORDER_CREATED = "ORDER_CREATED";
+    public static final String EVENT_ORDER_CANCELLED = "ORDER_CANCELLED";
+
+    /** OutboxProcessor가 처리하는 보상 이벤트. */
+    public static final List<String> COMPENSATION_EVENT_TYPES = List.of(EVENT_ORDER_SAVE_FAILED, EVENT_CHECKOUT_SAVE_FAILED);
+    /** OrderEventRelay가 발행하는 도메인 이벤트. */
+    public static final List<String> ORDER_EVENT_TYPES = List.of(EVENT_ORDER_CREATED, EVENT_ORDER_CANCELLED);
 
     private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
     public OutboxService(OutboxEventRepository outboxEventRepository) {
         this.outboxEventRepository = outboxEventRepository;
     }
 
     /**
-     * 주문 저장 실패 보상 이벤트 발행. 별도 TX로 커밋해 두고, 스케줄러가 나중에 처리.
+     * 주문 저장 실패 보상 이벤트 발행. 릴레이가 나중에 처리.
      * payload: JSON {"paymentId":1,"userId":1,"productId":1,"quantity":2}
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Transactional
     public void publishOrderSaveFailed(Long paymentId, Long userId, Long productId, int quantity) {
         String payload = String.format(
                 "{\"paymentId\":%d,\"userId\":%d,\"productId\":%d,\"quantity\":%d}",
@@ -35,4 +57,58 @@ public class OutboxService {
         OutboxEvent event = new OutboxEvent(EVENT_ORDER_SAVE_FAILED, payload);
         outboxEventRepository.save(event);
     }
+
+    /**
+     * 장바구니 일괄 주문 저장 실패 보상 이벤트. 결제 1건 취소 + 상품별 재고 복구.
+     * payload: JSON {"paymentId":1,"userId":1,"lines":[{"productId":1,"quantity":2},...]}
+     */
+    @Transactional
+    public void publishCheckoutSaveFailed(Long paymentId, Long userId, List<ProductClient.StockLine> lines) {
+        String linesJson = lines.stream()
+                .map(line -> String.format("{\"productId\":%d,\"quantity\":%d}", line.productId(), line.quantity()))
+                .collect(Collectors.joining(",", "[", "]"));
+        String payload = String.format(
+                "{\"paymentId\":%d,\"userId\":%d,\"lines\":%s}",
+                paymentId, userId, linesJson
+        );
+        outboxEventRepository.save(new OutboxEvent(EVENT_CHECKOUT_SAVE_FAILED, payload));
+    }
+
+    /** 주문 생성(PAID) 이벤트. 주문 INSERT·PENDING→PAID와 같은 트랜잭션에서 호출. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrderCreated(Order order) {
+        outboxEventRepository.save(new OutboxEvent(EVENT_ORDER_CREATED, orderPayload(order)));
+    }
+
+    /** 주문 취소 이벤트. PAID→CANCELLED 변경과 같은 트랜잭션에서 호출. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrderCancelled(Order order) {
+        outboxEventRepository.save(new OutboxEvent(EVENT_ORDER_CANCELLED, orderPayload(order)));
+    }
+
+    /**
+     * payload: JSON {"orderId":1,"userId":1,"status":"PAID","totalAmount":20000,"paymentId":5,
+     * "lines":[{"productId":1,"quantity":2,"unitPrice":10000}],"occurredAt":"..."}
+     * 품목 도입 전 주문은 요약 컬럼(productId, quantity)으로 품목 1건.
+     */
+    private String orderPayload(Order order) {
+        List<OrderEventLine> lines = order.getLines().isEmpty()
+                ? List.of(new OrderEventLine(order.getProductId(), order.getQuantity(),
+                        order.getQuantity() == 0 ? 0 : order.getTotalAmount() / order.getQuantity()))
+                : order.getLines().stream()
+                        .map(line -> new OrderEventLine(line.getProductId(), line.getQuantity(), line.getUnitPrice()))
+                        .toList();
+        OrderEventPayload payload = new OrderEventPayload(order.getId(), order.getUserId(), order.getStatus().name(),
+                order.getTotalAmount(), order.getPaymentId(), lines, LocalDateTime.now());
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이벤트 직렬화 실패", e);
+        }
+    }
+
+    record OrderEventPayload(Long orderId, Long userId, String status, int totalAmount, Long paymentId,
+                             List<OrderEventLine> lines, LocalDateTime occurredAt) {}
+
+    record OrderEventLine(Long productId, int quantity, int unitPrice) {}
 }
@@ -0,0 +1,72 @@
+package com.msa.shop.order.application;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+/**
+ * payment-service REST 호출 전용 컴포넌트.
+ * - ProductClient와 같은 이유로 별도 Bean. @Retry/@CircuitBreaker 인스턴스 이름은 paymentService.
+ */
+@Component
+public class PaymentClient {
+
+    private final RestTemplate restTemplate;
+    private final String paymentServiceBaseUrl;
+
+    public PaymentClient(RestTemplate restTemplate, @Value("${payment-service.base-url}") String paymentServiceBaseUrl) {
+        this.restTemplate = restTemplate;
+        this.paymentServiceBaseUrl = paymentServiceBaseUrl;
+    }
+
+    /**
+     * POST /payments. 결제 요청.
+     * - idempotencyKey(주문 saga ID)로 @Retry 재시도·타임아웃 후 재요청에도 결제는 한 건.
+     */
+    @Retry(name = "paymentService")
+    @CircuitBreaker(name = "paymentService")
+    public PaymentResponse requestPayment(Long userId, int amount, String paymentMethod, String idempotencyKey) {
+        String url = paymentServiceBaseUrl + "/payments";
+        Map<String, Object> body = Map.of(
+                "userId", userId,
+                "amount", amount,
+                "paymentMethod", paymentMethod,
+                "idempotencyKey", idempotencyKey
+        );
+        ResponseEntity<PaymentResponse> response =
+                restTemplate.postForEntity(url, body, PaymentResponse.class);
+        return response.getBody();
+    }
+
+    /** POST /payments/{id}/cancel. 결제 취소(주문 취소·보상). */
+    @Retry(name = "paymentService")
+    @CircuitBreaker(name = "paymentService")
+    public void cancelPayment(Long paymentId) {
+        String url = paymentServiceBaseUrl + "/payments/{paymentId}/cancel";
+        restTemplate.postForEntity(url, null, Void.class, paymentId);
+    }
+
+    /**
+     * POST /payments/by-key/{key}/cancel. 결제 요청 결과를 모를 때(saga 복구) 멱등 키로 취소.
+     * - 404(해당 키로 결제된 적 없음)는 취소할 것이 없다는 뜻이므로 정상 처리.
+     */
+    @Retry(name = "paymentService")
+    @CircuitBreaker(name = "paymentService")
+    public void cancelPaymentByKey(String idempotencyKey) {
+        String url = paymentServiceBaseUrl + "/payments/by-key/{idempotencyKey}/cancel";
+        try {
+            restTemplate.postForEntity(url, null, Void.class, idempotencyKey);
+        } catch (HttpClientErrorException.NotFound ignored) {
+            // 결제된 적 없음
+        }
+    }
+
+    /** 결제 API 응답. success=false면 "결제 실패" 등. */
+    public record PaymentResponse(boolean success, Long paymentId, String reason) {}
+}
@@ -0,0 +1,185 @@
+package com.msa.shop.order.application;
+
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * product-service REST 호출 전용 컴포넌트.
+ * - OrderService 내부 메서드로 두면 self-invocation이라 @Retry/@CircuitBreaker 프록시가 적용되지 않으므로 별도 Bean으로 분리.
+ * - @Retry: 실패 시 재시도 (application.yml maxAttempts, waitDuration).
+ * - @CircuitBreaker: 연속 실패 시 회로 열어 과부하 방지 (slidingWindowSize, failureRateThreshold 등).
+ * - 경로 변수는 URI 템플릿({id})으로 넘김 → http.client.requests 메트릭 uri 태그가 ID별로 늘어나지 않음.
+ */
+@Component
+public class ProductClient {
+
+    /** GET /products/batch 한 번에 보낼 최대 ID 수(product-service 상한). */
+    static final int MAX_BATCH_SIZE = 100;
+
+    private final RestTemplate restTemplate;
+    private final String productServiceBaseUrl;
+
+    public ProductClient(RestTemplate restTemplate, @Value("${product-service.base-url}") String productServiceBaseUrl) {
+        this.restTemplate = restTemplate;
+        this.productServiceBaseUrl = productServiceBaseUrl;
+    }
+
+    /** GET /products/{id}. CartService 상품 검증용(주문 금액은 holdStock 응답 단가 사용). */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public ProductResponse getProduct(Long productId) {
+        String url = productServiceBaseUrl + "/products/{id}";
+        ResponseEntity<ProductResponse> response =
+                restTemplate.getForEntity(url, ProductResponse.class, productId);
+        return response.getBody();
+    }
+
+    /**
+     * GET /products/batch?ids=1,2,3. 장바구니 조회용 상품 일괄 조회(없는 상품은 응답에서 빠짐).
+     * - product-service 상한(100개)에 맞춰 나눠 호출. ids는 쿼리 템플릿 변수로 넘겨 uri 태그 고정.
+     */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public List<ProductResponse> getProducts(Collection<Long> productIds) {
+        String url = productServiceBaseUrl + "/products/batch?ids={ids}";
+        List<Long> ids = List.copyOf(productIds);
+        List<ProductResponse> products = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += MAX_BATCH_SIZE) {
+            String chunk = ids.subList(from, Math.min(from + MAX_BATCH_SIZE, ids.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            ProductResponse[] body = restTemplate.getForObject(url, ProductResponse[].class, chunk);
+            if (body != null) {
+                products.addAll(Arrays.asList(body));
+            }
+        }
+        return products;
+    }
+
+    /**
+     * POST /internal/stocks/holds. 재고 홀드(TTL 예약) 생성 + 상품명·단가 조회(quote-and-reserve).
+     * - 확정하지 않으면 product-service가 만료 시 재고를 자동 복구.
+     * - idempotencyKey는 호출자가 재시도 전에 한 번 생성 → @Retry 재시도·타임아웃 후 재요청에도 한 번만 차감.
+     */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public HoldStockResponse holdStock(Long userId, Long productId, int quantity, String idempotencyKey) {
+        String url = productServiceBaseUrl + "/internal/stocks/holds";
+        Map<String, Object> body = Map.of(
+                "userId", userId,
+                "productId", productId,
+                "quantity", quantity,
+                "idempotencyKey", idempotencyKey
+        );
+        ResponseEntity<HoldStockResponse> response =
+                restTemplate.postForEntity(url, body, HoldStockResponse.class);
+        return response.getBody();
+    }
+
+    /** POST /internal/stocks/holds/{id}/confirm. 결제 성공 후 홀드 확정. 이미 확정이면 성공(재시도 안전). */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public HoldStockResponse confirmHold(String reservationId) {
+        String url = productServiceBaseUrl + "/internal/stocks/holds/{reservationId}/confirm";
+        ResponseEntity<HoldStockResponse> response =
+                restTemplate.postForEntity(url, null, HoldStockResponse.class, reservationId);
+        return response.getBody();
+    }
+
+    /** POST /internal/stocks/holds/{id}/release. 홀드 해제(보상). 이미 해제·만료면 변화 없음. */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public void releaseHold(String reservationId) {
+        String url = productServiceBaseUrl + "/internal/stocks/holds/{reservationId}/release";
+        restTemplate.postForEntity(url, null, Void.class, reservationId);
+    }
+
+    /**
+     * POST /internal/stocks/reserve-batch. 장바구니 전체 일괄 홀드(all-or-nothing) + 상품별 단가.
+     * - idempotencyKey가 홀드 그룹 ID가 됨. 재시도돼도 같은 그룹 응답.
+     */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public BatchHoldResponse reserveBatch(Long userId, List<StockLine> lines, String idempotencyKey) {
+        String url = productServiceBaseUrl + "/internal/stocks/reserve-batch";
+        Map<String, Object> body = Map.of(
+                "userId", userId,
+                "idempotencyKey", idempotencyKey,
+                "lines", lines
+        );
+        ResponseEntity<BatchHoldResponse> response =
+                restTemplate.postForEntity(url, body, BatchHoldResponse.class);
+        return response.getBody();
+    }
+
+    /** POST /internal/stocks/holds/groups/{groupId}/confirm. 그룹 일괄 확정. 하나라도 만료면 success=false. */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public BatchHoldResponse confirmHoldGroup(String groupId) {
+        String url = productServiceBaseUrl + "/internal/stocks/holds/groups/{groupId}/confirm";
+        ResponseEntity<BatchHoldResponse> response =
+                restTemplate.postForEntity(url, null, BatchHoldResponse.class, groupId);
+        return response.getBody();
+    }
+
+    /** POST /internal/stocks/holds/groups/{groupId}/release. 그룹 일괄 해제(보상). */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public void releaseHoldGroup(String groupId) {
+        String url = productServiceBaseUrl + "/internal/stocks/holds/groups/{groupId}/release";
+        restTemplate.postForEntity(url, null, Void.class, groupId);
+    }
+
+    /**
+     * POST /internal/stocks/release.
+     * - 확정된 재고를 다시 복구하는 보상 트랜잭션(주문 취소 등).
+     * - idempotencyKey로 재시도돼도 한 번만 복구.
+     */
+    @Retry(name = "productService")
+    @CircuitBreaker(name = "productService")
+    public void releaseStock(Long userId, Long productId, int quantity, String idempotencyKey) {
+        String url = productServiceBaseUrl + "/internal/stocks/release";
+        Map<String, Object> body = Map.of(
+                "userId", userId,
+                "productId", productId,
+                "quantity", quantity,
+                "idempotencyKey", idempotencyKey
+        );
+        // 응답 body는 따로 사용하지 않으므로 성공 여부만 신뢰
+        restTemplate.postForEntity(url, body, Void.class);
+    }
+
+    /** product-service 응답 DTO (내부 전용). */
+    public record ProductResponse(Long id, String name, int price, int stockQuantity) {}
+
+    /**
+     * 재고 홀드 API 응답. success=false면 "재고 부족", "예약 만료" 등.
+     * - productName, unitPrice: 홀드 생성 시 product-service가 같은 트랜잭션에서 읽은 상품명·단가.
+     */
+    public record HoldStockResponse(boolean success, String reason, int remainingStock,
+                                    String reservationId, LocalDateTime expiresAt,
+                                    String productName, Integer unitPrice) {}
+
+    /** 일괄 홀드 요청 한 줄. */
+    public record StockLine(Long productId, int quantity) {}
+
+    /** 일괄 홀드 API 응답. success=false면 failedProductId에 재고 부족 상품. */
+    public record BatchHoldResponse(boolean success, String reason, Long failedProductId,
+                                    String groupId, LocalDateTime expiresAt, List<BatchHoldLine> lines) {}
+
+    /** 일괄 홀드 상품별 결과(홀드 ID·단가). */
+    public record BatchHoldLine(Long productId, int quantity, String reservationId, int remainingStock,
+                                String productName, Integer unitPrice) {}
+}
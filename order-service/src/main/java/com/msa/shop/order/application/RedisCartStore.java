@@ -0,0 +1,187 @@
+package com.msa.shop.order.application;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Redis 장바구니 저장소(app.cart.store=redis). 사용자별 해시 cart:{userId} (field 상품 ID → 수량).
+ * - 적재 표시 필드 "_"가 있어야 적재된 장바구니. 값은 스냅샷 버전. 키가 없으면(미적재·TTL 만료) cart_items와 carts.version을
+ *   읽어 채움(LOAD, 이미 있으면 무시).
+ * - 쓰기는 Lua 1번: 적재 확인 → 변경 → 버전 +1 → EXPIRE → cart:dirty에 사용자 추가. 키가 없으면 0 → 적재 후 재시도.
+ * - 읽기는 HGETALL + EXPIRE(Lua 1번) → checkout도 한 시점의 해시 전체를 스냅샷으로 받음.
+ * - 단일 Redis(또는 Sentinel) 기준. 장바구니 키와 cart:dirty를 한 스크립트에서 쓰므로 Cluster면 해시 태그 필요.
+ */
+public class RedisCartStore implements CartStore {
+
+    static final String KEY_PREFIX = "cart:";
+    static final String DIRTY_KEY = "cart:dirty";
+    private static final String LOADED = "_";
+
+    private static final RedisScript<List> READ = new DefaultRedisScript<>("""
+            local items = redis.call('HGETALL', KEYS[1])
+            if #items > 0 then redis.call('EXPIRE', KEYS[1], ARGV[1]) end
+            return items
+            """, List.class);
+
+    private static final RedisScript<Long> LOAD = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end
+            redis.call('HSET', KEYS[1], '_', ARGV[2])
+            for i = 3, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> WRITE = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end
+            local op = ARGV[3]
+            if op == 'put' then
+              redis.call('HSET', KEYS[1], ARGV[4], ARGV[5])
+            elseif op == 'remove' then
+              redis.call('HDEL', KEYS[1], ARGV[4])
+            elseif op == 'clear' then
+              local version = redis.call('HGET', KEYS[1], '_')
+              redis.call('DEL', KEYS[1])
+              redis.call('HSET', KEYS[1], '_', version)
+            elseif op == 'remove-ordered' then
+              for i = 4, #ARGV, 2 do
+                if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[i + 1] then redis.call('HDEL', KEYS[1], ARGV[i]) end
+              end
+            end
+            redis.call('HINCRBY', KEYS[1], '_', 1)
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            redis.call('SADD', KEYS[2], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final CartPersistence cartPersistence;
+    private final String ttlSeconds;
+
+    public RedisCartStore(StringRedisTemplate redisTemplate, CartPersistence cartPersistence, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.cartPersistence = cartPersistence;
+        this.ttlSeconds = String.valueOf(ttl.toSeconds());
+    }
+
+    @Override
+    public SortedMap<Long, Integer> getCart(Long userId) {
+        List<?> raw = redisTemplate.execute(READ, List.of(key(userId)), ttlSeconds);
+        if (raw != null && !raw.isEmpty()) {
+            return parse(raw);
+        }
+        CartSnapshot loaded = cartPersistence.loadSnapshot(userId);
+        if (load(userId, loaded)) {
+            return Collections.unmodifiableSortedMap(loaded.items());
+        }
+        // 다른 요청이 먼저 적재 → 그 값을 읽음
+        return parse(redisTemplate.execute(READ, List.of(key(userId)), ttlSeconds));
+    }
+
+    @Override
+    public int getQuantity(Long userId, Long productId) {
+        return getCart(userId).getOrDefault(productId, 0);
+    }
+
+    @Override
+    public void put(Long userId, Long productId, int quantity) {
+        write(userId, "put", productId.toString(), String.valueOf(quantity));
+    }
+
+    @Override
+    public void remove(Long userId, Long productId) {
+        write(userId, "remove", productId.toString());
+    }
+
+    @Override
+    public void clear(Long userId) {
+        write(userId, "clear");
+    }
+
+    @Override
+    public void removeOrdered(Long userId, Map<Long, Integer> ordered) {
+        List<String> args = new ArrayList<>();
+        ordered.forEach((productId, quantity) -> {
+            args.add(productId.toString());
+            args.add(quantity.toString());
+        });
+        write(userId, "remove-ordered", args.toArray(String[]::new));
+    }
+
+    @Override
+    public List<Long> pollDirty(int max) {
+        List<String> popped = redisTemplate.opsForSet().pop(DIRTY_KEY, max);
+        return popped == null ? List.of() : popped.stream().map(Long::valueOf).toList();
+    }
+
+    @Override
+    public void markDirty(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            redisTemplate.opsForSet().add(DIRTY_KEY, userIds.stream().map(String::valueOf).toArray(String[]::new));
+        }
+    }
+
+    @Override
+    public Optional<CartSnapshot> peek(Long userId) {
+        // HGETALL 1번 → 항목과 버전이 같은 시점
+        Map<Object, Object> raw = redisTemplate.opsForHash().entries(key(userId));
+        if (raw.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Object> flat = new ArrayList<>();
+        raw.forEach((field, value) -> {
+            flat.add(field);
+            flat.add(value);
+        });
+        return Optional.of(new CartSnapshot(Long.parseLong(String.valueOf(raw.get(LOADED))), parse(flat)));
+    }
+
+    /** 변경 스크립트 실행. 키가 없으면 cart_items에서 적재 후 한 번 더. */
+    private void write(Long userId, String op, String... args) {
+        List<String> argv = new ArrayList<>(List.of(ttlSeconds, userId.toString(), op));
+        argv.addAll(List.of(args));
+        for (int attempt = 0; attempt < 3; attempt++) {
+            Long applied = redisTemplate.execute(WRITE, List.of(key(userId), DIRTY_KEY), argv.toArray());
+            if (applied != null && applied == 1L) {
+                return;
+            }
+            load(userId, cartPersistence.loadSnapshot(userId));
+        }
+        throw new IllegalStateException("장바구니 저장 실패. userId=" + userId);
+    }
+
+    private boolean load(Long userId, CartSnapshot snapshot) {
+        List<String> argv = new ArrayList<>(List.of(ttlSeconds, String.valueOf(snapshot.version())));
+        snapshot.items().forEach((productId, quantity) -> {
+            argv.add(productId.toString());
+            argv.add(quantity.toString());
+        });
+        Long loaded = redisTemplate.execute(LOAD, List.of(key(userId)), argv.toArray());
+        return loaded != null && loaded == 1L;
+    }
+
+    private static SortedMap<Long, Integer> parse(List<?> flat) {
+        SortedMap<Long, Integer> items = new TreeMap<>();
+        for (int i = 0; i + 1 < flat.size(); i += 2) {
+            String field = String.valueOf(flat.get(i));
+            if (!LOADED.equals(field)) {
+                items.put(Long.valueOf(field), Integer.valueOf(String.valueOf(flat.get(i + 1))));
+            }
+        }
+        return Collections.unmodifiableSortedMap(items);
+    }
+
+    private static String key(Long userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.msa.shop.order.config;
+
+import com.msa.shop.order.application.CartPersistence;
+import com.msa.shop.order.application.InMemoryCartStore;
+import com.msa.shop.order.application.JpaCartStore;
+import com.msa.shop.order.application.RedisCartStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 장바구니 저장소 선택(app.cart.store).
+ * - memory(기본): 인스턴스 내 맵. 테스트·로컬·단일 인스턴스용.
+ * - redis: spring.data.redis 연결의 사용자별 해시. 여러 인스턴스가 같은 장바구니를 봄.
+ * - jpa: cart_items 직접 읽기·쓰기(Redis 없이 여러 인스턴스).
+ * - memory·redis는 ttl 동안 접근 없는 장바구니는 캐시에서만 만료(cart_items에는 남음).
+ */
+@Configuration
+public class CartStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cart.store", havingValue = "redis")
+    public RedisCartStore redisCartStore(
+            StringRedisTemplate redisTemplate,
+            CartPersistence cartPersistence,
+            @Value("${app.cart.ttl:7d}") Duration ttl
+    ) {
+        return new RedisCartStore(redisTemplate, cartPersistence, ttl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cart.store", havingValue = "jpa")
+    public JpaCartStore jpaCartStore(CartPersistence cartPersistence) {
+        return new JpaCartStore(cartPersistence);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cart.store", havingValue = "memory", matchIfMissing = true)
+    public InMemoryCartStore inMemoryCartStore(
+            CartPersistence cartPersistence,
+            @Value("${app.cart.ttl:7d}") Duration ttl
+    ) {
+        return new InMemoryCartStore(cartPersistence, ttl, Clock.systemUTC());
+    }
+}
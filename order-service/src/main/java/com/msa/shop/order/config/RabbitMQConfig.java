@@ -0,0 +1,22 @@
+package com.msa.shop.order.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 주문 도메인 이벤트 발행용 Exchange. 소비자는 order.* 로 바인딩해 구독.
+ * - routing key: order.created, order.cancelled. 메시지 ID는 Outbox 이벤트 ID 기반(at-least-once → 소비자가 중복 제거).
+ */
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String EXCHANGE_ORDER_EVENTS = "order.events";
+    public static final String ROUTING_KEY_ORDER_CREATED = "order.created";
+    public static final String ROUTING_KEY_ORDER_CANCELLED = "order.cancelled";
+
+    @Bean
+    TopicExchange orderEventsExchange() {
+        return new TopicExchange(EXCHANGE_ORDER_EVENTS, true, false);
+    }
+}
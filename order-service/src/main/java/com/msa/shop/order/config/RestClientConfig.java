@@ -1,19 +1,85 @@
 package com.msa.shop.order.config;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * order-service → product / payment 서비스 HTTP 호출용 RestTemplate Bean.
- * - RestTemplate: 동기 HTTP 클라이언트. GET/POST 등으로 REST API 호출.
- * - MSA에서 서비스 간 통신 시 자주 사용. (WebClient는 비동기.)
+ * - Apache HttpClient 5 커넥션 풀: keep-alive 재사용, 전체·호스트(route)별 최대 커넥션, 연결·풀 대기·응답 타임아웃.
+ *   기본 SimpleClientHttpRequestFactory는 풀·타임아웃이 없어 하위 서비스가 느리면 요청 스레드가 무한정 대기.
+ * - RestTemplateBuilder로 생성 → Spring Boot가 http.client.requests 메트릭(uri 템플릿별 지연) 자동 기록.
+ * - 풀 메트릭: httpcomponents.httpclient.pool.* (leased/available/pending), 태그 httpclient=downstream.
+ * - ProductClient, PaymentClient, OutboxProcessor가 같은 풀 공유.
  */
 @Configuration
 public class RestClientConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public PoolingHttpClientConnectionManager downstreamConnectionManager(
+            @Value("${app.http-client.max-total:200}") int maxTotal,
+            @Value("${app.http-client.max-per-route:50}") int maxPerRoute,
+            @Value("${app.http-client.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${app.http-client.response-timeout:3s}") Duration responseTimeout,
+            @Value("${app.http-client.time-to-live:5m}") Duration timeToLive
+    ) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        // 일정 시간 쉰 커넥션은 재사용 전 검사(서버가 먼저 닫은 커넥션으로 요청 실패 방지)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient downstreamHttpClient(
+            PoolingHttpClientConnectionManager downstreamConnectionManager,
+            @Value("${app.http-client.connection-request-timeout:500ms}") Duration connectionRequestTimeout,
+            @Value("${app.http-client.response-timeout:3s}") Duration responseTimeout,
+            @Value("${app.http-client.keep-alive:15s}") Duration keepAlive
+    ) {
+        return HttpClients.custom()
+                .setConnectionManager(downstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                // 서버 keep-alive(Tomcat 기본 20s)보다 짧게 유지해야 닫힌 커넥션 재사용을 피함
+                .setKeepAliveStrategy((response, context) -> TimeValue.of(keepAlive))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient downstreamHttpClient) {
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(downstreamHttpClient))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder downstreamConnectionPoolMetrics(PoolingHttpClientConnectionManager downstreamConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(downstreamConnectionManager, "downstream");
     }
 }
@@ -0,0 +1,32 @@
+package com.msa.shop.order.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * 장바구니 헤더. carts 테이블, 사용자당 1행.
+ * - version: cart_items에 마지막으로 반영된 캐시 스냅샷 버전. 캐시 쓰기마다 1씩 증가하며,
+ *   write-behind는 이보다 큰 버전만 반영(CartRepository.advanceVersion) → 늦게 커밋된 옛 스냅샷이 새 것을 덮지 않음.
+ * - 캐시를 다시 적재할 때 이 버전부터 이어서 증가.
+ */
+@Entity
+@Table(name = "carts")
+public class Cart {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long version;
+
+    protected Cart() {
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
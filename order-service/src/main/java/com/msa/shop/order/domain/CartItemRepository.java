@@ -3,15 +3,11 @@ package com.msa.shop.order.domain;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
-import java.util.Optional;
 
+/**
+ * 장바구니 내구 저장(cart_items). 요청 경로에서는 쓰지 않고 CartStore 적재·write-behind 반영(CartPersistence)에서만 사용.
+ */
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     List<CartItem> findByUserIdOrderByProductId(Long userId);
-
-    Optional<CartItem> findByUserIdAndProductId(Long userId, Long productId);
-
-    void deleteByUserIdAndProductId(Long userId, Long productId);
-
-    void deleteByUserId(Long userId);
 }
@@ -0,0 +1,23 @@
+package com.msa.shop.order.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Cart(장바구니 헤더) DB 접근 계층. CartPersistence에서만 사용.
+ * - advanceVersion: 저장된 버전보다 클 때만 올림. 갱신한 행 잠금이 커밋까지 유지돼 같은 사용자 반영은 직렬화되고,
+ *   뒤이은 옛 스냅샷은 잠금 해제 후 조건이 거짓이 돼 0 반환.
+ * - insert: 헤더가 없을 때 첫 반영. 동시 첫 반영은 PK 충돌로 한쪽 실패 → 다음 주기에 advanceVersion으로 재시도.
+ */
+public interface CartRepository extends JpaRepository<Cart, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Cart c SET c.version = :version WHERE c.userId = :userId AND c.version < :version")
+    int advanceVersion(@Param("userId") Long userId, @Param("version") long version);
+
+    @Modifying
+    @Query(value = "INSERT INTO carts (user_id, version) VALUES (:userId, :version)", nativeQuery = true)
+    int insert(@Param("userId") Long userId, @Param("version") long version);
+}
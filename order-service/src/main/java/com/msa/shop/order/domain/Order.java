@@ -3,15 +3,21 @@ package com.msa.shop.order.domain;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 주문 엔티티. order-service DB(orders 테이블)와 1:1 매핑.
  * - userId: user-service 사용자 ID (다른 서비스 참조는 ID만 보관, DB FK 없음).
- * - productId: product-service 상품 ID.
- * - totalAmount: 주문 금액 (가격 × 수량). 결제 요청 시 payment-service에 전달.
+ * - lines: 주문 품목(OrderLine). 장바구니 checkout도 주문 1건 + 품목 N건 + 결제 1건.
+ * - productId, quantity: 목록 조회용 요약(첫 품목 상품 ID, 전체 수량). 품목 도입 전 단일 상품 주문은 이 값만 있음.
+ * - totalAmount: 주문 금액 (품목 금액 합). 결제 요청 시 payment-service에 전달.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_payment_id", columnList = "payment_id"),
+        @Index(name = "idx_orders_user_created_id", columnList = "user_id, created_at DESC, id DESC")
+})
 public class Order {
 
     @Id
@@ -34,16 +40,30 @@ public class Order {
     @Column(nullable = false)
     private OrderStatus status;
 
-    /** 결제 ID. 취소 시 payment-service /payments/{id}/cancel 호출에 사용. */
+    /** 결제 ID. 취소 시 payment-service /payments/{id}/cancel 호출에 사용. 장바구니 일괄 주문은 같은 결제 ID 공유. */
     @Column(name = "payment_id")
     private Long paymentId;
 
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<OrderLine> lines = new ArrayList<>();
+
     protected Order() {
     }
 
+    /** 품목 목록으로 주문 생성. 요약 컬럼(productId, quantity, totalAmount)은 품목에서 계산. */
+    public Order(Long userId, List<OrderLine> lines, OrderStatus status, Long paymentId) {
+        this.userId = userId;
+        this.status = status;
+        this.paymentId = paymentId;
+        this.createdAt = LocalDateTime.now();
+        applyLines(lines);
+    }
+
+    /** 품목 없는 단일 상품 주문(품목 도입 전 데이터·테스트용). */
     public Order(Long userId, Long productId, int quantity, int totalAmount, OrderStatus status, Long paymentId) {
         this.userId = userId;
         this.productId = productId;
@@ -59,10 +79,39 @@ public class Order {
         this(userId, productId, quantity, totalAmount, status, null);
     }
 
+    /** 비동기 접수 주문(PENDING). 금액은 홀드 시점 단가로 complete에서 채움. */
+    public static Order pending(Long userId, Long productId, int quantity) {
+        return new Order(userId, productId, quantity, 0, OrderStatus.PENDING, null);
+    }
+
+    /** PENDING → PAID. 품목·요약 컬럼을 홀드 단가 기준으로 채움. */
+    public void complete(List<OrderLine> lines, Long paymentId) {
+        if (status != OrderStatus.PENDING) {
+            throw new IllegalStateException("접수 대기 주문이 아닙니다. 상태: " + status);
+        }
+        this.status = OrderStatus.PAID;
+        this.paymentId = paymentId;
+        applyLines(lines);
+    }
+
     public void cancel() {
         this.status = OrderStatus.CANCELLED;
     }
 
+    private void applyLines(List<OrderLine> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("주문 품목이 없습니다.");
+        }
+        this.productId = lines.get(0).getProductId();
+        this.quantity = lines.stream().mapToInt(OrderLine::getQuantity).sum();
+        this.totalAmount = lines.stream().mapToInt(OrderLine::getLineAmount).sum();
+        this.lines.clear();
+        for (OrderLine line : lines) {
+            line.assignTo(this);
+            this.lines.add(line);
+        }
+    }
+
     public Long getId() {
         return id;
     }
@@ -94,4 +143,8 @@ public class Order {
     public Long getPaymentId() {
         return paymentId;
     }
+
+    public List<OrderLine> getLines() {
+        return lines;
+    }
 }
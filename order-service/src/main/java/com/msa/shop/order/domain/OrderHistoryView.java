@@ -0,0 +1,155 @@
+package com.msa.shop.order.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 이력 읽기 모델(CQRS 프로젝션). order_history_view 테이블, 주문 1건당 1행.
+ * - GET /orders/me가 이 테이블 하나만 인덱스 범위로 읽음(주문·품목 조인, product-service 조회 없음).
+ * - 주문 쓰기와 같은 트랜잭션에서 OrderHistoryProjection이 갱신. 전체 재구성은 orders 기준으로 청크 단위.
+ * - productId / productName / unitPrice: 첫 품목 요약. lines: 전체 품목 JSON(productId, productName, quantity, unitPrice).
+ * - productName·paymentMethod는 주문 당시 값(saga 기록). 프로젝션 도입 전 주문처럼 알 수 없으면 null.
+ */
+@Entity
+@Table(name = "order_history_view", indexes = {
+        @Index(name = "idx_order_history_user_created_id", columnList = "user_id, created_at DESC, order_id DESC")
+})
+public class OrderHistoryView implements Persistable<Long> {
+
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OrderStatus status;
+
+    @Column(length = 32)
+    private String paymentMethod;
+
+    @Column(nullable = false)
+    private int totalAmount;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(length = 255)
+    private String productName;
+
+    private Integer unitPrice;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private int itemCount;
+
+    @Column(columnDefinition = "TEXT")
+    private String lines;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected OrderHistoryView() {
+    }
+
+    public OrderHistoryView(Long orderId, Long userId, LocalDateTime createdAt) {
+        this.orderId = orderId;
+        this.userId = userId;
+        this.createdAt = createdAt;
+    }
+
+    /** 주문 현재 상태로 덮어쓰기. 새 행·기존 행 모두 사용. */
+    public void refresh(OrderStatus status, String paymentMethod, int totalAmount, Long productId, String productName,
+                        Integer unitPrice, int quantity, int itemCount, String lines) {
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+        this.totalAmount = totalAmount;
+        this.productId = productId;
+        this.productName = productName;
+        this.unitPrice = unitPrice;
+        this.quantity = quantity;
+        this.itemCount = itemCount;
+        this.lines = lines;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public int getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public Integer getUnitPrice() {
+        return unitPrice;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public String getLines() {
+        return lines;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.msa.shop.order.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 주문 이력 읽기 모델 접근 계층.
+ * - findPageByUserId / findPageByUserIdBefore: (createdAt, orderId) 내림차순 keyset 페이지.
+ *   idx_order_history_user_created_id 범위 스캔 1번으로 응답에 필요한 값이 모두 나옴.
+ * - updateStatus: 주문 상태 조건부 UPDATE(취소, PENDING → FAILED)와 같은 트랜잭션에서 상태만 일괄 반영.
+ */
+public interface OrderHistoryViewRepository extends JpaRepository<OrderHistoryView, Long> {
+
+    @Query("SELECT v FROM OrderHistoryView v WHERE v.userId = :userId ORDER BY v.createdAt DESC, v.orderId DESC")
+    List<OrderHistoryView> findPageByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT v FROM OrderHistoryView v WHERE v.userId = :userId "
+            + "AND (v.createdAt < :createdAt OR (v.createdAt = :createdAt AND v.orderId < :orderId)) "
+            + "ORDER BY v.createdAt DESC, v.orderId DESC")
+    List<OrderHistoryView> findPageByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("orderId") Long orderId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderHistoryView v SET v.status = :status, v.updatedAt = :now WHERE v.orderId IN :orderIds")
+    int updateStatus(@Param("orderIds") Collection<Long> orderIds, @Param("status") OrderStatus status,
+                     @Param("now") LocalDateTime now);
+}
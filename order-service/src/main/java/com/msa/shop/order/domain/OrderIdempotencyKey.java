@@ -0,0 +1,115 @@
+package com.msa.shop.order.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 API 멱등 기록. order_idempotency_keys 테이블.
+ * - (userId, Idempotency-Key)당 1행. PK는 "userId:key" → 동시 중복 요청은 PK 충돌로 한 건만 진행.
+ * - 응답 본문 대신 orderId만 보관(재생 시 주문을 다시 읽어 응답). requestHash(정규화한 요청 본문의 SHA-256 hex)로 같은 키의 다른 요청을 구분.
+ * - sagaId: 선점 시 정한 주문 saga ID. 처리 중 오류로 끝나도 saga가 진행 중(결제 후 복구 대기 등)이면 키를 유지하고
+ *   재요청은 saga 상태로 판단(SAVED면 그 주문 재생, 실패·보상 종료면 새 요청이 인수, 진행 중이면 409).
+ * - expiresAt: IN_PROGRESS는 in-flight-timeout(처리 중 장애 시 다른 요청이 인수), COMPLETED는 ttl. 지나면 스위퍼가 삭제.
+ * - 키를 직접 할당하므로 Persistable로 신규 여부를 알려 save 시 merge(SELECT 후 UPDATE) 대신 INSERT.
+ */
+@Entity
+@Table(name = "order_idempotency_keys", indexes = {
+        @Index(name = "idx_order_idempotency_keys_expires_at", columnList = "expires_at")
+})
+public class OrderIdempotencyKey implements Persistable<String> {
+
+    public static final int MAX_KEY_LENGTH = 64;
+
+    @Id
+    @Column(length = 96)
+    private String id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false, length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "saga_id", nullable = false, length = 36)
+    private String sagaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OrderIdempotencyStatus status;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected OrderIdempotencyKey() {
+    }
+
+    public OrderIdempotencyKey(Long userId, String idempotencyKey, String requestHash, String sagaId,
+                               LocalDateTime expiresAt) {
+        this.id = idOf(userId, idempotencyKey);
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.sagaId = sagaId;
+        this.status = OrderIdempotencyStatus.IN_PROGRESS;
+        this.expiresAt = expiresAt;
+    }
+
+    public static String idOf(Long userId, String idempotencyKey) {
+        return userId + ":" + idempotencyKey;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public String getSagaId() {
+        return sagaId;
+    }
+
+    public OrderIdempotencyStatus getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.msa.shop.order.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * OrderIdempotencyKey DB 접근 계층.
+ * - complete: 주문 생성 완료 기록(orderId, ttl 만료 시각).
+ * - takeOver: 이전 saga가 주문 없이 끝난(또는 시작 못 한) IN_PROGRESS 키를 새 요청이 새 saga ID로 인수.
+ *   expectedSagaId 조건이라 동시 인수는 한 요청만 성공(0이면 다른 요청이 먼저 인수).
+ * - completeSaved: 주문 저장 후 complete 기록이 실패해 IN_PROGRESS로 남은 키를 saga의 orderId로 완료(스위퍼).
+ * - deleteExpired: 만료 키를 limit건씩 삭제(긴 잠금·큰 undo 방지). 스위퍼가 0이 될 때까지 반복.
+ *   saga가 진행 중이거나 저장된 IN_PROGRESS 키는 남김(삭제하면 재요청이 새 saga로 다시 결제).
+ */
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, String> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderIdempotencyKey k SET k.status = com.msa.shop.order.domain.OrderIdempotencyStatus.COMPLETED, "
+            + "k.orderId = :orderId, k.expiresAt = :expiresAt WHERE k.id = :id")
+    int complete(@Param("id") String id, @Param("orderId") Long orderId, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderIdempotencyKey k SET k.requestHash = :requestHash, k.sagaId = :sagaId, k.expiresAt = :expiresAt "
+            + "WHERE k.id = :id AND k.sagaId = :expectedSagaId "
+            + "AND k.status = com.msa.shop.order.domain.OrderIdempotencyStatus.IN_PROGRESS")
+    int takeOver(@Param("id") String id, @Param("expectedSagaId") String expectedSagaId,
+                 @Param("requestHash") String requestHash, @Param("sagaId") String sagaId,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = "UPDATE order_idempotency_keys k JOIN order_sagas s ON s.id = k.saga_id "
+            + "SET k.status = 'COMPLETED', k.order_id = s.order_id, k.expires_at = :expiresAt "
+            + "WHERE k.status = 'IN_PROGRESS' AND k.expires_at < :now AND s.step = 'SAVED'", nativeQuery = true)
+    int completeSaved(@Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_idempotency_keys WHERE expires_at < :now AND (status = 'COMPLETED' "
+            + "OR NOT EXISTS (SELECT 1 FROM order_sagas s WHERE s.id = order_idempotency_keys.saga_id "
+            + "AND s.step IN ('STARTED', 'RESERVED', 'PAID', 'SAVED'))) LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,11 @@
+package com.msa.shop.order.domain;
+
+/**
+ * 주문 멱등 키 상태.
+ * - IN_PROGRESS: 첫 요청이 주문 생성 중. 같은 키 요청은 완료를 기다림.
+ * - COMPLETED: 주문 생성 완료. 같은 키 요청은 저장된 주문으로 응답 재생.
+ */
+public enum OrderIdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,70 @@
+package com.msa.shop.order.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * 주문 품목. order_lines 테이블, 주문(orders) 1 : N.
+ * - unitPrice: 재고 홀드 시점 product-service 단가. lineAmount = unitPrice × quantity.
+ * - id는 SEQUENCE(allocationSize 50): IDENTITY와 달리 INSERT 전에 ID를 알 수 있어 JDBC 배치 INSERT 가능.
+ */
+@Entity
+@Table(name = "order_lines", indexes = {
+        @Index(name = "idx_order_lines_order_id", columnList = "order_id")
+})
+public class OrderLine {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_line_seq")
+    @SequenceGenerator(name = "order_line_seq", sequenceName = "order_lines_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+
+    @Column(nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private int unitPrice;
+
+    @Column(nullable = false)
+    private int lineAmount;
+
+    protected OrderLine() {
+    }
+
+    public OrderLine(Long productId, int quantity, int unitPrice) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+        this.lineAmount = unitPrice * quantity;
+    }
+
+    void assignTo(Order order) {
+        this.order = order;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getUnitPrice() {
+        return unitPrice;
+    }
+
+    public int getLineAmount() {
+        return lineAmount;
+    }
+}
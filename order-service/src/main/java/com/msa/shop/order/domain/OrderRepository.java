@@ -1,15 +1,46 @@
 package com.msa.shop.order.domain;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Order 엔티티용 DB 접근 계층.
- * - findByUserIdOrderByCreatedAtDesc: "UserId" + "OrderBy" + "CreatedAt" + "Desc" → JPQL 자동 생성.
- *   사용자별 주문 목록, 최신순 정렬.
+ * - 내 주문 목록은 주문 이력 뷰(OrderHistoryViewRepository)에서 조회. 여기서는 쓰기·단건 조회·뷰 재구성용 조회만.
+ * - findIdsAfter: 뷰 재구성용 id keyset 청크. 컬렉션 fetch join + limit은 메모리 페이징이 되므로 품목은 findWithLinesByIdIn으로 따로 로딩.
+ * - 조회 API는 open-in-view=false라 트랜잭션 밖에서 응답을 만들므로 @EntityGraph로 품목(lines)을 함께 로딩.
+ * - findByPaymentId: 장바구니 일괄 주문은 결제 1건을 공유 → 취소 시 같은 결제의 주문을 함께 조회.
+ * - cancelPaid: 취소는 원격 호출(결제 취소·재고 복구)을 트랜잭션 밖에서 끝낸 뒤 상태만 짧게 변경. PAID인 주문만.
+ * - failPending: 비동기 접수 주문의 saga가 실패·보상으로 끝나면 PENDING → FAILED.
  */
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @Query("SELECT o.id FROM Order o WHERE o.id > :id ORDER BY o.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = "lines")
+    List<Order> findWithLinesByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "lines")
+    Optional<Order> findWithLinesById(Long id);
+
+    @EntityGraph(attributePaths = "lines")
+    List<Order> findByPaymentId(Long paymentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = com.msa.shop.order.domain.OrderStatus.CANCELLED "
+            + "WHERE o.id IN :ids AND o.status = com.msa.shop.order.domain.OrderStatus.PAID")
+    int cancelPaid(@Param("ids") List<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = com.msa.shop.order.domain.OrderStatus.FAILED "
+            + "WHERE o.id = :id AND o.status = com.msa.shop.order.domain.OrderStatus.PENDING")
+    int failPending(@Param("id") Long id);
 }
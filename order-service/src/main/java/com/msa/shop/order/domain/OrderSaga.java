@@ -0,0 +1,196 @@
+package com.msa.shop.order.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 주문 생성 saga 기록. order_sagas 테이블.
+ * - id(UUID)는 재고 홀드·결제 요청의 멱등 키로도 사용 → 재시도·복구에도 한 번만 차감·결제.
+ * - 원격 호출은 트랜잭션 밖에서, 단계 기록만 짧은 로컬 트랜잭션으로 → 결제 지연 중에도 DB 커넥션을 잡지 않음.
+ * - reservationId(단일 상품 홀드) 또는 holdGroupId(여러 품목 일괄 홀드) 중 하나. lines: 품목 JSON(productId, quantity, unitPrice, productName).
+ * - orderId: SAVED 후 저장된 주문. 비동기 접수 주문은 시작부터 PENDING 주문 ID를 가짐.
+ * - version: 복구 스케줄러와 요청 스레드가 같은 saga를 동시에 진행하지 않도록 낙관적 잠금.
+ */
+@Entity
+@Table(name = "order_sagas", indexes = {
+        @Index(name = "idx_order_sagas_step_updated", columnList = "step, updated_at"),
+        @Index(name = "idx_order_sagas_order_id", columnList = "order_id")
+})
+public class OrderSaga implements Persistable<String> {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Version
+    private long version;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 32)
+    private String paymentMethod;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OrderSagaStep step;
+
+    @Column(length = 64)
+    private String reservationId;
+
+    @Column(length = 64)
+    private String holdGroupId;
+
+    @Column(columnDefinition = "TEXT")
+    private String lines;
+
+    private int totalAmount;
+
+    private Long paymentId;
+
+    private Long orderId;
+
+    @Column(length = 255)
+    private String failureReason;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected OrderSaga() {
+    }
+
+    private OrderSaga(String id, Long userId, String paymentMethod) {
+        this.id = id;
+        this.userId = userId;
+        this.paymentMethod = paymentMethod;
+        this.step = OrderSagaStep.STARTED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public static OrderSaga start(Long userId, String paymentMethod) {
+        return start(UUID.randomUUID().toString(), userId, paymentMethod);
+    }
+
+    /** 미리 정한 ID로 시작. 주문 Idempotency-Key가 선점 시 saga ID를 함께 기록해 두고 넘겨줌. */
+    public static OrderSaga start(String id, Long userId, String paymentMethod) {
+        return new OrderSaga(id, userId, paymentMethod);
+    }
+
+    /** 비동기 접수 주문(PENDING)의 saga. 완료 시 새 주문 대신 orderId 주문을 PAID/FAILED로 전환. */
+    public static OrderSaga startFor(Long orderId, Long userId, String paymentMethod) {
+        OrderSaga saga = start(userId, paymentMethod);
+        saga.orderId = orderId;
+        return saga;
+    }
+
+    public void reserved(String reservationId, String holdGroupId, String lines, int totalAmount) {
+        this.reservationId = reservationId;
+        this.holdGroupId = holdGroupId;
+        this.lines = lines;
+        this.totalAmount = totalAmount;
+        moveTo(OrderSagaStep.RESERVED);
+    }
+
+    public void paid(Long paymentId) {
+        this.paymentId = paymentId;
+        moveTo(OrderSagaStep.PAID);
+    }
+
+    public void saved(Long orderId) {
+        this.orderId = orderId;
+        moveTo(OrderSagaStep.SAVED);
+    }
+
+    public void failed(String reason) {
+        this.failureReason = truncate(reason);
+        moveTo(OrderSagaStep.FAILED);
+    }
+
+    public void compensated(String reason) {
+        this.failureReason = truncate(reason);
+        moveTo(OrderSagaStep.COMPENSATED);
+    }
+
+    private void moveTo(OrderSagaStep step) {
+        this.step = step;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    private static String truncate(String reason) {
+        return reason != null && reason.length() > 255 ? reason.substring(0, 255) : reason;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public OrderSagaStep getStep() {
+        return step;
+    }
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public String getHoldGroupId() {
+        return holdGroupId;
+    }
+
+    public String getLines() {
+        return lines;
+    }
+
+    public int getTotalAmount() {
+        return totalAmount;
+    }
+
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,31 @@
+package com.msa.shop.order.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 주문 saga 저장소.
+ * - findStale: 진행 중 단계에서 updatedAt 이후 오래 멈춘 saga(장애·재시작으로 중단) 조회.
+ * - claim: version 조건부 UPDATE로 복구 담당을 선점. 0이면 다른 인스턴스·요청 스레드가 먼저 진행.
+ * - findByOrderIdIn: 주문 이력 뷰 재구성 시 주문 당시 상품명·결제수단 조회.
+ */
+public interface OrderSagaRepository extends JpaRepository<OrderSaga, String> {
+
+    @Query("SELECT s FROM OrderSaga s WHERE s.step IN :steps AND s.updatedAt < :before ORDER BY s.updatedAt")
+    List<OrderSaga> findStale(@Param("steps") Collection<OrderSagaStep> steps,
+                              @Param("before") LocalDateTime before,
+                              Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OrderSaga s SET s.updatedAt = :now, s.version = s.version + 1 WHERE s.id = :id AND s.version = :version")
+    int claim(@Param("id") String id, @Param("version") long version, @Param("now") LocalDateTime now);
+
+    List<OrderSaga> findByOrderIdIn(Collection<Long> orderIds);
+}
@@ -0,0 +1,20 @@
+package com.msa.shop.order.domain;
+
+import java.util.List;
+
+/**
+ * 주문 saga 단계. 원격 호출이 끝날 때마다 짧은 로컬 트랜잭션으로 기록.
+ * - STARTED: saga 생성(원격 호출 전). RESERVED: 재고 홀드 + 단가 확보. PAID: 결제 승인. SAVED: 주문 저장(완료).
+ * - FAILED: 홀드 거절·결제 거절(되돌릴 것 없음). COMPENSATED: 결제 취소·홀드 해제 등 보상 완료.
+ */
+public enum OrderSagaStep {
+    STARTED,
+    RESERVED,
+    PAID,
+    SAVED,
+    FAILED,
+    COMPENSATED;
+
+    /** 복구 대상(진행 중) 단계. */
+    public static final List<OrderSagaStep> IN_PROGRESS = List.of(STARTED, RESERVED, PAID);
+}
@@ -2,11 +2,13 @@ package com.msa.shop.order.domain;
 
 /**
  * 주문 상태.
+ * - PENDING: 비동기 접수(POST /orders/async). saga 진행 중, 완료 시 PAID 또는 FAILED.
  * - PAID: 결제 완료, 주문 저장됨.
  * - FAILED: 결제 실패·보상 등으로 주문 실패.
  * - CANCELLED: 사용자 취소 또는 환불 완료.
  */
 public enum OrderStatus {
+    PENDING,
     PAID,
     FAILED,
     CANCELLED
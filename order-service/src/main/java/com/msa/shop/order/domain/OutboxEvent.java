@@ -9,9 +9,13 @@ import java.time.LocalDateTime;
  * - 같은 DB 트랜잭션으로 비즈니스 데이터와 함께 쓸 수 없을 때(저장이 이미 실패),
  *   별도 TX로 이 테이블에만 기록 → 스케줄러가 읽어 결제 취소·재고 복구 등 보상 실행.
  * - eventType: ORDER_SAVE_FAILED 등. payload: JSON { paymentId, userId, productId, quantity }.
+ * - attempts / nextAttemptAt: 릴레이 재시도(지수 백오프). 처리 중에는 nextAttemptAt을 임대 만료 시각으로 밀어 다른 워커가 집지 않음.
+ * - max-attempts 도달 시 DEAD. lastError에 마지막 실패 원인.
  */
 @Entity
-@Table(name = "outbox_events")
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_status_next_attempt", columnList = "status, next_attempt_at")
+})
 public class OutboxEvent {
 
     @Id
@@ -33,6 +37,16 @@ public class OutboxEvent {
 
     private LocalDateTime processedAt;
 
+    @Column(nullable = false)
+    private int attempts;
+
+    /** 다음 처리 가능 시각. 릴레이 도입 전 행은 null(즉시 처리 대상). */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt = createdAt;
+
+    @Column(length = 500)
+    private String lastError;
+
     protected OutboxEvent() {
     }
 
@@ -63,9 +77,21 @@ public class OutboxEvent {
         this.processedAt = LocalDateTime.now();
     }
 
-    public void markFailed() {
-        this.status = OutboxStatus.FAILED;
-        this.processedAt = LocalDateTime.now();
+    /** 릴레이가 집은 이벤트를 leaseUntil까지 다른 워커가 다시 집지 않도록 임대. */
+    public void lease(LocalDateTime leaseUntil) {
+        this.nextAttemptAt = leaseUntil;
+    }
+
+    /** 처리 실패: attempts 증가 후 nextAttemptAt에 재시도, maxAttempts 도달 시 DEAD. */
+    public void retryLater(LocalDateTime nextAttemptAt, int maxAttempts, String error) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.DEAD;
+            this.processedAt = LocalDateTime.now();
+        } else {
+            this.nextAttemptAt = nextAttemptAt;
+        }
     }
 
     public LocalDateTime getCreatedAt() {
@@ -75,4 +101,16 @@ public class OutboxEvent {
     public LocalDateTime getProcessedAt() {
         return processedAt;
     }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
 }
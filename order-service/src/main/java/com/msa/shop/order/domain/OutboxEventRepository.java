@@ -1,14 +1,65 @@
 package com.msa.shop.order.domain;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Outbox 이벤트 조회·갱신.
- * - 스케줄러가 PENDING 이벤트를 조회해 보상 실행 후 PROCESSED/FAILED로 갱신.
+ * - findClaimable: 처리 가능한(PENDING, nextAttemptAt 경과) eventTypes 이벤트를 SELECT ... FOR UPDATE SKIP LOCKED로 조회.
+ *   보상 릴레이(OutboxProcessor)와 주문 이벤트 릴레이(OrderEventRelay)가 타입으로 나눠 가져감.
+ *   다른 워커·레플리카가 잠근 행은 건너뛰므로 여러 릴레이가 겹치지 않고 병렬로 가져감. 호출자 트랜잭션 필수.
+ *   (lock.timeout=-2는 Hibernate가 DB 방언의 SKIP LOCKED로 변환. 지원하지 않는 DB는 일반 FOR UPDATE)
+ * - countPendingByEventType / findOldestPendingCreatedAt: 백로그 메트릭(OutboxMetrics).
+ * - findStuck: createdBefore 이전에 쌓인 PENDING + DEAD 이벤트(actuator outbox 엔드포인트).
+ * - markProcessed: 브로커 확인(confirm)을 받은 배치를 UPDATE 1번으로 PROCESSED.
+ * - deleteProcessedBefore: 보존 기간 지난 PROCESSED 이벤트를 limit건씩 삭제(MySQL DELETE ... LIMIT).
  */
 public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
 
-    List<OutboxEvent> findTop20ByStatusOrderByCreatedAtAsc(OutboxStatus status);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = com.msa.shop.order.domain.OutboxStatus.PENDING "
+            + "AND e.eventType IN :eventTypes AND (e.nextAttemptAt <= :now OR e.nextAttemptAt IS NULL) ORDER BY e.id")
+    List<OutboxEvent> findClaimable(@Param("eventTypes") Collection<String> eventTypes, @Param("now") LocalDateTime now,
+                                    Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboxEvent e SET e.status = com.msa.shop.order.domain.OutboxStatus.PROCESSED, e.processedAt = :now "
+            + "WHERE e.id IN :ids AND e.status = com.msa.shop.order.domain.OutboxStatus.PENDING")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE status = 'PROCESSED' AND event_type IN (:eventTypes) "
+            + "AND processed_at < :before LIMIT :limit", nativeQuery = true)
+    int deleteProcessedBefore(@Param("eventTypes") Collection<String> eventTypes, @Param("before") LocalDateTime before,
+                              @Param("limit") int limit);
+
+    @Query("SELECT e.eventType AS eventType, COUNT(e) AS count FROM OutboxEvent e "
+            + "WHERE e.status = com.msa.shop.order.domain.OutboxStatus.PENDING GROUP BY e.eventType")
+    List<EventTypeCount> countPendingByEventType();
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.status = com.msa.shop.order.domain.OutboxStatus.PENDING")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Query("SELECT e FROM OutboxEvent e WHERE (e.status = com.msa.shop.order.domain.OutboxStatus.PENDING "
+            + "AND e.createdAt < :createdBefore) OR e.status = com.msa.shop.order.domain.OutboxStatus.DEAD ORDER BY e.id")
+    List<OutboxEvent> findStuck(@Param("createdBefore") LocalDateTime createdBefore, Pageable pageable);
+
+    /** 이벤트 타입별 건수 프로젝션. */
+    interface EventTypeCount {
+        String getEventType();
+
+        long getCount();
+    }
 }
@@ -4,10 +4,12 @@ package com.msa.shop.order.domain;
  * Outbox 이벤트 처리 상태.
  * - PENDING: 아직 보상 미실행.
  * - PROCESSED: 보상 완료(결제 취소·재고 복구 등).
- * - FAILED: 보상 시도 중 오류(재시도 가능하도록 남겨둘 수 있음).
+ * - FAILED: 이전 스케줄러가 1회 실패로 종료 처리한 이벤트(현재 릴레이는 쓰지 않음).
+ * - DEAD: 릴레이가 max-attempts만큼 재시도 후 포기. lastError 확인 후 수동 처리.
  */
 public enum OutboxStatus {
     PENDING,
     PROCESSED,
-    FAILED
+    FAILED,
+    DEAD
 }
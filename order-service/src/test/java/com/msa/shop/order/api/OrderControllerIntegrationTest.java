@@ -1,5 +1,6 @@
 package com.msa.shop.order.api;
 
+import com.msa.shop.order.application.OrderHistoryProjection;
 import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -18,14 +19,22 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * order-service 통합 테스트.
  * - Testcontainers MySQL 사용. product/payment 는 MockWebServer 로 스텁.
- * - POST /orders (X-User-Id), GET /orders/{id} 검증.
+ * - POST /orders (X-User-Id), GET /orders/{id}, POST /orders/async, Idempotency-Key 재생 검증.
+ * - GET /orders/me: 주문 이력 뷰 keyset 페이지, 재구성 후에도 같은 결과.
+ * - GET /cart: 상품 일괄 조회 1회로 상품명·단가·재고 상태를 붙여 응답.
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -62,12 +71,21 @@ class OrderControllerIntegrationTest {
         productServer.setDispatcher(new Dispatcher() {
             @Override
             public MockResponse dispatch(RecordedRequest request) {
+                // 일괄 조회: 상품 1만 있음(그 외 ID는 응답에서 빠짐 = 판매 중지)
+                if ("GET".equals(request.getMethod()) && request.getPath().startsWith("/products/batch")) {
+                    return new MockResponse().setBody("[{\"id\":1,\"name\":\"A\",\"price\":10000,\"stockQuantity\":10}]")
+                            .setHeader("Content-Type", "application/json");
+                }
                 if ("GET".equals(request.getMethod()) && request.getPath().startsWith("/products/")) {
                     return new MockResponse().setBody("{\"id\":1,\"name\":\"A\",\"price\":10000,\"stockQuantity\":10}")
                             .setHeader("Content-Type", "application/json");
                 }
-                if ("POST".equals(request.getMethod()) && "/internal/stocks/reserve".equals(request.getPath())) {
-                    return new MockResponse().setBody("{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8}")
+                if ("POST".equals(request.getMethod()) && "/internal/stocks/holds".equals(request.getPath())) {
+                    return new MockResponse().setBody("{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8,\"reservationId\":\"r-1\",\"productName\":\"A\",\"unitPrice\":10000}")
+                            .setHeader("Content-Type", "application/json");
+                }
+                if ("POST".equals(request.getMethod()) && "/internal/stocks/holds/r-1/confirm".equals(request.getPath())) {
+                    return new MockResponse().setBody("{\"success\":true,\"reason\":\"확정\",\"remainingStock\":8,\"reservationId\":\"r-1\"}")
                             .setHeader("Content-Type", "application/json");
                 }
                 if ("POST".equals(request.getMethod()) && "/internal/stocks/release".equals(request.getPath())) {
@@ -96,6 +114,9 @@ class OrderControllerIntegrationTest {
 
     final TestRestTemplate restTemplate = new TestRestTemplate();
 
+    @org.springframework.beans.factory.annotation.Autowired
+    OrderHistoryProjection orderHistoryProjection;
+
     int port;
 
     @org.springframework.beans.factory.annotation.Value("${local.server.port}")
@@ -136,4 +157,191 @@ class OrderControllerIntegrationTest {
         assertThat(getRes.getBody().get("userId")).isEqualTo(1);
         assertThat(getRes.getBody().get("totalAmount")).isEqualTo(20000);
     }
+
+    @Test
+    @org.junit.jupiter.api.Order(2)
+    @DisplayName("POST /orders/async → 202 PENDING + Location, 폴링하면 PAID")
+    void submitAsyncOrderThenPoll() throws InterruptedException {
+        String base = "http://localhost:" + port;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", "1");
+
+        ResponseEntity<Map<String, Object>> submitRes = restTemplate.exchange(
+                base + "/orders/async",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("productId", 1, "quantity", 2, "paymentMethod", "CARD"), headers),
+                new ParameterizedTypeReference<Map<String, Object>>() {}
+        );
+        assertThat(submitRes.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(submitRes.getBody()).isNotNull();
+        assertThat(submitRes.getBody().get("status")).isEqualTo("PENDING");
+        Object id = submitRes.getBody().get("id");
+        assertThat(submitRes.getHeaders().getLocation()).hasToString("/orders/" + id);
+
+        Map<String, Object> order = Map.of();
+        for (int i = 0; i < 50 && !"PAID".equals(order.get("status")); i++) {
+            Thread.sleep(100);
+            order = restTemplate.exchange(
+                    base + "/orders/" + id,
+                    HttpMethod.GET,
+                    new HttpEntity<>(headers),
+                    new ParameterizedTypeReference<Map<String, Object>>() {}
+            ).getBody();
+        }
+        assertThat(order.get("status")).isEqualTo("PAID");
+        assertThat(order.get("totalAmount")).isEqualTo(20000);
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(3)
+    @DisplayName("POST /orders/async 수량 0 → 400")
+    void submitAsyncOrderRejectsInvalidQuantity() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", "1");
+
+        ResponseEntity<Map<String, Object>> res = restTemplate.exchange(
+                "http://localhost:" + port + "/orders/async",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("productId", 1, "quantity", 0, "paymentMethod", "CARD"), headers),
+                new ParameterizedTypeReference<Map<String, Object>>() {}
+        );
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(4)
+    @DisplayName("Idempotency-Key 동시·순차 재요청 → 같은 주문 재생, 홀드·결제 1회")
+    void idempotencyKeyReplaysSameOrder() throws Exception {
+        String base = "http://localhost:" + port;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", "7");
+        headers.set("Idempotency-Key", "checkout-7-1");
+        HttpEntity<Map<String, Object>> request =
+                new HttpEntity<>(Map.of("productId", 1, "quantity", 2, "paymentMethod", "CARD"), headers);
+        int paymentsBefore = paymentServer.getRequestCount();
+
+        List<ResponseEntity<Map<String, Object>>> responses = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(5)) {
+            List<Future<ResponseEntity<Map<String, Object>>>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                futures.add(clients.submit(() -> restTemplate.exchange(base + "/orders", HttpMethod.POST, request,
+                        new ParameterizedTypeReference<Map<String, Object>>() {})));
+            }
+            for (Future<ResponseEntity<Map<String, Object>>> future : futures) {
+                responses.add(future.get(30, TimeUnit.SECONDS));
+            }
+        }
+        ResponseEntity<Map<String, Object>> replayed = restTemplate.exchange(base + "/orders", HttpMethod.POST, request,
+                new ParameterizedTypeReference<Map<String, Object>>() {});
+
+        assertThat(responses).allSatisfy(res -> assertThat(res.getStatusCode()).isEqualTo(HttpStatus.CREATED));
+        assertThat(responses).extracting(res -> res.getBody().get("id")).containsOnly(replayed.getBody().get("id"));
+        assertThat(replayed.getHeaders().getFirst("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(paymentServer.getRequestCount() - paymentsBefore).isEqualTo(1);
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(5)
+    @DisplayName("같은 Idempotency-Key를 다른 요청에 재사용 → 422")
+    void idempotencyKeyReusedForDifferentRequest() {
+        String base = "http://localhost:" + port;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", "8");
+        headers.set("Idempotency-Key", "checkout-8-1");
+
+        ResponseEntity<Map<String, Object>> first = restTemplate.exchange(base + "/orders", HttpMethod.POST,
+                new HttpEntity<>(Map.of("productId", 1, "quantity", 1, "paymentMethod", "CARD"), headers),
+                new ParameterizedTypeReference<Map<String, Object>>() {});
+        ResponseEntity<Map<String, Object>> reused = restTemplate.exchange(base + "/orders", HttpMethod.POST,
+                new HttpEntity<>(Map.of("productId", 1, "quantity", 3, "paymentMethod", "CARD"), headers),
+                new ParameterizedTypeReference<Map<String, Object>>() {});
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(6)
+    @DisplayName("GET /orders/me?limit=2 → X-Next-Cursor를 따라가면 5건을 최신순으로 중복 없이 3페이지에 받음(상품명·결제수단 포함)")
+    void myOrdersKeysetPagination() {
+        String base = "http://localhost:" + port;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", "9");
+        for (int i = 0; i < 5; i++) {
+            ResponseEntity<Map<String, Object>> created = restTemplate.exchange(base + "/orders", HttpMethod.POST,
+                    new HttpEntity<>(Map.of("productId", 1, "quantity", 1, "paymentMethod", "CARD"), headers),
+                    new ParameterizedTypeReference<Map<String, Object>>() {});
+            assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        }
+
+        List<Object> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String url = base + "/orders/me?limit=2" + (cursor != null ? "&cursor=" + cursor : "");
+            ResponseEntity<List<Map<String, Object>>> page = restTemplate.exchange(url, HttpMethod.GET,
+                    new HttpEntity<>(headers), new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+            assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+            page.getBody().forEach(order -> {
+                ids.add(order.get("id"));
+                assertThat(order.get("productName")).isEqualTo("A");
+                assertThat(order.get("paymentMethod")).isEqualTo("CARD");
+            });
+            cursor = page.getHeaders().getFirst("X-Next-Cursor");
+            pages++;
+        } while (cursor != null && pages < 10);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+        assertThat(ids).isSortedAccordingTo((a, b) -> Integer.compare((Integer) b, (Integer) a));
+
+        ResponseEntity<Map<String, Object>> badCursor = restTemplate.exchange(base + "/orders/me?cursor=%%%",
+                HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<Map<String, Object>>() {});
+        assertThat(badCursor.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        // 뷰 재구성: orders + saga에서 다시 채워도 같은 첫 페이지
+        assertThat(orderHistoryProjection.rebuild().orders()).isGreaterThanOrEqualTo(5);
+        ResponseEntity<List<Map<String, Object>>> rebuilt = restTemplate.exchange(base + "/orders/me?limit=5",
+                HttpMethod.GET, new HttpEntity<>(headers), new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+        assertThat(rebuilt.getBody()).extracting(order -> order.get("id")).containsExactlyElementsOf(ids);
+        assertThat(rebuilt.getBody()).allSatisfy(order -> assertThat(order.get("productName")).isEqualTo("A"));
+    }
+
+    @Test
+    @org.junit.jupiter.api.Order(7)
+    @DisplayName("GET /cart → 상품명·단가·품목 금액·재고 상태 포함, product-service 일괄 조회 1회")
+    void enrichedCart() throws InterruptedException {
+        String base = "http://localhost:" + port;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", "77");
+        for (Map<String, Object> item : List.<Map<String, Object>>of(
+                Map.of("productId", 1, "quantity", 3), Map.of("productId", 2, "quantity", 1))) {
+            ResponseEntity<Map<String, Object>> added = restTemplate.exchange(base + "/cart/items", HttpMethod.POST,
+                    new HttpEntity<>(item, headers), new ParameterizedTypeReference<Map<String, Object>>() {});
+            assertThat(added.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        }
+        while (productServer.takeRequest(10, TimeUnit.MILLISECONDS) != null) {
+            // 앞선 요청 기록 비우기
+        }
+
+        ResponseEntity<List<Map<String, Object>>> cart = restTemplate.exchange(base + "/cart", HttpMethod.GET,
+                new HttpEntity<>(headers), new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+
+        assertThat(cart.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cart.getBody()).hasSize(2);
+        assertThat(cart.getBody().get(0)).containsEntry("productId", 1).containsEntry("productName", "A")
+                .containsEntry("unitPrice", 10000).containsEntry("lineTotal", 30000)
+                .containsEntry("stockStatus", "IN_STOCK");
+        assertThat(cart.getBody().get(1)).containsEntry("productId", 2).containsEntry("stockStatus", "UNAVAILABLE");
+        RecordedRequest lookup = productServer.takeRequest(1, TimeUnit.SECONDS);
+        assertThat(java.net.URLDecoder.decode(lookup.getPath(), java.nio.charset.StandardCharsets.UTF_8))
+                .isEqualTo("/products/batch?ids=1,2");
+        assertThat(productServer.takeRequest(100, TimeUnit.MILLISECONDS)).isNull();
+    }
 }
@@ -0,0 +1,168 @@
+package com.msa.shop.order.api;
+
+import com.msa.shop.order.domain.OrderSagaRepository;
+import com.msa.shop.order.domain.OrderSagaStep;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 saga 커넥션 풀 통합 테스트.
+ * - Hikari 풀 POOL_SIZE개, payment-service 응답에 PAYMENT_DELAY_MS 지연 주입.
+ * - 풀보다 많은 주문을 동시에 보내도 결제 대기 구간에서 활성 커넥션이 풀 크기 미만으로 유지되고 모두 성공하는지 검증.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "app.outbox.enabled=false"
+})
+@Testcontainers
+class OrderSagaConnectionPoolIntegrationTest {
+
+    static final int POOL_SIZE = 4;
+    static final int CONCURRENT_ORDERS = 20;
+    static final long PAYMENT_DELAY_MS = 300;
+
+    static MockWebServer productServer = new MockWebServer();
+    static MockWebServer paymentServer = new MockWebServer();
+
+    static final AtomicInteger paymentsInFlight = new AtomicInteger();
+    static final AtomicInteger maxPaymentsInFlight = new AtomicInteger();
+    static final AtomicInteger maxActiveConnectionsDuringPayment = new AtomicInteger();
+    static volatile HikariPoolMXBean pool;
+
+    static {
+        productServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                if ("/internal/stocks/holds".equals(path)) {
+                    return json("{\"success\":true,\"reason\":\"성공\",\"remainingStock\":100,\"reservationId\":\"r-1\","
+                            + "\"productName\":\"A\",\"unitPrice\":10000}");
+                }
+                if (path != null && path.endsWith("/confirm")) {
+                    return json("{\"success\":true,\"reason\":\"확정\",\"remainingStock\":100,\"reservationId\":\"r-1\"}");
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        paymentServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxPaymentsInFlight.accumulateAndGet(paymentsInFlight.incrementAndGet(), Math::max);
+                try {
+                    // 결제 지연 구간 동안 활성 커넥션 수 샘플링
+                    long until = System.currentTimeMillis() + PAYMENT_DELAY_MS;
+                    while (System.currentTimeMillis() < until) {
+                        if (pool != null) {
+                            maxActiveConnectionsDuringPayment.accumulateAndGet(pool.getActiveConnections(), Math::max);
+                        }
+                        Thread.sleep(10);
+                    }
+                } finally {
+                    paymentsInFlight.decrementAndGet();
+                }
+                return json("{\"success\":true,\"paymentId\":1,\"reason\":\"APPROVED\"}");
+            }
+        });
+        try {
+            productServer.start();
+            paymentServer.start();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("orderdb");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("product-service.base-url", () -> "http://localhost:" + productServer.getPort());
+        registry.add("payment-service.base-url", () -> "http://localhost:" + paymentServer.getPort());
+    }
+
+    @AfterAll
+    static void shutdown() throws IOException {
+        productServer.shutdown();
+        paymentServer.shutdown();
+    }
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    OrderSagaRepository orderSagaRepository;
+
+    @Test
+    @DisplayName("결제 지연 중에도 커넥션을 잡지 않음: 풀보다 많은 주문이 동시에 결제 대기, 모두 201")
+    void poolStaysBoundedWhilePaymentIsSlow() throws Exception {
+        pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-User-Id", "1");
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(
+                Map.of("productId", 1, "quantity", 1, "paymentMethod", "CARD"), headers);
+
+        List<HttpStatus> statuses = new ArrayList<>();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_ORDERS)) {
+            List<Future<HttpStatus>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_ORDERS; i++) {
+                futures.add(clients.submit(() -> HttpStatus.valueOf(
+                        restTemplate.postForEntity("/orders", request, Map.class).getStatusCode().value())));
+            }
+            for (Future<HttpStatus> future : futures) {
+                statuses.add(future.get(30, TimeUnit.SECONDS));
+            }
+        }
+
+        assertThat(statuses).containsOnly(HttpStatus.CREATED);
+        assertThat(maxPaymentsInFlight.get()).isGreaterThan(POOL_SIZE);
+        assertThat(maxActiveConnectionsDuringPayment.get()).isLessThan(POOL_SIZE);
+        assertThat(orderSagaRepository.findAll())
+                .filteredOn(saga -> saga.getStep() == OrderSagaStep.SAVED)
+                .hasSize(CONCURRENT_ORDERS);
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+}
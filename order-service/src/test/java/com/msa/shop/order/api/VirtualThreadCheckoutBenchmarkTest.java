@@ -0,0 +1,167 @@
+package com.msa.shop.order.api;
+
+import com.msa.shop.order.OrderServiceApplication;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * checkout 동시성 벤치마크: 플랫폼 스레드(Tomcat 풀) vs 가상 스레드(spring.threads.virtual.enabled).
+ * - ./gradlew :order-service:benchmark 로 실행 (기본 test 제외, -Djdk.tracePinnedThreads=short로 pinning 출력).
+ * - product/payment-service는 MockWebServer, 호출마다 SERVICE_DELAY_MS 지연. DB는 기본 프로필 H2.
+ * - 같은 Tomcat 스레드 상한(TOMCAT_THREADS)에서 CLIENTS개 동시 POST /orders → 동시 진행(in-flight) 최대치와 p50/p99 출력.
+ */
+@Tag("benchmark")
+class VirtualThreadCheckoutBenchmarkTest {
+
+    private static final int TOMCAT_THREADS = 50;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final long SERVICE_DELAY_MS = 50;
+
+    MockWebServer productServer = new MockWebServer();
+    MockWebServer paymentServer = new MockWebServer();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        productServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                String path = request.getPath();
+                if ("/internal/stocks/holds".equals(path)) {
+                    // 홀드~확정 구간을 in-flight로 집계
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(SERVICE_DELAY_MS);
+                    return json("{\"success\":true,\"reason\":\"성공\",\"remainingStock\":1,\"reservationId\":\"r-1\","
+                            + "\"productName\":\"A\",\"unitPrice\":1000}");
+                }
+                if (path != null && path.endsWith("/confirm")) {
+                    Thread.sleep(SERVICE_DELAY_MS);
+                    inFlight.decrementAndGet();
+                    return json("{\"success\":true,\"reason\":\"확정\",\"remainingStock\":1,\"reservationId\":\"r-1\"}");
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        paymentServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                Thread.sleep(SERVICE_DELAY_MS);
+                return json("{\"success\":true,\"paymentId\":1,\"reason\":\"APPROVED\"}");
+            }
+        });
+        productServer.start();
+        paymentServer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        productServer.shutdown();
+        paymentServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시 checkout: 플랫폼 스레드 vs 가상 스레드 in-flight·p99")
+    void compareThreadModels() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("[benchmark] tomcat threads=%d clients=%d service delay=%dms%n",
+                TOMCAT_THREADS, CLIENTS, SERVICE_DELAY_MS);
+        System.out.printf("[benchmark] platform : in-flight max=%3d p50=%7.1fms p99=%7.1fms%n",
+                platform.maxInFlight(), platform.p50(), platform.p99());
+        System.out.printf("[benchmark] virtual  : in-flight max=%3d p50=%7.1fms p99=%7.1fms%n",
+                virtual.maxInFlight(), virtual.p50(), virtual.p99());
+
+        assertThat(platform.maxInFlight()).isLessThanOrEqualTo(TOMCAT_THREADS);
+        assertThat(virtual.maxInFlight()).isGreaterThan(TOMCAT_THREADS);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        inFlight.set(0);
+        maxInFlight.set(0);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderServiceApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + virtualThreads + ";MODE=MYSQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "management.tracing.enabled=false",
+                        "app.http-client.max-total=" + CLIENTS * 2,
+                        "app.http-client.max-per-route=" + CLIENTS,
+                        "product-service.base-url=" + productServer.url("/").toString().replaceAll("/$", ""),
+                        "payment-service.base-url=" + paymentServer.url("/").toString().replaceAll("/$", ""))
+                .run()) {
+            String url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/orders";
+            return load(url);
+        }
+    }
+
+    private Result load(String url) throws Exception {
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("X-User-Id", "1")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":1,\"quantity\":1,\"paymentMethod\":\"CARD\"}"))
+                .build();
+        long[] samples = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger index = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long startedAt = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        assertThat(response.statusCode()).isEqualTo(201);
+                        samples[index.getAndIncrement()] = System.nanoTime() - startedAt;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        }
+        Arrays.sort(samples);
+        return new Result(maxInFlight.get(), millis(samples, 0.50), millis(samples, 0.99));
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+
+    private record Result(int maxInFlight, double p50, double p99) {}
+}
@@ -0,0 +1,105 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderSaga;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncOrderServiceTest {
+
+    @Mock
+    OrderService orderService;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    CountDownLatch release = new CountDownLatch(1);
+    AsyncOrderService asyncOrderService;
+
+    @BeforeEach
+    void setUp() {
+        // 워커 1개, 대기열 1칸
+        asyncOrderService = new AsyncOrderService(orderService, meterRegistry, 1, 1, Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        asyncOrderService.shutdown();
+    }
+
+    @Test
+    @DisplayName("접수 즉시 PENDING 반환, 워커가 saga 진행 후 completed(paid) 집계")
+    void submitThenProcess() throws InterruptedException {
+        when(orderService.submitOrder(1L, 1L, 2, "CARD")).thenReturn(pending());
+        CountDownLatch processed = new CountDownLatch(1);
+        when(orderService.runOrderSaga(any(), eq(1L), eq(2))).thenAnswer(inv -> {
+            processed.countDown();
+            return null;
+        });
+
+        OrderService.PendingOrder result = asyncOrderService.submit(1L, 1L, 2, "CARD");
+
+        assertThat(result.order().getStatus().name()).isEqualTo("PENDING");
+        assertThat(processed.await(1, TimeUnit.SECONDS)).isTrue();
+        asyncOrderService.shutdown();
+        assertThat(meterRegistry.get("order.async.completed").tag("outcome", "paid").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.async.queue.time").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("워커·대기열이 모두 차면 접수한 주문을 닫고 OrderQueueFullException")
+    void rejectsWhenQueueFull() throws InterruptedException {
+        when(orderService.submitOrder(anyLong(), anyLong(), anyInt(), anyString())).thenReturn(pending());
+        CountDownLatch started = new CountDownLatch(1);
+        when(orderService.runOrderSaga(any(), anyLong(), anyInt())).thenAnswer(inv -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+
+        asyncOrderService.submit(1L, 1L, 1, "CARD");  // 워커 점유
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+        asyncOrderService.submit(1L, 1L, 1, "CARD");  // 대기열
+
+        assertThat(meterRegistry.get("order.async.queue.depth").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.async.workers.utilization").gauge().value()).isEqualTo(1.0);
+        assertThatThrownBy(() -> asyncOrderService.submit(1L, 1L, 1, "CARD"))
+                .isInstanceOf(OrderQueueFullException.class);
+        verify(orderService).abandonOrder(any(), eq("비동기 주문 대기열 초과"));
+        assertThat(meterRegistry.get("order.async.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("수량 0 이하면 주문을 기록하지 않고 IllegalArgumentException")
+    void rejectsInvalidQuantity() {
+        assertThatThrownBy(() -> asyncOrderService.submit(1L, 1L, 0, "CARD"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("quantity");
+        verify(orderService, never()).submitOrder(anyLong(), anyLong(), anyInt(), anyString());
+    }
+
+    private static OrderService.PendingOrder pending() {
+        return new OrderService.PendingOrder(Order.pending(1L, 1L, 2), OrderSaga.start(1L, "CARD"), 1L, 2);
+    }
+}
@@ -0,0 +1,134 @@
+package com.msa.shop.order.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 인메모리 장바구니 저장소 + write-behind 단위 테스트. cart_items 쪽(CartPersistence)은 mock.
+ */
+@ExtendWith(MockitoExtension.class)
+class CartWriteBehindTest {
+
+    @Mock
+    CartPersistence cartPersistence;
+
+    MutableClock clock = new MutableClock();
+    InMemoryCartStore store;
+    CartWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryCartStore(cartPersistence, Duration.ofHours(1), clock);
+        writeBehind = new CartWriteBehind(store, cartPersistence, 10);
+    }
+
+    @Test
+    @DisplayName("여러 번 바꿔도 DB 적재 1번, 반영은 flush 때 마지막 스냅샷 1번")
+    void coalescesWritesUntilFlush() {
+        when(cartPersistence.loadSnapshot(1L)).thenReturn(snapshot(0, Map.of(5L, 1)));
+
+        store.put(1L, 5L, 2);
+        store.put(1L, 6L, 1);
+        store.remove(1L, 5L);
+
+        assertThat(store.getCart(1L)).containsExactly(Map.entry(6L, 1));
+        verify(cartPersistence, times(1)).loadSnapshot(1L);
+        verify(cartPersistence, never()).save(any(), any());
+
+        assertThat(writeBehind.flush()).isEqualTo(1);
+        verify(cartPersistence).save(1L, snapshot(3, Map.of(6L, 1)));
+        assertThat(writeBehind.flush()).isZero();
+    }
+
+    @Test
+    @DisplayName("checkout 정리: 주문한 수량 그대로인 품목만 삭제, 주문 중 바뀐 품목은 유지")
+    void removeOrderedKeepsChangedLines() {
+        when(cartPersistence.loadSnapshot(1L)).thenReturn(snapshot(0, Map.of()));
+        store.put(1L, 5L, 2);
+        store.put(1L, 6L, 1);
+        Map<Long, Integer> snapshot = store.getCart(1L);
+
+        store.put(1L, 6L, 3);
+        store.removeOrdered(1L, snapshot);
+
+        assertThat(store.getCart(1L)).containsExactly(Map.entry(6L, 3));
+        assertThat(snapshot).containsEntry(5L, 2);
+    }
+
+    @Test
+    @DisplayName("반영 실패한 장바구니는 다음 주기에 다시 반영")
+    void failedFlushIsRetried() {
+        when(cartPersistence.loadSnapshot(1L)).thenReturn(snapshot(7, Map.of()));
+        store.put(1L, 5L, 2);
+        doThrow(new RuntimeException("DB down")).doNothing().when(cartPersistence).save(eq(1L), any());
+
+        assertThat(writeBehind.flush()).isZero();
+        assertThat(writeBehind.flush()).isEqualTo(1);
+        verify(cartPersistence, times(2)).save(1L, snapshot(8, Map.of(5L, 2)));
+    }
+
+    @Test
+    @DisplayName("ttl 동안 접근 없는 장바구니는 반영 후에만 메모리에서 제거, 다음 접근 시 DB에서 다시 적재")
+    void evictsIdleCartsAfterFlush() {
+        when(cartPersistence.loadSnapshot(1L)).thenReturn(snapshot(0, Map.of()), snapshot(1, Map.of(5L, 2)));
+        store.put(1L, 5L, 2);
+        clock.advance(Duration.ofHours(2));
+
+        assertThat(store.evictIdle()).isZero();
+        writeBehind.flush();
+        assertThat(store.evictIdle()).isEqualTo(1);
+        assertThat(store.peek(1L)).isEmpty();
+
+        assertThat(store.getCart(1L)).containsExactly(Map.entry(5L, 2));
+        verify(cartPersistence, times(2)).loadSnapshot(1L);
+    }
+
+    private static CartSnapshot snapshot(long version, Map<Long, Integer> items) {
+        return new CartSnapshot(version, new TreeMap<>(items));
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.OrderRepository;
+import com.msa.shop.order.domain.OrderSagaRepository;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 장바구니 checkout 지연 벤치마크: 품목별 createOrder 반복(before) vs 여러 품목 주문 createOrder(lines)(after).
+ * - ./gradlew :order-service:benchmark 로 실행 (기본 test 제외).
+ * - product/payment-service는 MockWebServer로 대체, 호출마다 SERVICE_DELAY_MS 지연(네트워크+처리 시간 가정).
+ * - 품목 수 1/5/20/50별 p50/p99 출력.
+ */
+@Tag("benchmark")
+class CheckoutLatencyBenchmarkTest {
+
+    private static final long SERVICE_DELAY_MS = 2;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    MockWebServer productServer = new MockWebServer();
+    MockWebServer paymentServer = new MockWebServer();
+    OrderService orderService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        productServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                if ("/internal/stocks/holds".equals(path)) {
+                    return json("{\"success\":true,\"reason\":\"성공\",\"remainingStock\":1,\"reservationId\":\"r-1\","
+                            + "\"productName\":\"A\",\"unitPrice\":1000}");
+                }
+                if ("/internal/stocks/reserve-batch".equals(path)) {
+                    return json(batchResponse(request.getBody().readUtf8()));
+                }
+                if (path != null && path.endsWith("/confirm")) {
+                    return json("{\"success\":true,\"reason\":\"확정\",\"groupId\":\"g-1\",\"lines\":[]}");
+                }
+                return new MockResponse().setResponseCode(404);
+            }
+        });
+        paymentServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return json("{\"success\":true,\"paymentId\":1,\"reason\":\"APPROVED\"}");
+            }
+        });
+        productServer.start();
+        paymentServer.start();
+
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        OrderSagaRepository orderSagaRepository = mock(OrderSagaRepository.class);
+        when(orderSagaRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        RestTemplate restTemplate = new RestTemplate();
+        orderService = new OrderService(orderRepository, orderSagaRepository,
+                new ProductClient(restTemplate, productServer.url("/").toString().replaceAll("/$", "")),
+                new PaymentClient(restTemplate, paymentServer.url("/").toString().replaceAll("/$", "")),
+                mock(OutboxService.class),
+                mock(OrderHistoryProjection.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        productServer.shutdown();
+        paymentServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("checkout p50/p99: 품목별 주문 vs 일괄 홀드")
+    void compareCheckoutLatency() {
+        System.out.printf("[benchmark] service delay=%dms iterations=%d%n", SERVICE_DELAY_MS, ITERATIONS);
+        for (int items : new int[]{1, 5, 20, 50}) {
+            List<ProductClient.StockLine> lines = IntStream.rangeClosed(1, items)
+                    .mapToObj(i -> new ProductClient.StockLine((long) i, 1))
+                    .toList();
+            long[] before = measure(() -> lines.forEach(line ->
+                    orderService.createOrder(1L, line.productId(), line.quantity(), "CARD")));
+            long[] after = measure(() -> orderService.createOrder(1L, lines, "CARD"));
+            System.out.printf("[benchmark] items=%2d before p50=%6.1fms p99=%6.1fms | after p50=%6.1fms p99=%6.1fms%n",
+                    items, millis(before, 0.50), millis(before, 0.99), millis(after, 0.50), millis(after, 0.99));
+        }
+    }
+
+    private long[] measure(Runnable checkout) {
+        for (int i = 0; i < WARMUP; i++) {
+            checkout.run();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long startedAt = System.nanoTime();
+            checkout.run();
+            samples[i] = System.nanoTime() - startedAt;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /** 요청 lines의 productId마다 홀드 결과를 만들어 응답. */
+    private static String batchResponse(String requestBody) {
+        List<String> lines = new ArrayList<>();
+        for (String part : requestBody.split("\"productId\":")) {
+            if (Character.isDigit(part.charAt(0))) {
+                String productId = part.substring(0, part.indexOf(','));
+                lines.add("{\"productId\":" + productId + ",\"quantity\":1,\"reservationId\":\"r-" + productId
+                        + "\",\"unitPrice\":1000}");
+            }
+        }
+        return "{\"success\":true,\"reason\":\"성공\",\"groupId\":\"g-1\",\"lines\":[" + String.join(",", lines) + "]}";
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(body)
+                .setHeadersDelay(SERVICE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+}
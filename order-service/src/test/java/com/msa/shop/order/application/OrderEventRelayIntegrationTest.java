@@ -0,0 +1,129 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.config.RabbitMQConfig;
+import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderRepository;
+import com.msa.shop.order.domain.OrderStatus;
+import com.msa.shop.order.domain.OutboxEvent;
+import com.msa.shop.order.domain.OutboxEventRepository;
+import com.msa.shop.order.domain.OutboxStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.RabbitMQContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 이벤트 릴레이 통합 테스트(MySQL + RabbitMQ).
+ * - 주문 행과 같은 트랜잭션으로 기록한 ORDER_CREATED / ORDER_CANCELLED가 order.events로 빠짐없이 발행되고
+ *   confirm 후 일괄 PROCESSED 되는지 검증.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.order-events.workers=2",
+        "app.outbox.order-events.batch-size=50",
+        "app.outbox.order-events.idle-interval=50ms"
+})
+@Testcontainers
+class OrderEventRelayIntegrationTest {
+
+    static final int ORDERS = 200;
+    static final String QUEUE = "order-events-test";
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("orderdb");
+
+    @Container
+    @ServiceConnection
+    static RabbitMQContainer rabbitmq = new RabbitMQContainer(DockerImageName.parse("rabbitmq:3-management"));
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Autowired
+    OutboxService outboxService;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    AmqpAdmin amqpAdmin;
+
+    @Test
+    @DisplayName("주문 200건 생성 + 100건 취소 → 이벤트 300건 발행, Outbox 행은 모두 PROCESSED")
+    void publishesEveryOrderEvent() throws InterruptedException {
+        Queue queue = new Queue(QUEUE, true);
+        amqpAdmin.declareQueue(queue);
+        amqpAdmin.declareBinding(BindingBuilder.bind(queue)
+                .to(new TopicExchange(RabbitMQConfig.EXCHANGE_ORDER_EVENTS)).with("order.#"));
+
+        for (int i = 1; i <= ORDERS; i++) {
+            long paymentId = i;
+            boolean cancel = i % 2 == 0;
+            transactionTemplate.executeWithoutResult(status -> {
+                Order order = orderRepository.save(new Order(1L, 1L, 1, 10_000, OrderStatus.PAID, paymentId));
+                outboxService.publishOrderCreated(order);
+                if (cancel) {
+                    order.cancel();
+                    outboxService.publishOrderCancelled(order);
+                }
+            });
+        }
+
+        int expected = ORDERS + ORDERS / 2;
+        Set<String> messageIds = new HashSet<>();
+        Map<String, Integer> byRoutingKey = new HashMap<>();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (messageIds.size() < expected && System.currentTimeMillis() < deadline) {
+            Message message = rabbitTemplate.receive(QUEUE, 1_000);
+            if (message == null) {
+                continue;
+            }
+            messageIds.add(message.getMessageProperties().getMessageId());
+            byRoutingKey.merge(message.getMessageProperties().getReceivedRoutingKey(), 1, Integer::sum);
+            assertThat(new String(message.getBody(), StandardCharsets.UTF_8)).contains("\"orderId\"");
+        }
+
+        assertThat(messageIds).hasSize(expected);
+        assertThat(byRoutingKey.get(RabbitMQConfig.ROUTING_KEY_ORDER_CREATED)).isGreaterThanOrEqualTo(ORDERS);
+        assertThat(byRoutingKey.get(RabbitMQConfig.ROUTING_KEY_ORDER_CANCELLED)).isGreaterThanOrEqualTo(ORDERS / 2);
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        while (events.stream().anyMatch(e -> e.getStatus() == OutboxStatus.PENDING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            events = outboxEventRepository.findAll();
+        }
+        assertThat(events).hasSize(expected)
+                .allSatisfy(e -> assertThat(e.getStatus()).isEqualTo(OutboxStatus.PROCESSED));
+    }
+}
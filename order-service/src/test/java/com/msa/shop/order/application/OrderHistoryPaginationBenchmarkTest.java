@@ -0,0 +1,149 @@
+package com.msa.shop.order.application;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내 주문 목록 페이지 벤치마크: 주문 이력 뷰 keyset(cursor) vs orders OFFSET.
+ * - ./gradlew :order-service:benchmark 로 실행 (기본 test 제외).
+ * - MySQL(Testcontainers)에 사용자 1명 주문 ORDERS건 + 다른 사용자 주문을 넣고 뷰를 재구성(소요 시간 출력)한 뒤,
+ *   깊이별로 limit=PAGE_SIZE 페이지 조회 p50 출력.
+ * - keyset은 idx_order_history_user_created_id 범위 스캔 1번이라 깊이와 무관, OFFSET은 앞선 행을 모두 읽어 깊이에 비례.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "app.outbox.enabled=false",
+        "app.outbox.order-events.enabled=false"
+})
+@Testcontainers
+class OrderHistoryPaginationBenchmarkTest {
+
+    private static final long USER_ID = 1L;
+    private static final int ORDERS = 100_000;
+    private static final int OTHER_USERS_ORDERS = 20_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+    private static final int[] DEPTHS = {0, 1_000, 10_000, 50_000, ORDERS - PAGE_SIZE};
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("orderdb");
+
+    @Autowired
+    OrderHistoryProjection orderHistoryProjection;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_history_view WHERE user_id = ?",
+                Integer.class, USER_ID);
+        if (existing != null && existing >= ORDERS) {
+            return;
+        }
+        LocalDateTime base = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < ORDERS + OTHER_USERS_ORDERS; i++) {
+            long userId = i < ORDERS ? USER_ID : 2 + i % 1000;
+            // 두 건씩 같은 createdAt → id 보조 정렬까지 검증
+            rows.add(new Object[]{userId, 1L, 1, 1000, "PAID", (long) i + 1, Timestamp.valueOf(base.minusSeconds(i / 2))});
+            if (rows.size() == 5_000) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        insert(rows);
+        jdbcTemplate.execute("ANALYZE TABLE orders");
+
+        OrderHistoryProjection.RebuildResult rebuilt = orderHistoryProjection.rebuild();
+        System.out.printf("[benchmark] rebuild orders=%d elapsed=%dms (%.0f orders/s)%n", rebuilt.orders(),
+                rebuilt.elapsedMillis(), rebuilt.orders() * 1000.0 / Math.max(rebuilt.elapsedMillis(), 1));
+        assertThat(rebuilt.orders()).isEqualTo(ORDERS + OTHER_USERS_ORDERS);
+        jdbcTemplate.execute("ANALYZE TABLE order_history_view");
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO orders (user_id, product_id, quantity, total_amount, status, payment_id, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    @DisplayName("주문 10만 건 사용자: keyset 페이지는 깊이와 무관하게 일정, OFFSET은 깊이에 비례")
+    void keysetPageCostIsIndependentOfDepth() {
+        String plan = explainKey("EXPLAIN SELECT * FROM order_history_view WHERE user_id = 1 AND (created_at < NOW() "
+                + "OR (created_at = NOW() AND order_id < 100)) ORDER BY created_at DESC, order_id DESC LIMIT 21");
+        System.out.printf("[benchmark] orders=%d page=%d keyset plan key=%s%n", ORDERS, PAGE_SIZE, plan);
+        assertThat(plan).isEqualTo("idx_order_history_user_created_id");
+
+        double firstKeyset = 0;
+        double deepestKeyset = 0;
+        for (int depth : DEPTHS) {
+            String cursor = cursorAt(depth);
+            double keyset = p50(() -> {
+                OrderHistoryProjection.HistoryPage page = orderHistoryProjection.getOrdersByUser(USER_ID, PAGE_SIZE, cursor);
+                assertThat(page.orders()).hasSize(PAGE_SIZE);
+            });
+            double offset = p50(() -> jdbcTemplate.queryForList("SELECT * FROM orders WHERE user_id = ? "
+                    + "ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?", USER_ID, PAGE_SIZE, depth));
+            System.out.printf("[benchmark] depth=%6d keyset p50=%6.2fms | offset p50=%7.2fms%n", depth, keyset, offset);
+            if (depth == 0) {
+                firstKeyset = keyset;
+            }
+            deepestKeyset = keyset;
+        }
+        // 깊이 10만에서도 첫 페이지와 같은 수준(측정 잡음 여유 포함)
+        assertThat(deepestKeyset).isLessThan(firstKeyset * 3 + 5);
+    }
+
+    /** depth번째 행 직전까지 읽었다고 가정한 커서. depth=0이면 첫 페이지(null). */
+    private String cursorAt(int depth) {
+        if (depth == 0) {
+            return null;
+        }
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT created_at, order_id FROM order_history_view "
+                + "WHERE user_id = ? ORDER BY created_at DESC, order_id DESC LIMIT 1 OFFSET ?", USER_ID, depth - 1);
+        LocalDateTime createdAt = ((Timestamp) row.get("created_at")).toLocalDateTime();
+        return new OrderCursor(createdAt, ((Number) row.get("order_id")).longValue()).encode();
+    }
+
+    private String explainKey(String sql) {
+        return String.valueOf(jdbcTemplate.queryForList(sql).get(0).get("key"));
+    }
+
+    private static double p50(Runnable action) {
+        for (int i = 0; i < WARMUP; i++) {
+            action.run();
+        }
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
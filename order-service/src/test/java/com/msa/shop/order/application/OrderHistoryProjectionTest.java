@@ -0,0 +1,135 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderHistoryView;
+import com.msa.shop.order.domain.OrderHistoryViewRepository;
+import com.msa.shop.order.domain.OrderLine;
+import com.msa.shop.order.domain.OrderRepository;
+import com.msa.shop.order.domain.OrderSagaRepository;
+import com.msa.shop.order.domain.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderHistoryProjectionTest {
+
+    @Mock
+    OrderHistoryViewRepository orderHistoryViewRepository;
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    OrderSagaRepository orderSagaRepository;
+
+    OrderHistoryProjection projection;
+
+    @BeforeEach
+    void setUp() {
+        projection = new OrderHistoryProjection(orderHistoryViewRepository, orderRepository, orderSagaRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 1000);
+    }
+
+    @Nested
+    @DisplayName("project")
+    class Project {
+
+        @Test
+        @DisplayName("품목·상품명·결제수단을 뷰 한 행으로 저장(첫 품목이 요약)")
+        void storesDenormalizedRow() {
+            Order order = new Order(1L, List.of(new OrderLine(5L, 2, 1_000), new OrderLine(6L, 1, 3_000)),
+                    OrderStatus.PAID, 100L);
+            when(orderHistoryViewRepository.findById(order.getId())).thenReturn(Optional.empty());
+
+            projection.project(order, "CARD", Map.of(5L, "키보드", 6L, "마우스"));
+
+            ArgumentCaptor<OrderHistoryView> saved = ArgumentCaptor.forClass(OrderHistoryView.class);
+            verify(orderHistoryViewRepository).save(saved.capture());
+            OrderHistoryView view = saved.getValue();
+            assertThat(view.getStatus()).isEqualTo(OrderStatus.PAID);
+            assertThat(view.getPaymentMethod()).isEqualTo("CARD");
+            assertThat(view.getProductName()).isEqualTo("키보드");
+            assertThat(view.getUnitPrice()).isEqualTo(1_000);
+            assertThat(view.getTotalAmount()).isEqualTo(5_000);
+            assertThat(view.getItemCount()).isEqualTo(2);
+            assertThat(view.getLines()).contains("\"productName\":\"마우스\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("getOrdersByUser")
+    class GetOrdersByUser {
+
+        @Test
+        @DisplayName("userId 기준 첫 페이지 반환, 다음 페이지 없으면 nextCursor 없음")
+        void success() {
+            OrderHistoryView view = view(10L, LocalDateTime.now());
+            when(orderHistoryViewRepository.findPageByUserId(1L, PageRequest.of(0, 21))).thenReturn(List.of(view));
+
+            var result = projection.getOrdersByUser(1L, 20, null);
+
+            assertThat(result.orders()).hasSize(1);
+            assertThat(result.orders().get(0).userId()).isEqualTo(1L);
+            assertThat(result.orders().get(0).productName()).isEqualTo("A");
+            assertThat(result.orders().get(0).lines()).singleElement()
+                    .satisfies(line -> assertThat(line.productName()).isEqualTo("A"));
+            assertThat(result.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("limit보다 많으면 limit건만 반환하고 마지막 행의 (createdAt, orderId)로 커서 발급 → 다음 요청은 커서 이전 행 조회")
+        void nextCursorFollowsLastRow() {
+            LocalDateTime createdAt = LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6000);
+            OrderHistoryView first = view(10L, createdAt);
+            OrderHistoryView extra = view(9L, createdAt);
+            when(orderHistoryViewRepository.findPageByUserId(1L, PageRequest.of(0, 2))).thenReturn(List.of(first, extra));
+
+            var page = projection.getOrdersByUser(1L, 1, null);
+
+            assertThat(page.orders()).extracting(OrderHistoryProjection.OrderHistory::id).containsExactly(10L);
+            assertThat(page.nextCursor()).isNotNull();
+
+            projection.getOrdersByUser(1L, 1, page.nextCursor());
+
+            verify(orderHistoryViewRepository).findPageByUserIdBefore(1L, createdAt, 10L, PageRequest.of(0, 2));
+        }
+
+        @Test
+        @DisplayName("잘못된 cursor·limit는 IllegalArgumentException")
+        void invalidCursorOrLimit() {
+            assertThatThrownBy(() -> projection.getOrdersByUser(1L, 20, "not-a-cursor"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> projection.getOrdersByUser(1L, 0, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> projection.getOrdersByUser(1L, OrderHistoryProjection.MAX_PAGE_SIZE + 1, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static OrderHistoryView view(Long orderId, LocalDateTime createdAt) {
+        OrderHistoryView view = new OrderHistoryView(orderId, 1L, createdAt);
+        view.refresh(OrderStatus.PAID, "CARD", 2_000, 1L, "A", 1_000, 2, 1,
+                "[{\"productId\":1,\"productName\":\"A\",\"quantity\":2,\"unitPrice\":1000}]");
+        return view;
+    }
+}
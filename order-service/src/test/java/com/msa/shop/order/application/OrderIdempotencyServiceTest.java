@@ -0,0 +1,211 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderIdempotencyKey;
+import com.msa.shop.order.domain.OrderIdempotencyKeyRepository;
+import com.msa.shop.order.domain.OrderIdempotencyStatus;
+import com.msa.shop.order.domain.OrderRepository;
+import com.msa.shop.order.domain.OrderSaga;
+import com.msa.shop.order.domain.OrderSagaRepository;
+import com.msa.shop.order.domain.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIdempotencyServiceTest {
+
+    static final String HASH = OrderIdempotencyService.requestHash("orders", 1L, 32, "CARD");
+
+    @Mock
+    OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+    @Mock
+    OrderRepository orderRepository;
+
+    @Mock
+    OrderSagaRepository orderSagaRepository;
+
+    OrderIdempotencyService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OrderIdempotencyService(orderIdempotencyKeyRepository, orderRepository, orderSagaRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                Duration.ofHours(24), Duration.ofMinutes(1), Duration.ofMillis(300), Duration.ofMillis(10), 1000);
+    }
+
+    @Test
+    @DisplayName("첫 요청은 키 선점 후 실행, 완료 기록")
+    void firstRequestRunsAndCompletes() {
+        Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID, 5L);
+
+        OrderIdempotencyService.IdempotentOrder result = service.execute(1L, "k-1", HASH, sagaId -> order);
+
+        assertThat(result.order()).isSameAs(order);
+        assertThat(result.replayed()).isFalse();
+        verify(orderIdempotencyKeyRepository).saveAndFlush(any(OrderIdempotencyKey.class));
+        verify(orderIdempotencyKeyRepository).complete(eq("1:k-1"), any(), any());
+    }
+
+    @Test
+    @DisplayName("완료된 키는 action 없이 저장된 주문 재생")
+    void completedKeyReplays() {
+        Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID, 5L);
+        OrderIdempotencyKey record = mock(OrderIdempotencyKey.class);
+        when(record.getRequestHash()).thenReturn(HASH);
+        when(record.getStatus()).thenReturn(OrderIdempotencyStatus.COMPLETED);
+        when(record.getOrderId()).thenReturn(10L);
+        when(orderIdempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("dup"));
+        when(orderIdempotencyKeyRepository.findById("1:k-1")).thenReturn(Optional.of(record));
+        when(orderRepository.findWithLinesById(10L)).thenReturn(Optional.of(order));
+
+        OrderIdempotencyService.IdempotentOrder result = service.execute(1L, "k-1", HASH, sagaId -> {
+            throw new AssertionError("재생 시 실행되면 안 됨");
+        });
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.order()).isSameAs(order);
+    }
+
+    @Test
+    @DisplayName("같은 키에 다른 요청 → IdempotencyKeyMismatchException")
+    void differentRequestRejected() {
+        OrderIdempotencyKey record = mock(OrderIdempotencyKey.class);
+        when(record.getRequestHash()).thenReturn(OrderIdempotencyService.requestHash("orders", 2L, 1, "CARD"));
+        when(orderIdempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("dup"));
+        when(orderIdempotencyKeyRepository.findById("1:k-1")).thenReturn(Optional.of(record));
+
+        assertThatThrownBy(() -> service.execute(1L, "k-1", HASH, sagaId -> null))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    @DisplayName("키의 saga가 진행 중(결제 후 복구 대기 등)이면 인수하지 않고 wait-timeout 후 IdempotencyKeyInProgressException")
+    void inFlightKeyTimesOut() {
+        OrderSaga saga = OrderSaga.start("saga-1", 1L, "CARD");
+        saga.paid(5L);
+        OrderIdempotencyKey record = inProgress("saga-1", LocalDateTime.now().minusMinutes(5));
+        when(orderIdempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("dup"));
+        when(orderIdempotencyKeyRepository.findById("1:k-1")).thenReturn(Optional.of(record));
+        when(orderSagaRepository.findById("saga-1")).thenReturn(Optional.of(saga));
+
+        assertThatThrownBy(() -> service.execute(1L, "k-1", HASH, sagaId -> {
+            throw new AssertionError("진행 중 saga의 키로 다시 실행되면 안 됨");
+        })).isInstanceOf(IdempotencyKeyInProgressException.class);
+        verify(orderIdempotencyKeyRepository, never()).takeOver(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("키가 IN_PROGRESS로 남았어도 saga가 SAVED면 완료 기록 후 그 주문 재생")
+    void savedSagaReplaysOrder() {
+        Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID, 5L);
+        OrderSaga saga = OrderSaga.start("saga-1", 1L, "CARD");
+        saga.saved(10L);
+        OrderIdempotencyKey record = inProgress("saga-1", LocalDateTime.now().minusMinutes(5));
+        when(orderIdempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("dup"));
+        when(orderIdempotencyKeyRepository.findById("1:k-1")).thenReturn(Optional.of(record));
+        when(orderSagaRepository.findById("saga-1")).thenReturn(Optional.of(saga));
+        when(orderRepository.findWithLinesById(10L)).thenReturn(Optional.of(order));
+
+        OrderIdempotencyService.IdempotentOrder result = service.execute(1L, "k-1", HASH, sagaId -> {
+            throw new AssertionError("재생 시 실행되면 안 됨");
+        });
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.order()).isSameAs(order);
+        verify(orderIdempotencyKeyRepository).complete(eq("1:k-1"), eq(10L), any());
+    }
+
+    @Test
+    @DisplayName("키의 saga가 보상 종료면 새 saga ID로 인수해 다시 실행")
+    void compensatedSagaIsTakenOver() {
+        Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID, 5L);
+        OrderSaga saga = OrderSaga.start("saga-1", 1L, "CARD");
+        saga.compensated("결제 취소");
+        OrderIdempotencyKey record = inProgress("saga-1", LocalDateTime.now().plusMinutes(1));
+        when(orderIdempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("dup"));
+        when(orderIdempotencyKeyRepository.findById("1:k-1")).thenReturn(Optional.of(record));
+        when(orderSagaRepository.findById("saga-1")).thenReturn(Optional.of(saga));
+        when(orderIdempotencyKeyRepository.takeOver(eq("1:k-1"), eq("saga-1"), eq(HASH), any(), any())).thenReturn(1);
+
+        OrderIdempotencyService.IdempotentOrder result = service.execute(1L, "k-1", HASH, sagaId -> {
+            assertThat(sagaId).isNotEqualTo("saga-1");
+            return order;
+        });
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.order()).isSameAs(order);
+    }
+
+    @Test
+    @DisplayName("주문 생성 실패 시 키 해제 → 같은 키 재시도 가능")
+    void failureReleasesKey() {
+        assertThatThrownBy(() -> service.execute(1L, "k-1", HASH, sagaId -> {
+            throw new PaymentFailedException("결제 실패");
+        })).isInstanceOf(PaymentFailedException.class);
+
+        verify(orderIdempotencyKeyRepository).deleteById("1:k-1");
+        verify(orderIdempotencyKeyRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("saga가 미종료(결제 후 보상 실패로 PAID)인 채 실패하면 키 유지 → 재시도가 다시 결제하지 않음")
+    void unfinishedSagaKeepsKey() {
+        OrderSaga saga = OrderSaga.start("saga-1", 1L, "CARD");
+        saga.paid(5L);
+        when(orderSagaRepository.findById(any())).thenReturn(Optional.of(saga));
+
+        assertThatThrownBy(() -> service.execute(1L, "k-1", HASH, sagaId -> {
+            throw new IllegalStateException("홀드 확정 호출 실패");
+        })).isInstanceOf(IllegalStateException.class);
+
+        verify(orderIdempotencyKeyRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("스위퍼는 배치가 가득 찬 동안 반복 삭제")
+    void purgeExpiredDeletesInBatches() {
+        when(orderIdempotencyKeyRepository.deleteExpired(any(), eq(1000))).thenReturn(1000, 3);
+
+        service.purgeExpired();
+
+        verify(orderIdempotencyKeyRepository).completeSaved(any(), any());
+        verify(orderIdempotencyKeyRepository, times(2)).deleteExpired(any(), eq(1000));
+    }
+
+    private static OrderIdempotencyKey inProgress(String sagaId, LocalDateTime expiresAt) {
+        return new OrderIdempotencyKey(1L, "k-1", HASH, sagaId, expiresAt);
+    }
+
+    @Test
+    @DisplayName("요청 지문: 같은 본문은 같은 SHA-256, 32비트 해시가 충돌하던 본문·구분자·null도 구분")
+    void requestHashDistinguishesBodies() {
+        assertThat(HASH).hasSize(64).isEqualTo(OrderIdempotencyService.requestHash("orders", 1L, 32, "CARD"));
+        assertThat(HASH).isNotEqualTo(OrderIdempotencyService.requestHash("orders", 2L, 1, "CARD"));
+        assertThat(OrderIdempotencyService.requestHash("a;b", "c"))
+                .isNotEqualTo(OrderIdempotencyService.requestHash("a", "b;c"));
+        assertThat(OrderIdempotencyService.requestHash("from-cart", null))
+                .isNotEqualTo(OrderIdempotencyService.requestHash("from-cart", "null"));
+    }
+}
@@ -1,7 +1,11 @@
 package com.msa.shop.order.application;
 
 import com.msa.shop.order.domain.Order;
+import com.msa.shop.order.domain.OrderLine;
 import com.msa.shop.order.domain.OrderRepository;
+import com.msa.shop.order.domain.OrderSaga;
+import com.msa.shop.order.domain.OrderSagaRepository;
+import com.msa.shop.order.domain.OrderSagaStep;
 import com.msa.shop.order.domain.OrderStatus;
 import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
@@ -16,18 +20,28 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
@@ -44,15 +58,25 @@ class OrderServiceTest {
     @Mock
     OrderRepository orderRepository;
 
+    @Mock
+    OrderSagaRepository orderSagaRepository;
+
     @Mock
     OutboxService outboxService;
 
+    @Mock
+    OrderHistoryProjection orderHistoryProjection;
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     OrderService orderService;
 
     @BeforeEach
     void setUp() {
         server = MockRestServiceServer.bindTo(restTemplate).build();
-        orderService = new OrderService(orderRepository, restTemplate, outboxService, PRODUCT_BASE, PAYMENT_BASE);
+        lenient().when(orderSagaRepository.save(any(OrderSaga.class))).thenAnswer(inv -> inv.getArgument(0));
+        orderService = new OrderService(orderRepository, orderSagaRepository, new ProductClient(restTemplate, PRODUCT_BASE),
+                new PaymentClient(restTemplate, PAYMENT_BASE), outboxService, orderHistoryProjection, transactionTemplate);
     }
 
     @Nested
@@ -60,23 +84,23 @@ class OrderServiceTest {
     class CreateOrder {
 
         @Test
-        @DisplayName("전체 성공 시 PAID 주문 저장")
+        @DisplayName("전체 성공 시 PAID 주문 저장 + ORDER_CREATED 이벤트 + 홀드 응답 상품명으로 주문 이력 뷰 반영")
         void success() {
-            server.expect(requestTo(PRODUCT_BASE + "/products/1"))
-                    .andExpect(method(HttpMethod.GET))
-                    .andRespond(withSuccess(
-                            "{\"id\":1,\"name\":\"A\",\"price\":10000,\"stockQuantity\":10}",
-                            MediaType.APPLICATION_JSON));
-            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/reserve"))
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds"))
                     .andExpect(method(HttpMethod.POST))
                     .andRespond(withSuccess(
-                            "{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8}",
+                            "{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8,\"reservationId\":\"r-1\",\"productName\":\"A\",\"unitPrice\":10000}",
                             MediaType.APPLICATION_JSON));
             server.expect(requestTo(PAYMENT_BASE + "/payments"))
                     .andExpect(method(HttpMethod.POST))
                     .andRespond(withSuccess(
                             "{\"success\":true,\"paymentId\":1,\"reason\":\"APPROVED\"}",
                             MediaType.APPLICATION_JSON));
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds/r-1/confirm"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"확정\",\"remainingStock\":8,\"reservationId\":\"r-1\"}",
+                            MediaType.APPLICATION_JSON));
 
             when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
 
@@ -87,21 +111,19 @@ class OrderServiceTest {
             assertThat(result.getQuantity()).isEqualTo(2);
             assertThat(result.getTotalAmount()).isEqualTo(20_000);
             assertThat(result.getStatus()).isEqualTo(OrderStatus.PAID);
+            verify(orderSagaRepository).save(argThat(saga -> saga.getStep() == OrderSagaStep.SAVED));
+            verify(outboxService).publishOrderCreated(result);
+            verify(orderHistoryProjection).project(result, "CARD", Map.of(1L, "A"));
             server.verify();
         }
 
         @Test
-        @DisplayName("재고 예약 실패 시 IllegalStateException")
+        @DisplayName("재고 홀드 실패 시 InsufficientStockException")
         void reserveFails() {
-            server.expect(requestTo(PRODUCT_BASE + "/products/1"))
-                    .andExpect(method(HttpMethod.GET))
-                    .andRespond(withSuccess(
-                            "{\"id\":1,\"name\":\"A\",\"price\":10000,\"stockQuantity\":10}",
-                            MediaType.APPLICATION_JSON));
-            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/reserve"))
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds"))
                     .andExpect(method(HttpMethod.POST))
                     .andRespond(withSuccess(
-                            "{\"success\":false,\"reason\":\"재고 부족\",\"remainingStock\":0}",
+                            "{\"success\":false,\"reason\":\"재고 부족\",\"remainingStock\":0,\"productName\":\"A\",\"unitPrice\":10000}",
                             MediaType.APPLICATION_JSON));
 
             assertThatThrownBy(() -> orderService.createOrder(1L, 1L, 100, "CARD"))
@@ -111,7 +133,7 @@ class OrderServiceTest {
         }
 
         @Test
-        @DisplayName("결제 실패 시 PaymentFailedException 및 재고 복구 호출")
+        @DisplayName("결제 실패 시 PaymentFailedException, 재고 복구 호출 없이 홀드 방치")
         void paymentFails() throws IOException {
             // MockRestServiceServer 대신 MockWebServer 사용: 경로별 스텁, 순서/매칭 이슈 제거
             MockWebServer productServer = new MockWebServer();
@@ -125,11 +147,14 @@ class OrderServiceTest {
                 String productBase = productServer.url("/").toString().replaceAll("/$", "");
                 String paymentBase = paymentServer.url("/").toString().replaceAll("/$", "");
                 RestTemplate rt = new RestTemplate();
-                OrderService svc = new OrderService(orderRepository, rt, outboxService, productBase, paymentBase);
+                OrderService svc = new OrderService(orderRepository, orderSagaRepository, new ProductClient(rt, productBase),
+                        new PaymentClient(rt, paymentBase), outboxService, orderHistoryProjection, transactionTemplate);
 
                 assertThatThrownBy(() -> svc.createOrder(1L, 1L, 2, "CARD"))
                         .isInstanceOf(PaymentFailedException.class)
                         .hasMessageContaining("결제 실패");
+                // 홀드 생성 1건뿐. 상품 조회·release·confirm 호출 없음
+                assertThat(productServer.getRequestCount()).isEqualTo(1);
             } finally {
                 productServer.shutdown();
                 paymentServer.shutdown();
@@ -137,23 +162,51 @@ class OrderServiceTest {
         }
 
         @Test
-        @DisplayName("결제 성공 후 주문 저장 실패 시 Outbox에 보상 이벤트 발행")
-        void orderSaveFailsThenOutboxPublished() {
-            server.expect(requestTo(PRODUCT_BASE + "/products/1"))
-                    .andExpect(method(HttpMethod.GET))
+        @DisplayName("결제 중 홀드가 만료되면 결제 취소 후 InsufficientStockException")
+        void holdExpiredBeforeConfirm() {
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8,\"reservationId\":\"r-1\",\"productName\":\"A\",\"unitPrice\":10000}",
+                            MediaType.APPLICATION_JSON));
+            server.expect(requestTo(PAYMENT_BASE + "/payments"))
+                    .andExpect(method(HttpMethod.POST))
                     .andRespond(withSuccess(
-                            "{\"id\":1,\"name\":\"A\",\"price\":10000,\"stockQuantity\":10}",
+                            "{\"success\":true,\"paymentId\":7,\"reason\":\"APPROVED\"}",
                             MediaType.APPLICATION_JSON));
-            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/reserve"))
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds/r-1/confirm"))
                     .andExpect(method(HttpMethod.POST))
                     .andRespond(withSuccess(
-                            "{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8}",
+                            "{\"success\":false,\"reason\":\"예약 만료\",\"remainingStock\":10,\"reservationId\":\"r-1\"}",
+                            MediaType.APPLICATION_JSON));
+            server.expect(requestTo(PAYMENT_BASE + "/payments/7/cancel"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess());
+
+            assertThatThrownBy(() -> orderService.createOrder(1L, 1L, 2, "CARD"))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("예약 만료");
+            server.verify();
+        }
+
+        @Test
+        @DisplayName("결제 성공 후 주문 저장 실패 시 Outbox에 보상 이벤트 발행")
+        void orderSaveFailsThenOutboxPublished() {
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8,\"reservationId\":\"r-1\",\"productName\":\"A\",\"unitPrice\":10000}",
                             MediaType.APPLICATION_JSON));
             server.expect(requestTo(PAYMENT_BASE + "/payments"))
                     .andExpect(method(HttpMethod.POST))
                     .andRespond(withSuccess(
                             "{\"success\":true,\"paymentId\":99,\"reason\":\"APPROVED\"}",
                             MediaType.APPLICATION_JSON));
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds/r-1/confirm"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"확정\",\"remainingStock\":8,\"reservationId\":\"r-1\"}",
+                            MediaType.APPLICATION_JSON));
 
             when(orderRepository.save(any(Order.class))).thenThrow(new RuntimeException("DB 저장 실패"));
 
@@ -162,6 +215,7 @@ class OrderServiceTest {
                     .hasMessageContaining("DB 저장 실패");
 
             verify(outboxService).publishOrderSaveFailed(99L, 1L, 1L, 2);
+            verify(orderSagaRepository).save(argThat(saga -> saga.getStep() == OrderSagaStep.COMPENSATED));
             server.verify();
         }
 
@@ -170,11 +224,8 @@ class OrderServiceTest {
                 @Override
                 public MockResponse dispatch(RecordedRequest request) {
                     String path = request.getPath();
-                    if ("GET".equals(request.getMethod()) && path != null && path.startsWith("/products/")) {
-                        return json(200, "{\"id\":1,\"name\":\"A\",\"price\":10000,\"stockQuantity\":10}");
-                    }
-                    if ("POST".equals(request.getMethod()) && path != null && path.contains("/internal/stocks/reserve")) {
-                        return json(200, "{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8}");
+                    if ("POST".equals(request.getMethod()) && path != null && path.equals("/internal/stocks/holds")) {
+                        return json(200, "{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8,\"reservationId\":\"r-1\",\"productName\":\"A\",\"unitPrice\":10000}");
                     }
                     if ("POST".equals(request.getMethod()) && path != null && path.contains("/internal/stocks/release")) {
                         return json(200, "{}");
@@ -205,6 +256,154 @@ class OrderServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("createOrder (여러 품목)")
+    class CreateMultiLineOrder {
+
+        @Test
+        @DisplayName("일괄 홀드 1회 + 합계 결제 1회 + 그룹 확정 1회, 주문 1건에 품목 N건")
+        void success() {
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/reserve-batch"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"성공\",\"groupId\":\"g-1\",\"lines\":["
+                                    + "{\"productId\":1,\"quantity\":2,\"reservationId\":\"r-1\",\"unitPrice\":10000},"
+                                    + "{\"productId\":2,\"quantity\":1,\"reservationId\":\"r-2\",\"unitPrice\":5000}]}",
+                            MediaType.APPLICATION_JSON));
+            server.expect(requestTo(PAYMENT_BASE + "/payments"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andExpect(jsonPath("$.amount").value(25_000))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"paymentId\":5,\"reason\":\"APPROVED\"}",
+                            MediaType.APPLICATION_JSON));
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds/groups/g-1/confirm"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"확정\",\"groupId\":\"g-1\",\"lines\":[]}",
+                            MediaType.APPLICATION_JSON));
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            Order order = orderService.createOrder(1L,
+                    List.of(new ProductClient.StockLine(1L, 2), new ProductClient.StockLine(2L, 1)), "CARD");
+
+            assertThat(order.getTotalAmount()).isEqualTo(25_000);
+            assertThat(order.getQuantity()).isEqualTo(3);
+            assertThat(order.getPaymentId()).isEqualTo(5L);
+            assertThat(order.getLines()).extracting(OrderLine::getProductId).containsExactly(1L, 2L);
+            assertThat(order.getLines()).extracting(OrderLine::getLineAmount).containsExactly(20_000, 5_000);
+            server.verify();
+        }
+
+        @Test
+        @DisplayName("한 품목이라도 재고 부족이면 결제 없이 InsufficientStockException")
+        void reserveBatchFails() {
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/reserve-batch"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "{\"success\":false,\"reason\":\"재고 부족\",\"failedProductId\":2,\"lines\":[]}",
+                            MediaType.APPLICATION_JSON));
+
+            assertThatThrownBy(() -> orderService.createOrder(1L,
+                    List.of(new ProductClient.StockLine(1L, 2), new ProductClient.StockLine(2L, 9)), "CARD"))
+                    .isInstanceOf(InsufficientStockException.class)
+                    .hasMessageContaining("productId=2");
+            server.verify();
+        }
+    }
+
+    @Nested
+    @DisplayName("runOrderSaga (비동기 접수 주문)")
+    class RunPendingOrder {
+
+        @Test
+        @DisplayName("성공 시 새 주문 대신 PENDING 주문을 PAID로 전환")
+        void completesPendingOrder() {
+            Order pending = Order.pending(1L, 1L, 2);
+            when(orderRepository.findWithLinesById(10L)).thenReturn(Optional.of(pending));
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds"))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"성공\",\"remainingStock\":8,\"reservationId\":\"r-1\",\"productName\":\"A\",\"unitPrice\":10000}",
+                            MediaType.APPLICATION_JSON));
+            server.expect(requestTo(PAYMENT_BASE + "/payments"))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"paymentId\":3,\"reason\":\"APPROVED\"}",
+                            MediaType.APPLICATION_JSON));
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds/r-1/confirm"))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"확정\",\"remainingStock\":8,\"reservationId\":\"r-1\"}",
+                            MediaType.APPLICATION_JSON));
+
+            Order result = orderService.runOrderSaga(OrderSaga.startFor(10L, 1L, "CARD"), 1L, 2);
+
+            assertThat(result).isSameAs(pending);
+            assertThat(pending.getStatus()).isEqualTo(OrderStatus.PAID);
+            assertThat(pending.getTotalAmount()).isEqualTo(20_000);
+            assertThat(pending.getPaymentId()).isEqualTo(3L);
+            verify(orderRepository, never()).save(any(Order.class));
+            server.verify();
+        }
+
+        @Test
+        @DisplayName("재고 부족이면 saga FAILED와 함께 PENDING 주문 FAILED, 주문 이력 뷰도 FAILED")
+        void failsPendingOrder() {
+            when(orderRepository.failPending(10L)).thenReturn(1);
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds"))
+                    .andRespond(withSuccess(
+                            "{\"success\":false,\"reason\":\"재고 부족\",\"remainingStock\":0,\"productName\":\"A\",\"unitPrice\":10000}",
+                            MediaType.APPLICATION_JSON));
+
+            assertThatThrownBy(() -> orderService.runOrderSaga(OrderSaga.startFor(10L, 1L, "CARD"), 1L, 100))
+                    .isInstanceOf(InsufficientStockException.class);
+            verify(orderRepository).failPending(10L);
+            verify(orderHistoryProjection).onStatusChanged(List.of(10L), OrderStatus.FAILED);
+            server.verify();
+        }
+    }
+
+    @Nested
+    @DisplayName("recoverSaga")
+    class RecoverSaga {
+
+        @Test
+        @DisplayName("PAID에서 중단: 홀드 확정 후 주문 저장까지 이어서 진행 → SAVED")
+        void resumesPaid() {
+            OrderSaga saga = OrderSaga.start(1L, "CARD");
+            saga.reserved("r-1", null, "[{\"productId\":1,\"quantity\":2,\"unitPrice\":10000}]", 20_000);
+            saga.paid(7L);
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds/r-1/confirm"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess(
+                            "{\"success\":true,\"reason\":\"확정\",\"remainingStock\":8,\"reservationId\":\"r-1\"}",
+                            MediaType.APPLICATION_JSON));
+            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            orderService.recoverSaga(saga);
+
+            assertThat(saga.getStep()).isEqualTo(OrderSagaStep.SAVED);
+            verify(orderRepository).save(argThat(order -> order.getPaymentId().equals(7L)
+                    && order.getTotalAmount() == 20_000 && order.getStatus() == OrderStatus.PAID));
+            server.verify();
+        }
+
+        @Test
+        @DisplayName("RESERVED에서 중단: 멱등 키로 결제 취소 + 홀드 해제 → COMPENSATED")
+        void compensatesReserved() {
+            OrderSaga saga = OrderSaga.start(1L, "CARD");
+            saga.reserved("r-1", null, "[{\"productId\":1,\"quantity\":2,\"unitPrice\":10000}]", 20_000);
+            server.expect(requestTo(PAYMENT_BASE + "/payments/by-key/" + saga.getId() + "/cancel"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess());
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/holds/r-1/release"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess());
+
+            orderService.recoverSaga(saga);
+
+            assertThat(saga.getStep()).isEqualTo(OrderSagaStep.COMPENSATED);
+            server.verify();
+        }
+    }
+
     @Nested
     @DisplayName("getOrder")
     class GetOrder {
@@ -213,7 +412,7 @@ class OrderServiceTest {
         @DisplayName("존재하면 반환")
         void success() {
             Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID);
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+            when(orderRepository.findWithLinesById(1L)).thenReturn(Optional.of(order));
 
             Order result = orderService.getOrder(1L);
 
@@ -225,7 +424,7 @@ class OrderServiceTest {
         @Test
         @DisplayName("없으면 OrderNotFoundException")
         void notFound() {
-            when(orderRepository.findById(999L)).thenReturn(Optional.empty());
+            when(orderRepository.findWithLinesById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> orderService.getOrder(999L))
                     .isInstanceOf(OrderNotFoundException.class)
@@ -234,39 +433,70 @@ class OrderServiceTest {
     }
 
     @Nested
-    @DisplayName("getOrdersByUser")
-    class GetOrdersByUser {
+    @DisplayName("cancelOrder")
+    class CancelOrder {
 
         @Test
-        @DisplayName("userId 기준 목록 반환")
+        @DisplayName("PAID 주문 취소 시 결제 취소 + 재고 복구 + CANCELLED + ORDER_CANCELLED 이벤트 + 주문 이력 뷰 CANCELLED")
         void success() {
-            Order o1 = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID);
-            when(orderRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(o1));
+            Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID, 100L);
+            when(orderRepository.findWithLinesById(1L)).thenReturn(Optional.of(order));
+            server.expect(requestTo(PAYMENT_BASE + "/payments/100/cancel"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess());
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/release"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess());
+            when(orderRepository.findByPaymentId(100L)).thenReturn(List.of(order));
+            when(orderRepository.cancelPaid(any())).thenReturn(1);
 
-            var result = orderService.getOrdersByUser(1L);
+            Order result = orderService.cancelOrder(1L, 1L);
 
-            assertThat(result).hasSize(1);
-            assertThat(result.get(0).getUserId()).isEqualTo(1L);
-            assertThat(result.get(0).getProductId()).isEqualTo(1L);
+            assertThat(result.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            verify(outboxService).publishOrderCancelled(order);
+            verify(orderHistoryProjection).onStatusChanged(any(), eq(OrderStatus.CANCELLED));
+            server.verify();
         }
-    }
-
-    @Nested
-    @DisplayName("cancelOrder")
-    class CancelOrder {
 
         @Test
-        @DisplayName("PAID 주문 취소 시 결제 취소 + 재고 복구 + CANCELLED")
-        void success() {
+        @DisplayName("품목 도입 전 장바구니 주문은 같은 결제의 주문을 함께 취소(결제 취소 1회, 재고 복구는 주문별)")
+        void cancelsOrdersSharingPayment() {
             Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID, 100L);
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+            Order sibling = new Order(1L, 2L, 1, 5_000, OrderStatus.PAID, 100L);
+            when(orderRepository.findWithLinesById(1L)).thenReturn(Optional.of(order));
+            when(orderRepository.findByPaymentId(100L)).thenReturn(List.of(order, sibling));
             server.expect(requestTo(PAYMENT_BASE + "/payments/100/cancel"))
                     .andExpect(method(HttpMethod.POST))
                     .andRespond(withSuccess());
-            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/release"))
+            server.expect(ExpectedCount.twice(), requestTo(PRODUCT_BASE + "/internal/stocks/release"))
                     .andExpect(method(HttpMethod.POST))
                     .andRespond(withSuccess());
-            when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            orderService.cancelOrder(1L, 1L);
+
+            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            assertThat(sibling.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+            server.verify();
+        }
+
+        @Test
+        @DisplayName("여러 품목 주문 취소 시 결제 취소 1회 + 품목별 재고 복구")
+        void releasesEachLine() {
+            Order order = new Order(1L, List.of(new OrderLine(1L, 2, 10_000), new OrderLine(2L, 1, 5_000)),
+                    OrderStatus.PAID, 100L);
+            when(orderRepository.findWithLinesById(1L)).thenReturn(Optional.of(order));
+            when(orderRepository.findByPaymentId(100L)).thenReturn(List.of(order));
+            server.expect(requestTo(PAYMENT_BASE + "/payments/100/cancel"))
+                    .andExpect(method(HttpMethod.POST))
+                    .andRespond(withSuccess());
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/release"))
+                    .andExpect(jsonPath("$.productId").value(1))
+                    .andExpect(jsonPath("$.quantity").value(2))
+                    .andRespond(withSuccess());
+            server.expect(requestTo(PRODUCT_BASE + "/internal/stocks/release"))
+                    .andExpect(jsonPath("$.productId").value(2))
+                    .andExpect(jsonPath("$.quantity").value(1))
+                    .andRespond(withSuccess());
 
             Order result = orderService.cancelOrder(1L, 1L);
 
@@ -278,7 +508,7 @@ class OrderServiceTest {
         @DisplayName("paymentId 없으면 OrderCannotBeCancelledException")
         void noPaymentId() {
             Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.PAID);  // paymentId null
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+            when(orderRepository.findWithLinesById(1L)).thenReturn(Optional.of(order));
 
             assertThatThrownBy(() -> orderService.cancelOrder(1L, 1L))
                     .isInstanceOf(OrderCannotBeCancelledException.class)
@@ -289,7 +519,7 @@ class OrderServiceTest {
         @DisplayName("이미 CANCELLED면 OrderCannotBeCancelledException")
         void alreadyCancelled() {
             Order order = new Order(1L, 1L, 2, 20_000, OrderStatus.CANCELLED, 100L);
-            when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+            when(orderRepository.findWithLinesById(1L)).thenReturn(Optional.of(order));
 
             assertThatThrownBy(() -> orderService.cancelOrder(1L, 1L))
                     .isInstanceOf(OrderCannotBeCancelledException.class)
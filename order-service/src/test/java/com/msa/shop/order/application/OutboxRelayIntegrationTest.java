@@ -0,0 +1,166 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.api.OutboxEndpoint;
+import com.msa.shop.order.domain.OutboxEvent;
+import com.msa.shop.order.domain.OutboxEventRepository;
+import com.msa.shop.order.domain.OutboxStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox 릴레이 통합 테스트(MySQL SKIP LOCKED).
+ * - 워커 여러 개가 같은 테이블을 동시에 가져가도 이벤트마다 보상이 정확히 한 번 실행되는지 검증.
+ * - 처리할 수 없는 이벤트는 max-attempts 재시도 후 DEAD.
+ * - 처리 결과 메트릭과 /actuator/outbox 보고서 검증.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.workers=3",
+        "app.outbox.batch-size=5",
+        "app.outbox.max-attempts=3",
+        "app.outbox.backoff-initial=50ms",
+        "app.outbox.backoff-max=200ms",
+        "app.outbox.idle-interval=50ms"
+})
+@Testcontainers
+class OutboxRelayIntegrationTest {
+
+    static final int EVENTS = 30;
+
+    static MockWebServer productServer = new MockWebServer();
+    static MockWebServer paymentServer = new MockWebServer();
+
+    static final Map<String, AtomicInteger> cancelCalls = new ConcurrentHashMap<>();
+    static final AtomicInteger releaseCalls = new AtomicInteger();
+
+    static {
+        paymentServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                cancelCalls.computeIfAbsent(request.getPath(), path -> new AtomicInteger()).incrementAndGet();
+                return new MockResponse().setResponseCode(200);
+            }
+        });
+        productServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                releaseCalls.incrementAndGet();
+                return new MockResponse().setResponseCode(200);
+            }
+        });
+        try {
+            productServer.start();
+            paymentServer.start();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("orderdb");
+
+    @DynamicPropertySource
+    static void props(DynamicPropertyRegistry registry) {
+        registry.add("product-service.base-url", () -> "http://localhost:" + productServer.getPort());
+        registry.add("payment-service.base-url", () -> "http://localhost:" + paymentServer.getPort());
+    }
+
+    @AfterAll
+    static void shutdown() throws IOException {
+        productServer.shutdown();
+        paymentServer.shutdown();
+    }
+
+    @Autowired
+    OutboxService outboxService;
+
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    OutboxMetrics outboxMetrics;
+
+    @Autowired
+    OutboxEndpoint outboxEndpoint;
+
+    @Test
+    @DisplayName("워커 3개가 병렬로 처리해도 이벤트마다 보상 1회, 처리 불가 이벤트는 3회 시도 후 DEAD")
+    void relayProcessesEachEventOnceAndDeadLettersPoison() throws InterruptedException {
+        for (long paymentId = 1; paymentId <= EVENTS; paymentId++) {
+            outboxService.publishOrderSaveFailed(paymentId, 1L, 1L, 1);
+        }
+        Long poisonId = outboxEventRepository.save(
+                new OutboxEvent(OutboxService.EVENT_ORDER_SAVE_FAILED, "{}")).getId();
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        while (events.stream().anyMatch(e -> e.getStatus() == OutboxStatus.PENDING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            events = outboxEventRepository.findAll();
+        }
+
+        assertThat(events).filteredOn(e -> !e.getId().equals(poisonId))
+                .hasSize(EVENTS)
+                .allSatisfy(e -> assertThat(e.getStatus()).isEqualTo(OutboxStatus.PROCESSED));
+        OutboxEvent poison = outboxEventRepository.findById(poisonId).orElseThrow();
+        assertThat(poison.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(poison.getAttempts()).isEqualTo(3);
+        assertThat(poison.getLastError()).isNotBlank();
+
+        assertThat(cancelCalls).hasSize(EVENTS);
+        assertThat(cancelCalls.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+        assertThat(releaseCalls.get()).isEqualTo(EVENTS);
+
+        String type = OutboxService.EVENT_ORDER_SAVE_FAILED;
+        assertThat(meterRegistry.get("outbox.events").tags("eventType", type, "outcome", "processed").counter().count())
+                .isEqualTo(EVENTS);
+        assertThat(meterRegistry.get("outbox.events").tags("eventType", type, "outcome", "retried").counter().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.events").tags("eventType", type, "outcome", "dead").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.compensation").tags("eventType", type, "step", "payment-cancel").timer().count())
+                .isEqualTo(EVENTS);
+        assertThat(meterRegistry.get("outbox.compensation").tags("eventType", type, "step", "stock-release").timer().count())
+                .isEqualTo(EVENTS);
+
+        outboxMetrics.refresh();
+        assertThat(meterRegistry.get("outbox.pending").tag("eventType", type).gauge().value()).isZero();
+        assertThat(meterRegistry.get("outbox.pending.oldest.age").gauge().value()).isZero();
+
+        OutboxEndpoint.OutboxReport report = outboxEndpoint.report(null);
+        assertThat(report.pending()).isEmpty();
+        assertThat(report.stuck()).singleElement().satisfies(stuck -> {
+            assertThat(stuck.id()).isEqualTo(poisonId);
+            assertThat(stuck.status()).isEqualTo("DEAD");
+            assertThat(stuck.payload()).isEqualTo("{}");
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.msa.shop.order.application;
+
+import com.msa.shop.order.domain.CartItem;
+import com.msa.shop.order.domain.CartItemRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Redis 장바구니 저장소 통합 테스트(MySQL + Redis).
+ * - 동시 변경이 한 해시에 빠짐없이 반영되고, write-behind 후 cart_items와 일치하는지,
+ *   캐시 만료(키 삭제) 후 cart_items에서 다시 적재되는지, 인스턴스 간 반영이 뒤바뀌어도 새 스냅샷이 남는지 검증.
+ *   flush는 테스트에서 직접 호출.
+ */
+@SpringBootTest(properties = {
+        "app.cart.store=redis",
+        "app.cart.flush-interval=3600000"
+})
+@Testcontainers
+class RedisCartStoreIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("orderdb");
+
+    @Container
+    @ServiceConnection(name = "redis")
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    @Autowired
+    CartStore cartStore;
+
+    @Autowired
+    CartWriteBehind cartWriteBehind;
+
+    @Autowired
+    CartItemRepository cartItemRepository;
+
+    @Autowired
+    StringRedisTemplate redisTemplate;
+
+    @Autowired
+    CartPersistence cartPersistence;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("동시 담기 → 해시에 모두 반영, flush 후 cart_items와 일치, 키 만료 후 DB에서 다시 적재")
+    void concurrentWritesAreFlushedAndReloaded() throws Exception {
+        Long userId = 100L;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.rangeClosed(1, 50).forEach(productId ->
+                    executor.submit(() -> cartStore.put(userId, (long) productId, productId)));
+        }
+        assertThat(cartStore).isInstanceOf(RedisCartStore.class);
+        assertThat(cartStore.getCart(userId)).hasSize(50).containsEntry(7L, 7);
+        assertThat(cartItemRepository.findByUserIdOrderByProductId(userId)).isEmpty();
+
+        cartWriteBehind.flush();
+        assertThat(cartItemRepository.findByUserIdOrderByProductId(userId))
+                .hasSize(50)
+                .extracting(CartItem::getProductId, CartItem::getQuantity)
+                .contains(tuple(7L, 7));
+
+        redisTemplate.delete("cart:" + userId);
+        assertThat(cartStore.peek(userId)).isEmpty();
+        assertThat(cartStore.getCart(userId)).hasSize(50).containsEntry(50L, 50);
+    }
+
+    @Test
+    @DisplayName("checkout 정리는 주문한 수량 그대로인 품목만 삭제, 반영 후 cart_items에도 남은 품목만")
+    void removeOrderedKeepsChangedLines() {
+        Long userId = 200L;
+        cartStore.put(userId, 1L, 2);
+        cartStore.put(userId, 2L, 1);
+        Map<Long, Integer> snapshot = cartStore.getCart(userId);
+
+        cartStore.put(userId, 2L, 5);
+        cartStore.removeOrdered(userId, snapshot);
+        cartWriteBehind.flush();
+
+        assertThat(cartStore.getCart(userId)).containsExactly(Map.entry(2L, 5));
+        assertThat(cartItemRepository.findByUserIdOrderByProductId(userId))
+                .extracting(CartItem::getProductId, CartItem::getQuantity)
+                .containsExactly(tuple(2L, 5));
+    }
+
+    @Test
+    @DisplayName("두 인스턴스의 반영이 엇갈려 옛 스냅샷이 새 스냅샷 뒤에 커밋돼도 건너뜀, 재적재 후 버전 이어감")
+    void staleSnapshotDoesNotOverwriteNewer() throws Exception {
+        Long userId = 300L;
+        cartStore.put(userId, 1L, 1);
+        cartWriteBehind.flush();
+
+        cartStore.put(userId, 1L, 2);
+        CartSnapshot older = cartStore.peek(userId).orElseThrow();   // 인스턴스 A가 읽은 스냅샷
+        cartStore.put(userId, 2L, 1);
+        CartSnapshot newer = cartStore.peek(userId).orElseThrow();   // 인스턴스 B가 읽은 스냅샷
+        assertThat(newer.version()).isGreaterThan(older.version());
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Boolean> staleSave = transactionTemplate.execute(status -> {
+                assertThat(cartPersistence.save(userId, newer)).isTrue();
+                Future<Boolean> save = executor.submit(() -> cartPersistence.save(userId, older));
+                // B 커밋 전까지 carts 행 잠금에서 대기
+                assertThatThrownBy(() -> save.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+                return save;
+            });
+            assertThat(staleSave.get(10, TimeUnit.SECONDS)).isFalse();
+        }
+        assertThat(cartItemRepository.findByUserIdOrderByProductId(userId))
+                .extracting(CartItem::getProductId, CartItem::getQuantity)
+                .containsExactly(tuple(1L, 2), tuple(2L, 1));
+
+        redisTemplate.delete("cart:" + userId);
+        cartStore.put(userId, 3L, 1);
+        assertThat(cartStore.peek(userId).orElseThrow().version()).isEqualTo(newer.version() + 1);
+        cartWriteBehind.flush();
+        assertThat(cartItemRepository.findByUserIdOrderByProductId(userId)).hasSize(3);
+    }
+}
@@ -0,0 +1,77 @@
+package com.msa.shop.order.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 하위 서비스 호출용 풀링 RestTemplate 검증.
+ * - 응답 타임아웃이 적용되는지, 커넥션이 keep-alive로 재사용되는지, 풀 메트릭이 등록되는지.
+ */
+class RestClientConfigTest {
+
+    MockWebServer server = new MockWebServer();
+    PoolingHttpClientConnectionManager connectionManager;
+    CloseableHttpClient httpClient;
+    RestTemplate restTemplate;
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server.start();
+        RestClientConfig config = new RestClientConfig();
+        connectionManager = config.downstreamConnectionManager(10, 5,
+                Duration.ofSeconds(1), Duration.ofMillis(300), Duration.ofMinutes(5));
+        httpClient = config.downstreamHttpClient(connectionManager,
+                Duration.ofMillis(500), Duration.ofMillis(300), Duration.ofSeconds(15));
+        restTemplate = config.restTemplate(new RestTemplateBuilder(), httpClient);
+        config.downstreamConnectionPoolMetrics(connectionManager).bindTo(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("응답이 response-timeout보다 늦으면 ResourceAccessException (무한 대기 없음)")
+    void responseTimeout() {
+        server.enqueue(new MockResponse().setBody("late").setHeadersDelay(2, TimeUnit.SECONDS));
+
+        assertThatThrownBy(() -> restTemplate.getForObject(server.url("/slow").toString(), String.class))
+                .isInstanceOf(ResourceAccessException.class);
+    }
+
+    @Test
+    @DisplayName("연속 호출은 같은 커넥션 재사용, 풀 메트릭에 available 커넥션 노출")
+    void reusesPooledConnection() {
+        server.enqueue(new MockResponse().setBody("a"));
+        server.enqueue(new MockResponse().setBody("b"));
+
+        restTemplate.getForObject(server.url("/a").toString(), String.class);
+        restTemplate.getForObject(server.url("/b").toString(), String.class);
+
+        assertThat(server.getRequestCount()).isEqualTo(2);
+        assertThat(connectionManager.getTotalStats().getAvailable()).isEqualTo(1);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", "downstream").tag("state", "available").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value()).isEqualTo(10);
+    }
+}
@@ -2,14 +2,16 @@ package com.msa.shop.payment.api;
 
 import com.msa.shop.payment.application.PaymentService;
 import com.msa.shop.payment.domain.Payment;
+import com.msa.shop.payment.domain.PaymentStatus;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
-/** order-service → payment-service 결제 요청 DTO. */
-record PaymentRequest(Long userId, int amount, String paymentMethod) {}
+/** order-service → payment-service 결제 요청 DTO. idempotencyKey는 선택(같은 키 재요청은 기존 결제 반환). */
+record PaymentRequest(Long userId, int amount, String paymentMethod, String idempotencyKey) {}
 
 /** 결제 결과. success=false면 reason에 에러 메시지. */
 record PaymentResponse(boolean success, Long paymentId, String reason) {}
@@ -31,15 +33,26 @@ public class PaymentController {
     /**
      * 결제 시도. 성공 시 APPROVED 저장, 200 + success=true.
      * - 금액 오류 등 → 400 + success=false, reason에 메시지.
+     * - 같은 idempotencyKey 재요청 → 기존 결제 응답. 이미 취소된 결제면 success=false, reason=CANCELED.
      */
     @PostMapping("/payments")
     public ResponseEntity<PaymentResponse> pay(@RequestBody PaymentRequest request) {
         try {
-            Payment payment = paymentService.approve(
-                    request.userId(),
-                    request.amount(),
-                    request.paymentMethod()
-            );
+            Payment payment;
+            try {
+                payment = paymentService.approve(
+                        request.userId(),
+                        request.amount(),
+                        request.paymentMethod(),
+                        request.idempotencyKey()
+                );
+            } catch (DataIntegrityViolationException e) {
+                // 같은 키 동시 요청: 먼저 커밋된 결제를 응답
+                payment = paymentService.findByIdempotencyKey(request.idempotencyKey()).orElseThrow(() -> e);
+            }
+            if (payment.getStatus() == PaymentStatus.CANCELED) {
+                return ResponseEntity.ok(new PaymentResponse(false, payment.getId(), "CANCELED"));
+            }
             return ResponseEntity.ok(
                     new PaymentResponse(true, payment.getId(), "APPROVED")
             );
@@ -62,4 +75,18 @@ public class PaymentController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    /**
+     * 멱등 키로 결제 취소. order-service가 결제 요청 결과를 모를 때(응답 전 장애) 보상용.
+     * - 200: 취소 완료(이미 취소 포함). 404: 해당 키로 결제된 적 없음.
+     */
+    @PostMapping("/payments/by-key/{idempotencyKey}/cancel")
+    public ResponseEntity<Void> cancelByKey(@PathVariable("idempotencyKey") String idempotencyKey) {
+        try {
+            paymentService.cancelByIdempotencyKey(idempotencyKey);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
 }
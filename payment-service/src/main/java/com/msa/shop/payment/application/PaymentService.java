@@ -11,6 +11,8 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 /**
  * 결제 도메인 비즈니스 로직.
  * - "가짜 PG": amount > 0 이면 APPROVED 저장. 실패 규칙은 여기서 확장 가능.
@@ -33,13 +35,27 @@ public class PaymentService {
      * 결제 승인. 단순 룰: amount > 0 이면 성공, 그 외 IllegalArgumentException.
      * - 저장 후 RabbitMQ로 "결제 완료" 이벤트 발행. settlement-service가 구독해 일별 매출 집계.
      */
-    @Transactional
     public Payment approve(Long userId, int amount, String paymentMethod) {
+        return approve(userId, amount, paymentMethod, null);
+    }
+
+    /**
+     * 멱등 키 지정 결제 승인. 같은 키로 이미 결제가 있으면(취소됐어도) 새 결제 없이 그대로 반환.
+     * - 동시 재요청은 idempotency_key 유니크 제약으로 하나만 저장 → DataIntegrityViolationException은 호출자가 재조회.
+     */
+    @Transactional
+    public Payment approve(Long userId, int amount, String paymentMethod, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            Optional<Payment> existing = paymentRepository.findByIdempotencyKey(idempotencyKey);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
         if (amount <= 0) {
             throw new IllegalArgumentException("결제 금액이 올바르지 않습니다.");
         }
-        Payment payment = new Payment(userId, amount, paymentMethod, PaymentStatus.APPROVED);
-        payment = paymentRepository.save(payment);
+        Payment payment = new Payment(userId, amount, paymentMethod, PaymentStatus.APPROVED, idempotencyKey);
+        payment = paymentRepository.saveAndFlush(payment);
 
         publishPaymentCompleted(payment);
         return payment;
@@ -71,6 +87,26 @@ public class PaymentService {
     public void cancel(Long paymentId) {
         Payment payment = paymentRepository.findById(paymentId)
                 .orElseThrow(() -> new IllegalArgumentException("결제를 찾을 수 없습니다. id=" + paymentId));
+        cancel(payment);
+    }
+
+    /**
+     * 멱등 키로 결제 취소. order-service saga 복구가 결제 요청 결과를 모를 때 사용.
+     * - 해당 키 결제가 없으면 IllegalArgumentException(→ 404). 결제된 적 없음을 뜻함.
+     */
+    @Transactional
+    public void cancelByIdempotencyKey(String idempotencyKey) {
+        Payment payment = paymentRepository.findByIdempotencyKey(idempotencyKey)
+                .orElseThrow(() -> new IllegalArgumentException("결제를 찾을 수 없습니다. idempotencyKey=" + idempotencyKey));
+        cancel(payment);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Payment> findByIdempotencyKey(String idempotencyKey) {
+        return paymentRepository.findByIdempotencyKey(idempotencyKey);
+    }
+
+    private void cancel(Payment payment) {
         if (payment.getStatus() == PaymentStatus.APPROVED) {
             payment.cancel();
             paymentRepository.save(payment);
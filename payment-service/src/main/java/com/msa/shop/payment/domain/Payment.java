@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
  * 결제 엔티티. payment-service DB(payments 테이블)와 1:1 매핑.
  * - userId: 주문자(user-service ID). order-service에서 전달.
  * - amount: 결제 금액. order-service가 가격×수량으로 계산 후 전달.
+ * - idempotencyKey: 호출자(order-service 주문 saga ID)가 준 멱등 키. 같은 키 재요청은 새 결제 없이 기존 결제 반환.
  */
 @Entity
 @Table(name = "payments")
@@ -33,14 +34,22 @@ public class Payment {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "idempotency_key", length = 64, unique = true)
+    private String idempotencyKey;
+
     protected Payment() {
     }
 
     public Payment(Long userId, int amount, String paymentMethod, PaymentStatus status) {
+        this(userId, amount, paymentMethod, status, null);
+    }
+
+    public Payment(Long userId, int amount, String paymentMethod, PaymentStatus status, String idempotencyKey) {
         this.userId = userId;
         this.amount = amount;
         this.paymentMethod = paymentMethod;
         this.status = status;
+        this.idempotencyKey = idempotencyKey;
         this.createdAt = LocalDateTime.now();
     }
 
@@ -68,6 +77,10 @@ public class Payment {
         return createdAt;
     }
 
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
     /** 결제 취소(보상) 시 상태를 CANCELED로 변경. */
     public void cancel() {
         this.status = PaymentStatus.CANCELED;
@@ -2,9 +2,13 @@ package com.msa.shop.payment.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 /**
  * Payment 엔티티용 DB 접근 계층.
- * - JpaRepository 기본 메서드만 사용. 커스텀 쿼리 없음.
+ * - findByIdempotencyKey: 같은 멱등 키 재요청 시 기존 결제 조회.
  */
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
 }
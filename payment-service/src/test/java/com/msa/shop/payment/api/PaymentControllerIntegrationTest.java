@@ -122,4 +122,36 @@ class PaymentControllerIntegrationTest {
         );
         assertThat(cancelRes.getStatusCode()).isEqualTo(HttpStatus.OK);
     }
+
+    @Test
+    @DisplayName("같은 idempotencyKey 재요청 → 같은 paymentId, 키로 취소 후 재요청은 success=false")
+    void idempotentPayAndCancelByKey() {
+        String base = "http://localhost:" + port;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(Map.of(
+                "userId", 1L,
+                "amount", 5000,
+                "paymentMethod", "CARD",
+                "idempotencyKey", "saga-it-1"
+        ), headers);
+
+        Map<String, Object> first = restTemplate.exchange(base + "/payments", HttpMethod.POST, request,
+                new ParameterizedTypeReference<Map<String, Object>>() {}).getBody();
+        Map<String, Object> replayed = restTemplate.exchange(base + "/payments", HttpMethod.POST, request,
+                new ParameterizedTypeReference<Map<String, Object>>() {}).getBody();
+        assertThat(replayed.get("paymentId")).isEqualTo(first.get("paymentId"));
+
+        ResponseEntity<Void> cancelRes = restTemplate.exchange(base + "/payments/by-key/saga-it-1/cancel",
+                HttpMethod.POST, new HttpEntity<>(headers), Void.class);
+        assertThat(cancelRes.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Map<String, Object> afterCancel = restTemplate.exchange(base + "/payments", HttpMethod.POST, request,
+                new ParameterizedTypeReference<Map<String, Object>>() {}).getBody();
+        assertThat(afterCancel.get("success")).isEqualTo(false);
+        assertThat(afterCancel.get("paymentId")).isEqualTo(first.get("paymentId"));
+
+        ResponseEntity<Void> unknownKey = restTemplate.exchange(base + "/payments/by-key/saga-unknown/cancel",
+                HttpMethod.POST, new HttpEntity<>(headers), Void.class);
+        assertThat(unknownKey.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
 }
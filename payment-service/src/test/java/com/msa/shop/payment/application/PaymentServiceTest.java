@@ -16,10 +16,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -48,13 +51,13 @@ class PaymentServiceTest {
         void success() {
             Payment saved = new Payment(1L, 10_000, "CARD", PaymentStatus.APPROVED);
             ReflectionTestUtils.setField(saved, "id", 99L);
-            when(paymentRepository.save(any(Payment.class))).thenReturn(saved);
+            when(paymentRepository.saveAndFlush(any(Payment.class))).thenReturn(saved);
 
             Payment result = paymentService.approve(1L, 10_000, "CARD");
 
             assertThat(result.getAmount()).isEqualTo(10_000);
             assertThat(result.getStatus()).isEqualTo(PaymentStatus.APPROVED);
-            verify(paymentRepository).save(any(Payment.class));
+            verify(paymentRepository).saveAndFlush(any(Payment.class));
             ArgumentCaptor<PaymentCompletedEvent> eventCaptor = ArgumentCaptor.forClass(PaymentCompletedEvent.class);
             verify(rabbitTemplate).convertAndSend(
                     eq(RabbitMQConfig.EXCHANGE_PAYMENT_EVENTS),
@@ -76,4 +79,44 @@ class PaymentServiceTest {
                     .hasMessage("결제 금액이 올바르지 않습니다.");
         }
     }
+
+        @Test
+        @DisplayName("같은 멱등 키 재요청은 새 결제·이벤트 없이 기존 결제 반환")
+        void replayedKeyReturnsExisting() {
+            Payment existing = new Payment(1L, 10_000, "CARD", PaymentStatus.APPROVED, "saga-1");
+            ReflectionTestUtils.setField(existing, "id", 7L);
+            when(paymentRepository.findByIdempotencyKey("saga-1")).thenReturn(Optional.of(existing));
+
+            Payment result = paymentService.approve(1L, 10_000, "CARD", "saga-1");
+
+            assertThat(result.getId()).isEqualTo(7L);
+            verify(paymentRepository, never()).saveAndFlush(any(Payment.class));
+            verify(rabbitTemplate, never()).convertAndSend(any(String.class), any(String.class), any(Object.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("cancelByIdempotencyKey")
+    class CancelByIdempotencyKey {
+
+        @Test
+        @DisplayName("키로 찾은 APPROVED 결제를 CANCELED로 변경")
+        void cancels() {
+            Payment payment = new Payment(1L, 10_000, "CARD", PaymentStatus.APPROVED, "saga-1");
+            when(paymentRepository.findByIdempotencyKey("saga-1")).thenReturn(Optional.of(payment));
+
+            paymentService.cancelByIdempotencyKey("saga-1");
+
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.CANCELED);
+        }
+
+        @Test
+        @DisplayName("해당 키 결제가 없으면 IllegalArgumentException")
+        void notFound() {
+            when(paymentRepository.findByIdempotencyKey("saga-x")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> paymentService.cancelByIdempotencyKey("saga-x"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
 }
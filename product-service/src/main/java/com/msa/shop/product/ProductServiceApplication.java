@@ -2,9 +2,11 @@ package com.msa.shop.product;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-/** product-service 진입점. 포트 8082, 상품/재고 API. */
+/** product-service 진입점. 포트 8082, 상품/재고 API. 재고 스트라이프 재조정 스케줄러 사용. */
 @SpringBootApplication
+@EnableScheduling
 public class ProductServiceApplication {
 
     public static void main(String[] args) {
@@ -1,79 +1,198 @@
 package com.msa.shop.product.api;
 
-import com.msa.shop.product.domain.Product;
-import com.msa.shop.product.domain.ProductRepository;
-import org.springframework.cache.CacheManager;
+import com.msa.shop.product.application.BatchHoldResult;
+import com.msa.shop.product.application.HoldLine;
+import com.msa.shop.product.application.HoldResult;
+import com.msa.shop.product.application.ProductQuote;
+import com.msa.shop.product.application.StockIdempotencyKeyMismatchException;
+import com.msa.shop.product.application.StockQueueFullException;
+import com.msa.shop.product.application.StockReservationService;
+import com.msa.shop.product.application.StockResult;
+import com.msa.shop.product.application.StockService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
-/** order-service → product-service 내부 호출용. 재고 예약 요청 DTO. */
-record ReserveStockRequest(Long userId, Long productId, int quantity) {}
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * order-service → product-service 내부 호출용. 재고 예약 요청 DTO.
+ * - idempotencyKey(선택, 최대 64자): 같은 키 재요청은 재고 변화 없이 최초 응답 반환. 재시도 전에 호출자가 한 번 생성.
+ *   같은 키에 작업·상품·수량이 다르면 409.
+ */
+record ReserveStockRequest(Long userId, Long productId, int quantity, String idempotencyKey) {}
 
 /** 재고 예약 결과. success=false면 "재고 부족" 등. */
-record ReserveStockResponse(boolean success, String reason, int remainingStock) {}
+record ReserveStockResponse(boolean success, String reason, int remainingStock) {
+    static ReserveStockResponse from(StockResult result) {
+        return new ReserveStockResponse(result.success(), result.reason(), result.remainingStock());
+    }
+}
+
+/**
+ * 재고 홀드 결과. reservationId로 확정/해제. success=false면 "재고 부족", "예약 만료" 등.
+ * - productName, unitPrice: 홀드 생성 응답에만 포함. 주문 금액은 이 단가로 계산(별도 상품 조회 불필요).
+ */
+record HoldStockResponse(boolean success, String reason, int remainingStock,
+                         String reservationId, LocalDateTime expiresAt,
+                         String productName, Integer unitPrice) {
+    static HoldStockResponse from(HoldResult result) {
+        ProductQuote quote = result.quote();
+        return new HoldStockResponse(result.success(), result.reason(), result.remainingStock(),
+                result.reservationId(), result.expiresAt(),
+                quote != null ? quote.name() : null,
+                quote != null ? quote.unitPrice() : null);
+    }
+}
+
+/** 장바구니 일괄 홀드 요청. lines 전부 홀드하거나 전부 실패. */
+record ReserveBatchRequest(Long userId, String idempotencyKey, List<HoldLine> lines) {}
+
+/**
+ * 일괄 홀드 결과. groupId로 그룹 확정/해제.
+ * - success=false면 failedProductId에 재고 부족 상품. lines는 상품별 reservationId·단가.
+ */
+record ReserveBatchResponse(boolean success, String reason, Long failedProductId,
+                            String groupId, LocalDateTime expiresAt, List<ReserveBatchLineResponse> lines) {
+    static ReserveBatchResponse from(BatchHoldResult result) {
+        return new ReserveBatchResponse(result.success(), result.reason(), result.failedProductId(),
+                result.groupId(), result.expiresAt(),
+                result.lines().stream().map(ReserveBatchLineResponse::from).toList());
+    }
+}
+
+record ReserveBatchLineResponse(Long productId, int quantity, String reservationId, int remainingStock,
+                                String productName, Integer unitPrice) {
+    static ReserveBatchLineResponse from(BatchHoldResult.Line line) {
+        ProductQuote quote = line.quote();
+        return new ReserveBatchLineResponse(line.productId(), line.quantity(), line.reservationId(),
+                line.remainingStock(),
+                quote != null ? quote.name() : null,
+                quote != null ? quote.unitPrice() : null);
+    }
+}
+
+/** 스트라이프 모드 전환 요청. stripes: 재고를 나눌 행 수. */
+record EnableStripingRequest(int stripes) {}
 
 /**
  * 내부 전용 API: 재고 예약/차감 및 복구(보상).
  * - order-service가 주문 플로우 중 POST /internal/stocks/reserve 로 호출.
  * - 재고 부족 시 success=false 반환. 200 OK + body로 구분 (REST 스타일 유지).
+ * - 주문 플로우는 TTL 홀드 사용: POST /internal/stocks/holds → 결제 성공 시 /holds/{id}/confirm.
+ *   확정되지 않은 홀드는 만료 시 자동 복구되므로 결제 실패 시 보상 호출 불필요.
+ * - 플래시 세일 대상 상품은 /internal/stocks/{productId}/stripes 로 스트라이프 모드 전환(opt-in).
  */
 @RestController
 public class InternalStockController {
 
-    private final ProductRepository productRepository;
-    private final CacheManager cacheManager;
-
-    public InternalStockController(ProductRepository productRepository, CacheManager cacheManager) {
-        this.productRepository = productRepository;
-        this.cacheManager = cacheManager;
-    }
+    private final StockService stockService;
+    private final StockReservationService stockReservationService;
 
-    private void evictProductCache(Long productId) {
-        var productsCache = cacheManager.getCache("products");
-        if (productsCache != null) productsCache.clear();
-        var productCache = cacheManager.getCache("product");
-        if (productCache != null) productCache.evict(productId);
+    public InternalStockController(StockService stockService, StockReservationService stockReservationService) {
+        this.stockService = stockService;
+        this.stockReservationService = stockReservationService;
     }
 
+    /**
+     * 재고 예약. 조건부 UPDATE(stock_quantity >= quantity) 한 번으로 차감하고 영향 행 수로 성공 여부 판단.
+     * - 행을 읽고 검사 후 저장하는 방식과 달리 동시 예약이 몰려도 lost update·초과 판매 없음.
+     * - idempotencyKey가 있으면 타임아웃 후 재시도돼도 한 번만 차감.
+     */
     @PostMapping("/internal/stocks/reserve")
-    @Transactional
     public ResponseEntity<ReserveStockResponse> reserve(@RequestBody ReserveStockRequest request) {
-        Product product = productRepository.findById(request.productId())
-                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + request.productId()));
-
-        if (product.getStockQuantity() < request.quantity()) {
-            return ResponseEntity.ok(
-                    new ReserveStockResponse(false, "재고 부족", product.getStockQuantity())
-            );
-        }
-        product.decreaseStock(request.quantity());
-        productRepository.save(product);
-        evictProductCache(product.getId());
-
-        return ResponseEntity.ok(
-                new ReserveStockResponse(true, "성공", product.getStockQuantity())
-        );
+        StockResult result = stockService.reserve(request.userId(), request.productId(), request.quantity(),
+                request.idempotencyKey());
+        return ResponseEntity.ok(ReserveStockResponse.from(result));
     }
 
     /**
      * 재고 복구(보상 트랜잭션용).
-     * - 결제 실패 등으로 예약했던 재고를 다시 되돌릴 때 사용.
+     * - 결제 실패 등으로 예약했던 재고를 다시 되돌릴 때 사용. 예약과 동일하게 단일 UPDATE.
      */
     @PostMapping("/internal/stocks/release")
-    @Transactional
     public ResponseEntity<ReserveStockResponse> release(@RequestBody ReserveStockRequest request) {
-        Product product = productRepository.findById(request.productId())
-                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + request.productId()));
+        StockResult result = stockService.release(request.userId(), request.productId(), request.quantity(),
+                request.idempotencyKey());
+        return ResponseEntity.ok(ReserveStockResponse.from(result));
+    }
+
+    /**
+     * 재고 홀드 생성(quote-and-reserve). 재고를 차감하고 만료 시각이 있는 예약 기록.
+     * - 같은 트랜잭션에서 읽은 상품명·단가를 함께 응답 → 주문 플로우의 GET /products/{id} 왕복 제거.
+     */
+    @PostMapping("/internal/stocks/holds")
+    public ResponseEntity<HoldStockResponse> hold(@RequestBody ReserveStockRequest request) {
+        HoldResult result = stockReservationService.hold(request.userId(), request.productId(), request.quantity(),
+                request.idempotencyKey());
+        return ResponseEntity.ok(HoldStockResponse.from(result));
+    }
+
+    /** 홀드 확정(결제 완료). 이미 만료·해제된 홀드면 success=false, "예약 만료". */
+    @PostMapping("/internal/stocks/holds/{reservationId}/confirm")
+    public ResponseEntity<HoldStockResponse> confirmHold(@PathVariable String reservationId) {
+        return ResponseEntity.ok(HoldStockResponse.from(stockReservationService.confirm(reservationId)));
+    }
+
+    /** 홀드 해제(보상). HELD·CONFIRMED면 재고 복구, 이미 해제·만료면 변화 없음. */
+    @PostMapping("/internal/stocks/holds/{reservationId}/release")
+    public ResponseEntity<HoldStockResponse> releaseHold(@PathVariable String reservationId) {
+        return ResponseEntity.ok(HoldStockResponse.from(stockReservationService.release(reservationId)));
+    }
+
+    /**
+     * 장바구니 일괄 홀드. 모든 상품을 한 트랜잭션에서 productId 순으로 차감(all-or-nothing).
+     * - 장바구니 N개 품목을 상품별 홀드 N번 대신 한 번의 호출로 처리.
+     */
+    @PostMapping("/internal/stocks/reserve-batch")
+    public ResponseEntity<ReserveBatchResponse> reserveBatch(@RequestBody ReserveBatchRequest request) {
+        BatchHoldResult result = stockReservationService.holdBatch(request.userId(), request.lines(),
+                request.idempotencyKey());
+        return ResponseEntity.ok(ReserveBatchResponse.from(result));
+    }
+
+    /** 그룹 홀드 일괄 확정. 하나라도 만료됐으면 success=false, "예약 만료". */
+    @PostMapping("/internal/stocks/holds/groups/{groupId}/confirm")
+    public ResponseEntity<ReserveBatchResponse> confirmHoldGroup(@PathVariable String groupId) {
+        return ResponseEntity.ok(ReserveBatchResponse.from(stockReservationService.confirmGroup(groupId)));
+    }
+
+    /** 그룹 홀드 일괄 해제(보상). */
+    @PostMapping("/internal/stocks/holds/groups/{groupId}/release")
+    public ResponseEntity<ReserveBatchResponse> releaseHoldGroup(@PathVariable String groupId) {
+        return ResponseEntity.ok(ReserveBatchResponse.from(stockReservationService.releaseGroup(groupId)));
+    }
+
+    /** 스트라이프 모드 전환. 현재 재고를 stripes개 inventory_stripes 행으로 분할. */
+    @PostMapping("/internal/stocks/{productId}/stripes")
+    public ResponseEntity<Void> enableStriping(@PathVariable Long productId,
+                                               @RequestBody EnableStripingRequest request) {
+        stockService.enableStriping(productId, request.stripes());
+        return ResponseEntity.noContent().build();
+    }
 
-        product.increaseStock(request.quantity());
-        productRepository.save(product);
-        evictProductCache(product.getId());
+    /** 일반 모드 복귀. 스트라이프 합계를 products.stock_quantity로 되돌림. */
+    @DeleteMapping("/internal/stocks/{productId}/stripes")
+    public ResponseEntity<Void> disableStriping(@PathVariable Long productId) {
+        stockService.disableStriping(productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** 그룹 커밋 대기열 초과·대기 시간 초과 → 503. order-service Retry/CircuitBreaker 대상. */
+    @ExceptionHandler(StockQueueFullException.class)
+    public ResponseEntity<Map<String, String>> handleQueueFull(StockQueueFullException ex) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of("error", "SERVICE_UNAVAILABLE", "message", ex.getMessage()));
+    }
 
-        return ResponseEntity.ok(
-                new ReserveStockResponse(true, "해제", product.getStockQuantity())
-        );
+    /** 처리된 멱등 키를 다른 재고 요청에 재사용 → 409. 재시도로는 해결되지 않으므로 호출자 버그. */
+    @ExceptionHandler(StockIdempotencyKeyMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleIdempotencyKeyMismatch(StockIdempotencyKeyMismatchException ex) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "CONFLICT", "message", ex.getMessage()));
     }
 }
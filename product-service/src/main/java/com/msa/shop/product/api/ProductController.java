@@ -1,20 +1,32 @@
 package com.msa.shop.product.api;
 
+import com.msa.shop.product.application.CachedJson;
+import com.msa.shop.product.application.CatalogPage;
+import com.msa.shop.product.application.ProductCatalog;
+import com.msa.shop.product.application.ProductJsonCache;
+import com.msa.shop.product.application.ProductPage;
 import com.msa.shop.product.application.ProductService;
-import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.application.ProductSort;
+import com.msa.shop.product.application.ProductView;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /** 상품 API 응답 DTO. 재고·카테고리 포함. */
 record ProductResponse(Long id, String name, String category, int price, int stockQuantity) {
-    static ProductResponse from(Product product) {
+    static ProductResponse from(ProductView product) {
         return new ProductResponse(
-                product.getId(),
-                product.getName(),
-                product.getCategory(),
-                product.getPrice(),
-                product.getStockQuantity()
+                product.id(),
+                product.name(),
+                product.category(),
+                product.price(),
+                product.stockQuantity()
         );
     }
 }
@@ -22,44 +34,99 @@ record ProductResponse(Long id, String name, String category, int price, int sto
 /**
  * product-service HTTP API 진입점 (공개용).
  * - 상품 목록/상세 조회. order-service는 가격·재고 확인을 위해 GET /products/{id} 호출.
- * - GET /products?name=...&minPrice=...&maxPrice=... 로 검색 가능.
+ * - GET /products?name=...&minPrice=...&maxPrice=... 로 검색 가능. 목록·검색은 sort·limit·cursor keyset 페이지.
+ * - GET /products/batch?ids=1,2,3: 여러 상품 한 번에(order-service 장바구니 조회용).
+ * - 전체 목록 페이지·상세는 캐시된 상품별 직렬화 바이트(ProductJsonCache)로 응답. ETag 일치(If-None-Match)면 304.
  */
 @RestController
 @RequestMapping("/products")
 public class ProductController {
 
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+
     private final ProductService productService;
+    private final ProductJsonCache productJsonCache;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductJsonCache productJsonCache) {
         this.productService = productService;
+        this.productJsonCache = productJsonCache;
     }
 
     /**
-     * 상품 목록 또는 검색. 쿼리 파라미터가 없으면 전체 목록, 있으면 조건 검색.
+     * 상품 목록 또는 검색 한 페이지. 쿼리 조건이 없으면 전체 목록, 있으면 조건 검색.
      * - name: 상품명 부분 일치 (대소문자 무시)
      * - category: 카테고리 일치 (예: 전자, 생활, 식품)
      * - minPrice, maxPrice: 가격 범위 (포함)
+     * - sort: id(기본), price_asc, price_desc, name. limit: 기본 20, 최대 100.
+     * - 다음 페이지가 있으면 X-Next-Cursor 헤더에 불투명 커서 → 다음 요청의 cursor 파라미터로 전달(같은 조건·sort).
      */
     @GetMapping
-    public List<ProductResponse> getProducts(
+    public ResponseEntity<?> getProducts(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) Integer minPrice,
-            @RequestParam(required = false) Integer maxPrice
+            @RequestParam(required = false) Integer maxPrice,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
     ) {
         boolean hasSearch = (name != null && !name.isBlank()) || (category != null && !category.isBlank()) || minPrice != null || maxPrice != null;
-        List<Product> products = hasSearch
-                ? productService.searchProducts(
-                        name != null ? name.strip() : null,
-                        category != null ? category.strip() : null,
-                        minPrice, maxPrice)
-                : productService.getProducts();
-        return products.stream().map(ProductResponse::from).toList();
+        try {
+            ProductSort order = ProductSort.from(sort);
+            int pageSize = limit != null ? limit : ProductService.DEFAULT_PAGE_SIZE;
+            if (!hasSearch) {
+                CatalogPage page = productService.getCatalogPage(order, pageSize, cursor);
+                List<Long> ids = page.products().stream().map(ProductCatalog::id).toList();
+                return json(productJsonCache.list(ids, this::loadResponses), page.nextCursor());
+            }
+            ProductPage page = productService.searchProducts(
+                    name != null ? name.strip() : null,
+                    category != null ? category.strip() : null,
+                    minPrice, maxPrice, order, pageSize, cursor);
+            return withNextCursor(ResponseEntity.ok(), page.nextCursor()).body(toResponses(page.products()));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * 여러 상품 한 번에 조회. 요청 ID 순서대로, 없는 ID는 제외(호출자가 판매 중지로 판단).
+     * - 최대 ProductService.MAX_BATCH_SIZE개. 초과 시 400.
+     */
+    @GetMapping("/batch")
+    public List<ProductResponse> getProductsByIds(@RequestParam List<Long> ids) {
+        try {
+            return toResponses(productService.getProductsByIds(ids));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
     }
 
     /** 상품 상세. order-service가 주문 금액 계산 시 사용. */
     @GetMapping("/{id}")
-    public ProductResponse getProduct(@PathVariable Long id) {
-        return ProductResponse.from(productService.getProduct(id));
+    public ResponseEntity<byte[]> getProduct(@PathVariable Long id) {
+        return json(productJsonCache.product(id, () -> ProductResponse.from(productService.getProduct(id))), null);
+    }
+
+    private static List<ProductResponse> toResponses(List<ProductView> products) {
+        return products.stream().map(ProductResponse::from).toList();
+    }
+
+    /** 목록 JSON 조립 시 캐시에 없는 상품 응답(재고 포함). */
+    private Map<Long, ProductResponse> loadResponses(List<Long> ids) {
+        return productService.getProductsByIds(ids).stream()
+                .collect(Collectors.toMap(ProductView::id, ProductResponse::from));
+    }
+
+    /** 캐시된 바이트를 변환 없이 응답. GET에서 ETag가 If-None-Match와 같으면 Spring MVC가 본문 없이 304로 응답. */
+    private static ResponseEntity<byte[]> json(CachedJson json, String nextCursor) {
+        return withNextCursor(ResponseEntity.ok(), nextCursor)
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.etag())
+                .body(json.body());
+    }
+
+    private static ResponseEntity.BodyBuilder withNextCursor(ResponseEntity.BodyBuilder response, String nextCursor) {
+        return nextCursor != null ? response.header(NEXT_CURSOR, nextCursor) : response;
     }
 }
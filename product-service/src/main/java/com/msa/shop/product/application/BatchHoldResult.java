@@ -0,0 +1,27 @@
+package com.msa.shop.product.application;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 일괄 홀드(reserve-batch)·그룹 확정·해제 결과.
+ * - success=false면 reason에 "재고 부족", "예약 만료" 등. 재고 부족이면 failedProductId에 처음 실패한 상품.
+ * - lines: 홀드 생성 시 상품별 reservationId·단가. 확정·해제 응답에는 빈 목록.
+ */
+public record BatchHoldResult(boolean success, String reason, Long failedProductId,
+                              String groupId, LocalDateTime expiresAt, List<Line> lines) {
+
+    public record Line(Long productId, int quantity, String reservationId, int remainingStock, ProductQuote quote) {}
+
+    static BatchHoldResult held(String groupId, LocalDateTime expiresAt, List<Line> lines) {
+        return new BatchHoldResult(true, "성공", null, groupId, expiresAt, lines);
+    }
+
+    static BatchHoldResult rejected(Long productId, StockResult stock) {
+        return new BatchHoldResult(false, stock.reason(), productId, null, null, List.of());
+    }
+
+    static BatchHoldResult of(String groupId, boolean success, String reason) {
+        return new BatchHoldResult(success, reason, null, groupId, null, List.of());
+    }
+}
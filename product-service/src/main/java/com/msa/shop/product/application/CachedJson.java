@@ -0,0 +1,16 @@
+package com.msa.shop.product.application;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.Serializable;
+
+/**
+ * 직렬화가 끝난 JSON 응답(UTF-8 바이트) + 강한 ETag.
+ * - etag는 본문 MD5(따옴표 포함). 본문이 같으면 인스턴스가 달라도 같은 값.
+ */
+public record CachedJson(byte[] body, String etag) implements Serializable {
+
+    static CachedJson of(byte[] body) {
+        return new CachedJson(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+}
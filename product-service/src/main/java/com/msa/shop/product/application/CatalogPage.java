@@ -0,0 +1,7 @@
+package com.msa.shop.product.application;
+
+import java.io.Serializable;
+import java.util.List;
+
+/** 전체 목록 한 페이지의 카탈로그(재고 제외). products 캐시 값. nextCursor는 마지막 페이지면 null. */
+public record CatalogPage(List<ProductCatalog> products, String nextCursor) implements Serializable {}
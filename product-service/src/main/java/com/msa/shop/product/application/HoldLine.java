@@ -0,0 +1,4 @@
+package com.msa.shop.product.application;
+
+/** 일괄 홀드 요청 한 줄(상품·수량). */
+public record HoldLine(Long productId, int quantity) {}
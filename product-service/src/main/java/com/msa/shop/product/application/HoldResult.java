@@ -0,0 +1,27 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.StockReservation;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재고 홀드 생성·확정·해제 결과.
+ * - success=false면 reason에 "재고 부족", "예약 만료" 등. reservationId는 홀드 생성 실패 시 null.
+ * - quote: 홀드 생성 시 상품명·단가(확정·해제 응답에는 null).
+ */
+public record HoldResult(boolean success, String reason, int remainingStock,
+                         String reservationId, LocalDateTime expiresAt, ProductQuote quote) {
+
+    static HoldResult held(StockResult stock, StockReservation reservation) {
+        return new HoldResult(true, stock.reason(), stock.remainingStock(),
+                reservation.getId(), reservation.getExpiresAt(), stock.quote());
+    }
+
+    static HoldResult rejected(StockResult stock) {
+        return new HoldResult(false, stock.reason(), stock.remainingStock(), null, null, stock.quote());
+    }
+
+    static HoldResult of(StockReservation reservation, boolean success, String reason) {
+        return new HoldResult(success, reason, -1, reservation.getId(), reservation.getExpiresAt(), null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.Product;
+
+import java.io.Serializable;
+
+/**
+ * 상품 카탈로그(이름·카테고리·가격). 재고 변경과 무관하게 오래 캐시(products·product 캐시 값).
+ * - 재고는 stock 캐시에 따로 두고 응답 시 ProductView로 합침.
+ */
+public record ProductCatalog(Long id, String name, String category, int price) implements Serializable {
+
+    static ProductCatalog from(Product product) {
+        return new ProductCatalog(product.getId(), product.getName(), product.getCategory(), product.getPrice());
+    }
+}
@@ -0,0 +1,40 @@
+package com.msa.shop.product.application;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 상품 목록·검색 keyset 커서. 마지막으로 받은 상품의 (정렬, id, 정렬 키).
+ * - 외부에는 Base64URL 문자열로만 노출(형식은 바뀔 수 있으므로 클라이언트가 해석하지 않음).
+ * - 잘못된 값이나 다른 정렬로 만든 커서는 IllegalArgumentException(400).
+ */
+public record ProductCursor(ProductSort sort, Long id, String key) {
+
+    static ProductCursor after(ProductSort sort, ProductCatalog last) {
+        return new ProductCursor(sort, last.id(), sort.keyOf(last));
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + id + "|" + (key != null ? key : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** cursor가 비어 있으면 null(첫 페이지). */
+    public static ProductCursor decode(String cursor, ProductSort expectedSort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length < 3 || ProductSort.valueOf(parts[0]) != expectedSort) {
+                throw new IllegalArgumentException("cursor가 올바르지 않습니다.");
+            }
+            ProductCursor decoded = new ProductCursor(expectedSort, Long.parseLong(parts[1]), parts[2].isEmpty() ? null : parts[2]);
+            expectedSort.keyset(decoded);
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("cursor가 올바르지 않습니다.");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.msa.shop.product.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 상품 상세 응답의 직렬화 결과 캐시(productJson, 상품 ID별).
+ * - 캐시 적중이면 DTO 변환·Jackson 직렬화 없이 바이트를 그대로 응답. ETag로 If-None-Match → 304.
+ * - 목록(검색 조건 없음) 페이지는 상품별 JSON을 배열로 이어 붙여 조립 → 페이지마다 따로 캐시하지 않아도 Jackson 없음.
+ * - 응답에 재고가 들어 있으므로 StockCacheUpdater가 stock 갱신과 함께 해당 상품 항목을 삭제(그 상품이 든 목록 페이지에도 반영).
+ *   삭제 직전에 읽은 옛 재고로 다시 채워질 수 있어 TTL은 stock과 같게(app.cache.stock.ttl) 짧게.
+ * - 직렬화할 응답(body)은 호출자(ProductController)가 만듦 → 응답 DTO 형식은 API 계층에 둠.
+ */
+@Component
+public class ProductJsonCache {
+
+    public static final String CACHE = "productJson";
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+
+    public ProductJsonCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 목록 페이지 JSON 배열. ids 순서대로 상품별 JSON을 이어 붙임.
+     * - loader: 캐시에 없는 ID → 상품 응답 객체(ID별). loader 결과에 없는 ID(그 사이 삭제)는 제외.
+     */
+    public CachedJson list(List<Long> ids, Function<List<Long>, Map<Long, ?>> loader) {
+        Cache cache = cacheManager.getCache(CACHE);
+        byte[][] parts = new byte[ids.size()][];
+        List<Long> misses = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            CachedJson cached = cache != null ? cache.get(String.valueOf(ids.get(i)), CachedJson.class) : null;
+            if (cached != null) {
+                parts[i] = cached.body();
+            } else {
+                misses.add(ids.get(i));
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<Long, ?> loaded = loader.apply(misses);
+            for (int i = 0; i < ids.size(); i++) {
+                Object body = parts[i] == null ? loaded.get(ids.get(i)) : null;
+                if (body != null) {
+                    parts[i] = store(cache, String.valueOf(ids.get(i)), serialize(body)).body();
+                }
+            }
+        }
+        return CachedJson.of(concat(parts));
+    }
+
+    /** 상품 상세 JSON. body가 던진 예외(없는 상품 등)는 그대로 전파, 캐시하지 않음. */
+    public CachedJson product(Long id, Supplier<?> body) {
+        return get(String.valueOf(id), body);
+    }
+
+    /** 재고가 바뀐 상품의 JSON 삭제. */
+    void stockChanged(Long productId) {
+        Cache cache = cacheManager.getCache(CACHE);
+        if (cache != null) {
+            cache.evict(String.valueOf(productId));
+        }
+    }
+
+    private CachedJson get(String key, Supplier<?> body) {
+        Cache cache = cacheManager.getCache(CACHE);
+        CachedJson cached = cache != null ? cache.get(key, CachedJson.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+        return store(cache, key, serialize(body.get()));
+    }
+
+    /** putIfAbsent: 그 사이 다른 요청이 채운 값이 있으면 그 값 사용. */
+    private static CachedJson store(Cache cache, String key, CachedJson json) {
+        if (cache == null) {
+            return json;
+        }
+        Cache.ValueWrapper existing = cache.putIfAbsent(key, json);
+        return existing != null && existing.get() instanceof CachedJson current ? current : json;
+    }
+
+    /** [part,part,...]. null(없는 상품)은 건너뜀. */
+    private static byte[] concat(byte[][] parts) {
+        int length = 2;
+        for (byte[] part : parts) {
+            if (part != null) {
+                length += part.length + 1;
+            }
+        }
+        byte[] out = new byte[Math.max(length - 1, 2)];
+        int position = 0;
+        out[position++] = '[';
+        for (byte[] part : parts) {
+            if (part == null) {
+                continue;
+            }
+            if (position > 1) {
+                out[position++] = ',';
+            }
+            System.arraycopy(part, 0, out, position, part.length);
+            position += part.length;
+        }
+        out[position] = ']';
+        return out;
+    }
+
+    private CachedJson serialize(Object body) {
+        try {
+            return CachedJson.of(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("상품 응답 직렬화 실패", ex);
+        }
+    }
+}
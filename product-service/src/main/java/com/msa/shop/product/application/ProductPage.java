@@ -0,0 +1,6 @@
+package com.msa.shop.product.application;
+
+import java.util.List;
+
+/** 검색 결과 한 페이지. nextCursor는 마지막 페이지면 null. */
+public record ProductPage(List<ProductView> products, String nextCursor) {}
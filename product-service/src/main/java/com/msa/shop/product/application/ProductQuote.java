@@ -0,0 +1,11 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.StockQuote;
+
+/** 재고 예약 시점의 상품명·단가. 주문 금액 계산 기준(authoritative price). */
+public record ProductQuote(String name, int unitPrice) {
+
+    static ProductQuote from(StockQuote quote) {
+        return new ProductQuote(quote.getName(), quote.getPrice());
+    }
+}
@@ -0,0 +1,438 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.domain.ProductChangedEvent;
+import com.msa.shop.product.domain.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+
+/**
+ * 상품 검색용 인메모리 인덱스. ProductService.searchProducts가 DB LIKE(전체 스캔) 대신 사용.
+ * - 이름: 소문자 이름의 2-gram(한글은 음절 2개) → 문서 번호 posting list(오름차순). 검색어의 2-gram posting을 교집합한 뒤 contains로 확인.
+ *   검색어가 1글자면 2-gram이 없으므로 다른 조건의 후보(없으면 전체)를 contains로 확인.
+ * - 카테고리: 카테고리별 BitSet. 가격: (가격, 문서 번호) 정렬 배열에서 이분 탐색. 가격 배열은 변경 후 첫 가격 조회 때 다시 정렬.
+ * - 조건 중 후보가 가장 적은 것으로 후보를 뽑고 나머지 조건은 문서 값으로 확인. 결과는 id 오름차순(DB 검색과 같은 순서).
+ * - 기동 완료(ApplicationReadyEvent) 후 테이블을 id keyset 페이지로 읽어 적재, 이후 ProductChangedEvent(커밋 후)로 갱신.
+ *   적재 전이거나 app.search.index.enabled=false면 ready=false → ProductService가 DB 검색 사용.
+ * - 이 인스턴스에서 저장된 변경만 반영. 상품 등록·수정 API가 없고 현재 상품 쓰기는 기동 시 시딩뿐.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private final ProductRepository productRepository;
+    private final boolean enabled;
+    private final int buildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** 상품 id → 문서 번호. 문서 번호는 추가 순서로 부여, 삭제돼도 재사용하지 않음. */
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+    private final Map<String, BitSet> categories = new HashMap<>();
+    private ProductCatalog[] docs = new ProductCatalog[1024];
+    private String[] lowerNames = new String[1024];
+    private int nextOrdinal;
+    /** (가격 << 32 | 문서 번호) 오름차순. priceKeysStale이면 다음 가격 조회 때 재구성. */
+    private long[] priceKeys = new long[0];
+    /** 쓰기 잠금 아래에서만 변경. volatile이라 가격 조회가 잠금 없이 확인하고, 최신일 때는 쓰기 잠금을 잡지 않음. */
+    private volatile boolean priceKeysStale;
+    private volatile boolean ready;
+
+    public ProductSearchIndex(
+            ProductRepository productRepository,
+            @Value("${app.search.index.enabled:true}") boolean enabled,
+            @Value("${app.search.index.build-batch-size:10000}") int buildBatchSize
+    ) {
+        this.productRepository = productRepository;
+        this.enabled = enabled;
+        this.buildBatchSize = buildBatchSize;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * products 테이블 전체를 buildBatchSize개씩 id 순으로 읽어 적재. 페이지마다 트랜잭션이 끝나 영속성 컨텍스트에 쌓이지 않음.
+     * - 적재 중 들어온 변경 이벤트도 같은 upsert로 반영.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            log.info("상품 검색 인덱스 비활성화(app.search.index.enabled=false). DB 검색 사용.");
+            return;
+        }
+        long started = System.nanoTime();
+        long afterId = 0;
+        int count = 0;
+        List<Product> page;
+        try {
+            do {
+                page = productRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(buildBatchSize));
+                lock.writeLock().lock();
+                try {
+                    for (Product product : page) {
+                        upsert(ProductCatalog.from(product));
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                count += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == buildBatchSize);
+        } catch (RuntimeException ex) {
+            log.warn("상품 검색 인덱스 적재 실패. DB 검색 사용: {}", ex.getMessage());
+            return;
+        }
+        ready = true;
+        log.info("상품 검색 인덱스 적재 완료. products={}, grams={}, {}ms",
+                count, postings.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** 상품 저장·삭제 커밋 후 반영. 트랜잭션 밖 저장이면 바로 반영. */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (event.removed()) {
+                remove(event.productId());
+            } else {
+                upsert(new ProductCatalog(event.productId(), event.name(), event.category(), event.price()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 조건 검색. name(부분 일치, 대소문자 무시), category(일치), minPrice, maxPrice 중 null·빈 값이 아닌 조건만 적용.
+     * - DB 검색과 달리 name의 '%'·'_'는 와일드카드가 아닌 문자 그대로 비교.
+     */
+    public List<ProductCatalog> search(String name, String category, Integer minPrice, Integer maxPrice) {
+        String query = name != null && !name.isEmpty() ? name.toLowerCase(Locale.ROOT) : null;
+        String categoryFilter = category != null && !category.isEmpty() ? category : null;
+        boolean byPrice = minPrice != null || maxPrice != null;
+        while (true) {
+            if (byPrice && priceKeysStale) {
+                refreshPriceKeysIfStale();
+            }
+            lock.readLock().lock();
+            try {
+                // 재구성 직후 읽기 잠금 전에 다시 바뀌었으면 재구성부터 다시(읽기 잠금 아래에서는 바뀌지 않음)
+                if (byPrice && priceKeysStale) {
+                    continue;
+                }
+                Query q = new Query(query, categoryFilter, minPrice, maxPrice);
+                List<ProductCatalog> result = new ArrayList<>();
+                candidates(q).forEach(ordinal -> {
+                    if (q.matches(docs[ordinal], lowerNames[ordinal])) {
+                        result.add(docs[ordinal]);
+                    }
+                });
+                result.sort(Comparator.comparing(ProductCatalog::id));
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /** 가장 좁은 조건으로 후보 문서 번호 선택. 조건의 후보 수가 0이면 바로 빈 결과. */
+    private Candidates candidates(Query q) {
+        List<IntList> namePostings = q.name() != null ? namePostings(q.name()) : null;
+        if (namePostings != null && (namePostings.isEmpty() || namePostings.get(0).size == 0)) {
+            return Candidates.NONE;
+        }
+        BitSet categoryBits = q.category() != null ? categories.get(q.category()) : null;
+        if (q.category() != null && categoryBits == null) {
+            return Candidates.NONE;
+        }
+        int priceFrom = 0;
+        int priceTo = 0;
+        if (q.hasPrice()) {
+            priceFrom = q.minPrice() != null ? lowerBound(priceKeys, (long) q.minPrice() << 32) : 0;
+            priceTo = q.maxPrice() != null ? upperBound(priceKeys, ((long) q.maxPrice() << 32) | 0xffffffffL) : priceKeys.length;
+            if (priceFrom >= priceTo) {
+                return Candidates.NONE;
+            }
+        }
+
+        long nameSize = namePostings != null ? namePostings.get(0).size : Long.MAX_VALUE;
+        long categorySize = categoryBits != null ? categoryBits.cardinality() : Long.MAX_VALUE;
+        long priceSize = q.hasPrice() ? priceTo - priceFrom : Long.MAX_VALUE;
+        if (nameSize <= categorySize && nameSize <= priceSize && namePostings != null) {
+            int[] matched = intersect(namePostings);
+            return action -> Arrays.stream(matched).forEach(action);
+        }
+        if (categorySize <= priceSize && categoryBits != null) {
+            return action -> categoryBits.stream().forEach(action);
+        }
+        if (q.hasPrice()) {
+            long[] keys = priceKeys;
+            int from = priceFrom;
+            int to = priceTo;
+            return action -> {
+                for (int i = from; i < to; i++) {
+                    action.accept((int) keys[i]);
+                }
+            };
+        }
+        int upTo = nextOrdinal;
+        return action -> {
+            for (int ordinal = 0; ordinal < upTo; ordinal++) {
+                action.accept(ordinal);
+            }
+        };
+    }
+
+    /**
+     * 검색어 2-gram의 posting list(작은 것부터). 없는 2-gram이 있으면 빈 posting 하나만 반환.
+     * 검색어가 1글자면 null(이름 조건은 후보 확인 단계에서만 적용).
+     */
+    private List<IntList> namePostings(String query) {
+        Set<String> grams = grams(query);
+        if (grams.isEmpty()) {
+            return null;
+        }
+        List<IntList> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            IntList list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        return lists;
+    }
+
+    /** 오름차순 posting list 교집합. 가장 작은 목록을 기준으로 나머지에서 이분 탐색. */
+    private static int[] intersect(List<IntList> lists) {
+        IntList smallest = lists.get(0);
+        int[] result = Arrays.copyOf(smallest.values, smallest.size);
+        int size = result.length;
+        for (int i = 1; i < lists.size() && size > 0; i++) {
+            IntList other = lists.get(i);
+            int kept = 0;
+            int from = 0;
+            for (int j = 0; j < size; j++) {
+                int found = Arrays.binarySearch(other.values, from, other.size, result[j]);
+                if (found >= 0) {
+                    result[kept++] = result[j];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private void upsert(ProductCatalog catalog) {
+        Integer ordinal = ordinals.get(catalog.id());
+        if (ordinal == null) {
+            ordinal = nextOrdinal++;
+            ensureCapacity(nextOrdinal);
+            ordinals.put(catalog.id(), ordinal);
+        } else if (catalog.equals(docs[ordinal])) {
+            return;
+        } else {
+            unindex(ordinal);
+        }
+        String lowerName = catalog.name() != null ? catalog.name().toLowerCase(Locale.ROOT) : "";
+        docs[ordinal] = catalog;
+        lowerNames[ordinal] = lowerName;
+        for (String gram : grams(lowerName)) {
+            postings.computeIfAbsent(gram, key -> new IntList()).add(ordinal);
+        }
+        if (catalog.category() != null) {
+            categories.computeIfAbsent(catalog.category(), key -> new BitSet()).set(ordinal);
+        }
+        priceKeysStale = true;
+    }
+
+    private void remove(Long productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal != null) {
+            unindex(ordinal);
+            docs[ordinal] = null;
+            lowerNames[ordinal] = null;
+            priceKeysStale = true;
+        }
+    }
+
+    /** 문서의 이름 2-gram·카테고리 색인 제거(가격은 priceKeys 재구성 시 반영). */
+    private void unindex(int ordinal) {
+        for (String gram : grams(lowerNames[ordinal])) {
+            IntList list = postings.get(gram);
+            if (list != null && list.remove(ordinal) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+        String category = docs[ordinal].category();
+        BitSet bits = category != null ? categories.get(category) : null;
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                categories.remove(category);
+            }
+        }
+    }
+
+    /** 호출자가 잠금 없이 stale을 확인한 뒤 호출. 쓰기 잠금을 잡고 다시 확인 → 동시 조회 중 한 번만 재구성. */
+    private void refreshPriceKeysIfStale() {
+        lock.writeLock().lock();
+        try {
+            if (!priceKeysStale) {
+                return;
+            }
+            long[] keys = new long[ordinals.size()];
+            int n = 0;
+            for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+                if (docs[ordinal] != null) {
+                    keys[n++] = ((long) docs[ordinal].price() << 32) | (ordinal & 0xffffffffL);
+                }
+            }
+            Arrays.sort(keys, 0, n);
+            priceKeys = n == keys.length ? keys : Arrays.copyOf(keys, n);
+            priceKeysStale = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > docs.length) {
+            int grown = Math.max(capacity, docs.length * 2);
+            docs = Arrays.copyOf(docs, grown);
+            lowerNames = Arrays.copyOf(lowerNames, grown);
+        }
+    }
+
+    /** 소문자 문자열의 중복 없는 2-gram. 길이 2 미만이면 빈 집합. */
+    static Set<String> grams(String lower) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 2 <= lower.length(); i++) {
+            grams.add(lower.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    /** 첫 번째 keys[i] >= key 위치. */
+    private static int lowerBound(long[] keys, long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** 첫 번째 keys[i] > key 위치. */
+    private static int upperBound(long[] keys, long key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Query(String name, String category, Integer minPrice, Integer maxPrice) {
+
+        boolean hasPrice() {
+            return minPrice != null || maxPrice != null;
+        }
+
+        boolean matches(ProductCatalog doc, String lowerName) {
+            return doc != null
+                    && (name == null || lowerName.contains(name))
+                    && (category == null || Objects.equals(category, doc.category()))
+                    && (minPrice == null || doc.price() >= minPrice)
+                    && (maxPrice == null || doc.price() <= maxPrice);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Candidates {
+
+        Candidates NONE = action -> { };
+
+        void forEach(IntConsumer action);
+    }
+
+    /** 오름차순 int 목록(posting list). 문서 번호가 대부분 증가 순으로 들어와 add는 보통 끝에 붙임. */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size > 0 && values[size - 1] >= value) {
+                int found = Arrays.binarySearch(values, 0, size, value);
+                if (found >= 0) {
+                    return;
+                }
+                insertAt(-found - 1, value);
+                return;
+            }
+            insertAt(size, value);
+        }
+
+        boolean remove(int value) {
+            int found = Arrays.binarySearch(values, 0, size, value);
+            if (found < 0) {
+                return false;
+            }
+            System.arraycopy(values, found + 1, values, found, size - found - 1);
+            size--;
+            return true;
+        }
+
+        private void insertAt(int index, int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1) + 1);
+            }
+            System.arraycopy(values, index, values, index + 1, size - index);
+            values[index] = value;
+            size++;
+        }
+    }
+}
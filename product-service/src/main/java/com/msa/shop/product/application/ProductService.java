@@ -2,43 +2,212 @@ package com.msa.shop.product.application;
 
 import com.msa.shop.product.domain.Product;
 import com.msa.shop.product.domain.ProductRepository;
-import org.springframework.cache.annotation.Cacheable;
+import com.msa.shop.product.domain.ProductSpecifications;
+import com.msa.shop.product.domain.ProductStock;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * 상품 도메인 비즈니스 로직.
- * - 목록/상세 조회. 재고 예약은 InternalStockController에서 직접 Repository 사용.
+ * - 목록/상세 조회. 재고 예약·복구는 StockService 담당.
+ * - 목록·검색은 keyset 페이지(ProductSort 순서, ProductCursor 이후 limit개). OFFSET 없이 정렬 인덱스에서 이어 읽음.
+ * - 캐시는 카탈로그(products: 목록 페이지, product: 상세)와 재고(stock)를 분리. 응답은 둘을 합친 ProductView.
+ *   재고 변경은 stock 항목만 갱신(StockCacheUpdater)하므로 카탈로그 캐시는 예약·복구와 무관하게 유지.
+ * - 캐시 조회는 ID별로 먼저 보고 없는 ID만 DB 한 번(findAllById / findStockByIdIn)으로 조회 후 캐시에 채움.
  */
 @Service
 public class ProductService {
 
+    public static final String CATALOG_LIST_CACHE = "products";
+    public static final String CATALOG_CACHE = "product";
+    public static final String STOCK_CACHE = "stock";
+
+    /** GET /products/batch 한 번에 조회할 수 있는 최대 ID 수. */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    /** 목록·검색 페이지 크기(limit) 기본값·최대값. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /** findStockByIdIn 한 번에 넘기는 최대 ID 수(IN 목록 길이 제한). */
+    private static final int STOCK_LOOKUP_CHUNK = 1000;
+
     private final ProductRepository productRepository;
+    private final CacheManager cacheManager;
+    private final ProductSearchIndex productSearchIndex;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, CacheManager cacheManager,
+                          ProductSearchIndex productSearchIndex) {
         this.productRepository = productRepository;
+        this.cacheManager = cacheManager;
+        this.productSearchIndex = productSearchIndex;
     }
 
+    /**
+     * 전체 목록 한 페이지(카탈로그만, 재고는 호출자가 붙임). sort 순서, cursor 이후 limit개.
+     * - products 캐시에 (정렬, limit, cursor) 페이지 단위로 저장 → 상품 수가 늘어도 캐시 항목·응답 크기는 페이지만큼.
+     * - 캐시 미스는 keyset 조회 1번(정렬 인덱스 범위 스캔, limit+1건).
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "products", unless = "#result.isEmpty()")
-    public List<Product> getProducts() {
-        return productRepository.findAll();
+    public CatalogPage getCatalogPage(ProductSort sort, int limit, String cursor) {
+        checkLimit(limit);
+        ProductCursor after = ProductCursor.decode(cursor, sort);
+        Cache cache = cacheManager.getCache(CATALOG_LIST_CACHE);
+        String key = sort + ":" + limit + ":" + (after != null ? cursor : "");
+        CatalogPage cached = cache != null ? cache.get(key, CatalogPage.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+        Window<Product> window = scroll(ProductSpecifications.search(null, null, null, null), sort, limit, after);
+        List<ProductCatalog> catalogs = window.getContent().stream().map(ProductCatalog::from).toList();
+        CatalogPage page = new CatalogPage(catalogs, nextCursor(sort, catalogs, window.hasNext()));
+        if (cache != null && !catalogs.isEmpty()) {
+            cache.putIfAbsent(key, page);
+        }
+        return page;
     }
 
     /**
-     * 상품 검색. name(부분 일치), category(일치), minPrice, maxPrice 중 null이 아닌 값만 조건 적용.
+     * 상품 검색 한 페이지. name(부분 일치), category(일치), minPrice, maxPrice 중 null이 아닌 값만 조건 적용.
+     * - name이 있고 인메모리 인덱스(ProductSearchIndex)가 적재돼 있으면 인덱스 결과를 sort 순서로 정렬해 cursor 이후 limit개.
+     * - 그 밖에는 DB keyset 조회. 카테고리·가격 조건은 (category, price, id)·(price, id) 인덱스 범위 스캔.
+     * - 조건 조합이 다양해 캐시하지 않음. 재고는 DB 값.
      */
     @Transactional(readOnly = true)
-    public List<Product> searchProducts(String name, String category, Integer minPrice, Integer maxPrice) {
-        return productRepository.search(name, category, minPrice, maxPrice);
+    public ProductPage searchProducts(String name, String category, Integer minPrice, Integer maxPrice,
+                                      ProductSort sort, int limit, String cursor) {
+        checkLimit(limit);
+        ProductCursor after = ProductCursor.decode(cursor, sort);
+        if (name == null || name.isEmpty() || !productSearchIndex.isReady()) {
+            Window<Product> window = scroll(ProductSpecifications.search(name, category, minPrice, maxPrice), sort, limit, after);
+            List<Product> products = window.getContent();
+            return new ProductPage(products.stream().map(ProductView::from).toList(),
+                    nextCursor(sort, products.stream().map(ProductCatalog::from).toList(), window.hasNext()));
+        }
+        Comparator<ProductCatalog> order = sort.comparator();
+        ProductCatalog probe = after != null ? sort.probe(after) : null;
+        List<ProductCatalog> rows = productSearchIndex.search(name, category, minPrice, maxPrice).stream()
+                .filter(catalog -> probe == null || order.compare(catalog, probe) > 0)
+                .sorted(order)
+                .limit(limit + 1L)
+                .toList();
+        boolean hasNext = rows.size() > limit;
+        List<ProductCatalog> catalogs = hasNext ? rows.subList(0, limit) : rows;
+        Map<Long, Integer> stocks = new HashMap<>();
+        loadStocks(catalogs.stream().map(ProductCatalog::id).toList(),
+                stock -> stocks.put(stock.getId(), stock.getStockQuantity()));
+        return new ProductPage(catalogs.stream()
+                .filter(catalog -> stocks.containsKey(catalog.id()))
+                .map(catalog -> ProductView.of(catalog, stocks.get(catalog.id())))
+                .toList(),
+                nextCursor(sort, catalogs, hasNext));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "product", key = "#id")
-    public Product getProduct(Long id) {
-        return productRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + id));
+    public ProductView getProduct(Long id) {
+        List<ProductView> found = withStock(catalogs(List.of(id)));
+        if (found.isEmpty()) {
+            throw new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + id);
+        }
+        return found.get(0);
+    }
+
+    /**
+     * 여러 상품 한 번에 조회. 요청 ID 순서대로 반환(중복 ID는 한 번, 없는 ID는 제외).
+     * - ID가 MAX_BATCH_SIZE개를 넘으면 IllegalArgumentException.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductView> getProductsByIds(List<Long> ids) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BATCH_SIZE + "개까지 조회할 수 있습니다.");
+        }
+        return withStock(catalogs(List.copyOf(distinct)));
+    }
+
+    /** 카탈로그 조회(ID 순서 유지, 없는 ID 제외). 캐시 미스는 findAllById 한 번. */
+    private List<ProductCatalog> catalogs(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CATALOG_CACHE);
+        Map<Long, ProductCatalog> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : ids) {
+            ProductCatalog cached = cache != null ? cache.get(id, ProductCatalog.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (Product product : productRepository.findAllById(misses)) {
+                ProductCatalog catalog = ProductCatalog.from(product);
+                found.put(catalog.id(), catalog);
+                if (cache != null) cache.putIfAbsent(catalog.id(), catalog);
+            }
+        }
+        return ids.stream().filter(found::containsKey).map(found::get).toList();
+    }
+
+    /**
+     * 카탈로그에 재고를 붙임. stock 캐시 미스는 findStockByIdIn(STOCK_LOOKUP_CHUNK개씩). 그 사이 삭제된 상품은 제외.
+     * - 캐시 채우기는 putIfAbsent: 조회 중 커밋된 재고 변경이 먼저 넣은 값을 옛 값으로 덮지 않음.
+     */
+    private List<ProductView> withStock(List<ProductCatalog> catalogs) {
+        Cache cache = cacheManager.getCache(STOCK_CACHE);
+        Map<Long, Integer> stocks = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (ProductCatalog catalog : catalogs) {
+            Integer cached = cache != null ? cache.get(catalog.id(), Integer.class) : null;
+            if (cached != null) {
+                stocks.put(catalog.id(), cached);
+            } else {
+                misses.add(catalog.id());
+            }
+        }
+        loadStocks(misses, stock -> {
+            stocks.put(stock.getId(), stock.getStockQuantity());
+            if (cache != null) cache.putIfAbsent(stock.getId(), stock.getStockQuantity());
+        });
+        return catalogs.stream()
+                .filter(catalog -> stocks.containsKey(catalog.id()))
+                .map(catalog -> ProductView.of(catalog, stocks.get(catalog.id())))
+                .toList();
+    }
+
+    /** 재고만 STOCK_LOOKUP_CHUNK개씩 나눠 조회. 없는 상품은 건너뜀. */
+    private void loadStocks(List<Long> ids, Consumer<ProductStock> consumer) {
+        for (int from = 0; from < ids.size(); from += STOCK_LOOKUP_CHUNK) {
+            productRepository.findStockByIdIn(ids.subList(from, Math.min(from + STOCK_LOOKUP_CHUNK, ids.size())))
+                    .forEach(consumer);
+        }
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit는 1~" + MAX_PAGE_SIZE + " 사이여야 합니다.");
+        }
+    }
+
+    /** 조건·정렬로 cursor 이후 limit건(Spring Data keyset scroll: limit+1건 읽어 hasNext 판단). */
+    private Window<Product> scroll(Specification<Product> spec, ProductSort sort, int limit, ProductCursor after) {
+        ScrollPosition position = after != null ? ScrollPosition.forward(sort.keyset(after)) : ScrollPosition.keyset();
+        return productRepository.findBy(spec, query -> query.sortBy(sort.sort()).limit(limit).scroll(position));
+    }
+
+    private static String nextCursor(ProductSort sort, List<ProductCatalog> page, boolean hasNext) {
+        return hasNext && !page.isEmpty() ? ProductCursor.after(sort, page.get(page.size() - 1)).encode() : null;
     }
 }
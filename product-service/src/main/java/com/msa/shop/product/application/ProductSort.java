@@ -0,0 +1,88 @@
+package com.msa.shop.product.application;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 상품 목록·검색 정렬. 모든 정렬은 id를 마지막 키로 둬 순서가 유일 → keyset 커서(ProductCursor)로 다음 페이지 조회.
+ * - DB: products 인덱스 (price, id)·(category, price, id)·(name, id)·PK를 따라 읽음.
+ * - 인메모리 검색(ProductSearchIndex) 결과는 comparator로 같은 순서 정렬.
+ */
+public enum ProductSort {
+
+    ID("id", Sort.by(Sort.Order.asc("id")),
+            Comparator.comparing(ProductCatalog::id)),
+    PRICE_ASC("price_asc", Sort.by(Sort.Order.asc("price"), Sort.Order.asc("id")),
+            Comparator.comparingInt(ProductCatalog::price).thenComparing(ProductCatalog::id)),
+    PRICE_DESC("price_desc", Sort.by(Sort.Order.desc("price"), Sort.Order.desc("id")),
+            Comparator.comparingInt(ProductCatalog::price).reversed()
+                    .thenComparing(ProductCatalog::id, Comparator.reverseOrder())),
+    NAME("name", Sort.by(Sort.Order.asc("name"), Sort.Order.asc("id")),
+            Comparator.comparing(ProductCatalog::name).thenComparing(ProductCatalog::id));
+
+    private final String param;
+    private final Sort sort;
+    private final Comparator<ProductCatalog> comparator;
+
+    ProductSort(String param, Sort sort, Comparator<ProductCatalog> comparator) {
+        this.param = param;
+        this.sort = sort;
+        this.comparator = comparator;
+    }
+
+    /** 요청 파라미터(id, price_asc, price_desc, name, 대소문자 무시). 없으면 ID. 그 밖의 값은 IllegalArgumentException. */
+    public static ProductSort from(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        String normalized = value.strip().toLowerCase(Locale.ROOT);
+        for (ProductSort candidate : values()) {
+            if (candidate.param.equals(normalized)) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("sort는 id, price_asc, price_desc, name 중 하나여야 합니다.");
+    }
+
+    Sort sort() {
+        return sort;
+    }
+
+    Comparator<ProductCatalog> comparator() {
+        return comparator;
+    }
+
+    /** 커서에 저장할 정렬 키(id 제외). ID 정렬이면 null. */
+    String keyOf(ProductCatalog catalog) {
+        return switch (this) {
+            case ID -> null;
+            case PRICE_ASC, PRICE_DESC -> String.valueOf(catalog.price());
+            case NAME -> catalog.name();
+        };
+    }
+
+    /** 커서 → Spring Data keyset 위치 값(정렬 속성 → 마지막 행 값). */
+    Map<String, Object> keyset(ProductCursor cursor) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        switch (this) {
+            case PRICE_ASC, PRICE_DESC -> keys.put("price", Integer.parseInt(cursor.key()));
+            case NAME -> keys.put("name", cursor.key());
+            case ID -> { }
+        }
+        keys.put("id", cursor.id());
+        return keys;
+    }
+
+    /** 커서 위치의 비교용 카탈로그(정렬 키와 id만 채움). comparator로 커서 이후 행만 거를 때 사용. */
+    ProductCatalog probe(ProductCursor cursor) {
+        return switch (this) {
+            case ID -> new ProductCatalog(cursor.id(), "", null, 0);
+            case PRICE_ASC, PRICE_DESC -> new ProductCatalog(cursor.id(), "", null, Integer.parseInt(cursor.key()));
+            case NAME -> new ProductCatalog(cursor.id(), cursor.key(), null, 0);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.Product;
+
+/** 상품 조회 결과. 카탈로그 + 재고(캐시 또는 DB). */
+public record ProductView(Long id, String name, String category, int price, int stockQuantity) {
+
+    static ProductView of(ProductCatalog catalog, int stockQuantity) {
+        return new ProductView(catalog.id(), catalog.name(), catalog.category(), catalog.price(), stockQuantity);
+    }
+
+    static ProductView from(Product product) {
+        return new ProductView(product.getId(), product.getName(), product.getCategory(), product.getPrice(),
+                product.getStockQuantity());
+    }
+}
@@ -0,0 +1,62 @@
+package com.msa.shop.product.application;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 재고 변경 시 stock 캐시 항목만 새 값으로 갱신. StockService·StockReservationBatcher가 공유.
+ * - 카탈로그 캐시(products·product)는 건드리지 않음 → 예약·복구가 잦아도 목록·상세 캐시 적중 유지.
+ * - 재고가 들어 있는 직렬화 응답(ProductJsonCache)은 해당 상품·목록 항목 삭제(다음 조회 때 캐시된 객체로 다시 직렬화).
+ * - 트랜잭션 안에서 호출하면 커밋 후 반영(롤백된 재고가 캐시에 남지 않음).
+ * - 동시 변경의 커밋 후 반영 순서가 뒤바뀌면 잠시 이전 값이 남을 수 있음. stock 캐시 TTL(app.cache.stock.ttl)이 상한.
+ * - 2단 캐시(TwoLevelCacheManager)에서는 L2 갱신 + Redis pub/sub으로 다른 인스턴스 L1 삭제.
+ * - 캐시 반영 실패(Redis 장애)는 로그만 남김. 재고 변경은 이미 커밋됐으므로 예약·복구 응답을 실패로 바꾸지 않음.
+ *   실패 시 TwoLevelCache가 이 인스턴스 L1을 삭제하고, L2의 이전 값은 stock 캐시 TTL이 상한.
+ */
+@Component
+public class StockCacheUpdater {
+
+    private static final Logger log = LoggerFactory.getLogger(StockCacheUpdater.class);
+
+    private final CacheManager cacheManager;
+    private final ProductJsonCache productJsonCache;
+
+    public StockCacheUpdater(CacheManager cacheManager, ProductJsonCache productJsonCache) {
+        this.cacheManager = cacheManager;
+        this.productJsonCache = productJsonCache;
+    }
+
+    public void stockChanged(Long productId, int stockQuantity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(productId, stockQuantity);
+                }
+            });
+        } else {
+            put(productId, stockQuantity);
+        }
+    }
+
+    private void put(Long productId, int stockQuantity) {
+        try {
+            Cache cache = cacheManager.getCache(ProductService.STOCK_CACHE);
+            if (cache != null) {
+                cache.put(productId, stockQuantity);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("재고 캐시 갱신 실패. productId={}: {}", productId, ex.getMessage());
+        }
+        try {
+            productJsonCache.stockChanged(productId);
+        } catch (RuntimeException ex) {
+            log.warn("상품 JSON 캐시 삭제 실패. productId={}: {}", productId, ex.getMessage());
+        }
+    }
+}
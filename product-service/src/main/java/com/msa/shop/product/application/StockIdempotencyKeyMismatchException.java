@@ -0,0 +1,9 @@
+package com.msa.shop.product.application;
+
+/** 처리된 멱등 키를 다른 재고 요청(작업·상품·수량이 다름)에 재사용. InternalStockController에서 409로 변환. */
+public class StockIdempotencyKeyMismatchException extends RuntimeException {
+
+    public StockIdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
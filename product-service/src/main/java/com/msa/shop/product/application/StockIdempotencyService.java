@@ -0,0 +1,106 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.StockOperation;
+import com.msa.shop.product.domain.StockOperationRecord;
+import com.msa.shop.product.domain.StockOperationRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 작업 멱등 키 저장소. StockService·StockReservationBatcher·StockReservationService가 사용.
+ * - find: 이미 처리된 키면 최초 결과 반환 → 재고를 다시 건드리지 않고 그대로 응답.
+ *   작업·상품·수량이 최초 요청과 다르면 StockIdempotencyKeyMismatchException(409).
+ * - record: 재고 변경과 같은 트랜잭션에서 호출. 즉시 flush해 동시 중복 키는 DataIntegrityViolationException으로 드러냄.
+ * - purgeExpired: retention 지난 키 삭제(테이블 크기 유지).
+ */
+@Service
+public class StockIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockIdempotencyService.class);
+
+    private final StockOperationRecordRepository stockOperationRecordRepository;
+    private final Duration retention;
+
+    public StockIdempotencyService(
+            StockOperationRecordRepository stockOperationRecordRepository,
+            @Value("${app.stock.idempotency.retention:24h}") Duration retention
+    ) {
+        this.stockOperationRecordRepository = stockOperationRecordRepository;
+        this.retention = retention;
+    }
+
+    /** 키 형식 검사. null은 멱등 처리 없이 진행(하위 호환). */
+    public void validate(String idempotencyKey) {
+        if (idempotencyKey != null
+                && (idempotencyKey.isBlank() || idempotencyKey.length() > StockOperationRecord.MAX_KEY_LENGTH)) {
+            throw new IllegalArgumentException("유효하지 않은 멱등 키");
+        }
+    }
+
+    public Optional<StockOperationRecord> find(String idempotencyKey, StockOperation operation,
+                                               Long productId, int quantity) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        Optional<StockOperationRecord> record = stockOperationRecordRepository.findById(idempotencyKey);
+        record.ifPresent(r -> verify(r, operation, productId, quantity));
+        return record;
+    }
+
+    public Map<String, StockOperationRecord> findAll(Collection<String> idempotencyKeys) {
+        return stockOperationRecordRepository.findAllById(idempotencyKeys).stream()
+                .collect(Collectors.toMap(StockOperationRecord::getIdempotencyKey, Function.identity()));
+    }
+
+    /** 기록된 키를 같은 요청이 재사용했는지 확인. 다르면 StockIdempotencyKeyMismatchException. */
+    static void verify(StockOperationRecord record, StockOperation operation, Long productId, int quantity) {
+        if (!record.matches(operation, productId, quantity)) {
+            throw new StockIdempotencyKeyMismatchException("다른 재고 요청에 사용된 멱등 키. key=" + record.getIdempotencyKey());
+        }
+    }
+
+    /** 예약·복구 결과 기록. 호출자 트랜잭션 필수. */
+    public void record(String idempotencyKey, StockOperation operation, Long productId, int quantity,
+                       StockResult result) {
+        record(idempotencyKey, operation, productId, quantity, result, null);
+    }
+
+    public void record(String idempotencyKey, StockOperation operation, Long productId, int quantity,
+                       StockResult result, String reservationId) {
+        stockOperationRecordRepository.saveAndFlush(new StockOperationRecord(idempotencyKey, operation, productId,
+                quantity, result.success(), result.reason(), result.remainingStock(), reservationId));
+    }
+
+    /** 키가 있으면 record, 없으면 아무것도 하지 않음. */
+    void recordIfPresent(String idempotencyKey, StockOperation operation, Long productId, int quantity,
+                         StockResult result) {
+        if (idempotencyKey != null) {
+            record(idempotencyKey, operation, productId, quantity, result);
+        }
+    }
+
+    static StockResult toResult(StockOperationRecord record) {
+        return new StockResult(record.isSuccess(), record.getReason(), record.getRemainingStock());
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.idempotency.sweep-interval:60000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = stockOperationRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("만료 멱등 키 삭제 count={}", deleted);
+        }
+    }
+}
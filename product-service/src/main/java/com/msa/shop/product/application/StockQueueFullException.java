@@ -0,0 +1,9 @@
+package com.msa.shop.product.application;
+
+/** 그룹 커밋 예약 대기열이 가득 차거나 대기 시간 초과. InternalStockController에서 503으로 변환. */
+public class StockQueueFullException extends RuntimeException {
+
+    public StockQueueFullException(String message) {
+        super(message);
+    }
+}
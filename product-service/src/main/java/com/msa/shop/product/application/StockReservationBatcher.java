@@ -0,0 +1,307 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.domain.ProductRepository;
+import com.msa.shop.product.domain.StockOperation;
+import com.msa.shop.product.domain.StockOperationRecord;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 상품별 그룹 커밋 재고 예약 큐 (opt-in: app.stock.group-commit.enabled=true).
+ * - 같은 productId 예약 요청을 linger-ms 동안 모아 한 트랜잭션·한 UPDATE로 적용. 재고 캐시 갱신도 배치당 1회(커밋 후).
+ * - 상품별 단일 writer: 한 상품의 drain은 동시에 하나만 실행(scheduled 플래그). 비워진 상품 큐는 맵에서 제거.
+ * - 대기 시간 초과 요청은 writer가 가져가기 전에 포기 표시(claimed) → 배치에서 빠지고 재고 변화 없음.
+ *   writer가 이미 가져갔으면 호출자는 배치 결과를 끝까지 기다림(실패 응답 후 차감되는 일 없음).
+ * - 배치 안에서는 도착 순서대로 재고 내에서 수락, 넘치는 요청만 "재고 부족".
+ * - 큐에 있는 사이 스트라이프 모드로 전환된 상품의 배치는 롤백하고 요청 전체를 실패 처리(재고 변화 없음).
+ * - 멱등 키는 상품 행 잠금 아래에서 확인·기록 → 이미 처리된 키와 배치 내 중복 키는 최초 결과를 재사용.
+ * - 메트릭: stock.reserve.batch.size, stock.reserve.queue.time, stock.reserve.queue.depth, stock.reserve.batch.commit.
+ */
+@Component
+public class StockReservationBatcher {
+
+    private final ProductRepository productRepository;
+    private final StockCacheUpdater stockCacheUpdater;
+    private final StockIdempotencyService stockIdempotencyService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long lingerMs;
+    private final int maxBatchSize;
+    private final int queueCapacity;
+    private final long awaitTimeoutMs;
+
+    private final Map<Long, ProductQueue> queues = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService writers;
+
+    private final DistributionSummary batchSize;
+    private final Timer queueTime;
+    private final Timer batchCommit;
+
+    public StockReservationBatcher(
+            ProductRepository productRepository,
+            StockCacheUpdater stockCacheUpdater,
+            StockIdempotencyService stockIdempotencyService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.stock.group-commit.enabled:false}") boolean enabled,
+            @Value("${app.stock.group-commit.linger-ms:5}") long lingerMs,
+            @Value("${app.stock.group-commit.max-batch-size:200}") int maxBatchSize,
+            @Value("${app.stock.group-commit.queue-capacity:2000}") int queueCapacity,
+            @Value("${app.stock.group-commit.await-timeout-ms:3000}") long awaitTimeoutMs,
+            @Value("${app.stock.group-commit.writer-threads:4}") int writerThreads
+    ) {
+        this.productRepository = productRepository;
+        this.stockCacheUpdater = stockCacheUpdater;
+        this.stockIdempotencyService = stockIdempotencyService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.lingerMs = lingerMs;
+        this.maxBatchSize = maxBatchSize;
+        this.queueCapacity = queueCapacity;
+        this.awaitTimeoutMs = awaitTimeoutMs;
+        this.writers = Executors.newScheduledThreadPool(writerThreads, r -> {
+            Thread thread = new Thread(r, "stock-group-commit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSize = DistributionSummary.builder("stock.reserve.batch.size")
+                .description("그룹 커밋 배치당 예약 요청 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueTime = Timer.builder("stock.reserve.queue.time")
+                .description("예약 요청이 배치에 실리기까지 대기한 시간(linger)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchCommit = Timer.builder("stock.reserve.batch.commit")
+                .description("배치 트랜잭션(잠금·UPDATE·커밋) 소요 시간")
+                .register(meterRegistry);
+        Gauge.builder("stock.reserve.queue.depth", queues, qs -> qs.values().stream().mapToInt(q -> q.pending.size()).sum())
+                .description("모든 상품 큐에 대기 중인 예약 요청 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 예약 요청을 상품 큐에 넣고 배치 결과를 기다림.
+     * - 큐가 가득 차거나 await-timeout-ms 내 배치에 실리지 못하면 StockQueueFullException(재고 변화 없음).
+     */
+    public StockResult reserve(Long productId, int quantity) {
+        return reserve(productId, quantity, null);
+    }
+
+    public StockResult reserve(Long productId, int quantity, String idempotencyKey) {
+        PendingReservation pending = new PendingReservation(quantity, idempotencyKey, System.nanoTime(),
+                new AtomicBoolean(), new CompletableFuture<>());
+        boolean[] offered = new boolean[1];
+        // 큐 제거(drain 후 비었을 때)와 같은 맵 잠금 아래에서 offer → 제거된 큐에 넣는 일 없음
+        ProductQueue queue = queues.compute(productId, (id, current) -> {
+            ProductQueue q = current != null ? current : new ProductQueue(id);
+            offered[0] = q.pending.offer(pending);
+            return q;
+        });
+        if (!offered[0]) {
+            throw new StockQueueFullException("재고 예약 대기열 초과. productId=" + productId);
+        }
+        scheduleDrain(queue, lingerMs);
+        try {
+            return await(pending);
+        } catch (TimeoutException e) {
+            if (pending.claimed().compareAndSet(false, true)) {
+                throw new StockQueueFullException("재고 예약 대기 시간 초과. productId=" + productId);
+            }
+            return awaitApplied(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.claimed().compareAndSet(false, true)) {
+                throw new StockQueueFullException("재고 예약 대기 중 인터럽트. productId=" + productId);
+            }
+            return awaitApplied(pending);
+        }
+    }
+
+    private StockResult await(PendingReservation pending) throws TimeoutException, InterruptedException {
+        try {
+            return pending.result().get(awaitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** writer가 이미 배치에 실은 요청. 배치 트랜잭션이 끝나면 반드시 완료되므로 결과를 끝까지 기다림. */
+    private static StockResult awaitApplied(PendingReservation pending) {
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void scheduleDrain(ProductQueue queue, long delayMs) {
+        if (queue.scheduled.compareAndSet(false, true)) {
+            writers.schedule(() -> drain(queue), delayMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void drain(ProductQueue queue) {
+        try {
+            List<PendingReservation> batch = new ArrayList<>(Math.min(queue.pending.size(), maxBatchSize));
+            queue.pending.drainTo(batch, maxBatchSize);
+            // 호출자가 대기 시간 초과로 포기한 요청은 제외
+            batch.removeIf(pending -> !pending.claimed().compareAndSet(false, true));
+            if (!batch.isEmpty()) {
+                apply(queue.productId, batch);
+            }
+        } finally {
+            queue.scheduled.set(false);
+            // 배치 처리 중 쌓인 요청은 이미 linger 시간을 기다렸으므로 바로 다음 배치 실행
+            if (!queue.pending.isEmpty()) {
+                scheduleDrain(queue, 0);
+            } else {
+                queues.computeIfPresent(queue.productId, (id, q) -> q == queue && q.pending.isEmpty() ? null : q);
+            }
+        }
+    }
+
+    /**
+     * 배치 적용: 상품 행 잠금 → 멱등 키 확인 → 도착 순서대로 수락 → 수락 합계만큼 UPDATE 1회 → 결과 기록 → 커밋 후 각 요청 완료.
+     * - 처리된 키(또는 같은 배치의 앞선 같은 키)가 수량이 다른 요청이면 그 요청만 StockIdempotencyKeyMismatchException.
+     */
+    private void apply(Long productId, List<PendingReservation> batch) {
+        long startedAt = System.nanoTime();
+        batchSize.record(batch.size());
+        for (PendingReservation pending : batch) {
+            queueTime.record(startedAt - pending.enqueuedAt(), TimeUnit.NANOSECONDS);
+        }
+        StockResult[] results = new StockResult[batch.size()];
+        RuntimeException[] rejected = new RuntimeException[batch.size()];
+        boolean[] accepted = new boolean[batch.size()];
+        try {
+            batchCommit.recordCallable(() -> transactionTemplate.execute(status -> {
+                Product product = productRepository.findByIdForUpdate(productId)
+                        .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+                if (product.isStriped()) {
+                    throw new IllegalStateException("스트라이프 모드로 전환된 상품. 다시 요청 필요. productId=" + productId);
+                }
+                Map<String, StockOperationRecord> previous = stockIdempotencyService.findAll(batch.stream()
+                        .map(PendingReservation::idempotencyKey)
+                        .filter(Objects::nonNull)
+                        .toList());
+                Map<String, Integer> firstIndexByKey = new HashMap<>();
+                int available = product.getStockQuantity();
+                int acceptedTotal = 0;
+                for (int i = 0; i < batch.size(); i++) {
+                    String key = batch.get(i).idempotencyKey();
+                    if (key != null && (previous.containsKey(key) || firstIndexByKey.putIfAbsent(key, i) != null)) {
+                        continue;
+                    }
+                    int quantity = batch.get(i).quantity();
+                    if (quantity <= available - acceptedTotal) {
+                        acceptedTotal += quantity;
+                        accepted[i] = true;
+                    }
+                }
+                int remainingStock = available - acceptedTotal;
+                if (acceptedTotal > 0) {
+                    if (productRepository.decreaseStockIfAvailable(productId, acceptedTotal) == 0) {
+                        throw new IllegalStateException("배치 재고 차감 실패. productId=" + productId);
+                    }
+                    stockCacheUpdater.stockChanged(productId, remainingStock);
+                }
+                ProductQuote quote = new ProductQuote(product.getName(), product.getPrice());
+                for (int i = 0; i < batch.size(); i++) {
+                    String key = batch.get(i).idempotencyKey();
+                    int quantity = batch.get(i).quantity();
+                    if (key != null && previous.containsKey(key)) {
+                        if (previous.get(key).matches(StockOperation.RESERVE, productId, quantity)) {
+                            results[i] = StockIdempotencyService.toResult(previous.get(key));
+                        } else {
+                            rejected[i] = mismatch(key);
+                        }
+                    } else if (key != null && firstIndexByKey.get(key) != i) {
+                        int first = firstIndexByKey.get(key);
+                        if (batch.get(first).quantity() == quantity) {
+                            results[i] = results[first];
+                        } else {
+                            rejected[i] = mismatch(key);
+                        }
+                    } else {
+                        results[i] = (accepted[i]
+                                ? StockResult.reserved(remainingStock)
+                                : StockResult.insufficient(remainingStock)).withQuote(quote);
+                        stockIdempotencyService.recordIfPresent(key, StockOperation.RESERVE, productId, quantity,
+                                results[i]);
+                    }
+                }
+                return remainingStock;
+            }));
+        } catch (Exception e) {
+            RuntimeException failure = e instanceof RuntimeException re ? re : new IllegalStateException(e);
+            batch.forEach(pending -> pending.result().completeExceptionally(failure));
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (rejected[i] != null) {
+                batch.get(i).result().completeExceptionally(rejected[i]);
+            } else {
+                batch.get(i).result().complete(results[i]);
+            }
+        }
+    }
+
+    private static StockIdempotencyKeyMismatchException mismatch(String idempotencyKey) {
+        return new StockIdempotencyKeyMismatchException("다른 재고 요청에 사용된 멱등 키. key=" + idempotencyKey);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writers.shutdown();
+    }
+
+    private final class ProductQueue {
+        private final Long productId;
+        private final BlockingQueue<PendingReservation> pending = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private ProductQueue(Long productId) {
+            this.productId = productId;
+        }
+    }
+
+    /** claimed: writer가 배치에 실었거나 호출자가 포기함. 먼저 true로 바꾼 쪽만 유효. */
+    private record PendingReservation(int quantity, String idempotencyKey, long enqueuedAt, AtomicBoolean claimed,
+                                      CompletableFuture<StockResult> result) {}
+}
@@ -0,0 +1,278 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.StockOperation;
+import com.msa.shop.product.domain.StockReservation;
+import com.msa.shop.product.domain.StockReservationRepository;
+import com.msa.shop.product.domain.StockReservationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * 재고 홀드(TTL 예약) 원장.
+ * - hold: 한 트랜잭션에서 재고 차감 + HELD 홀드 기록(만료 시각 = now + ttl). 차감만 커밋되고 홀드가 없는 상태가 생기지 않음.
+ * - confirm: 결제 완료 후 HELD → CONFIRMED. 이미 확정이면 그대로 성공(재시도 안전).
+ * - release: HELD/CONFIRMED → RELEASED + 재고 복구. 이미 해제·만료면 아무것도 하지 않음.
+ * - holdBatch: 장바구니 여러 상품을 한 트랜잭션에서 전부 홀드하거나 전부 실패(all-or-nothing). 같은 groupId로 묶음.
+ * - expireHolds: 만료된 HELD 홀드를 배치로 EXPIRED 처리하고 상품별로 모아 재고 복구.
+ *   주문 서비스는 결제 실패 시 보상 호출 없이 홀드를 버리면 됨.
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final StockReservationRepository stockReservationRepository;
+    private final StockService stockService;
+    private final StockIdempotencyService stockIdempotencyService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+
+    public StockReservationService(
+            StockReservationRepository stockReservationRepository,
+            StockService stockService,
+            StockIdempotencyService stockIdempotencyService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.stock.reservation.ttl:5m}") Duration ttl,
+            @Value("${app.stock.reservation.sweep-batch-size:500}") int sweepBatchSize
+    ) {
+        this.stockReservationRepository = stockReservationRepository;
+        this.stockService = stockService;
+        this.stockIdempotencyService = stockIdempotencyService;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    public HoldResult hold(Long userId, Long productId, int quantity) {
+        return hold(userId, productId, quantity, null);
+    }
+
+    /**
+     * 재고 홀드 생성. 재고 차감(reserveInTransaction, 일괄 홀드와 같은 경로)과 홀드 행 저장을 한 트랜잭션에서.
+     * - 어느 쪽이든 실패하면 함께 롤백. 그룹 커밋 큐는 거치지 않음.
+     * - idempotencyKey도 같은 트랜잭션에 기록. 재요청은 같은 reservationId로 응답(상품·수량이 다르면 409).
+     *   동시 중복 요청은 나중 쪽이 키 충돌로 롤백(차감 포함)되고 먼저 생성된 홀드를 응답.
+     *   재고 부족 응답은 재고를 건드리지 않았으므로 기록하지 않음.
+     */
+    public HoldResult hold(Long userId, Long productId, int quantity, String idempotencyKey) {
+        stockIdempotencyService.validate(idempotencyKey);
+        Optional<HoldResult> previous = replay(idempotencyKey, productId, quantity);
+        if (previous.isPresent()) {
+            return previous.get();
+        }
+        StockReservation reservation = new StockReservation(productId, userId, quantity, LocalDateTime.now().plus(ttl));
+        try {
+            return transactionTemplate.execute(status -> {
+                StockResult stock = stockService.reserveInTransaction(userId, productId, quantity);
+                if (!stock.success()) {
+                    return HoldResult.rejected(stock);
+                }
+                stockReservationRepository.save(reservation);
+                if (idempotencyKey != null) {
+                    stockIdempotencyService.record(idempotencyKey, StockOperation.HOLD, productId, quantity,
+                            stock, reservation.getId());
+                }
+                return HoldResult.held(stock, reservation);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return replay(idempotencyKey, productId, quantity).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * 일괄 홀드. productId 오름차순으로 차감해 동시 장바구니 주문 간 교착 방지.
+     * - 한 상품이라도 재고 부족이면 트랜잭션 롤백 → 앞서 차감한 상품도 원복, failedProductId 응답.
+     * - 같은 상품이 여러 줄이면 수량 합산. groupId는 idempotencyKey(없으면 UUID).
+     * - idempotencyKey 재요청은 같은 그룹을 그대로 응답(remainingStock은 -1). 상품별 수량이 그룹과 다르면 409.
+     */
+    public BatchHoldResult holdBatch(Long userId, List<HoldLine> lines, String idempotencyKey) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("유효하지 않은 일괄 홀드 요청");
+        }
+        stockIdempotencyService.validate(idempotencyKey);
+        Map<Long, Integer> quantityByProduct = new TreeMap<>();
+        for (HoldLine line : lines) {
+            if (line.productId() == null || line.quantity() <= 0) {
+                throw new IllegalArgumentException("유효하지 않은 일괄 홀드 요청");
+            }
+            quantityByProduct.merge(line.productId(), line.quantity(), Integer::sum);
+        }
+        Optional<BatchHoldResult> previous = replayBatch(idempotencyKey, quantityByProduct);
+        if (previous.isPresent()) {
+            return previous.get();
+        }
+        String groupId = idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        try {
+            return transactionTemplate.execute(status -> {
+                List<StockReservation> reservations = new ArrayList<>(quantityByProduct.size());
+                List<BatchHoldResult.Line> held = new ArrayList<>(quantityByProduct.size());
+                for (Map.Entry<Long, Integer> line : quantityByProduct.entrySet()) {
+                    StockResult stock = stockService.reserveInTransaction(userId, line.getKey(), line.getValue());
+                    if (!stock.success()) {
+                        status.setRollbackOnly();
+                        return BatchHoldResult.rejected(line.getKey(), stock);
+                    }
+                    StockReservation reservation =
+                            new StockReservation(line.getKey(), userId, line.getValue(), expiresAt, groupId);
+                    reservations.add(reservation);
+                    held.add(new BatchHoldResult.Line(line.getKey(), line.getValue(), reservation.getId(),
+                            stock.remainingStock(), stock.quote()));
+                }
+                stockReservationRepository.saveAll(reservations);
+                if (idempotencyKey != null) {
+                    stockIdempotencyService.record(idempotencyKey, StockOperation.HOLD_BATCH,
+                            held.get(0).productId(), totalQuantity(quantityByProduct),
+                            StockResult.reserved(held.get(0).remainingStock()));
+                }
+                return BatchHoldResult.held(groupId, expiresAt, held);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return replayBatch(idempotencyKey, quantityByProduct).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * 그룹 일괄 확정. 하나라도 만료·해제됐으면 전체 롤백 후 "예약 만료"(만료분은 스위퍼가 이미 복구).
+     * - 이미 전부 확정이면 성공(재시도 안전).
+     */
+    public BatchHoldResult confirmGroup(String groupId) {
+        return transactionTemplate.execute(status -> {
+            List<StockReservation> reservations = findGroup(groupId);
+            long alreadyConfirmed = reservations.stream()
+                    .filter(r -> r.getStatus() == StockReservationStatus.CONFIRMED)
+                    .count();
+            int confirmed = stockReservationRepository.transitionGroup(groupId,
+                    StockReservationStatus.HELD, StockReservationStatus.CONFIRMED);
+            if (alreadyConfirmed + confirmed == reservations.size()) {
+                return BatchHoldResult.of(groupId, true, "확정");
+            }
+            status.setRollbackOnly();
+            return BatchHoldResult.of(groupId, false, "예약 만료");
+        });
+    }
+
+    /** 그룹 일괄 해제(보상). 상품 순서대로 HELD·CONFIRMED 홀드의 재고 복구. */
+    @Transactional
+    public BatchHoldResult releaseGroup(String groupId) {
+        for (StockReservation reservation : findGroup(groupId)) {
+            release(reservation.getId());
+        }
+        return BatchHoldResult.of(groupId, true, "해제");
+    }
+
+    @Transactional
+    public HoldResult confirm(String reservationId) {
+        StockReservation reservation = find(reservationId);
+        if (reservation.getStatus() == StockReservationStatus.CONFIRMED
+                || stockReservationRepository.transition(reservationId,
+                        StockReservationStatus.HELD, StockReservationStatus.CONFIRMED) == 1) {
+            return HoldResult.of(reservation, true, "확정");
+        }
+        return HoldResult.of(reservation, false, "예약 만료");
+    }
+
+    @Transactional
+    public HoldResult release(String reservationId) {
+        StockReservation reservation = find(reservationId);
+        boolean released = stockReservationRepository.transition(reservationId,
+                StockReservationStatus.HELD, StockReservationStatus.RELEASED) == 1
+                || stockReservationRepository.transition(reservationId,
+                StockReservationStatus.CONFIRMED, StockReservationStatus.RELEASED) == 1;
+        if (released) {
+            stockService.release(reservation.getUserId(), reservation.getProductId(), reservation.getQuantity());
+        }
+        return HoldResult.of(reservation, true, "해제");
+    }
+
+    /**
+     * 만료 홀드 스위퍼. 배치가 가득 차 있으면 바로 다음 배치 실행.
+     * - 배치마다 짧은 트랜잭션. 여러 인스턴스가 동시에 돌아도 조건부 전이로 한 번만 복구.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.reservation.sweep-interval:5000}")
+    public void expireHolds() {
+        Integer fetched;
+        do {
+            fetched = transactionTemplate.execute(status -> expireBatch());
+        } while (fetched != null && fetched == sweepBatchSize);
+    }
+
+    private int expireBatch() {
+        List<StockReservation> expired = stockReservationRepository.findExpired(
+                StockReservationStatus.HELD, LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+        Map<Long, Integer> releasedByProduct = new HashMap<>();
+        for (StockReservation reservation : expired) {
+            if (stockReservationRepository.transition(reservation.getId(),
+                    StockReservationStatus.HELD, StockReservationStatus.EXPIRED) == 1) {
+                releasedByProduct.merge(reservation.getProductId(), reservation.getQuantity(), Integer::sum);
+            }
+        }
+        releasedByProduct.forEach((productId, quantity) -> stockService.release(null, productId, quantity));
+        if (!releasedByProduct.isEmpty()) {
+            log.info("만료 재고 홀드 복구 holds={} products={}", expired.size(), releasedByProduct.size());
+        }
+        return expired.size();
+    }
+
+    private Optional<HoldResult> replay(String idempotencyKey, Long productId, int quantity) {
+        return stockIdempotencyService.find(idempotencyKey, StockOperation.HOLD, productId, quantity)
+                .map(record -> HoldResult.held(
+                        StockIdempotencyService.toResult(record).withQuote(stockService.quote(record.getProductId())),
+                        find(record.getReservationId())));
+    }
+
+    /** 일괄 홀드 재생. 키 기록(첫 상품·수량 합계)과 그룹의 상품별 수량이 모두 요청과 같아야 함. */
+    private Optional<BatchHoldResult> replayBatch(String idempotencyKey, Map<Long, Integer> quantityByProduct) {
+        Long firstProductId = quantityByProduct.keySet().iterator().next();
+        if (stockIdempotencyService.find(idempotencyKey, StockOperation.HOLD_BATCH,
+                firstProductId, totalQuantity(quantityByProduct)).isEmpty()) {
+            return Optional.empty();
+        }
+        List<StockReservation> reservations = findGroup(idempotencyKey);
+        Map<Long, Integer> heldByProduct = new TreeMap<>();
+        reservations.forEach(r -> heldByProduct.put(r.getProductId(), r.getQuantity()));
+        if (!heldByProduct.equals(quantityByProduct)) {
+            throw new StockIdempotencyKeyMismatchException("다른 재고 요청에 사용된 멱등 키. key=" + idempotencyKey);
+        }
+        List<BatchHoldResult.Line> lines = reservations.stream()
+                .map(r -> new BatchHoldResult.Line(r.getProductId(), r.getQuantity(), r.getId(), -1,
+                        stockService.quote(r.getProductId())))
+                .toList();
+        return Optional.of(BatchHoldResult.held(idempotencyKey, reservations.get(0).getExpiresAt(), lines));
+    }
+
+    private static int totalQuantity(Map<Long, Integer> quantityByProduct) {
+        return quantityByProduct.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private List<StockReservation> findGroup(String groupId) {
+        List<StockReservation> reservations = stockReservationRepository.findByGroupIdOrderByProductId(groupId);
+        if (reservations.isEmpty()) {
+            throw new IllegalArgumentException("재고 예약 그룹을 찾을 수 없습니다. groupId=" + groupId);
+        }
+        return reservations;
+    }
+
+    private StockReservation find(String reservationId) {
+        return stockReservationRepository.findById(reservationId)
+                .orElseThrow(() -> new IllegalArgumentException("재고 예약을 찾을 수 없습니다. id=" + reservationId));
+    }
+}
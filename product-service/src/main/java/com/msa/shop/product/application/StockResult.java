@@ -0,0 +1,28 @@
+package com.msa.shop.product.application;
+
+/**
+ * 재고 예약/복구 결과. success=false면 reason에 "재고 부족" 등.
+ * - quote: 예약 트랜잭션에서 읽은 상품명·단가. 복구·멱등 재응답 등 조회하지 않은 경우 null.
+ */
+public record StockResult(boolean success, String reason, int remainingStock, ProductQuote quote) {
+
+    public StockResult(boolean success, String reason, int remainingStock) {
+        this(success, reason, remainingStock, null);
+    }
+
+    static StockResult reserved(int remainingStock) {
+        return new StockResult(true, "성공", remainingStock);
+    }
+
+    static StockResult insufficient(int remainingStock) {
+        return new StockResult(false, "재고 부족", remainingStock);
+    }
+
+    static StockResult released(int remainingStock) {
+        return new StockResult(true, "해제", remainingStock);
+    }
+
+    StockResult withQuote(ProductQuote quote) {
+        return new StockResult(success, reason, remainingStock, quote);
+    }
+}
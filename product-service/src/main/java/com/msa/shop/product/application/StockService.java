@@ -0,0 +1,299 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.InventoryStripe;
+import com.msa.shop.product.domain.InventoryStripeRepository;
+import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.domain.ProductRepository;
+import com.msa.shop.product.domain.StockOperation;
+import com.msa.shop.product.domain.StockOperationRecord;
+import com.msa.shop.product.domain.StockQuote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 재고 예약·복구 비즈니스 로직. InternalStockController가 호출.
+ * - 일반 모드: products 행에 조건부 단일 UPDATE.
+ * - 스트라이프 모드(opt-in): inventory_stripes N개 행 중 userId 해시로 고른 스트라이프에서 차감,
+ *   비어 있으면 나머지 스트라이프를 순서대로 시도. 핫 상품 한 행에 몰리던 락 경합을 N개로 분산.
+ * - 그룹 커밋 모드(opt-in): 일반 모드 상품 예약을 StockReservationBatcher 큐로 보내 상품별 배치로 적용.
+ * - 스트라이프 합계는 reconcileStripes 스케줄러가 products.stock_quantity로 주기 반영(조회용 스냅샷).
+ * - 경로 분기는 락 없이 읽은 stripeCount로 결정. 그 사이 모드가 바뀌어 UPDATE가 0행이면 상품 행을 잠가 최신 모드로 다시 적용.
+ * - 예약은 TransactionTemplate으로 짧은 트랜잭션만 사용(배치 대기 중에는 커넥션을 잡지 않음).
+ * - idempotencyKey가 있으면 결과를 재고 변경과 같은 트랜잭션에 기록. 같은 키 재요청은 저장된 결과를 그대로 반환.
+ */
+@Service
+public class StockService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockService.class);
+
+    private final ProductRepository productRepository;
+    private final InventoryStripeRepository inventoryStripeRepository;
+    private final StockReservationBatcher stockReservationBatcher;
+    private final StockCacheUpdater stockCacheUpdater;
+    private final StockIdempotencyService stockIdempotencyService;
+    private final TransactionTemplate transactionTemplate;
+
+    public StockService(ProductRepository productRepository,
+                        InventoryStripeRepository inventoryStripeRepository,
+                        StockReservationBatcher stockReservationBatcher,
+                        StockCacheUpdater stockCacheUpdater,
+                        StockIdempotencyService stockIdempotencyService,
+                        TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.inventoryStripeRepository = inventoryStripeRepository;
+        this.stockReservationBatcher = stockReservationBatcher;
+        this.stockCacheUpdater = stockCacheUpdater;
+        this.stockIdempotencyService = stockIdempotencyService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public StockResult reserve(Long userId, Long productId, int quantity) {
+        return reserve(userId, productId, quantity, null);
+    }
+
+    /**
+     * 재고 예약. idempotencyKey가 이미 처리된 키면 재고 변화 없이 최초 결과 반환.
+     * - 동시 중복 요청은 키 PK 충돌로 한 쪽만 커밋, 나머지는 롤백 후 커밋된 결과를 재응답.
+     */
+    public StockResult reserve(Long userId, Long productId, int quantity, String idempotencyKey) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("유효하지 않은 재고 차감 요청");
+        }
+        stockIdempotencyService.validate(idempotencyKey);
+        Optional<StockOperationRecord> previous =
+                stockIdempotencyService.find(idempotencyKey, StockOperation.RESERVE, productId, quantity);
+        if (previous.isPresent()) {
+            return StockIdempotencyService.toResult(previous.get());
+        }
+        try {
+            int stripeCount = stripeCount(productId);
+            if (stripeCount > 0) {
+                return transactionTemplate.execute(status -> recorded(idempotencyKey, StockOperation.RESERVE, productId,
+                        quantity, reserveFromStripes(userId, productId, quantity, stripeCount)
+                                .withQuote(ProductQuote.from(stockQuote(productId)))));
+            }
+            if (stockReservationBatcher.isEnabled()) {
+                return stockReservationBatcher.reserve(productId, quantity, idempotencyKey);
+            }
+            return transactionTemplate.execute(status -> recorded(idempotencyKey, StockOperation.RESERVE, productId,
+                    quantity, reserveDirect(userId, productId, quantity)));
+        } catch (DataIntegrityViolationException e) {
+            return replay(idempotencyKey, StockOperation.RESERVE, productId, quantity, e);
+        }
+    }
+
+    /**
+     * 조건부 UPDATE 후 같은 트랜잭션에서 남은 재고·상품명·단가를 한 번에 읽어 응답.
+     * - 0행이면 상품 행을 잠가 모드 확인. 그 사이 스트라이프 모드로 전환됐으면 스트라이프에서 차감.
+     */
+    private StockResult reserveDirect(Long userId, Long productId, int quantity) {
+        int updated = productRepository.decreaseStockIfAvailable(productId, quantity);
+        if (updated == 0) {
+            int stripeCount = lockedStripeCount(productId);
+            if (stripeCount > 0) {
+                return reserveFromStripes(userId, productId, quantity, stripeCount)
+                        .withQuote(ProductQuote.from(stockQuote(productId)));
+            }
+        }
+        StockQuote quote = stockQuote(productId);
+        if (updated == 0) {
+            return StockResult.insufficient(quote.getStockQuantity()).withQuote(ProductQuote.from(quote));
+        }
+        stockCacheUpdater.stockChanged(productId, quote.getStockQuantity());
+        return StockResult.reserved(quote.getStockQuantity()).withQuote(ProductQuote.from(quote));
+    }
+
+    public StockResult release(Long userId, Long productId, int quantity) {
+        return release(userId, productId, quantity, null);
+    }
+
+    /**
+     * 재고 복구. 예약과 같은 방식으로 idempotencyKey 중복 시 재고 변화 없이 최초 결과 반환.
+     * - 호출자 트랜잭션이 있으면 참여(홀드 해제·만료 스위퍼).
+     */
+    public StockResult release(Long userId, Long productId, int quantity, String idempotencyKey) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("유효하지 않은 재고 복구 요청");
+        }
+        stockIdempotencyService.validate(idempotencyKey);
+        Optional<StockOperationRecord> previous =
+                stockIdempotencyService.find(idempotencyKey, StockOperation.RELEASE, productId, quantity);
+        if (previous.isPresent()) {
+            return StockIdempotencyService.toResult(previous.get());
+        }
+        try {
+            return transactionTemplate.execute(status -> recorded(idempotencyKey, StockOperation.RELEASE, productId,
+                    quantity, releaseStock(userId, productId, quantity)));
+        } catch (DataIntegrityViolationException e) {
+            return replay(idempotencyKey, StockOperation.RELEASE, productId, quantity, e);
+        }
+    }
+
+    /**
+     * 모드별 복구. UPDATE가 0행이면(읽은 뒤 모드 전환) 상품 행을 잠근 상태에서 최신 모드로 한 번 더 시도.
+     * - 잠금 아래에서도 0행이면 IllegalStateException → 트랜잭션 롤백, 복구를 조용히 버리지 않음.
+     */
+    private StockResult releaseStock(Long userId, Long productId, int quantity) {
+        StockResult released = tryRelease(userId, productId, quantity, stripeCount(productId));
+        if (released == null) {
+            released = tryRelease(userId, productId, quantity, lockedStripeCount(productId));
+        }
+        if (released == null) {
+            throw new IllegalStateException("재고 복구 실패. productId=" + productId);
+        }
+        return released;
+    }
+
+    private StockResult tryRelease(Long userId, Long productId, int quantity, int stripeCount) {
+        if (stripeCount > 0) {
+            if (inventoryStripeRepository.increase(productId, homeStripe(userId, stripeCount), quantity) == 0) {
+                return null;
+            }
+            return StockResult.released(inventoryStripeRepository.sumQuantityByProductId(productId));
+        }
+        if (productRepository.increaseStock(productId, quantity) == 0) {
+            return null;
+        }
+        int remainingStock = currentStock(productId);
+        stockCacheUpdater.stockChanged(productId, remainingStock);
+        return StockResult.released(remainingStock);
+    }
+
+    /**
+     * 호출자 트랜잭션 안에서 바로 예약(홀드·일괄 홀드용). 그룹 커밋 큐를 거치지 않음.
+     * - 차감을 홀드 행 저장(일괄 홀드는 여러 상품 차감)과 한 트랜잭션에 묶어야 하므로 상품별 writer 스레드로 넘길 수 없음.
+     */
+    public StockResult reserveInTransaction(Long userId, Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("유효하지 않은 재고 차감 요청");
+        }
+        int stripeCount = stripeCount(productId);
+        if (stripeCount > 0) {
+            return reserveFromStripes(userId, productId, quantity, stripeCount)
+                    .withQuote(ProductQuote.from(stockQuote(productId)));
+        }
+        return reserveDirect(userId, productId, quantity);
+    }
+
+    private StockResult recorded(String idempotencyKey, StockOperation operation, Long productId, int quantity,
+                                 StockResult result) {
+        stockIdempotencyService.recordIfPresent(idempotencyKey, operation, productId, quantity, result);
+        return result;
+    }
+
+    /** 키 충돌(동시 중복 요청) 시 먼저 커밋된 결과 반환(다른 요청이 먼저 쓴 키면 409). 키 없는 요청의 제약 위반은 그대로 전파. */
+    private StockResult replay(String idempotencyKey, StockOperation operation, Long productId, int quantity,
+                               DataIntegrityViolationException cause) {
+        if (idempotencyKey == null) {
+            throw cause;
+        }
+        return stockIdempotencyService.find(idempotencyKey, operation, productId, quantity)
+                .map(StockIdempotencyService::toResult)
+                .orElseThrow(() -> cause);
+    }
+
+    /**
+     * 스트라이프 예약. 홈 스트라이프(userId 해시)부터 시작해 한 바퀴 돌며 조건부 UPDATE.
+     * - 한 주문의 수량은 한 스트라이프에서만 차감(분할 차감 없음). 스트라이프별 잔량이 적으면 전체 합계보다 먼저 실패할 수 있음.
+     */
+    private StockResult reserveFromStripes(Long userId, Long productId, int quantity, int stripeCount) {
+        int home = homeStripe(userId, stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            int stripe = (home + i) % stripeCount;
+            if (inventoryStripeRepository.decreaseIfAvailable(productId, stripe, quantity) == 1) {
+                return StockResult.reserved(inventoryStripeRepository.sumQuantityByProductId(productId));
+            }
+        }
+        return StockResult.insufficient(inventoryStripeRepository.sumQuantityByProductId(productId));
+    }
+
+    /**
+     * 스트라이프 모드 전환(opt-in). 현재 재고를 stripes개 행으로 분할.
+     * - 상품 행을 잠근 상태에서 전환. 일반 모드 UPDATE는 stripeCount = 0 조건이라 전환 후에는 0행 → 스트라이프 경로로 재시도.
+     */
+    @Transactional
+    public void enableStriping(Long productId, int stripes) {
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+        int[] quantities = product.enableStriping(stripes);
+        for (int i = 0; i < quantities.length; i++) {
+            inventoryStripeRepository.save(new InventoryStripe(productId, i, quantities[i]));
+        }
+        productRepository.save(product);
+    }
+
+    /** 일반 모드 복귀. 스트라이프 행을 잠가 합계를 stock_quantity로 접고 스트라이프 행 삭제. */
+    @Transactional
+    public void disableStriping(Long productId) {
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+        if (!product.isStriped()) {
+            return;
+        }
+        product.disableStriping(inventoryStripeRepository.findByProductIdForUpdate(productId).stream()
+                .mapToInt(InventoryStripe::getQuantity)
+                .sum());
+        inventoryStripeRepository.deleteByProductId(productId);
+        productRepository.save(product);
+        stockCacheUpdater.stockChanged(productId, product.getStockQuantity());
+    }
+
+    /**
+     * 스트라이프 재조정. 스트라이프 합계를 products.stock_quantity 스냅샷으로 반영.
+     * - 예약 경로는 products 행을 건드리지 않으므로, 목록·상세 조회 재고는 이 주기만큼 지연될 수 있음.
+     */
+    @Scheduled(fixedDelayString = "${app.stock.striping.reconcile-interval:1000}")
+    @Transactional
+    public void reconcileStripes() {
+        for (Long productId : inventoryStripeRepository.findStripedProductIds()) {
+            int total = inventoryStripeRepository.sumQuantityByProductId(productId);
+            if (productRepository.updateStockSnapshot(productId, total) == 1) {
+                log.debug("스트라이프 재고 재조정 productId={} stock={}", productId, total);
+                stockCacheUpdater.stockChanged(productId, total);
+            }
+        }
+    }
+
+    private int stripeCount(Long productId) {
+        return productRepository.findStripeCountById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+    }
+
+    /** 상품 행을 잠그고 stripeCount 조회. 잠금 읽기라 트랜잭션 스냅샷이 아닌 최신 커밋 값이고, 커밋까지 모드 전환을 막음. */
+    private int lockedStripeCount(Long productId) {
+        return productRepository.findByIdForUpdate(productId)
+                .map(Product::getStripeCount)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+    }
+
+    /** userId 해시로 고정 스트라이프 선택. userId 없으면 임의 스트라이프. */
+    private static int homeStripe(Long userId, int stripeCount) {
+        if (userId == null) {
+            return ThreadLocalRandom.current().nextInt(stripeCount);
+        }
+        return Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), stripeCount);
+    }
+
+    /** 상품명·단가 조회(멱등 재응답 등 예약 트랜잭션 밖에서 필요할 때). */
+    public ProductQuote quote(Long productId) {
+        return ProductQuote.from(stockQuote(productId));
+    }
+
+    private StockQuote stockQuote(Long productId) {
+        return productRepository.findStockQuoteById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+    }
+
+    private int currentStock(Long productId) {
+        return productRepository.findStockQuantityById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다. id=" + productId));
+    }
+}
@@ -1,22 +1,111 @@
 package com.msa.shop.product.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.msa.shop.product.application.ProductJsonCache;
+import com.msa.shop.product.application.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 상품 캐시. 카탈로그(products: 목록, product: 상세)와 재고(stock)를 분리(ProductService).
+ * - 기본: L1(인스턴스 내 Caffeine) + L2(Redis) 2단. 변경·무효화는 Redis pub/sub으로 모든 인스턴스 L1에 전파.
+ * - local 프로파일(Redis 제외): L1만.
+ * - 카탈로그: L1 app.cache.l1.ttl, L2 app.cache.l2.ttl(재고 변경과 무관하게 오래 유지).
+ * - 재고: 변경 시 새 값으로 갱신, 두 단계 모두 app.cache.stock.ttl로 짧게(갱신 순서가 뒤바뀐 경우의 상한).
+ * - 직렬화 응답(productJson, ProductJsonCache): 재고를 포함하므로 재고와 같은 TTL.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
-    /** Redis 제외 시(profile local) 인메모리 캐시 사용. */
+    static final List<String> CATALOG_CACHES = List.of(ProductService.CATALOG_LIST_CACHE, ProductService.CATALOG_CACHE);
+    /** 재고가 들어 있어 app.cache.stock.ttl을 쓰는 캐시. */
+    static final List<String> STOCK_CACHES = List.of(ProductService.STOCK_CACHE, ProductJsonCache.CACHE);
+
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final Duration stockTtl;
+
+    public CacheConfig(
+            @Value("${app.cache.l1.maximum-size:10000}") long localMaximumSize,
+            @Value("${app.cache.l1.ttl:30s}") Duration localTtl,
+            @Value("${app.cache.stock.ttl:10s}") Duration stockTtl
+    ) {
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+        this.stockTtl = stockTtl;
+    }
+
+    /** Redis 제외 시(profile local) 인메모리 캐시만 사용. */
     @Bean
     @Profile("local")
     @Primary
     public CacheManager localCacheManager() {
-        return new ConcurrentMapCacheManager("products", "product");
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(localSpec(ProductService.CATALOG_CACHE));
+        STOCK_CACHES.forEach(name -> cacheManager.registerCustomCache(name, localSpec(name).build()));
+        cacheManager.setCacheNames(CATALOG_CACHES);
+        return cacheManager;
+    }
+
+    @Bean
+    @Profile("!local")
+    @Primary
+    public TwoLevelCacheManager twoLevelCacheManager(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.l2.ttl:1h}") Duration remoteTtl
+    ) {
+        RedisCacheConfiguration defaults = RedisCacheConfiguration.defaultCacheConfig().entryTtl(remoteTtl);
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaults)
+                .initialCacheNames(Set.copyOf(CATALOG_CACHES));
+        STOCK_CACHES.forEach(name -> builder.withCacheConfiguration(name, defaults.entryTtl(stockTtl)));
+        RedisCacheManager remote = builder.build();
+        remote.afterPropertiesSet();
+        return new TwoLevelCacheManager(remote, this::localSpec,
+                message -> redisTemplate.convertAndSend(TwoLevelCacheManager.CHANNEL, message), meterRegistry);
+    }
+
+    /** 다른 인스턴스가 보낸 변경·무효화 메시지 구독 → L1 삭제. */
+    @Bean
+    @Profile("!local")
+    public RedisMessageListenerContainer productCacheInvalidationListener(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager twoLevelCacheManager
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(twoLevelCacheManager, new ChannelTopic(TwoLevelCacheManager.CHANNEL));
+        return container;
+    }
+
+    /** 캐시별 L1 설정. 재고가 들어 있는 캐시는 stock ttl과 L1 ttl 중 짧은 쪽. */
+    private Caffeine<Object, Object> localSpec(String cacheName) {
+        Duration ttl = STOCK_CACHES.contains(cacheName) && stockTtl.compareTo(localTtl) < 0
+                ? stockTtl
+                : localTtl;
+        return Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats();
     }
 }
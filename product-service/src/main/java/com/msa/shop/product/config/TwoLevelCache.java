@@ -0,0 +1,158 @@
+package com.msa.shop.product.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * 2단 캐시: 인스턴스 내 L1(Caffeine, 크기·TTL 제한) → 공유 L2(Redis).
+ * - 조회: L1 적중이면 네트워크·역직렬화 없음. L1 미스면 L2 조회 후 L1에 채움.
+ * - 저장(put): L2 → L1 순으로 쓰고 다른 인스턴스 L1 삭제 전파(새 값은 L2에서 다시 읽음). 무효화(evict/clear)도 같은 방식.
+ * - 캐시 채우기(putIfAbsent): L2에 없을 때만 쓰고 전파 없음. 이미 있으면 그 값을 L1에 둠.
+ * - L2 쓰기·삭제가 실패(Redis 장애)하면 L1 항목을 삭제한 뒤 예외 전파 → 이 인스턴스에 이전 값이 남지 않음.
+ * - L1 키는 String.valueOf(key) → 전파 메시지(문자열)로 받은 키와 그대로 비교.
+ * - 메트릭: cache.gets / cache.puts / cache.evictions {cache, tier=l1|l2}. L2 evictions는 명시적 무효화 횟수(Redis TTL 만료는 제외).
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final BiConsumer<String, String> invalidationPublisher;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remotePuts;
+    private final Counter remoteEvictions;
+
+    TwoLevelCache(String name, Caffeine<Object, Object> localSpec, Cache remote,
+                  BiConsumer<String, String> invalidationPublisher, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = localSpec.build();
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("tier", "l1"));
+        Tags remoteTags = Tags.of("cache", name, "tier", "l2");
+        this.remoteHits = meterRegistry.counter("cache.gets", remoteTags.and("result", "hit"));
+        this.remoteMisses = meterRegistry.counter("cache.gets", remoteTags.and("result", "miss"));
+        this.remotePuts = meterRegistry.counter("cache.puts", remoteTags);
+        this.remoteEvictions = meterRegistry.counter("cache.evictions", remoteTags);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = String.valueOf(key);
+        Object cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return new SimpleValueWrapper(cached == NullValue.INSTANCE ? null : cached);
+        }
+        ValueWrapper remoteValue = remote.get(key);
+        if (remoteValue == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(localKey, toStoreValue(remoteValue.get()));
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("캐시 값 타입 불일치: " + type.getName() + " 기대, 실제 " + value.getClass().getName());
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        ValueWrapper existing = putIfAbsent(key, value);
+        return existing != null ? (T) existing.get() : value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException ex) {
+            evictLocal(String.valueOf(key));
+            throw ex;
+        }
+        remotePuts.increment();
+        local.put(String.valueOf(key), toStoreValue(value));
+        invalidationPublisher.accept(name, String.valueOf(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing == null) {
+            remotePuts.increment();
+        }
+        local.put(String.valueOf(key), toStoreValue(existing != null ? existing.get() : value));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        try {
+            remote.evict(key);
+        } finally {
+            evictLocal(String.valueOf(key));
+        }
+        remoteEvictions.increment();
+        invalidationPublisher.accept(name, String.valueOf(key));
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        remoteEvictions.increment();
+        clearLocal();
+        invalidationPublisher.accept(name, null);
+    }
+
+    /** 다른 인스턴스의 전파 수신 시: L1만 삭제(L2는 보낸 쪽이 이미 반영). */
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private static Object toStoreValue(Object value) {
+        return value != null ? value : NullValue.INSTANCE;
+    }
+}
@@ -0,0 +1,91 @@
+package com.msa.shop.product.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * L1(Caffeine) + L2(remote, 운영에서는 RedisCacheManager) 2단 CacheManager.
+ * - 무효화는 Redis pub/sub(CHANNEL)로 "보낸 인스턴스|캐시 이름|키"(키가 비면 clear) 발행 → 모든 인스턴스가 L1 삭제.
+ * - 자기 메시지는 무시(이미 삭제함). 전파가 유실돼도 L1 TTL이 지나면 L2에서 다시 읽음.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    public static final String CHANNEL = "product-cache-invalidation";
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final CacheManager remoteCacheManager;
+    private final Function<String, Caffeine<Object, Object>> localSpecs;
+    private final Consumer<String> publisher;
+    private final MeterRegistry meterRegistry;
+
+    /** localSpecs: 캐시 이름별 L1 설정(크기·TTL). */
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, Function<String, Caffeine<Object, Object>> localSpecs,
+                                Consumer<String> publisher, MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localSpecs = localSpecs;
+        this.publisher = publisher;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            return remote == null ? null : new TwoLevelCache(cacheName, localSpecs.apply(cacheName), remote, this::publish, meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return List.copyOf(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /** 무효화 메시지 처리. 다른 인스턴스가 보낸 것만 L1에 반영. */
+    void onInvalidation(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length < 3 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts[2].isEmpty()) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+    }
+
+    /** 발행 실패는 로그만(L2는 이미 삭제됨, 다른 인스턴스 L1은 TTL 후 갱신). */
+    private void publish(String cacheName, String key) {
+        try {
+            publisher.accept(instanceId + "|" + cacheName + "|" + (key != null ? key : ""));
+        } catch (RuntimeException ex) {
+            log.warn("캐시 무효화 전파 실패. cache={}, key={}: {}", cacheName, key, ex.getMessage());
+        }
+    }
+}
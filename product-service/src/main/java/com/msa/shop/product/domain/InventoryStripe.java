@@ -0,0 +1,53 @@
+package com.msa.shop.product.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * 재고 스트라이프(sub-counter). 플래시 세일 등 핫 상품의 재고를 N개 행으로 분할해 행 락 경합을 분산.
+ * - product.stripeCount > 0 인 상품만 사용. 예약은 userId 해시로 고른 스트라이프에서 조건부 UPDATE로 차감.
+ * - 스트라이프 합계가 실제 재고. products.stock_quantity는 StockService 재조정 스케줄러가 주기적으로 맞추는 스냅샷.
+ */
+@Entity
+@Table(name = "inventory_stripes", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "product_id", "stripe_index" })
+})
+public class InventoryStripe {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "stripe_index", nullable = false)
+    private int stripeIndex;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    protected InventoryStripe() {
+    }
+
+    public InventoryStripe(Long productId, int stripeIndex, int quantity) {
+        this.productId = productId;
+        this.stripeIndex = stripeIndex;
+        this.quantity = quantity;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getStripeIndex() {
+        return stripeIndex;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,45 @@
+package com.msa.shop.product.domain;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * InventoryStripe DB 접근 계층.
+ * - decreaseIfAvailable / increase: 스트라이프 한 행에 대한 조건부 단일 UPDATE (products 행은 건드리지 않음).
+ * - sumQuantityByProductId: 스트라이프 합계 = 스트라이핑 상품의 실제 재고.
+ */
+public interface InventoryStripeRepository extends JpaRepository<InventoryStripe, Long> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryStripe s SET s.quantity = s.quantity - :quantity " +
+           "WHERE s.productId = :productId AND s.stripeIndex = :stripeIndex AND s.quantity >= :quantity")
+    int decreaseIfAvailable(@Param("productId") Long productId, @Param("stripeIndex") int stripeIndex,
+                            @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryStripe s SET s.quantity = s.quantity + :quantity " +
+           "WHERE s.productId = :productId AND s.stripeIndex = :stripeIndex")
+    int increase(@Param("productId") Long productId, @Param("stripeIndex") int stripeIndex,
+                 @Param("quantity") int quantity);
+
+    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM InventoryStripe s WHERE s.productId = :productId")
+    int sumQuantityByProductId(@Param("productId") Long productId);
+
+    /** 일반 모드 복귀 시 스트라이프 행 잠금. 합계를 읽은 뒤 커밋되는 스트라이프 차감·복구가 없도록 함. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM InventoryStripe s WHERE s.productId = :productId")
+    List<InventoryStripe> findByProductIdForUpdate(@Param("productId") Long productId);
+
+    @Query("SELECT DISTINCT s.productId FROM InventoryStripe s")
+    List<Long> findStripedProductIds();
+
+    @Modifying
+    @Query("DELETE FROM InventoryStripe s WHERE s.productId = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+}
@@ -5,9 +5,16 @@ import jakarta.persistence.*;
 /**
  * 상품 엔티티. product-service DB(products 테이블)와 1:1 매핑.
  * - 재고 차감은 decreaseStock()으로. 호출 전 수량 검증 필요.
+ * - 인덱스: 목록·검색 keyset 페이지(ProductSort)의 정렬 키 + id. 카테고리 필터는 (category, price, id).
+ * - 저장·삭제 시 ProductChangedEvent 발행(ProductChangeListener) → 상품 검색 인덱스 갱신.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_price_id", columnList = "category, price, id"),
+        @Index(name = "idx_products_price_id", columnList = "price, id"),
+        @Index(name = "idx_products_name_id", columnList = "name, id")
+})
+@EntityListeners(ProductChangeListener.class)
 public class Product {
 
     @Id
@@ -27,6 +34,10 @@ public class Product {
     @Column(nullable = false)
     private int stockQuantity;
 
+    /** 재고 스트라이프 수. 0이면 일반 모드(stockQuantity가 실재고), 1 이상이면 inventory_stripes 합계가 실재고. */
+    @Column(nullable = false)
+    private int stripeCount;
+
     protected Product() {
     }
 
@@ -61,6 +72,36 @@ public class Product {
         return stockQuantity;
     }
 
+    public int getStripeCount() {
+        return stripeCount;
+    }
+
+    public boolean isStriped() {
+        return stripeCount > 0;
+    }
+
+    /**
+     * 스트라이프 모드 전환. 현재 stockQuantity를 stripes개로 나눈 수량 배열 반환(앞쪽 스트라이프가 나머지를 가짐).
+     * - 이미 스트라이프 모드이거나 stripes가 1 미만이면 IllegalArgumentException.
+     */
+    public int[] enableStriping(int stripes) {
+        if (stripes < 1 || isStriped()) {
+            throw new IllegalArgumentException("유효하지 않은 스트라이프 설정 요청");
+        }
+        int[] quantities = new int[stripes];
+        for (int i = 0; i < stripes; i++) {
+            quantities[i] = stockQuantity / stripes + (i < stockQuantity % stripes ? 1 : 0);
+        }
+        this.stripeCount = stripes;
+        return quantities;
+    }
+
+    /** 일반 모드 복귀. 스트라이프 합계를 stockQuantity로 되돌림. */
+    public void disableStriping(int totalQuantity) {
+        this.stripeCount = 0;
+        this.stockQuantity = totalQuantity;
+    }
+
     /**
      * 재고 차감. 내부에서 수량·재고 검증 후 예외 또는 차감.
      * - 0 이하, 재고 초과 시 IllegalArgumentException.
@@ -0,0 +1,32 @@
+package com.msa.shop.product.domain;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Product JPA 엔티티 리스너. INSERT·UPDATE·DELETE 후 ProductChangedEvent 발행.
+ * - Spring Boot가 Hibernate에 SpringBeanContainer를 설정하므로 이 빈이 그대로 주입됨.
+ */
+@Component
+public class ProductChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ProductChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void saved(Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.saved(product));
+    }
+
+    @PostRemove
+    void removed(Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.removed(product));
+    }
+}
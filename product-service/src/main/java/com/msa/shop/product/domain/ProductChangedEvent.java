@@ -0,0 +1,16 @@
+package com.msa.shop.product.domain;
+
+/**
+ * 상품 행 저장·삭제 알림(ProductChangeListener가 발행). 검색 인덱스 등 DB 밖 사본 갱신용.
+ * - removed=true면 삭제. 재고 UPDATE 쿼리(decreaseStockIfAvailable 등)는 엔티티를 거치지 않아 발행되지 않음.
+ */
+public record ProductChangedEvent(Long productId, String name, String category, int price, boolean removed) {
+
+    static ProductChangedEvent saved(Product product) {
+        return new ProductChangedEvent(product.getId(), product.getName(), product.getCategory(), product.getPrice(), false);
+    }
+
+    static ProductChangedEvent removed(Product product) {
+        return new ProductChangedEvent(product.getId(), product.getName(), product.getCategory(), product.getPrice(), true);
+    }
+}
@@ -1,21 +1,75 @@
 package com.msa.shop.product.domain;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Product 엔티티용 DB 접근 계층.
  * - JpaRepository: CRUD + findAll, findById 등 제공.
- * - search: 이름(부분 일치), 카테고리(일치), 최소/최대 가격 조건 검색 (null 파라미터는 조건에서 제외).
+ * - search: 이름(부분 일치), 카테고리(일치), 최소/최대 가격 조건 검색 (null 파라미터는 조건에서 제외). 전체 결과.
+ * - JpaSpecificationExecutor: 같은 조건(ProductSpecifications)을 keyset 페이지(findBy + scroll)로 조회.
+ * - decreaseStockIfAvailable / increaseStock: 조건부 단일 UPDATE로 재고 증감. 영향 행 수(0/1)로 성공 여부 판단.
+ *   일반 모드(stripeCount = 0) 상품만 대상. 스트라이프 모드에서 stock_quantity는 스냅샷이라 바꾸면 재조정 때 덮어써짐.
  */
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
 
     @Query("SELECT p FROM Product p WHERE (:name IS NULL OR :name = '' OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) " +
            "AND (:category IS NULL OR :category = '' OR p.category = :category) " +
            "AND (:minPrice IS NULL OR p.price >= :minPrice) AND (:maxPrice IS NULL OR p.price <= :maxPrice)")
     List<Product> search(@Param("name") String name, @Param("category") String category,
                          @Param("minPrice") Integer minPrice, @Param("maxPrice") Integer maxPrice);
+
+    /** id 기준 keyset 페이지. 전체 테이블을 limit개씩 나눠 읽을 때(검색 인덱스 적재) 사용. */
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * 재고가 quantity 이상일 때만 차감. 행 락은 UPDATE 한 문장 동안만 잡히므로 read-modify-write 경합(lost update) 없음.
+     * @return 1이면 차감 성공, 0이면 재고 부족·스트라이프 모드·상품 없음
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity " +
+           "WHERE p.id = :id AND p.stripeCount = 0 AND p.stockQuantity >= :quantity")
+    int decreaseStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /** 재고 복구(보상). @return 1이면 성공, 0이면 스트라이프 모드 또는 상품 없음 */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity WHERE p.id = :id AND p.stripeCount = 0")
+    int increaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    /** 엔티티 로딩 없이 현재 재고만 조회. 조건부 UPDATE 직후 남은 재고 응답용. */
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+
+    /** 여러 상품 재고만 조회(stock 캐시 미스 일괄 적재). */
+    @Query("SELECT p.id AS id, p.stockQuantity AS stockQuantity FROM Product p WHERE p.id IN :ids")
+    List<ProductStock> findStockByIdIn(@Param("ids") Collection<Long> ids);
+
+    /** 조건부 UPDATE 직후 남은 재고와 함께 상품명·단가 조회(예약 응답용). */
+    @Query("SELECT p.name AS name, p.price AS price, p.stockQuantity AS stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<StockQuote> findStockQuoteById(@Param("id") Long id);
+
+    /** 예약 경로 분기용. 스트라이프 수만 조회(락 없음). */
+    @Query("SELECT p.stripeCount FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStripeCountById(@Param("id") Long id);
+
+    /** 스트라이프 모드 전환/해제 시 상품 행 잠금. 재고 UPDATE가 0행일 때 최신 모드 확인에도 사용. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    /** 스트라이프 합계를 stock_quantity 스냅샷으로 반영. 스트라이프 모드이고 값이 바뀐 경우에만 1 반환. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = :quantity " +
+           "WHERE p.id = :id AND p.stripeCount > 0 AND p.stockQuantity <> :quantity")
+    int updateStockSnapshot(@Param("id") Long id, @Param("quantity") int quantity);
 }
@@ -0,0 +1,35 @@
+package com.msa.shop.product.domain;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * 상품 검색 조건(Specification). null·빈 값 조건은 제외(ProductRepository.search와 같은 의미).
+ * - keyset 페이지 조회(findBy(spec, q -> q.sortBy(..).limit(..).scroll(..)))에서 정렬·커서 조건과 함께 사용.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> search(String name, String category, Integer minPrice, Integer maxPrice) {
+        return (root, query, cb) -> {
+            Predicate predicate = cb.conjunction();
+            if (name != null && !name.isEmpty()) {
+                predicate = cb.and(predicate, cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase(Locale.ROOT) + "%"));
+            }
+            if (category != null && !category.isEmpty()) {
+                predicate = cb.and(predicate, cb.equal(root.get("category"), category));
+            }
+            if (minPrice != null) {
+                predicate = cb.and(predicate, cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicate = cb.and(predicate, cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+            }
+            return predicate;
+        };
+    }
+}
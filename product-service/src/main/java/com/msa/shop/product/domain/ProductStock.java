@@ -0,0 +1,9 @@
+package com.msa.shop.product.domain;
+
+/** 상품 ID·재고만 읽는 프로젝션. stock 캐시 미스 일괄 적재용. */
+public interface ProductStock {
+
+    Long getId();
+
+    int getStockQuantity();
+}
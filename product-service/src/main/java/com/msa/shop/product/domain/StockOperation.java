@@ -0,0 +1,13 @@
+package com.msa.shop.product.domain;
+
+/**
+ * 멱등 키로 기록하는 재고 작업 종류.
+ * - RESERVE: /internal/stocks/reserve, RELEASE: /internal/stocks/release, HOLD: /internal/stocks/holds,
+ *   HOLD_BATCH: /internal/stocks/reserve-batch (홀드 그룹 ID = 멱등 키).
+ */
+public enum StockOperation {
+    RESERVE,
+    RELEASE,
+    HOLD,
+    HOLD_BATCH
+}
@@ -0,0 +1,131 @@
+package com.msa.shop.product.domain;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 재고 작업 멱등 기록. stock_idempotency_keys 테이블.
+ * - 호출자가 보낸 idempotencyKey를 PK로, 최초 처리 결과(성공 여부·사유·잔여 재고·홀드 ID)를 저장.
+ * - 같은 키로 재요청(타임아웃 후 재시도 등)이 오면 재고를 다시 건드리지 않고 저장된 결과를 그대로 응답.
+ *   작업·상품·수량이 최초 요청과 다르면(다른 요청에 키 재사용) 재생하지 않음(matches).
+ * - 재고 변경과 같은 트랜잭션에서 INSERT → 동시 중복 요청은 PK 충돌로 한 건만 커밋.
+ * - 보관 기간(app.stock.idempotency.retention) 지난 행은 스위퍼가 삭제.
+ * - 키를 직접 할당하므로 Persistable로 신규 여부를 알려 save 시 merge(SELECT 후 UPDATE) 대신 INSERT.
+ */
+@Entity
+@Table(name = "stock_idempotency_keys", indexes = {
+        @Index(name = "idx_stock_idempotency_keys_created_at", columnList = "created_at")
+})
+public class StockOperationRecord implements Persistable<String> {
+
+    public static final int MAX_KEY_LENGTH = 64;
+
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StockOperation operation;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /** 요청 수량(일괄 홀드는 합계). 컬럼 추가 전 기록은 null. */
+    @Column
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private boolean success;
+
+    @Column(length = 32)
+    private String reason;
+
+    @Column(name = "remaining_stock", nullable = false)
+    private int remainingStock;
+
+    @Column(name = "reservation_id", length = 36)
+    private String reservationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected StockOperationRecord() {
+    }
+
+    public StockOperationRecord(String idempotencyKey, StockOperation operation, Long productId, int quantity,
+                                boolean success, String reason, int remainingStock, String reservationId) {
+        this.idempotencyKey = idempotencyKey;
+        this.operation = operation;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.success = success;
+        this.reason = reason;
+        this.remainingStock = remainingStock;
+        this.reservationId = reservationId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @Override
+    public String getId() {
+        return idempotencyKey;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    /** 같은 요청의 재시도인지. 수량이 없는 옛 기록은 작업·상품만 비교. */
+    public boolean matches(StockOperation operation, Long productId, int quantity) {
+        return this.operation == operation && this.productId.equals(productId)
+                && (this.quantity == null || this.quantity == quantity);
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public StockOperation getOperation() {
+        return operation;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public int getRemainingStock() {
+        return remainingStock;
+    }
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
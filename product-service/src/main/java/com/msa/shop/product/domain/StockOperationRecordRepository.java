@@ -0,0 +1,19 @@
+package com.msa.shop.product.domain;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * StockOperationRecord DB 접근 계층.
+ * - findById(idempotencyKey)로 재요청 판별, deleteCreatedBefore로 보관 기간 지난 키 일괄 삭제.
+ */
+public interface StockOperationRecordRepository extends JpaRepository<StockOperationRecord, String> {
+
+    @Modifying
+    @Query("DELETE FROM StockOperationRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,14 @@
+package com.msa.shop.product.domain;
+
+/**
+ * 재고 예약 응답용 상품 요약 프로젝션(이름·단가·재고).
+ * - 조건부 UPDATE 직후 엔티티 로딩 없이 한 번에 조회. 주문 서비스가 별도 상품 조회 없이 금액을 계산하도록 함.
+ */
+public interface StockQuote {
+
+    String getName();
+
+    int getPrice();
+
+    int getStockQuantity();
+}
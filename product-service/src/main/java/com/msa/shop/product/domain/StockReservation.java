@@ -0,0 +1,97 @@
+package com.msa.shop.product.domain;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 재고 홀드(예약 원장). stock_reservations 테이블.
+ * - 생성 시 재고를 차감해 두고 expiresAt까지 확정(confirm)을 기다림.
+ * - 확정되지 않은 홀드는 스위퍼가 만료 처리하며 재고 복구 → 결제 실패·주문 서비스 장애 시에도 재고가 스스로 돌아옴.
+ * - id는 UUID 문자열(reservationId). 주문 서비스가 확정/해제 시 사용.
+ * - groupId: 장바구니 일괄 홀드(reserve-batch)로 함께 만든 홀드 묶음. 그룹 단위로 확정/해제.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_stock_reservations_status_expires", columnList = "status, expires_at"),
+        @Index(name = "idx_stock_reservations_group", columnList = "group_id")
+})
+public class StockReservation {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private StockReservationStatus status;
+
+    @Column(name = "group_id", length = 64)
+    private String groupId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    protected StockReservation() {
+    }
+
+    public StockReservation(Long productId, Long userId, int quantity, LocalDateTime expiresAt) {
+        this(productId, userId, quantity, expiresAt, null);
+    }
+
+    public StockReservation(Long productId, Long userId, int quantity, LocalDateTime expiresAt, String groupId) {
+        this.id = UUID.randomUUID().toString();
+        this.groupId = groupId;
+        this.productId = productId;
+        this.userId = userId;
+        this.quantity = quantity;
+        this.status = StockReservationStatus.HELD;
+        this.expiresAt = expiresAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public StockReservationStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
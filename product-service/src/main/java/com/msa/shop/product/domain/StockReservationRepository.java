@@ -0,0 +1,38 @@
+package com.msa.shop.product.domain;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * StockReservation DB 접근 계층.
+ * - transition: 상태 전이를 조건부 UPDATE(from → to)로 수행. 확정과 만료 스위퍼가 경합해도 한 쪽만 성공.
+ * - findExpired: 스위퍼가 만료된 HELD 홀드를 배치 단위로 조회.
+ * - findByGroupIdOrderByProductId / transitionGroup: 일괄 홀드 그룹 조회·일괄 상태 전이.
+ */
+public interface StockReservationRepository extends JpaRepository<StockReservation, String> {
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :to WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") String id,
+                   @Param("from") StockReservationStatus from,
+                   @Param("to") StockReservationStatus to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :to WHERE r.groupId = :groupId AND r.status = :from")
+    int transitionGroup(@Param("groupId") String groupId,
+                        @Param("from") StockReservationStatus from,
+                        @Param("to") StockReservationStatus to);
+
+    List<StockReservation> findByGroupIdOrderByProductId(String groupId);
+
+    @Query("SELECT r FROM StockReservation r WHERE r.status = :status AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<StockReservation> findExpired(@Param("status") StockReservationStatus status,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+}
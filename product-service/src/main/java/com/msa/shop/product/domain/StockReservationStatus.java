@@ -0,0 +1,15 @@
+package com.msa.shop.product.domain;
+
+/**
+ * 재고 홀드 상태.
+ * - HELD: 재고 차감됨, 확정 대기. expiresAt 지나면 스위퍼가 EXPIRED로 바꾸고 재고 복구.
+ * - CONFIRMED: 결제 완료로 확정. 재고 차감 유지.
+ * - RELEASED: 명시적 해제(보상·주문 취소). 재고 복구됨.
+ * - EXPIRED: 확정 없이 만료. 재고 복구됨.
+ */
+public enum StockReservationStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,161 @@
+package com.msa.shop.product.api;
+
+import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.domain.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 예약 동시성 테스트.
+ * - 한 상품에 수천 건의 예약을 동시에 보내도 초과 판매(oversell)가 없어야 함.
+ * - 성공 건수 == 초기 재고, 최종 재고 == 0, 나머지는 모두 "재고 부족" 응답.
+ * - 같은 idempotencyKey로 동시에 재요청해도 한 번만 차감.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ActiveProfiles("local")
+class InternalStockConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InternalStockConcurrencyTest.class);
+
+    private static final int INITIAL_STOCK = 100;
+    private static final int REQUESTS = 2_000;
+    private static final int THREADS = 64;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("productdb");
+
+    @Autowired
+    ProductRepository productRepository;
+
+    final TestRestTemplate restTemplate = new TestRestTemplate();
+
+    int port;
+
+    @org.springframework.beans.factory.annotation.Value("${local.server.port}")
+    void setPort(int port) {
+        this.port = port;
+    }
+
+    @Test
+    @DisplayName("동시 예약 2000건 → 정확히 재고 수량만큼만 성공, 초과 판매 없음")
+    void concurrentReservesNeverOversell() throws Exception {
+        Product product = productRepository.save(new Product("동시성 상품", "전자", 1_000, INITIAL_STOCK));
+        String url = "http://localhost:" + port + "/internal/stocks/reserve";
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger insufficient = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            long userId = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                ResponseEntity<Map<String, Object>> res = restTemplate.exchange(
+                        url,
+                        HttpMethod.POST,
+                        new HttpEntity<>(Map.of("userId", userId, "productId", product.getId(), "quantity", 1)),
+                        new ParameterizedTypeReference<Map<String, Object>>() {}
+                );
+                if (Boolean.TRUE.equals(res.getBody().get("success"))) {
+                    success.incrementAndGet();
+                } else {
+                    insufficient.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        executor.shutdown();
+        log.info("reserve {}건 / {}ms ({} req/s)", REQUESTS, elapsedMs, REQUESTS * 1000L / Math.max(elapsedMs, 1));
+
+        assertThat(success.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(insufficient.get()).isEqualTo(REQUESTS - INITIAL_STOCK);
+        assertThat(productRepository.findStockQuantityById(product.getId())).contains(0);
+    }
+
+    @Test
+    @DisplayName("같은 멱등 키로 동시 재요청 → 재고는 한 번만 차감, 모든 응답 동일. release도 한 번만 복구")
+    void replayedReserveAndReleaseApplyOnce() throws Exception {
+        Product product = productRepository.save(new Product("멱등 상품", "전자", 1_000, 10));
+        String reserveUrl = "http://localhost:" + port + "/internal/stocks/reserve";
+        String releaseUrl = "http://localhost:" + port + "/internal/stocks/release";
+        Map<String, Object> reserveBody = Map.of("userId", 1L, "productId", product.getId(), "quantity", 3,
+                "idempotencyKey", "reserve-" + product.getId());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Map<String, Object>> responses = new CopyOnWriteArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                responses.add(post(reserveUrl, reserveBody));
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(productRepository.findStockQuantityById(product.getId())).contains(7);
+        assertThat(responses).hasSize(8).allSatisfy(res -> {
+            assertThat(res.get("success")).isEqualTo(true);
+            assertThat(res.get("remainingStock")).isEqualTo(7);
+        });
+
+        Map<String, Object> releaseBody = Map.of("userId", 1L, "productId", product.getId(), "quantity", 3,
+                "idempotencyKey", "release-" + product.getId());
+        post(releaseUrl, releaseBody);
+        post(releaseUrl, releaseBody);
+        assertThat(productRepository.findStockQuantityById(product.getId())).contains(10);
+    }
+
+    private Map<String, Object> post(String url, Map<String, Object> body) {
+        return restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(body),
+                new ParameterizedTypeReference<Map<String, Object>>() {}
+        ).getBody();
+    }
+}
@@ -1,12 +1,17 @@
 package com.msa.shop.product.api;
 
+import com.msa.shop.product.application.ProductService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,8 +39,14 @@ class ProductControllerIntegrationTest {
     static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
             .withDatabaseName("productdb");
 
+    /** 기본 정렬·limit 첫 페이지의 products 캐시 키(ProductService.getCatalogPage). */
+    static final String FIRST_PAGE_KEY = "ID:" + ProductService.DEFAULT_PAGE_SIZE + ":";
+
     final TestRestTemplate restTemplate = new TestRestTemplate();
 
+    @Autowired
+    CacheManager cacheManager;
+
     int port;
 
     @org.springframework.beans.factory.annotation.Value("${local.server.port}")
@@ -140,4 +151,143 @@ class ProductControllerIntegrationTest {
         assertThat(res.getBody()).isNotNull();
         assertThat(res.getBody()).isEmpty();
     }
+
+    @Test
+    @DisplayName("GET /products/batch?ids=2,1,999999,2 → 200, 요청 순서대로·중복 한 번·없는 ID 제외, 두 번째 요청은 캐시")
+    void getProductsByIds() {
+        String base = "http://localhost:" + port;
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<List<Map<String, Object>>> res = restTemplate.exchange(
+                    base + "/products/batch?ids=2,1,999999,2",
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<List<Map<String, Object>>>() {}
+            );
+            assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+            assertThat(res.getBody()).extracting(m -> m.get("id")).containsExactly(2, 1);
+            assertThat(res.getBody().get(0)).containsKeys("name", "category", "price", "stockQuantity");
+        }
+    }
+
+    @Test
+    @DisplayName("GET /products/batch ID 101개 → 400")
+    void getProductsByIdsTooMany() {
+        String base = "http://localhost:" + port;
+        String ids = java.util.stream.IntStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(java.util.stream.Collectors.joining(","));
+        ResponseEntity<String> res = restTemplate.getForEntity(base + "/products/batch?ids=" + ids, String.class);
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("재고 예약 후 GET /products/{id}·목록 → 줄어든 재고, 카탈로그 캐시는 그대로 유지")
+    void reserveUpdatesStockWithoutEvictingCatalog() {
+        String base = "http://localhost:" + port;
+        ParameterizedTypeReference<Map<String, Object>> mapType = new ParameterizedTypeReference<>() {};
+        ParameterizedTypeReference<List<Map<String, Object>>> listType = new ParameterizedTypeReference<>() {};
+        int before = (Integer) restTemplate.exchange(base + "/products/3", HttpMethod.GET, null, mapType)
+                .getBody().get("stockQuantity");
+        restTemplate.exchange(base + "/products", HttpMethod.GET, null, listType);
+        var catalogList = cacheManager.getCache("products").get(FIRST_PAGE_KEY);
+        var catalog = cacheManager.getCache("product").get(3L);
+        assertThat(catalogList).isNotNull();
+        assertThat(catalog).isNotNull();
+
+        ResponseEntity<Map<String, Object>> reserved = restTemplate.exchange(base + "/internal/stocks/reserve",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("userId", 1, "productId", 3, "quantity", 1)),
+                mapType);
+        assertThat(reserved.getBody()).containsEntry("success", true);
+
+        assertThat(cacheManager.getCache("products").get(FIRST_PAGE_KEY).get()).isSameAs(catalogList.get());
+        assertThat(cacheManager.getCache("product").get(3L).get()).isSameAs(catalog.get());
+        assertThat(restTemplate.exchange(base + "/products/3", HttpMethod.GET, null, mapType).getBody())
+                .containsEntry("stockQuantity", before - 1);
+        assertThat(restTemplate.exchange(base + "/products", HttpMethod.GET, null, listType).getBody())
+                .filteredOn(product -> Integer.valueOf(3).equals(product.get("id")))
+                .singleElement()
+                .satisfies(product -> assertThat(product).containsEntry("stockQuantity", before - 1));
+    }
+
+    @Test
+    @DisplayName("GET /products/{id}·목록 → ETag 응답, If-None-Match 일치 시 304, 재고 예약 후에는 새 ETag로 200")
+    void etagAndNotModified() {
+        String base = "http://localhost:" + port;
+        ResponseEntity<String> first = restTemplate.getForEntity(base + "/products/2", String.class);
+        ResponseEntity<String> list = restTemplate.getForEntity(base + "/products", String.class);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).startsWith("\"");
+        assertThat(list.getHeaders().getETag()).isNotNull();
+        assertThat(restTemplate.getForEntity(base + "/products/2", String.class).getBody()).isEqualTo(first.getBody());
+
+        assertThat(conditionalGet(base + "/products/2", etag).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(conditionalGet(base + "/products", list.getHeaders().getETag()).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        restTemplate.postForEntity(base + "/internal/stocks/reserve",
+                Map.of("userId", 1, "productId", 2, "quantity", 1), String.class);
+
+        ResponseEntity<String> changed = conditionalGet(base + "/products/2", etag);
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(conditionalGet(base + "/products", list.getHeaders().getETag()).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<String> conditionalGet(String url, String etag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    @Test
+    @DisplayName("GET /products?limit=2 → X-Next-Cursor로 다음 페이지, 마지막 페이지는 커서 없음")
+    void pagesWithCursor() {
+        String base = "http://localhost:" + port;
+        ResponseEntity<List<Map<String, Object>>> first = getList(base + "/products?limit=2");
+        assertThat(first.getBody()).extracting(product -> product.get("id")).containsExactly(1, 2);
+        String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(cursor).isNotBlank();
+
+        ResponseEntity<List<Map<String, Object>>> second = getList(base + "/products?limit=2&cursor=" + cursor);
+        assertThat(second.getBody()).extracting(product -> product.get("id")).containsExactly(3);
+        assertThat(second.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+    }
+
+    @Test
+    @DisplayName("sort=price_desc·검색+sort=price_asc 페이지: 가격 순서, 커서로 이어서 조회")
+    void sortsAndPagesSearch() {
+        String base = "http://localhost:" + port;
+        assertThat(getList(base + "/products?sort=price_desc").getBody())
+                .extracting(product -> product.get("price")).containsExactly(25_000, 10_000, 5_000);
+
+        ResponseEntity<List<Map<String, Object>>> first = getList(base + "/products?name=상품&sort=price_asc&limit=2");
+        assertThat(first.getBody()).extracting(product -> product.get("price")).containsExactly(5_000, 10_000);
+        String cursor = first.getHeaders().getFirst("X-Next-Cursor");
+        ResponseEntity<List<Map<String, Object>>> second =
+                getList(base + "/products?name=상품&sort=price_asc&limit=2&cursor=" + cursor);
+        assertThat(second.getBody()).extracting(product -> product.get("price")).containsExactly(25_000);
+        assertThat(second.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+    }
+
+    @Test
+    @DisplayName("잘못된 sort·limit·cursor, 다른 sort로 만든 cursor → 400")
+    void rejectsInvalidPageParameters() {
+        String base = "http://localhost:" + port;
+        String idCursor = getList(base + "/products?limit=1").getHeaders().getFirst("X-Next-Cursor");
+
+        assertThat(restTemplate.getForEntity(base + "/products?sort=stock", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity(base + "/products?limit=101", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity(base + "/products?cursor=broken", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(restTemplate.getForEntity(base + "/products?sort=price_asc&cursor=" + idCursor, String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> getList(String url) {
+        return restTemplate.exchange(url, HttpMethod.GET, null, new ParameterizedTypeReference<List<Map<String, Object>>>() {});
+    }
 }
@@ -0,0 +1,84 @@
+package com.msa.shop.product.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.msa.shop.product.application.ProductJsonCache;
+import com.msa.shop.product.application.ProductView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 목록 응답: 객체 캐시(매 요청 DTO 변환 + Jackson 직렬화) vs 직렬화 바이트 캐시(ProductJsonCache, 상품별 JSON 이어 붙이기) 비교 벤치마크.
+ * - ./gradlew :product-service:benchmark 로 실행 (기본 test 제외).
+ * - 단일 스레드에서 ops/s와 요청당 할당 바이트(ThreadMXBean) 출력. 캐시 조회 자체는 둘 다 인메모리.
+ */
+@Tag("benchmark")
+class ProductJsonCacheBenchmarkTest {
+
+    private static final int PRODUCTS = 100;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+    final ProductJsonCache productJsonCache =
+            new ProductJsonCache(new ConcurrentMapCacheManager(ProductJsonCache.CACHE), objectMapper);
+    final List<ProductView> cachedViews = IntStream.rangeClosed(1, PRODUCTS)
+            .mapToObj(i -> new ProductView((long) i, "상품 " + i, "전자", 1_000 * i, i))
+            .toList();
+
+    @Test
+    @DisplayName("목록 페이지(100개): 객체 캐시 + 직렬화 vs 바이트 캐시 ops/s·할당량")
+    void compareObjectAndByteCaching() {
+        Supplier<byte[]> objectCache = () -> {
+            try {
+                return objectMapper.writeValueAsBytes(cachedViews.stream().map(ProductResponse::from).toList());
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
+        List<Long> ids = cachedViews.stream().map(ProductView::id).toList();
+        Supplier<byte[]> byteCache = () -> productJsonCache.list(ids, misses -> cachedViews.stream()
+                .filter(view -> misses.contains(view.id()))
+                .collect(Collectors.toMap(ProductView::id, ProductResponse::from))).body();
+
+        assertThat(byteCache.get()).isEqualTo(objectCache.get());
+
+        Result object = run(objectCache);
+        Result bytes = run(byteCache);
+
+        System.out.printf("[benchmark] products=%d iterations=%d%n", PRODUCTS, ITERATIONS);
+        System.out.printf("[benchmark] object cache : %.0f ops/s, %d B/op%n", object.opsPerSecond(), object.bytesPerOp());
+        System.out.printf("[benchmark] byte cache   : %.0f ops/s, %d B/op (x%.1f)%n",
+                bytes.opsPerSecond(), bytes.bytesPerOp(), bytes.opsPerSecond() / object.opsPerSecond());
+
+    }
+
+    private Result run(Supplier<byte[]> response) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += response.get().length;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += response.get().length;
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertThat(sink).isPositive();
+        return new Result(ITERATIONS * 1_000_000_000.0 / elapsed, allocated / ITERATIONS);
+    }
+
+    private record Result(double opsPerSecond, long bytesPerOp) {}
+}
@@ -0,0 +1,120 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 검색: DB LIKE(JPQL ProductRepository.search) vs 인메모리 인덱스(ProductSearchIndex) 비교 벤치마크.
+ * - ./gradlew :product-service:benchmark 로 실행 (기본 test 제외).
+ * - 상품을 1만 → 10만 → 100만 건까지 JDBC 배치로 늘려 가며 규모별 검색 p50 출력. 인덱스는 규모마다 build()로 테이블 전체를 다시 읽어 적재(이미 있는 상품은 건너뜀).
+ * - 검색어: 결과가 적은 이름 검색, 결과가 많은 이름+카테고리+가격 검색. 두 방식의 결과 건수가 같은지도 확인.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=true",
+        "app.search.index.build-batch-size=20000"
+})
+@Testcontainers
+@ActiveProfiles("local")
+class ProductSearchBenchmarkTest {
+
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final String[] WORDS = {"무선", "키보드", "마우스", "모니터", "노트북", "케이블", "충전기", "가방", "텀블러"};
+    private static final String[] CATEGORIES = {"전자", "생활", "식품"};
+    private static final int WARMUP = 2;
+    private static final int ITERATIONS = 5;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("productdb");
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("상품 1만/10만/100만 건: DB LIKE 검색 vs 인메모리 인덱스 검색 p50")
+    void compareSearchLatency() {
+        int seeded = (int) productRepository.count();
+        for (int size : SIZES) {
+            seed(seeded, size);
+            seeded = size;
+            long buildStarted = System.nanoTime();
+            productSearchIndex.build();
+            System.out.printf("[benchmark] products=%d index build=%dms%n",
+                    size, (System.nanoTime() - buildStarted) / 1_000_000);
+
+            compare(size, "이름(번호)", String.valueOf(size - 7), null, null, null);
+            compare(size, "이름+카테고리+가격", "키보드", "전자", 10_000, 20_000);
+        }
+    }
+
+    private void compare(int size, String label, String name, String category, Integer minPrice, Integer maxPrice) {
+        int dbCount = productRepository.search(name, category, minPrice, maxPrice).size();
+        int indexCount = productSearchIndex.search(name, category, minPrice, maxPrice).size();
+        assertThat(indexCount).isEqualTo(dbCount);
+
+        double db = p50(() -> productRepository.search(name, category, minPrice, maxPrice));
+        double index = p50(() -> productSearchIndex.search(name, category, minPrice, maxPrice));
+        System.out.printf("[benchmark] products=%7d %-12s results=%6d | DB p50=%8.2fms | index p50=%7.2fms (x%.0f)%n",
+                size, label, indexCount, db, index, db / Math.max(index, 0.001));
+    }
+
+    /** 이름 "단어 단어 번호", 카테고리·가격은 번호로 결정. from번째부터 to번째 상품까지 추가. */
+    private void seed(int from, int to) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            String name = WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i;
+            rows.add(new Object[]{name, CATEGORIES[i % CATEGORIES.length], (i % 100) * 1_000, 100});
+            if (rows.size() == 5_000) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        insert(rows);
+        jdbcTemplate.execute("ANALYZE TABLE products");
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, category, price, stock_quantity, stripe_count) "
+                + "VALUES (?, ?, ?, ?, 0)", rows);
+    }
+
+    private static double p50(Supplier<?> search) {
+        for (int i = 0; i < WARMUP; i++) {
+            search.get();
+        }
+        double[] millis = new double[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long started = System.nanoTime();
+            search.get();
+            millis[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return millis[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,157 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.domain.ProductChangedEvent;
+import com.msa.shop.product.domain.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    final ProductRepository productRepository = mock(ProductRepository.class);
+    final ProductSearchIndex index = new ProductSearchIndex(productRepository, true, 2);
+
+    @Test
+    @DisplayName("이름 2-gram 교집합 후 부분 일치 확인: 대소문자 무시, 2-gram만 겹치고 연속이 아니면 제외, 1글자 검색")
+    void searchesByName() {
+        save(1L, "무선 키보드", "전자", 30_000);
+        save(2L, "USB Keyboard", "전자", 20_000);
+        save(3L, "가나다나가", "생활", 1_000);
+        save(4L, "유선 마우스", "전자", 10_000);
+
+        assertThat(ids(index.search("키보드", null, null, null))).containsExactly(1L);
+        assertThat(ids(index.search("keyBOARD", null, null, null))).containsExactly(2L);
+        assertThat(ids(index.search("가나가", null, null, null))).isEmpty();
+        assertThat(ids(index.search("선", null, null, null))).containsExactly(1L, 4L);
+        assertThat(ids(index.search("없는상품", null, null, null))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이름 변경·삭제가 posting·카테고리·가격 색인에 반영")
+    void appliesChanges() {
+        save(1L, "무선 키보드", "전자", 30_000);
+        save(2L, "무선 마우스", "전자", 10_000);
+
+        save(1L, "기계식 키보드", "생활", 50_000);
+        index.onProductChanged(new ProductChangedEvent(2L, "무선 마우스", "전자", 10_000, true));
+
+        assertThat(ids(index.search("무선", null, null, null))).isEmpty();
+        assertThat(ids(index.search("기계식", "생활", 40_000, null))).containsExactly(1L);
+        assertThat(ids(index.search(null, "전자", null, null))).isEmpty();
+        assertThat(ids(index.search(null, null, null, 20_000))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("무작위 상품 2,000개·조건 조합 500개: 결과가 전체 순회 필터와 같고 id 오름차순")
+    void matchesBruteForce() {
+        Random random = new Random(42);
+        String[] words = {"무선", "키보드", "마우스", "모니터", "Pro", "mini", "케이블", "충전기", "가방"};
+        String[] categories = {"전자", "생활", "식품"};
+        List<ProductCatalog> all = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + id;
+            ProductCatalog catalog = new ProductCatalog(id, name, categories[random.nextInt(categories.length)],
+                    random.nextInt(100) * 1_000);
+            all.add(catalog);
+            save(catalog.id(), catalog.name(), catalog.category(), catalog.price());
+        }
+
+        for (int i = 0; i < 500; i++) {
+            String name = random.nextBoolean() ? null : words[random.nextInt(words.length)].substring(0, 1 + random.nextInt(2));
+            String category = random.nextInt(3) == 0 ? categories[random.nextInt(categories.length)] : null;
+            Integer minPrice = random.nextInt(3) == 0 ? random.nextInt(100) * 1_000 : null;
+            Integer maxPrice = random.nextInt(3) == 0 ? random.nextInt(100) * 1_000 : null;
+
+            List<Long> expected = all.stream()
+                    .filter(p -> name == null || p.name().toLowerCase(Locale.ROOT).contains(name.toLowerCase(Locale.ROOT)))
+                    .filter(p -> category == null || category.equals(p.category()))
+                    .filter(p -> minPrice == null || p.price() >= minPrice)
+                    .filter(p -> maxPrice == null || p.price() <= maxPrice)
+                    .map(ProductCatalog::id)
+                    .toList();
+            assertThat(ids(index.search(name, category, minPrice, maxPrice)))
+                    .as("name=%s category=%s price=%s~%s", name, category, minPrice, maxPrice)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("기동 적재: id keyset 페이지(build-batch-size개)를 끝까지 읽은 뒤 ready")
+    void buildsFromRepositoryPages() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), eq(Limit.of(2)))).thenReturn(List.of());
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .thenReturn(List.of(product(1L, "테스트 상품 A", "전자", 10_000), product(2L, "테스트 상품 B", "생활", 25_000)));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(2)))
+                .thenReturn(List.of(product(3L, "테스트 상품 C", "식품", 5_000)));
+
+        assertThat(index.isReady()).isFalse();
+        index.build();
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(ids(index.search("상품", null, null, null))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(index.search(null, null, 6_000, 20_000))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("가격 색인이 최신이면 가격 조회가 쓰기 잠금을 잡지 않음: 다른 스레드가 읽기 잠금을 쥐고 있어도 진행")
+    void priceSearchSkipsWriteLockWhenFresh() throws Exception {
+        save(1L, "무선 키보드", "전자", 30_000);
+        save(2L, "무선 마우스", "전자", 10_000);
+        assertThat(ids(index.search(null, null, 20_000, null))).containsExactly(1L);
+
+        ReentrantReadWriteLock lock = (ReentrantReadWriteLock) ReflectionTestUtils.getField(index, "lock");
+        CompletableFuture<Void> released = new CompletableFuture<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            executor.submit(() -> {
+                lock.readLock().lock();
+                try {
+                    released.join();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            });
+            try {
+                while (lock.getReadLockCount() == 0) {
+                    Thread.onSpinWait();
+                }
+                List<ProductCatalog> found = executor.submit(() -> index.search(null, null, null, 20_000))
+                        .get(5, TimeUnit.SECONDS);
+                assertThat(ids(found)).containsExactly(2L);
+            } finally {
+                released.complete(null);
+            }
+        }
+    }
+
+    private void save(Long id, String name, String category, int price) {
+        index.onProductChanged(new ProductChangedEvent(id, name, category, price, false));
+    }
+
+    private static Product product(Long id, String name, String category, int price) {
+        Product product = new Product(name, category, price, 10);
+        ReflectionTestUtils.setField(product, "id", id);
+        return product;
+    }
+
+    private static List<Long> ids(List<ProductCatalog> catalogs) {
+        return catalogs.stream().map(ProductCatalog::id).toList();
+    }
+}
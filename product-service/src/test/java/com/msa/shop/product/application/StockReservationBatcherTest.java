@@ -0,0 +1,141 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.domain.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StockReservationBatcherTest {
+
+    private static final Long PRODUCT_ID = 1L;
+
+    @Mock
+    ProductRepository productRepository;
+
+    @Mock
+    StockCacheUpdater stockCacheUpdater;
+
+    @Mock
+    StockIdempotencyService stockIdempotencyService;
+
+    final AtomicInteger stock = new AtomicInteger(5);
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    StockReservationBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findByIdForUpdate(PRODUCT_ID))
+                .thenAnswer(inv -> Optional.of(new Product("상품", 1_000, stock.get())));
+        when(productRepository.decreaseStockIfAvailable(eq(PRODUCT_ID), anyInt()))
+                .thenAnswer(inv -> {
+                    stock.addAndGet(-inv.<Integer>getArgument(1));
+                    return 1;
+                });
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        batcher = new StockReservationBatcher(productRepository, stockCacheUpdater, stockIdempotencyService,
+                transactionTemplate, meterRegistry, true, 50, 200, 100, 3_000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시 예약 20건을 배치로 적용: 재고 5개만 수락, UPDATE·재고 캐시 갱신은 배치 수만큼만")
+    void batchesConcurrentReserves() throws Exception {
+        int requests = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<StockResult>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return batcher.reserve(PRODUCT_ID, 1);
+            }));
+        }
+        start.countDown();
+
+        int success = 0;
+        for (Future<StockResult> future : futures) {
+            StockResult result = future.get(5, TimeUnit.SECONDS);
+            if (result.success()) {
+                success++;
+            } else {
+                assertThat(result.reason()).isEqualTo("재고 부족");
+            }
+        }
+        executor.shutdown();
+
+        long batches = meterRegistry.get("stock.reserve.batch.size").summary().count();
+        assertThat(success).isEqualTo(5);
+        assertThat(stock.get()).isZero();
+        assertThat(batches).isLessThan(requests);
+        verify(productRepository, atMost((int) batches)).decreaseStockIfAvailable(eq(PRODUCT_ID), anyInt());
+        verify(stockCacheUpdater, atMost((int) batches)).stockChanged(eq(PRODUCT_ID), anyInt());
+        verify(stockCacheUpdater).stockChanged(PRODUCT_ID, 0);
+    }
+
+    @Test
+    @DisplayName("큐 대기 중 스트라이프 모드로 전환된 상품: 배치 실패, 일반 모드 재고 차감 없음")
+    void rejectsBatchForStripedProduct() {
+        Product striped = new Product("상품", 1_000, 5);
+        striped.enableStriping(2);
+        when(productRepository.findByIdForUpdate(PRODUCT_ID)).thenReturn(Optional.of(striped));
+
+        assertThatThrownBy(() -> batcher.reserve(PRODUCT_ID, 1))
+                .isInstanceOf(IllegalStateException.class);
+        verify(productRepository, never()).decreaseStockIfAvailable(eq(PRODUCT_ID), anyInt());
+        assertThat(stock.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("배치에 실리기 전 대기 시간 초과: 503 예외, 이후 drain에서 제외돼 재고 변화 없음, 빈 상품 큐는 제거")
+    void abandonsTimedOutReservation() throws Exception {
+        batcher.shutdown();
+        batcher = new StockReservationBatcher(productRepository, stockCacheUpdater, stockIdempotencyService,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry, true, 300, 200, 100, 50, 1);
+
+        assertThatThrownBy(() -> batcher.reserve(PRODUCT_ID, 1))
+                .isInstanceOf(StockQueueFullException.class);
+        Thread.sleep(600);
+
+        verify(productRepository, never()).findByIdForUpdate(PRODUCT_ID);
+        assertThat(stock.get()).isEqualTo(5);
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(batcher, "queues")).isEmpty();
+    }
+}
@@ -0,0 +1,165 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.domain.ProductRepository;
+import com.msa.shop.product.domain.StockReservationRepository;
+import com.msa.shop.product.domain.StockReservationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 재고 홀드 원장 통합 테스트.
+ * - ttl=0s로 두어 생성 즉시 만료 대상이 되게 하고, 스위퍼를 직접 호출해 복구 검증.
+ */
+@SpringBootTest(properties = {
+        "app.stock.reservation.ttl=0s",
+        "app.stock.reservation.sweep-interval=3600000"
+})
+@Testcontainers
+@ActiveProfiles("local")
+class StockReservationServiceIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("productdb");
+
+    @Autowired
+    StockReservationService stockReservationService;
+
+    @Autowired
+    StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    StockService stockService;
+
+    @Test
+    @DisplayName("홀드 생성 시 재고 차감·단가 응답, 확정하면 만료 스위퍼가 복구하지 않음")
+    void holdThenConfirm() {
+        Product product = productRepository.save(new Product("홀드 상품", "전자", 1_000, 10));
+
+        HoldResult hold = stockReservationService.hold(1L, product.getId(), 3);
+        HoldResult confirmed = stockReservationService.confirm(hold.reservationId());
+        stockReservationService.expireHolds();
+
+        assertThat(hold.success()).isTrue();
+        assertThat(hold.reservationId()).isNotNull();
+        assertThat(hold.quote()).isEqualTo(new ProductQuote("홀드 상품", 1_000));
+        assertThat(confirmed.success()).isTrue();
+        assertThat(stockReservationService.confirm(hold.reservationId()).success()).isTrue();
+        assertThat(productRepository.findStockQuantityById(product.getId())).contains(7);
+    }
+
+    @Test
+    @DisplayName("확정되지 않은 홀드는 스위퍼가 만료 처리하고 재고 복구, 이후 확정은 실패")
+    void unconfirmedHoldExpires() {
+        Product product = productRepository.save(new Product("만료 상품", "전자", 1_000, 10));
+
+        HoldResult hold = stockReservationService.hold(1L, product.getId(), 4);
+        assertThat(productRepository.findStockQuantityById(product.getId())).contains(6);
+
+        stockReservationService.expireHolds();
+
+        assertThat(productRepository.findStockQuantityById(product.getId())).contains(10);
+        assertThat(stockReservationRepository.findById(hold.reservationId()))
+                .get().extracting(r -> r.getStatus()).isEqualTo(StockReservationStatus.EXPIRED);
+        HoldResult confirmed = stockReservationService.confirm(hold.reservationId());
+        assertThat(confirmed.success()).isFalse();
+        assertThat(confirmed.reason()).isEqualTo("예약 만료");
+    }
+
+    @Test
+    @DisplayName("재고 부족이면 홀드 생성 실패, reservationId 없음")
+    void holdRejectedWhenInsufficient() {
+        Product product = productRepository.save(new Product("품절 상품", "전자", 1_000, 1));
+
+        HoldResult hold = stockReservationService.hold(1L, product.getId(), 2);
+
+        assertThat(hold.success()).isFalse();
+        assertThat(hold.reason()).isEqualTo("재고 부족");
+        assertThat(hold.reservationId()).isNull();
+    }
+
+    @Test
+    @DisplayName("일괄 홀드: 한 상품이라도 재고 부족이면 전체 롤백, 앞서 차감한 상품도 원복")
+    void batchHoldIsAllOrNothing() {
+        Product a = productRepository.save(new Product("일괄 A", "전자", 1_000, 5));
+        Product b = productRepository.save(new Product("일괄 B", "전자", 2_000, 1));
+
+        BatchHoldResult result = stockReservationService.holdBatch(1L,
+                List.of(new HoldLine(b.getId(), 3), new HoldLine(a.getId(), 2)), null);
+
+        assertThat(result.success()).isFalse();
+        assertThat(result.failedProductId()).isEqualTo(b.getId());
+        assertThat(productRepository.findStockQuantityById(a.getId())).contains(5);
+        assertThat(productRepository.findStockQuantityById(b.getId())).contains(1);
+    }
+
+    @Test
+    @DisplayName("일괄 홀드 성공 후 그룹 확정, 같은 멱등 키 재요청은 같은 그룹 응답")
+    void batchHoldThenConfirmGroup() {
+        Product a = productRepository.save(new Product("그룹 A", "전자", 1_000, 5));
+        Product b = productRepository.save(new Product("그룹 B", "전자", 2_000, 1));
+        List<HoldLine> lines = List.of(new HoldLine(b.getId(), 1), new HoldLine(a.getId(), 2));
+        String key = "batch-" + a.getId();
+
+        BatchHoldResult held = stockReservationService.holdBatch(1L, lines, key);
+        BatchHoldResult replayed = stockReservationService.holdBatch(1L, lines, key);
+        BatchHoldResult confirmed = stockReservationService.confirmGroup(held.groupId());
+
+        assertThat(held.success()).isTrue();
+        assertThat(held.lines()).extracting(BatchHoldResult.Line::productId).containsExactly(a.getId(), b.getId());
+        assertThat(held.lines()).extracting(line -> line.quote().unitPrice()).containsExactly(1_000, 2_000);
+        assertThat(replayed.groupId()).isEqualTo(held.groupId());
+        assertThat(replayed.lines()).extracting(BatchHoldResult.Line::reservationId)
+                .containsExactlyElementsOf(held.lines().stream().map(BatchHoldResult.Line::reservationId).toList());
+        assertThat(confirmed.success()).isTrue();
+        assertThat(productRepository.findStockQuantityById(a.getId())).contains(3);
+        assertThat(productRepository.findStockQuantityById(b.getId())).contains(0);
+    }
+
+    @Test
+    @DisplayName("처리된 멱등 키를 다른 상품·수량·작업에 재사용하면 재생하지 않고 StockIdempotencyKeyMismatchException, 재고 변화 없음")
+    void rejectsReusedKeyForDifferentRequest() {
+        Product a = productRepository.save(new Product("키 A", "전자", 1_000, 5));
+        Product b = productRepository.save(new Product("키 B", "전자", 2_000, 5));
+        String holdKey = "hold-" + a.getId();
+        String batchKey = "batch-" + a.getId();
+
+        assertThat(stockReservationService.hold(1L, a.getId(), 1, holdKey).success()).isTrue();
+        assertThat(stockReservationService.holdBatch(1L,
+                List.of(new HoldLine(a.getId(), 1), new HoldLine(b.getId(), 1)), batchKey).success()).isTrue();
+
+        assertThatThrownBy(() -> stockReservationService.hold(1L, a.getId(), 2, holdKey))
+                .isInstanceOf(StockIdempotencyKeyMismatchException.class);
+        assertThatThrownBy(() -> stockReservationService.hold(1L, b.getId(), 1, holdKey))
+                .isInstanceOf(StockIdempotencyKeyMismatchException.class);
+        assertThatThrownBy(() -> stockService.reserve(1L, a.getId(), 1, holdKey))
+                .isInstanceOf(StockIdempotencyKeyMismatchException.class);
+        assertThatThrownBy(() -> stockReservationService.holdBatch(1L,
+                List.of(new HoldLine(a.getId(), 2), new HoldLine(b.getId(), 1)), batchKey))
+                .isInstanceOf(StockIdempotencyKeyMismatchException.class);
+        // 첫 상품·수량 합계는 같아도 상품별 수량이 그룹과 다르면 거부
+        assertThatThrownBy(() -> stockReservationService.holdBatch(1L,
+                List.of(new HoldLine(a.getId(), 2)), batchKey))
+                .isInstanceOf(StockIdempotencyKeyMismatchException.class);
+        assertThat(productRepository.findStockQuantityById(a.getId())).contains(3);
+        assertThat(productRepository.findStockQuantityById(b.getId())).contains(4);
+    }
+}
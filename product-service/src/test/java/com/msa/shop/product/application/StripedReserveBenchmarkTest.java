@@ -0,0 +1,95 @@
+package com.msa.shop.product.application;
+
+import com.msa.shop.product.domain.Product;
+import com.msa.shop.product.domain.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 핫 상품 단일 행 예약 vs 스트라이프 예약 처리량 비교 벤치마크.
+ * - ./gradlew :product-service:benchmark 로 실행 (기본 test 제외).
+ * - 동일 스레드 수로 한 상품에 예약을 몰아 reserves/sec 출력.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=" + StripedReserveBenchmarkTest.THREADS)
+@Testcontainers
+@ActiveProfiles("local")
+class StripedReserveBenchmarkTest {
+
+    static final int THREADS = 32;
+    private static final int RESERVES = 20_000;
+    private static final int STRIPES = 16;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>(DockerImageName.parse("mysql:8"))
+            .withDatabaseName("productdb");
+
+    @Autowired
+    StockService stockService;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Test
+    @DisplayName("단일 핫 상품: 일반 모드 vs 스트라이프 모드 reserves/sec")
+    void compareThroughput() throws Exception {
+        Product plain = productRepository.save(new Product("핫 상품(일반)", "전자", 1_000, RESERVES));
+        Product striped = productRepository.save(new Product("핫 상품(스트라이프)", "전자", 1_000, RESERVES));
+        stockService.enableStriping(striped.getId(), STRIPES);
+
+        double plainRate = run(plain.getId());
+        double stripedRate = run(striped.getId());
+
+        System.out.printf("[benchmark] threads=%d reserves=%d%n", THREADS, RESERVES);
+        System.out.printf("[benchmark] single row : %.0f reserves/s%n", plainRate);
+        System.out.printf("[benchmark] %d stripes : %.0f reserves/s (x%.2f)%n", STRIPES, stripedRate, stripedRate / plainRate);
+
+        stockService.reconcileStripes();
+        assertThat(productRepository.findStockQuantityById(plain.getId())).contains(0);
+        assertThat(productRepository.findStockQuantityById(striped.getId())).contains(0);
+    }
+
+    private double run(Long productId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = thread; i < RESERVES; i += THREADS) {
+                    stockService.reserve((long) i, productId, 1);
+                }
+                return null;
+            }));
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        return RESERVES / (elapsedNanos / 1_000_000_000.0);
+    }
+}
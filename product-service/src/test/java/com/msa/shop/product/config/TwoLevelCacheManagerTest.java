@@ -0,0 +1,130 @@
+package com.msa.shop.product.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 2단 캐시 단위 테스트. L2(Redis)는 공유 ConcurrentMapCacheManager, pub/sub은 모든 인스턴스에 그대로 전달하는 리스트로 대체.
+ */
+class TwoLevelCacheManagerTest {
+
+    AtomicBoolean remoteDown = new AtomicBoolean();
+    ConcurrentMapCacheManager remote = new ConcurrentMapCacheManager("product", "stock") {
+        @Override
+        protected Cache createConcurrentMapCache(String name) {
+            return new ConcurrentMapCache(name) {
+                @Override
+                public void put(Object key, Object value) {
+                    if (remoteDown.get()) {
+                        throw new IllegalStateException("L2 연결 실패");
+                    }
+                    super.put(key, value);
+                }
+            };
+        }
+    };
+    List<TwoLevelCacheManager> instances = new ArrayList<>();
+    SimpleMeterRegistry registryA = new SimpleMeterRegistry();
+    TwoLevelCacheManager a;
+    TwoLevelCacheManager b;
+
+    @BeforeEach
+    void setUp() {
+        a = instance(registryA);
+        b = instance(new SimpleMeterRegistry());
+    }
+
+    private TwoLevelCacheManager instance(SimpleMeterRegistry registry) {
+        Caffeine<Object, Object> spec = Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofMinutes(1)).recordStats();
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(remote, cacheName -> spec,
+                message -> instances.forEach(instance -> instance.onInvalidation(message)), registry);
+        instances.add(manager);
+        return manager;
+    }
+
+    @Test
+    @DisplayName("L1 적중이면 L2 조회 없음, L1 미스는 L2에서 읽어 L1에 채움")
+    void readsThroughLocalThenRemote() {
+        a.getCache("product").put(1L, "A");
+
+        assertThat(a.getCache("product").get(1L, String.class)).isEqualTo("A");
+        assertThat(registryA.get("cache.gets").tags("tier", "l2", "result", "hit").counter().count()).isZero();
+
+        remote.getCache("product").put(1L, "changed-in-l2-only");
+        assertThat(a.getCache("product").get(1L, String.class)).isEqualTo("A");
+        assertThat(b.getCache("product").get(1L, String.class)).isEqualTo("changed-in-l2-only");
+        assertThat(registryA.get("cache.gets").tags("tier", "l1", "result", "hit").functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("evict는 L2와 모든 인스턴스의 L1에서 삭제")
+    void evictPropagatesToOtherInstances() {
+        a.getCache("product").put(1L, "A");
+        a.getCache("product").put(2L, "B");
+        assertThat(b.getCache("product").get(1L, String.class)).isEqualTo("A");
+        assertThat(b.getCache("product").get(2L, String.class)).isEqualTo("B");
+
+        a.getCache("product").evict(1L);
+
+        assertThat(b.getCache("product").get(1L)).isNull();
+        assertThat(b.getCache("product").get(2L, String.class)).isEqualTo("B");
+        assertThat(registryA.get("cache.evictions").tags("tier", "l2").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("clear는 모든 인스턴스의 L1을 비움, get(key, loader)는 미스 시 한 번 적재 후 두 단계에 저장")
+    void clearPropagatesAndLoaderFillsBothTiers() {
+        Cache cacheA = a.getCache("product");
+        Cache cacheB = b.getCache("product");
+        assertThat(cacheB.get(1L, () -> "loaded")).isEqualTo("loaded");
+        assertThat(cacheA.get(1L, () -> "not-called")).isEqualTo("loaded");
+
+        cacheB.clear();
+
+        assertThat(cacheA.get(1L)).isNull();
+        assertThat(remote.getCache("product").get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("put(재고 갱신)은 다른 인스턴스 L1을 지워 새 값을 L2에서 읽게 함, putIfAbsent(채우기)는 있는 값을 덮지 않음")
+    void putPropagatesAndPutIfAbsentKeepsNewerValue() {
+        Cache stockA = a.getCache("stock");
+        Cache stockB = b.getCache("stock");
+        stockA.putIfAbsent(1L, 5);
+        assertThat(stockB.get(1L, Integer.class)).isEqualTo(5);
+
+        stockA.put(1L, 4);
+        assertThat(stockB.get(1L, Integer.class)).isEqualTo(4);
+
+        assertThat(stockB.putIfAbsent(1L, 5).get()).isEqualTo(4);
+        assertThat(stockB.get(1L, Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("L2 put 실패 시 예외 전파 전에 L1 삭제 → 이전 값이 L1에 남지 않고 다음 조회는 L2에서 읽음")
+    void evictsLocalWhenRemotePutFails() {
+        Cache stockA = a.getCache("stock");
+        stockA.put(1L, 5);
+
+        remoteDown.set(true);
+        assertThatThrownBy(() -> stockA.put(1L, 4)).isInstanceOf(IllegalStateException.class);
+        remoteDown.set(false);
+
+        remote.getCache("stock").put(1L, 3);
+        assertThat(stockA.get(1L, Integer.class)).isEqualTo(3);
+    }
+}
@@ -46,4 +46,47 @@ class ProductTest {
                     .hasMessage("유효하지 않은 재고 차감 요청");
         }
     }
+
+    @Nested
+    @DisplayName("enableStriping")
+    class EnableStriping {
+
+        @Test
+        @DisplayName("재고를 스트라이프 수로 나누고 나머지는 앞쪽 스트라이프에 배분")
+        void splitsStock() {
+            Product product = new Product("상품", 10_000, 10);
+
+            int[] quantities = product.enableStriping(4);
+
+            assertThat(quantities).containsExactly(3, 3, 2, 2);
+            assertThat(product.isStriped()).isTrue();
+            assertThat(product.getStripeCount()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("이미 스트라이프 모드거나 스트라이프 수 1 미만이면 IllegalArgumentException")
+        void invalidRequest() {
+            Product product = new Product("상품", 10_000, 10);
+
+            assertThatThrownBy(() -> product.enableStriping(0))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("유효하지 않은 스트라이프 설정 요청");
+            product.enableStriping(2);
+            assertThatThrownBy(() -> product.enableStriping(2))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("유효하지 않은 스트라이프 설정 요청");
+        }
+
+        @Test
+        @DisplayName("disableStriping 시 스트라이프 합계로 재고 복귀")
+        void disable() {
+            Product product = new Product("상품", 10_000, 10);
+            product.enableStriping(3);
+
+            product.disableStriping(7);
+
+            assertThat(product.isStriped()).isFalse();
+            assertThat(product.getStockQuantity()).isEqualTo(7);
+        }
+    }
 }